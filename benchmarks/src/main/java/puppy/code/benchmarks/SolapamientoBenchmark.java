@@ -0,0 +1,93 @@
+package puppy.code.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import puppy.code.Colisiones.SolapamientoAABB;
+
+/**
+ * Clase SolapamientoBenchmark
+ * Un rectángulo contra lotes de 8 a 64k rectángulos de tamaño de juego:
+ * Rectangle.overlaps de a un par (como Obstaculo.actualizarColision) contra
+ * SolapamientoAABB escalar y la implementación elegida en tiempo de
+ * ejecución (vectorial si la JVM tiene jdk.incubator.vector).
+ *
+ * Se reporta tiempo por llamada; dividido por el tamaño del lote da el
+ * costo por rectángulo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolapamientoBenchmark {
+
+    @Param({"8", "64", "512", "4096", "32768", "65536"})
+    public int size;
+
+    private final SolapamientoAABB escalar = SolapamientoAABB.escalar();
+    private final SolapamientoAABB elegida = SolapamientoAABB.get();
+
+    private Rectangle query;
+    private Rectangle[] rects;
+    private float[] x, y, w, h;
+    private boolean[] hits;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.out.println("SolapamientoAABB.get(): " + elegida.nombre());
+        // Pájaros y obstáculos repartidos por el mundo de 288 x 600
+        Random random = new Random(42);
+        query = new Rectangle(100f, 250f, 77f, 120f);
+        rects = new Rectangle[size];
+        x = new float[size];
+        y = new float[size];
+        w = new float[size];
+        h = new float[size];
+        hits = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = random.nextFloat() * 288f;
+            y[i] = random.nextFloat() * 600f;
+            w[i] = 16f + random.nextFloat() * 61f;
+            h[i] = 16f + random.nextFloat() * 104f;
+            rects[i] = new Rectangle(x[i], y[i], w[i], h[i]);
+        }
+    }
+
+    @Benchmark
+    public int rectangle() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            boolean hit = rects[i].overlaps(query);
+            hits[i] = hit;
+            if (hit) total++;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int escalar() {
+        return escalar.overlaps(query.x, query.y, query.width, query.height, x, y, w, h, size, hits);
+    }
+
+    @Benchmark
+    public int elegida() {
+        return elegida.overlaps(query.x, query.y, query.width, query.height, x, y, w, h, size, hits);
+    }
+}
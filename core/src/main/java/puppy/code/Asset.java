@@ -1,9 +1,19 @@
 package puppy.code;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import puppy.code.Particulas.Emisor;
+import puppy.code.Recursos.RegistroRecursos;
 
 /**
  * Clase Asset
@@ -28,37 +38,61 @@ public class Asset {
     private Texture gameOverScreen;
     private Texture startScreen;
     private Texture pipeMain;
+    private Texture particula;          // punto blanco que se tiñe con el color de cada partícula
+    private List<Emisor> emisores;      // efectos de partículas (particulas/emisores.txt)
 
     /**
      * Constructor privado: impide la creación externa de instancias.
-     * Carga todas las texturas y sonidos desde la carpeta de recursos.
+     * Carga todas las texturas y sonidos desde la carpeta de recursos y los
+     * registra en RegistroRecursos con Asset como dueño.
      */
     private Asset() {
-        background = new Texture("flappy/background.png");
-        setBackgroundMusic(Gdx.audio.newMusic(Gdx.files.internal("flappy_Sounds/gameplay_music.mp3")));
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        background = registro.textura(this, "flappy/background.png");
+        setBackgroundMusic(registro.musica(this, "flappy_Sounds/gameplay_music.mp3"));
 
-        gameOverScreen = new Texture("flappy/gameover_bg.png");
-        startScreen =new Texture("flappy/Pantalla_inicio.png");
-        setPipeMain(new Texture("flappy/pipeMain.png"));
+        gameOverScreen = registro.textura(this, "flappy/gameover_bg.png");
+        startScreen = registro.textura(this, "flappy/Pantalla_inicio.png");
+        setPipeMain(registro.textura(this, "flappy/pipeMain.png"));
 
-        ground = new Texture("flappy/ground.png");
-        tuboTex = new Texture("flappy/pipe.png");
+        ground = registro.textura(this, "flappy/ground.png");
+        tuboTex = registro.textura(this, "flappy/pipe.png");
 
         birdFrames = new Texture[]{
-            new Texture("flappy/bird0.png"),
-            new Texture("flappy/bird1.png"),
-            new Texture("flappy/bird2.png")
+            registro.textura(this, "flappy/bird0.png"),
+            registro.textura(this, "flappy/bird1.png"),
+            registro.textura(this, "flappy/bird2.png")
         };
-        birdHurt = Gdx.audio.newSound(Gdx.files.internal("flappy_Sounds/hurt_music.mp3"));
-        setBirdFlap(Gdx.audio.newSound(Gdx.files.internal("flappy_Sounds/bird_jump.mp3")));
-
-
+        birdHurt = registro.sonido(this, "flappy_Sounds/hurt_music.mp3");
+        setBirdFlap(registro.sonido(this, "flappy_Sounds/bird_jump.mp3"));
 
         enemyFrames = new Texture[]{
-            new Texture(Gdx.files.internal("flappy/enemy0.png")),
-            new Texture(Gdx.files.internal("flappy/enemy1.png")),
-            new Texture(Gdx.files.internal("flappy/enemy2.png"))
+            registro.textura(this, "flappy/enemy0.png"),
+            registro.textura(this, "flappy/enemy1.png"),
+            registro.textura(this, "flappy/enemy2.png")
         };
+
+        particula = registro.crear(this, crearParticula(), "particula");
+        emisores = cargarEmisores("particulas/emisores.txt");
+    }
+
+    /** Textura blanca de 4 x 4 para las partículas (el color lo pone cada una). */
+    private static Texture crearParticula() {
+        Pixmap pixmap = new Pixmap(4, 4, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        Texture texture = new Texture(pixmap);
+        pixmap.dispose();
+        return texture;
+    }
+
+    /** Lee las definiciones de efectos; un archivo inválido es un error de recursos, como una textura faltante. */
+    private static List<Emisor> cargarEmisores(String path) {
+        try (BufferedReader in = Gdx.files.internal(path).reader(4096, "UTF-8")) {
+            return Emisor.cargar(in, path);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("No se pudieron cargar los efectos de partículas", e);
+        }
     }
 
     /**
@@ -78,18 +112,16 @@ public class Asset {
     public Texture getTuboTex() { return tuboTex; }
     public Texture[] getBirdFrames() { return birdFrames; }
     public Texture[] getEnemyFrames() { return enemyFrames; }
+    public Texture getParticula() { return particula; }
+    public List<Emisor> getEmisores() { return emisores; }
 
     /**
-     * Libera todos los recursos cargados en memoria.
-     * Debe llamarse al cerrar la aplicación.
+     * Devuelve todos los recursos cargados al RegistroRecursos, que libera los
+     * que ninguna pantalla sigue reteniendo. Debe llamarse al cerrar la aplicación.
      */
     public void dispose() {
-        background.dispose();
-        ground.dispose();
-        tuboTex.dispose();
-        for (Texture t : birdFrames) t.dispose();
-        for (Texture t : enemyFrames) t.dispose();
-        birdHurt.dispose();
+        RegistroRecursos.getInstancia().soltarTodo(this);
+        instancia = null;
     }
 
 	public Sound getBirdHurt() {
@@ -4,21 +4,29 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import puppy.code.Dibujo.ColaDibujo;
+import puppy.code.Particulas.SistemaParticulas;
+import puppy.code.Rebobinado.RewindBuffer;
 import puppy.code.Screens.GameScreen;
+import puppy.code.Simulacion.ReglasPartida;
+import puppy.code.Telemetria.MonitorTirones;
 
 /**
  * Clase Character
  * Representa al jugador (pájaro) controlado por el usuario.
  * Aplica encapsulamiento y responsabilidad única para manejar
- * animación, física y colisiones del jugador (GM1.6).
+ * animación, física y colisiones del jugador (GM1.6); la física y los
+ * límites de pantalla son los de ReglasPartida.
  * Su metodo movimiento permite integrar cambios de control
  * mediante estrategias externas para el patrón Strategy (GM2.3).
  */
 public class Character {
 
+    /** Cantidad de valores que ocupa el estado del jugador en un RewindBuffer. */
+    public static final int ESTADO_SIZE = 6;
+
     // --- Atributos privados (GM1.6) ---
     private Texture[] frames;       // Animación del personaje
     private float animTimer = 0f;   // Control del tiempo de animación
@@ -26,11 +34,13 @@ public class Character {
     private Rectangle bounds = new Rectangle(); // Hitbox del jugador
     private boolean alive = true;   // Estado del jugador
     private Sound birdFlap;         // Sonido al aletear
+    private SistemaParticulas particulas; // plumas al aletear (null si no hay efectos)
+    private int emisorPlumas = -1;
 
     // --- Atributos públicos usados por sistemas externos ---
     public Vector2 pos = new Vector2(0, 0); // Posición en 2D
     public Vector2 vel = new Vector2(0, 0); // Velocidad actual
-    public Vector2 size = new Vector2(32, 32); // Tamaño del sprite
+    public Vector2 size = new Vector2(ReglasPartida.BIRD_SIZE, ReglasPartida.BIRD_SIZE); // Tamaño del sprite
 
     /**
      * Constructor del personaje principal.
@@ -41,27 +51,38 @@ public class Character {
      */
     public Character(float x, float y, Texture[] sprite, Sound sound) {
         this.pos.set(x, y);
-        this.size.set(32, 32);
         this.frames = sprite;
         this.bounds.set(x, y, size.x, size.y);
         this.birdFlap = sound;
     }
 
-    /** Ejecuta el salto del personaje y reproduce el sonido */
+    /** Ejecuta el salto del personaje, reproduce el sonido y suelta plumas */
     public void flap() {
-        vel.y = 260;
-        birdFlap.play();
+        vel.y = ReglasPartida.FLAP_VELOCITY;
+        MonitorTirones.getInstancia().reproducir(birdFlap);
+        soltarPlumas();
+    }
+
+    /** Plumas de un aleteo (también cuando el aleteo lo simula HiloSimulacion). */
+    public void soltarPlumas() {
+        if (particulas != null) particulas.emitir(emisorPlumas, pos.x + 6, pos.y + size.y / 2f);
+    }
+
+    /** Sistema y emisor de las plumas que suelta cada aleteo. */
+    public void setParticulas(SistemaParticulas particulas, int emisorPlumas) {
+        this.particulas = particulas;
+        this.emisorPlumas = emisorPlumas;
     }
 
     /**
      * Actualiza la física del personaje:
      * aplica gravedad, movimiento y calcula el cambio de frames.
      * @param dt tiempo transcurrido
-     * @param gravity constante de gravedad vertical
      */
-    public void presionAtmosferica(float dt, float gravity) {
-        vel.y += gravity * dt;              // Aceleración vertical
-        pos.add(vel.x * dt, vel.y * dt);    // Movimiento según velocidad
+    public void presionAtmosferica(float dt) {
+        vel.y = ReglasPartida.velocidadPajaro(vel.y, false, dt);  // Aceleración vertical (el aleteo ya la fijó)
+        pos.x += vel.x * dt;
+        pos.y = ReglasPartida.alturaPajaro(pos.y, vel.y, dt);     // Movimiento según velocidad
 
         // Control de animación (velocidad del aleteo)
         animTimer += dt;
@@ -78,11 +99,11 @@ public class Character {
      * Puede ser reemplazado por estrategias de control
      * Usado para el patrón Strategy (GM2.3).
      */
-    public void movimiento(float dt, float gravity) {
+    public void movimiento(float dt) {
         if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.justTouched()) {
             this.flap();
         }
-        this.presionAtmosferica(dt, gravity);
+        this.presionAtmosferica(dt);
     }
 
     /** Devuelve la hitbox actual para detección de colisiones */
@@ -95,24 +116,47 @@ public class Character {
      * En caso de hacerlo, activa la pantalla Game Over.
      */
     public void fueraDePantalla(GameScreen screen, FlappyGameMenu game) {
-    	if (screen.getBird().pos.y <= 96 || screen.getBird().pos.y + 24 >= GameScreen.getWorldheight()) {
+        byte causa = ReglasPartida.causaFueraDePantalla(screen.getBird().pos.y);
+        if (causa >= 0) {
             screen.setGameOver(true);
-            if (screen.getScore() > game.getHigherScore()) game.setHigherScore(screen.getScore());}
+            screen.setDeathCause(causa);
+            screen.actualizarRecord();
         }
+    }
 
     /** Indica si el personaje sigue vivo */
     public boolean isAlive() {
         return alive;
     }
 
-    /** Dibuja el sprite del personaje con el frame animado actual */
-    public void draw(SpriteBatch batch) {
-        batch.draw(frames[frameIndex], pos.x, pos.y);
+    /** Encola el sprite del personaje con el frame animado actual (a su tamaño natural) */
+    public void draw(ColaDibujo cola) {
+        Texture frame = frames[frameIndex];
+        cola.draw(ColaDibujo.CAPA_JUGADOR, frame, pos.x, pos.y, frame.getWidth(), frame.getHeight());
+    }
+
+    /** Escribe posición, velocidad y animación en el snapshot actual (modo práctica). */
+    public void guardarEstado(RewindBuffer buffer) {
+        buffer.putFloat(pos.x);
+        buffer.putFloat(pos.y);
+        buffer.putFloat(vel.x);
+        buffer.putFloat(vel.y);
+        buffer.putFloat(animTimer);
+        buffer.putInt(frameIndex);
+    }
+
+    /** Restaura el estado escrito por guardarEstado, incluida la hitbox. */
+    public void restaurarEstado(RewindBuffer buffer) {
+        pos.set(buffer.getFloat(), buffer.getFloat());
+        vel.set(buffer.getFloat(), buffer.getFloat());
+        animTimer = buffer.getFloat();
+        frameIndex = buffer.getInt();
+        bounds.setPosition(pos.x, pos.y);
     }
 
     /** Restablece la posición y velocidad del jugador */
     public void reset(float y) {
-        pos.set(80, y);
+        pos.set(ReglasPartida.BIRD_RESET_X, y);
         vel.set(0, 0);
     }
 }
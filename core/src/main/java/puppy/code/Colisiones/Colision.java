@@ -1,8 +1,9 @@
 package puppy.code.Colisiones;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import puppy.code.DifficultyStrategy;
+import puppy.code.Dibujo.ColaDibujo;
+import puppy.code.Rebobinado.RewindBuffer;
 
 /**
  * Interfaz Colision
@@ -12,6 +13,9 @@ import puppy.code.DifficultyStrategy;
  */
 public interface Colision {
 
+    /** Cantidad de valores que ocupa el estado de un objeto en un RewindBuffer. */
+    int ESTADO_SIZE = 4;
+
     /** Actualiza la posición o estado del objeto según el tiempo transcurrido (delta time) */
     void update(float delta);
 
@@ -24,14 +28,23 @@ public interface Colision {
     /** Reposiciona el objeto, por ejemplo, para reciclarlo más a la derecha */
     void reposicionar(float nuevoX);
 
+    /**
+     * Ubica el objeto con los datos de un nivel hecho a mano (NivelArchivo)
+     * en vez de los aleatorios de reposicionar.
+     * @param nuevoX posición X en pantalla
+     * @param posicionVertical centro del hueco (tubo) o altura base (enemigo)
+     * @param hueco tamaño del hueco, o 0 para el normal (los objetos sin hueco lo ignoran)
+     */
+    void colocar(float nuevoX, float posicionVertical, float hueco);
+
     /** Devuelve la coordenada X del objeto */
     float getX();
 
     /** Devuelve el ancho útil del objeto (para cálculo de espacio o colisión) */
     float getAncho();
 
-    /** Dibuja el objeto en pantalla usando un SpriteBatch de LibGDX */
-    void draw(SpriteBatch batch, float worldheight);
+    /** Encola el dibujo del objeto en la cola del frame (capa CAPA_OBSTACULOS de ColaDibujo) */
+    void draw(ColaDibujo cola, float worldheight);
 
     /** Devuelve la velocidad horizontal del objeto */
     float getVelocidad();
@@ -48,4 +61,25 @@ public interface Colision {
      * → Evita instanceof y mantiene el polimorfismo limpio para el patron Strategy(GM2.3).
      */
     void aplicarEstrategia(DifficultyStrategy strategy, int score);
+
+    /** Causa de muerte que se registra en el historial si el jugador choca con este objeto (RunRecord.CAUSA_*). */
+    byte causaDeMuerte();
+
+    /**
+     * Escribe en el snapshot actual los ESTADO_SIZE valores del objeto:
+     * x, posición vertical (gapY o altura base), tiempo (o el hueco de un tubo) y velocidad (modo práctica).
+     */
+    void guardarEstado(RewindBuffer buffer);
+
+    /** Restaura el estado escrito por guardarEstado y recalcula las hitboxes. */
+    void restaurarEstado(RewindBuffer buffer);
+
+    /**
+     * Tiempo acumulado de la onda vertical de las hitboxes (ReglasPartida.ondaEnemigo),
+     * o -1 si el objeto no oscila. Lo usa Autopiloto para predecir su posición.
+     */
+    default float getFaseOnda() { return -1f; }
+
+    /** true si el objeto toca el suelo y levanta polvo al salir de pantalla (los tubos; no los que vuelan). */
+    default boolean levantaPolvo() { return false; }
 }
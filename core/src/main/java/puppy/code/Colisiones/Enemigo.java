@@ -1,10 +1,12 @@
 package puppy.code.Colisiones;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import puppy.code.DifficultyStrategy;
+import puppy.code.Dibujo.ColaDibujo;
+import puppy.code.Historial.RunRecord;
+import puppy.code.Rebobinado.RewindBuffer;
+import puppy.code.Simulacion.ReglasPartida;
 
 /**
  * Clase Enemigo
@@ -12,6 +14,7 @@ import puppy.code.DifficultyStrategy;
  * Implementa Colision → evidencia del polimorfismo (GM1.5).
  * Aplica encapsulamiento y comportamiento independiente.
  * Integra ajustes dinámicos de dificultad para el patrón Strategy (GM2.3).
+ * Tamaño, hitbox y onda son los de ReglasPartida.
  */
 public class Enemigo implements Colision {
 
@@ -26,36 +29,30 @@ public class Enemigo implements Colision {
     /**
      * Constructor del enemigo volador.
      * @param frames sprites de animación
-     * @param anchoBase ancho de referencia (típicamente el del tubo)
      * @param startX posición inicial X
-     * @param worldH altura lógica del mundo
      */
-    public Enemigo(Texture[] frames, float anchoBase, float startX, float worldH) {
+    public Enemigo(Texture[] frames, float startX) {
         // Constructor original: usa velocidad por defecto (110f)
-        this(frames, anchoBase, startX, worldH, 110f);
+        this(frames, startX, 110f);
     }
 
     /**
      * Constructor parametrizado: permite definir la velocidad inicial.
      * Usado por la estrategia de dificultad para el patrón Strategy (GM2.3).
      */
-    public Enemigo(Texture[] frames, float anchoBase, float startX, float worldH, float velocidad) {
+    public Enemigo(Texture[] frames, float startX, float velocidad) {
         this.frames = frames;
-        this.width = anchoBase * 0.6f;
-        this.height = anchoBase * 0.6f;
+        this.width = ReglasPartida.ENEMY_SIZE;
+        this.height = ReglasPartida.ENEMY_SIZE;
         this.x = startX;
-        this.y = worldH / 2f;
+        this.y = ReglasPartida.ENEMY_BASE_Y;
         this.velocidad = velocidad;
         this.tiempo = 0;
 
-        // Hitbox reducida para colisiones más precisas
-        float hitboxWidth = width * 0.5f;
-        float hitboxHeight = height * 0.4f;
-        float hitboxOffsetX = (width - hitboxWidth) / 2f;
-        float hitboxOffsetY = height * 0.30f ;
-
+        // Hitbox reducida para colisiones más precisas; el primer update la ubica en la onda
         this.bounds = new Rectangle[]{
-            new Rectangle(x + hitboxOffsetX, y + hitboxOffsetY - 40, hitboxWidth, hitboxHeight)
+            new Rectangle(x + ReglasPartida.ENEMY_HIT_OFFSET_X, ReglasPartida.hitboxEnemigoInicialY(y),
+                ReglasPartida.ENEMY_HIT_W, ReglasPartida.ENEMY_HIT_H)
         };
     }
 
@@ -66,40 +63,45 @@ public class Enemigo implements Colision {
     public void update(float dt) {
         tiempo += dt;
         x -= velocidad * dt;
+        actualizarHitbox();
+    }
 
+    /** Ubica la hitbox según x y el tiempo acumulado */
+    private void actualizarHitbox() {
         //Movimiento sinusoidal que caracteriza este tipo de enemigo
         //(Strategy GM2.3: comportamiento de vuelo)
-        float offset = MathUtils.sin(tiempo * 3f) * 40f;
-        float currentY = y + offset;
-
-        // Actualiza posición de la hitbox en base al frame actual
-        bounds[0].setPosition(
-            x + (width - bounds[0].width) / 2f,
-            currentY + (height - bounds[0].height) / 2f + 15
-        );
+        bounds[0].setPosition(x + ReglasPartida.ENEMY_HIT_OFFSET_X, ReglasPartida.hitboxEnemigoY(y, tiempo));
     }
 
     /** Dibuja el frame animado correspondiente del enemigo */
     @Override
-    public void draw(SpriteBatch batch, float worldHeight) {
+    public void draw(ColaDibujo cola, float worldHeight) {
         if (frames == null || frames.length == 0) return;
         int frameIndex = ((int)(tiempo * 10)) % frames.length;
         Texture frame = frames[frameIndex];
-        batch.draw(frame, bounds[0].x - (width - bounds[0].width) / 2f,
+        cola.draw(ColaDibujo.CAPA_OBSTACULOS, frame, bounds[0].x - (width - bounds[0].width) / 2f,
             bounds[0].y - (height - bounds[0].height) / 2f, width, height);
     }
 
     /** Indica si el enemigo ha salido completamente de pantalla */
     @Override
     public boolean fueraDePantalla() {
-        return bounds[0].x + bounds[0].width < 0;
+        return ReglasPartida.fueraDePantalla(bounds[0].x, bounds[0].width);
     }
 
     /** Reposiciona el enemigo en una nueva coordenada X */
     @Override
     public void reposicionar(float nuevoX) {
         this.x = nuevoX;
-        bounds[0].setX(nuevoX + (width - bounds[0].width) / 2f);
+        bounds[0].setX(nuevoX + ReglasPartida.ENEMY_HIT_OFFSET_X);
+    }
+
+    /** Ubica el enemigo con la altura base indicada por un nivel (no tiene hueco) */
+    @Override
+    public void colocar(float nuevoX, float alturaBase, float hueco) {
+        this.x = nuevoX;
+        this.y = alturaBase;
+        actualizarHitbox();
     }
 
     /** Retorna true si colisiona con el jugador */
@@ -124,6 +126,9 @@ public class Enemigo implements Colision {
     @Override
     public float getAncho() { return bounds[0].width; }
 
+    @Override
+    public float getFaseOnda() { return tiempo; }
+
     /** Ajusta la velocidad del enemigo en tiempo real (Strategy) */
     @Override
     public void setVelocidad(float nuevaVelocidad) {
@@ -139,4 +144,25 @@ public class Enemigo implements Colision {
     public void aplicarEstrategia(DifficultyStrategy strategy, int score) {
         this.velocidad = strategy.getEnemySpeed(score);
     }
+
+    @Override
+    public byte causaDeMuerte() { return RunRecord.CAUSA_ENEMIGO; }
+
+    /** Guarda x, altura base, tiempo (fase de la onda y animación) y velocidad. */
+    @Override
+    public void guardarEstado(RewindBuffer buffer) {
+        buffer.putFloat(x);
+        buffer.putFloat(y);
+        buffer.putFloat(tiempo);
+        buffer.putFloat(velocidad);
+    }
+
+    @Override
+    public void restaurarEstado(RewindBuffer buffer) {
+        x = buffer.getFloat();
+        y = buffer.getFloat();
+        tiempo = buffer.getFloat();
+        velocidad = buffer.getFloat();
+        actualizarHitbox();
+    }
 }
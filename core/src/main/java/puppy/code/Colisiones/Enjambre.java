@@ -0,0 +1,303 @@
+package puppy.code.Colisiones;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+
+import puppy.code.DifficultyStrategy;
+import puppy.code.Dibujo.ColaDibujo;
+import puppy.code.Historial.RunRecord;
+import puppy.code.Rebobinado.RewindBuffer;
+import puppy.code.Screens.GameScreen;
+
+/**
+ * Clase Enjambre
+ * Cientos de enemigos chicos que vuelan en bandada (separación, alineación y
+ * cohesión) mientras el grupo avanza hacia la izquierda a la velocidad de un
+ * Enemigo. Cada agente conserva la onda vertical de Enemigo, con su propia
+ * fase. Para Obstaculo es un solo obstáculo (Colision) que ocupa de la x del
+ * agente más adelantado a la del más atrasado.
+ *
+ * Los agentes están en arreglos paralelos (sin un objeto por agente salvo su
+ * Rectangle de hitbox) y los vecinos se buscan en una RejillaEspacial que se
+ * reconstruye al final de cada tick: la bandada es O(n · vecinos) en vez de
+ * O(n²), y la misma rejilla responde la colisión con el jugador mirando solo
+ * las celdas que toca.
+ *
+ * Las velocidades del tick se escriben en un segundo par de arreglos, así el
+ * resultado no depende del orden en que se recorren los agentes.
+ */
+public class Enjambre implements Colision {
+
+    // --- Tamaño y forma de cada agente ---
+    private static final float AGENTE = 14f;                   // lado del sprite
+    private static final float HIT_ANCHO = AGENTE * 0.5f;      // hitbox reducida, como la de Enemigo
+    private static final float HIT_ALTO = AGENTE * 0.4f;
+    private static final float AMPLITUD = 12f;                 // onda vertical (Enemigo usa 40 con un solo sprite)
+
+    // --- Reglas de la bandada ---
+    private static final float RADIO = 24f;                    // vecindad (y lado de las celdas)
+    private static final float SEPARACION = 10f;               // distancia mínima cómoda
+    private static final float K_SEPARACION = 900f;
+    private static final float K_ALINEACION = 1.5f;
+    private static final float K_COHESION = 1.2f;
+    private static final float K_AVANCE = 2f;                  // tira de vx hacia -velocidad
+    private static final float K_BANDA = 8f;                   // empuja de vuelta a la franja vertical
+    private static final float VELOCIDAD_RELATIVA = 70f;       // máxima respecto del avance del grupo
+
+    private final Texture[] frames;
+    private final float piso;
+    private final float techo;
+    private final int n;
+
+    // --- Agentes (arreglos paralelos) ---
+    private final float[] x, y;          // posición base (sin la onda)
+    private float[] vx, vy;
+    private float[] nvx, nvy;            // velocidades del tick en curso
+    private final float[] fase;          // desfase de la onda de cada agente
+    private final Rectangle[] bounds;
+
+    private final RejillaEspacial rejilla;
+    private final int[] celdas = new int[32];
+
+    private float velocidad;
+    private float tiempo;
+    private float minX, maxX;            // extensión horizontal de la bandada
+
+    /**
+     * @param frames sprites de animación (los de Enemigo)
+     * @param agentes cantidad de agentes
+     * @param startX x del borde izquierdo de la bandada
+     * @param worldH altura lógica del mundo
+     * @param suelo altura del suelo (la bandada vuela por encima)
+     * @param velocidad velocidad inicial de avance del grupo
+     */
+    public Enjambre(Texture[] frames, int agentes, float startX, float worldH, float suelo, float velocidad) {
+        this.frames = frames;
+        this.n = agentes;
+        this.piso = suelo + 40f;
+        this.techo = worldH - 60f;
+        this.velocidad = velocidad;
+        x = new float[n];
+        y = new float[n];
+        vx = new float[n];
+        vy = new float[n];
+        nvx = new float[n];
+        nvy = new float[n];
+        fase = new float[n];
+        bounds = new Rectangle[n];
+        for (int i = 0; i < n; i++) {
+            bounds[i] = new Rectangle(0, 0, HIT_ANCHO, HIT_ALTO);
+            fase[i] = MathUtils.random(MathUtils.PI2);
+        }
+        rejilla = new RejillaEspacial(n, RADIO);
+        repartir(startX, (piso + techo) / 2f);
+    }
+
+    /** Distribuye los agentes en un bloque que empieza en x0 y está centrado en la altura indicada. */
+    private void repartir(float x0, float centroY) {
+        float lado = (float) Math.sqrt(n) * SEPARACION * 1.2f;
+        float alto = Math.min(lado, techo - piso);
+        float y0 = MathUtils.clamp(centroY - alto / 2f, piso, techo - alto);
+        for (int i = 0; i < n; i++) {
+            x[i] = x0 + MathUtils.random(lado);
+            y[i] = y0 + MathUtils.random(alto);
+            vx[i] = -velocidad;
+            vy[i] = 0f;
+        }
+        terminarTick();
+    }
+
+    // --- Bandada ---
+
+    /** Un tick: reglas de bandada con los vecinos de la rejilla, avance y hitboxes. */
+    @Override
+    public void update(float dt) {
+        tiempo += dt;
+        float radio2 = RADIO * RADIO;
+        float separacion2 = SEPARACION * SEPARACION;
+        for (int i = 0; i < n; i++) {
+            float xi = x[i], yi = y[i];
+            float sepX = 0, sepY = 0, velX = 0, velY = 0, cenX = 0, cenY = 0;
+            int vecinos = 0;
+            int nc = rejilla.celdasVecinas(xi, yi, celdas);
+            for (int c = 0; c < nc; c++) {
+                int fin = rejilla.fin(celdas[c]);
+                for (int k = rejilla.inicio(celdas[c]); k < fin; k++) {
+                    int j = rejilla.agente(k);
+                    if (j == i) continue;
+                    float dx = x[j] - xi, dy = y[j] - yi;
+                    float d2 = dx * dx + dy * dy;
+                    if (d2 >= radio2) continue; // otra celda del mismo casillero, o fuera del radio
+                    vecinos++;
+                    velX += vx[j];
+                    velY += vy[j];
+                    cenX += dx;
+                    cenY += dy;
+                    if (d2 < separacion2 && d2 > 1e-4f) {
+                        sepX -= dx / d2;
+                        sepY -= dy / d2;
+                    }
+                }
+            }
+
+            float ax = K_SEPARACION * sepX + K_AVANCE * (-velocidad - vx[i]);
+            float ay = K_SEPARACION * sepY - K_AVANCE * vy[i] * 0.5f;
+            if (vecinos > 0) {
+                float inv = 1f / vecinos;
+                ax += K_ALINEACION * (velX * inv - vx[i]) + K_COHESION * cenX * inv;
+                ay += K_ALINEACION * (velY * inv - vy[i]) + K_COHESION * cenY * inv;
+            }
+            if (yi < piso) ay += K_BANDA * (piso - yi);
+            else if (yi > techo) ay -= K_BANDA * (yi - techo);
+
+            // Velocidad nueva, limitada respecto del avance del grupo
+            float rx = vx[i] + ax * dt + velocidad;
+            float ry = vy[i] + ay * dt;
+            float r2 = rx * rx + ry * ry;
+            if (r2 > VELOCIDAD_RELATIVA * VELOCIDAD_RELATIVA) {
+                float escala = VELOCIDAD_RELATIVA / (float) Math.sqrt(r2);
+                rx *= escala;
+                ry *= escala;
+            }
+            nvx[i] = rx - velocidad;
+            nvy[i] = ry;
+        }
+
+        float[] t = vx; vx = nvx; nvx = t;
+        t = vy; vy = nvy; nvy = t;
+        for (int i = 0; i < n; i++) {
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+        }
+        terminarTick();
+    }
+
+    /** Extensión horizontal, hitboxes (con la onda) y rejilla para el próximo tick y para colisiona(). */
+    private void terminarTick() {
+        float min = Float.MAX_VALUE, max = -Float.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            if (x[i] < min) min = x[i];
+            if (x[i] > max) max = x[i];
+            bounds[i].setPosition(x[i] + (AGENTE - HIT_ANCHO) / 2f, alturaConOnda(i) + (AGENTE - HIT_ALTO) / 2f);
+        }
+        minX = min;
+        maxX = max;
+        rejilla.construir(x, y, n);
+    }
+
+    private float alturaConOnda(int i) {
+        return y[i] + MathUtils.sin(tiempo * 3f + fase[i]) * AMPLITUD;
+    }
+
+    // --- Colision ---
+
+    /** Solo revisa los agentes de las celdas que toca el rectángulo (más el alcance de la onda). */
+    @Override
+    public boolean colisiona(Rectangle boundsJugador) {
+        int nc = rejilla.celdasEnRectangulo(
+            boundsJugador.x - AGENTE, boundsJugador.y - AGENTE - AMPLITUD,
+            boundsJugador.x + boundsJugador.width, boundsJugador.y + boundsJugador.height + AMPLITUD, celdas);
+        for (int c = 0; c < nc; c++) {
+            int fin = rejilla.fin(celdas[c]);
+            for (int k = rejilla.inicio(celdas[c]); k < fin; k++) {
+                if (bounds[rejilla.agente(k)].overlaps(boundsJugador)) return true;
+            }
+        }
+        return false;
+    }
+
+    /** La bandada salió de pantalla cuando sale el último agente. */
+    @Override
+    public boolean fueraDePantalla() {
+        return maxX + AGENTE < 0;
+    }
+
+    /** Vuelve a formar la bandada a partir de nuevoX, a una altura al azar. */
+    @Override
+    public void reposicionar(float nuevoX) {
+        repartir(nuevoX, MathUtils.random(piso, techo));
+    }
+
+    /** Desplaza la bandada entera para que empiece en nuevoX con el centro a la altura indicada. */
+    @Override
+    public void colocar(float nuevoX, float centroY, float hueco) {
+        float dx = nuevoX - minX;
+        float dy = centroY - promedioY();
+        for (int i = 0; i < n; i++) {
+            x[i] += dx;
+            y[i] += dy;
+        }
+        terminarTick();
+    }
+
+    private float promedioY() {
+        float suma = 0;
+        for (int i = 0; i < n; i++) suma += y[i];
+        return n > 0 ? suma / n : 0f;
+    }
+
+    /** Encola los agentes visibles con el frame de animación desfasado por agente. */
+    @Override
+    public void draw(ColaDibujo cola, float worldHeight) {
+        if (frames == null || frames.length == 0) return;
+        int base = (int) (tiempo * 10);
+        for (int i = 0; i < n; i++) {
+            if (x[i] + AGENTE < 0 || x[i] > GameScreen.worldWidth) continue;
+            Texture frame = frames[(base + i) % frames.length];
+            cola.draw(ColaDibujo.CAPA_OBSTACULOS, frame, x[i], alturaConOnda(i), AGENTE, AGENTE);
+        }
+    }
+
+    @Override
+    public float getX() { return minX; }
+
+    @Override
+    public float getAncho() { return maxX - minX + AGENTE; }
+
+    @Override
+    public float getVelocidad() { return velocidad; }
+
+    /** Hitbox de cada agente (una por agente, en el orden de los arreglos). */
+    @Override
+    public Rectangle[] getBounds() { return bounds; }
+
+    @Override
+    public void setVelocidad(float nuevaVelocidad) {
+        this.velocidad = nuevaVelocidad;
+    }
+
+    /** El grupo avanza a la velocidad de un Enemigo para el puntaje actual (Strategy GM2.3). */
+    @Override
+    public void aplicarEstrategia(DifficultyStrategy strategy, int score) {
+        this.velocidad = strategy.getEnemySpeed(score);
+    }
+
+    @Override
+    public byte causaDeMuerte() { return RunRecord.CAUSA_ENEMIGO; }
+
+    /**
+     * Guarda solo borde izquierdo, altura media, tiempo y velocidad: no alcanza
+     * para reconstruir cada agente, así que las partidas con enjambre no se
+     * rebobinan ni se suspenden (restaurar desplaza la bandada actual).
+     */
+    @Override
+    public void guardarEstado(RewindBuffer buffer) {
+        buffer.putFloat(minX);
+        buffer.putFloat(promedioY());
+        buffer.putFloat(tiempo);
+        buffer.putFloat(velocidad);
+    }
+
+    @Override
+    public void restaurarEstado(RewindBuffer buffer) {
+        float x0 = buffer.getFloat();
+        float centroY = buffer.getFloat();
+        tiempo = buffer.getFloat();
+        velocidad = buffer.getFloat();
+        colocar(x0, centroY, 0f);
+    }
+
+    /** Cantidad de agentes. */
+    public int getAgentes() { return n; }
+}
@@ -0,0 +1,112 @@
+package puppy.code.Colisiones;
+
+import java.util.Arrays;
+
+/**
+ * Clase RejillaEspacial
+ * Rejilla uniforme con hash espacial para consultas de vecinos entre muchos
+ * puntos (los agentes de Enjambre). Cada celda de tamCelda x tamCelda se
+ * asigna a un casillero de una tabla de potencia de dos, así que el mundo no
+ * necesita límites y la memoria depende solo de la capacidad.
+ *
+ * Se reconstruye entera en cada tick con un counting sort sobre arreglos int
+ * planos (sin listas ni objetos por celda): contar por casillero, prefijos y
+ * repartir. Los puntos de un casillero quedan contiguos en agentes[], entre
+ * inicio(c) y fin(c).
+ *
+ * Dos celdas distintas pueden caer en el mismo casillero: las consultas
+ * devuelven candidatos y quien llama filtra por distancia o por hitbox.
+ * celdasEnRectangulo no repite casilleros, así que ningún candidato aparece
+ * dos veces.
+ */
+public class RejillaEspacial {
+
+    private final float tamCelda;
+    private final int mascara;
+    private final int[] inicio;      // casillero c: agentes[inicio[c] .. inicio[c + 1])
+    private final int[] cursor;      // posición de escritura por casillero durante construir()
+    private final int[] agentes;     // índices de los puntos agrupados por casillero
+    private final int[] casilleroDe; // casillero de cada punto en la última construcción
+
+    /**
+     * @param capacidad máximo de puntos
+     * @param tamCelda lado de cada celda (en general, el radio de vecindad)
+     */
+    public RejillaEspacial(int capacidad, float tamCelda) {
+        int casilleros = Integer.highestOneBit(Math.max(capacidad, 8) * 2 - 1) << 1; // potencia de dos >= 2 * capacidad
+        this.tamCelda = tamCelda;
+        this.mascara = casilleros - 1;
+        this.inicio = new int[casilleros + 1];
+        this.cursor = new int[casilleros];
+        this.agentes = new int[capacidad];
+        this.casilleroDe = new int[capacidad];
+    }
+
+    /** Reagrupa los n primeros puntos de x, y por casillero. */
+    public void construir(float[] x, float[] y, int n) {
+        Arrays.fill(inicio, 0);
+        for (int i = 0; i < n; i++) {
+            int c = casillero(celda(x[i]), celda(y[i]));
+            casilleroDe[i] = c;
+            inicio[c + 1]++;
+        }
+        for (int c = 0; c <= mascara; c++) {
+            inicio[c + 1] += inicio[c];
+            cursor[c] = inicio[c];
+        }
+        for (int i = 0; i < n; i++) {
+            agentes[cursor[casilleroDe[i]]++] = i;
+        }
+    }
+
+    /**
+     * Casilleros (sin repetir) de las celdas que tocan el rectángulo.
+     * @param salida destino; debe tener lugar para todas las celdas del rectángulo
+     * @return cantidad de casilleros escritos en salida
+     */
+    public int celdasEnRectangulo(float x0, float y0, float x1, float y1, int[] salida) {
+        int cx0 = celda(x0), cx1 = celda(x1);
+        int cy0 = celda(y0), cy1 = celda(y1);
+        int k = 0;
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int c = casillero(cx, cy);
+                boolean repetido = false;
+                for (int j = 0; j < k; j++) {
+                    if (salida[j] == c) {
+                        repetido = true;
+                        break;
+                    }
+                }
+                if (repetido) continue;
+                if (k == salida.length) throw new IllegalArgumentException("El rectángulo abarca más celdas que la salida");
+                salida[k++] = c;
+            }
+        }
+        return k;
+    }
+
+    /** Casilleros de las celdas a menos de un tamCelda del punto (el bloque de 3 x 3 celdas). */
+    public int celdasVecinas(float x, float y, int[] salida) {
+        return celdasEnRectangulo(x - tamCelda, y - tamCelda, x + tamCelda, y + tamCelda, salida);
+    }
+
+    /** Primera posición del casillero c en agente(). */
+    public int inicio(int c) { return inicio[c]; }
+
+    /** Posición siguiente a la última del casillero c. */
+    public int fin(int c) { return inicio[c + 1]; }
+
+    /** Índice del punto en la posición k (entre inicio(c) y fin(c)). */
+    public int agente(int k) { return agentes[k]; }
+
+    public float getTamCelda() { return tamCelda; }
+
+    private int celda(float v) {
+        return (int) Math.floor(v / tamCelda);
+    }
+
+    private int casillero(int cx, int cy) {
+        return (cx * 0x9E3779B1 ^ cy * 0x85EBCA77) >>> 7 & mascara;
+    }
+}
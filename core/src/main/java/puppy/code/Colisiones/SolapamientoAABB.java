@@ -0,0 +1,58 @@
+package puppy.code.Colisiones;
+
+/**
+ * Interfaz SolapamientoAABB
+ * Prueba de solapamiento por lotes: un rectángulo contra muchos, guardados
+ * en arreglos float[] separados (x, y, ancho, alto) en lugar de un Rectangle
+ * por objeto. Usa las mismas comparaciones que Rectangle.overlaps, así el
+ * resultado es idéntico al de comparar uno por uno.
+ *
+ * get() elige la implementación una sola vez al arrancar: la vectorial
+ * (jdk.incubator.vector) si el JDK la trae y la JVM se lanzó con
+ * "--add-modules jdk.incubator.vector", si no la escalar. Con
+ * -Dflappy.vector=false se fuerza la escalar.
+ */
+public interface SolapamientoAABB {
+
+    /**
+     * Calcula el solapamiento del rectángulo (qx, qy, qw, qh) con los
+     * rectángulos [0, count) de los arreglos.
+     * @param hits recibe en hits[i] si el i-ésimo rectángulo se solapa
+     * @return cantidad de rectángulos solapados
+     */
+    int overlaps(float qx, float qy, float qw, float qh,
+                 float[] x, float[] y, float[] w, float[] h, int count, boolean[] hits);
+
+    /** Nombre de la implementación, para los reportes. */
+    String nombre();
+
+    /** Implementación elegida para esta JVM. */
+    static SolapamientoAABB get() {
+        return Seleccion.ELEGIDA;
+    }
+
+    /** Implementación escalar, disponible siempre. */
+    static SolapamientoAABB escalar() {
+        return Seleccion.ESCALAR;
+    }
+
+    /** Elección perezosa: se resuelve la primera vez que se pide. */
+    final class Seleccion {
+        static final SolapamientoAABB ESCALAR = new SolapamientoEscalar();
+        static final SolapamientoAABB ELEGIDA = elegir();
+
+        private Seleccion() {}
+
+        private static SolapamientoAABB elegir() {
+            if (!Boolean.parseBoolean(System.getProperty("flappy.vector", "true"))) return ESCALAR;
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return ESCALAR;
+            try {
+                // Compilada aparte (core/src/vector) porque el resto del core apunta a Java 11
+                return (SolapamientoAABB) Class.forName("puppy.code.Colisiones.SolapamientoVectorial")
+                    .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return ESCALAR;
+            }
+        }
+    }
+}
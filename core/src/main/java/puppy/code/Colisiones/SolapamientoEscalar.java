@@ -0,0 +1,29 @@
+package puppy.code.Colisiones;
+
+/**
+ * Clase SolapamientoEscalar
+ * Implementación de SolapamientoAABB con un bucle simple, elemento por
+ * elemento. Es la de referencia y la que se usa si no hay Vector API.
+ */
+final class SolapamientoEscalar implements SolapamientoAABB {
+
+    @Override
+    public int overlaps(float qx, float qy, float qw, float qh,
+                        float[] x, float[] y, float[] w, float[] h, int count, boolean[] hits) {
+        float qRight = qx + qw;
+        float qTop = qy + qh;
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            // Mismo orden de operaciones que Rectangle.overlaps
+            boolean hit = x[i] < qRight && x[i] + w[i] > qx && y[i] < qTop && y[i] + h[i] > qy;
+            hits[i] = hit;
+            if (hit) total++;
+        }
+        return total;
+    }
+
+    @Override
+    public String nombre() {
+        return "escalar";
+    }
+}
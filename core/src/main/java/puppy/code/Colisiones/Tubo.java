@@ -1,12 +1,15 @@
 package puppy.code.Colisiones;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.MathUtils;
 
 import puppy.code.DifficultyStrategy;//Integración para el patrón Strategy (GM2.3)
+import puppy.code.Dibujo.ColaDibujo;
+import puppy.code.Historial.RunRecord;
+import puppy.code.Rebobinado.RewindBuffer;
+import puppy.code.Simulacion.ReglasPartida;
 
 /**
  * Clase Tubo
@@ -14,6 +17,7 @@ import puppy.code.DifficultyStrategy;//Integración para el patrón Strategy (GM
  * Implementa la interfaz Colision → evidencia del polimorfismo (GM1.5).
  * Aplica encapsulamiento mediante atributos privados y getters (GM1.6).
  * Ajusta su comportamiento usando DifficultyStrategy para el patrón Strategy (GM2.3).
+ * Hueco, hitboxes y ancho son los de ReglasPartida.
  */
 public class Tubo implements Colision {
 
@@ -21,65 +25,48 @@ public class Tubo implements Colision {
     private float xInicio;               // posición X actual del tubo
     private float gapY;                  // centro vertical del hueco de paso
     private float velocidad = 120f;      // velocidad de desplazamiento
-    private static final float GAP = 120f; // tamaño del hueco entre tubos
+    private float gap = ReglasPartida.PIPE_GAP; // hueco actual (los niveles a mano pueden cambiarlo)
     private Texture textura;             // textura del tubo
     private final Rectangle[] bounds = new Rectangle[2]; // hitboxes: [0]=superior, [1]=inferior
-    private Vector2 size = new Vector2(); // Tamaño de la textura
-    private float worldHeight;           // // Altura lógica del mundo (para evitar 512 "quemado")
-
-    // Ajuste fino de la hitbox superior
-    private static final float TOP_LIFT = 14f;
+    private Vector2 size = new Vector2(); // Tamaño del sprite (ancho de la hitbox, alto de la textura)
 
     /**
      * Constructor del tubo.
      * @param pipeTex textura del tubo
      * @param startX posición inicial en el eje X
-     * @param worldHeight alto del mundo del juego
      */
-    public Tubo(Texture pipeTex, float startX, float worldHeight) {
+    public Tubo(Texture pipeTex, float startX) {
         // Constructor original: usa velocidad por defecto (120f)
-        this(pipeTex, startX, worldHeight, 120f);
+        this(pipeTex, startX, 120f);
     }
 
     /**
      * Constructor parametrizado: permite definir la velocidad inicial del tubo.
      * Utilizado por estrategias de dificultad para el patrón Strategy (GM2.3).
      */
-    public Tubo(Texture pipeTex, float startX, float worldHeight, float velocidad) {
+    public Tubo(Texture pipeTex, float startX, float velocidad) {
         this.textura = pipeTex;
         this.xInicio = startX;
-        this.size = new Vector2(pipeTex.getWidth(), pipeTex.getHeight());
+        this.size = new Vector2(ReglasPartida.PIPE_WIDTH, pipeTex.getHeight());
         this.velocidad = velocidad;
-        this.worldHeight = worldHeight;
         bounds[0] = new Rectangle();
         bounds[1] = new Rectangle();
-        randomizeGap(worldHeight);
-        updateRects(worldHeight);
+        randomizeGap();
+        updateRects();
     }
 
     // --- Métodos privados auxiliares ---
 
-    /** Calcula aleatoriamente la posición vertical del hueco entre tubos */
-    private void randomizeGap(float worldHeight) {
-        float minY = 150;
-        float maxY = worldHeight - 150;
-        gapY = MathUtils.random(minY, maxY);
+    /** Calcula aleatoriamente la posición vertical del hueco entre tubos (MathUtils.random, con la semilla de la partida) */
+    private void randomizeGap() {
+        gapY = ReglasPartida.nuevoHueco(MathUtils.random);
     }
 
     /** Actualiza las hitboxes superior e inferior según la posición actual */
-    private void updateRects(float worldHeight) {
-        // Hitbox del tubo inferior
-        float bottomHeight = gapY - GAP / 2f;
-        if (bottomHeight < 0) bottomHeight = 0;
-        bounds[1].set(xInicio, 0, size.x, bottomHeight);
-
-        // Hitbox del tubo superior
-        float topY = gapY + GAP / 2f;
-        float topHitboxY = topY + TOP_LIFT;
-        float topHitboxHeight = worldHeight - topHitboxY;
-        if (topHitboxHeight < 0) topHitboxHeight = 0;
-
-        bounds[0].set(xInicio, topHitboxY, size.x, topHitboxHeight);
+    private void updateRects() {
+        bounds[1].set(xInicio, 0, size.x, ReglasPartida.alturaTuboInferior(gapY, gap));
+        bounds[0].set(xInicio, ReglasPartida.baseTuboSuperior(gapY, gap), size.x,
+            ReglasPartida.alturaTuboSuperior(gapY, gap));
     }
 
     //--- Implementación de la interfaz Colision --- (GM1.5) ---
@@ -88,29 +75,39 @@ public class Tubo implements Colision {
     @Override
     public void update(float dt) {
         xInicio -= velocidad * dt;
-        updateRects(worldHeight);
+        updateRects();
     }
 
     /** Indica si el tubo salió completamente de la pantalla */
     @Override
     public boolean fueraDePantalla() {
-        return xInicio + size.x < 0;
+        return ReglasPartida.fueraDePantalla(xInicio, size.x);
     }
 
     /** Reposiciona el tubo y genera un nuevo hueco aleatorio */
     @Override
     public void reposicionar(float newX) {
         xInicio = newX;
-        randomizeGap(worldHeight);
-        updateRects(worldHeight);
+        gap = ReglasPartida.PIPE_GAP;
+        randomizeGap();
+        updateRects();
+    }
+
+    /** Ubica el tubo con el hueco indicado por un nivel (0 = hueco normal) */
+    @Override
+    public void colocar(float newX, float centroHueco, float hueco) {
+        xInicio = newX;
+        gapY = centroHueco;
+        gap = hueco > 0 ? hueco : ReglasPartida.PIPE_GAP;
+        updateRects();
     }
 
     /** Dibuja el tubo superior e inferior */
     @Override
-    public void draw(SpriteBatch batch, float worldHeight) {
-        batch.draw(textura, xInicio, 0, size.x, (int) (gapY - GAP / 2f)); // tubo inferior
-        batch.draw(textura, xInicio, (int) (gapY + GAP / 2f),
-            size.x, (int) (worldHeight - (gapY + GAP / 2f))); // tubo superior
+    public void draw(ColaDibujo cola, float worldHeight) {
+        cola.draw(ColaDibujo.CAPA_OBSTACULOS, textura, xInicio, 0, size.x, (int) (gapY - gap / 2f)); // tubo inferior
+        cola.draw(ColaDibujo.CAPA_OBSTACULOS, textura, xInicio, (int) (gapY + gap / 2f),
+            size.x, (int) (worldHeight - (gapY + gap / 2f))); // tubo superior
     }
 
     /** Retorna true si el jugador colisiona con alguno de los tubos */
@@ -148,4 +145,34 @@ public class Tubo implements Colision {
     public void aplicarEstrategia(DifficultyStrategy strategy, int score) {
         this.velocidad = strategy.getPipeSpeed(score);
     }
+
+    @Override
+    public byte causaDeMuerte() { return RunRecord.CAUSA_TUBO; }
+
+    /** El tubo inferior está apoyado en el suelo: al salir levanta polvo. */
+    @Override
+    public boolean levantaPolvo() { return true; }
+
+    /**
+     * Guarda x, gapY, el tamaño del hueco y velocidad. El tubo no tiene tiempo
+     * propio: el hueco va en su lugar, y un 0 (fotos de HiloSimulacion,
+     * snapshots anteriores) se lee como el hueco normal.
+     */
+    @Override
+    public void guardarEstado(RewindBuffer buffer) {
+        buffer.putFloat(xInicio);
+        buffer.putFloat(gapY);
+        buffer.putFloat(gap);
+        buffer.putFloat(velocidad);
+    }
+
+    @Override
+    public void restaurarEstado(RewindBuffer buffer) {
+        xInicio = buffer.getFloat();
+        gapY = buffer.getFloat();
+        float hueco = buffer.getFloat();
+        gap = hueco > 0 ? hueco : ReglasPartida.PIPE_GAP;
+        velocidad = buffer.getFloat();
+        updateRects();
+    }
 }
@@ -0,0 +1,198 @@
+package puppy.code.Dibujo;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+
+/**
+ * Clase ColaDibujo
+ * Cola de comandos de dibujo de un frame: cada objeto encola (capa, textura,
+ * región UV y rectángulo) en arreglos preasignados, y al final del frame la
+ * cola se ordena y se envía al Batch en una sola pasada.
+ *
+ * Cada comando lleva una clave de 64 bits: capa (8 bits) | textura (24 bits)
+ * | orden de llegada (32 bits). Ordenar por la clave respeta las capas y,
+ * dentro de una capa, junta los comandos de la misma textura, así que el
+ * SpriteBatch solo cambia de textura (y vacía el lote) una vez por textura
+ * y capa. Dentro de una capa no se garantiza el orden entre texturas
+ * distintas: lo que deba quedar encima va en una capa mayor.
+ *
+ * El orden es un radix sort LSD de 8 bits por pasada que salta los bytes
+ * iguales en todas las claves (en el juego, 3 o 4 de las 8 pasadas). No
+ * crea objetos por frame; solo el registro de texturas crece la primera
+ * vez que aparece una textura nueva.
+ */
+public class ColaDibujo {
+
+    // --- Capas del juego, de atrás hacia adelante ---
+    public static final int CAPA_FONDO = 0;
+    public static final int CAPA_OBSTACULOS = 1;
+    public static final int CAPA_EFECTOS = 2;
+    public static final int CAPA_JUGADOR = 3;
+    public static final int CAPA_SUELO = 4;
+
+    // --- Layout de cada comando en el buffer de floats ---
+    private static final int X = 0, Y = 1, ANCHO = 2, ALTO = 3, U = 4, V = 5, U2 = 6, V2 = 7, COLOR = 8;
+    private static final int STRIDE = 9;
+
+    private final int capacity;
+    private final float[] datos;
+    private final int[] texturaDe;     // id de textura de cada comando
+    private long[] claves;
+    private long[] auxiliar;           // destino de cada pasada del radix sort
+    private final int[] conteo = new int[256];
+    private int count;
+    private int descartados;
+
+    // --- Registro de texturas: id = posición ---
+    private Texture[] texturas = new Texture[16];
+    private int texturaCount;
+
+    // --- Estadísticas del último frame enviado ---
+    private int binds;
+    private int bindsSinOrdenar;
+    private int comandos;
+
+    /** @param capacity máximo de comandos por frame; los que exceden se descartan (y se cuentan) */
+    public ColaDibujo(int capacity) {
+        this.capacity = capacity;
+        this.datos = new float[capacity * STRIDE];
+        this.texturaDe = new int[capacity];
+        this.claves = new long[capacity];
+        this.auxiliar = new long[capacity];
+    }
+
+    // --- Encolado ---
+
+    /** Textura completa estirada al rectángulo indicado. */
+    public void draw(int capa, Texture texture, float x, float y, float width, float height) {
+        draw(capa, texture, x, y, width, height, 0f, 1f, 1f, 0f, Color.WHITE_FLOAT_BITS);
+    }
+
+    /** Región UV de la textura (mismas convenciones que Batch.draw con u, v, u2, v2). */
+    public void draw(int capa, Texture texture, float x, float y, float width, float height,
+                     float u, float v, float u2, float v2) {
+        draw(capa, texture, x, y, width, height, u, v, u2, v2, Color.WHITE_FLOAT_BITS);
+    }
+
+    /** Región UV con color empaquetado (Color.toFloatBits) como tinte. */
+    public void draw(int capa, Texture texture, float x, float y, float width, float height,
+                     float u, float v, float u2, float v2, float packedColor) {
+        if (count == capacity) {
+            descartados++;
+            return;
+        }
+        int id = idTextura(texture);
+        int base = count * STRIDE;
+        datos[base + X] = x;
+        datos[base + Y] = y;
+        datos[base + ANCHO] = width;
+        datos[base + ALTO] = height;
+        datos[base + U] = u;
+        datos[base + V] = v;
+        datos[base + U2] = u2;
+        datos[base + V2] = v2;
+        datos[base + COLOR] = packedColor;
+        texturaDe[count] = id;
+        claves[count] = (long) (capa & 0xFF) << 56 | (long) id << 32 | count;
+        count++;
+    }
+
+    /** Id estable de la textura (búsqueda lineal: el juego usa pocas texturas). */
+    private int idTextura(Texture texture) {
+        for (int i = 0; i < texturaCount; i++) {
+            if (texturas[i] == texture) return i;
+        }
+        if (texturaCount == texturas.length) texturas = Arrays.copyOf(texturas, texturas.length * 2);
+        texturas[texturaCount] = texture;
+        return texturaCount++;
+    }
+
+    // --- Envío ---
+
+    /**
+     * Ordena los comandos del frame, los dibuja en el batch (que debe estar
+     * entre begin y end) y vacía la cola para el frame siguiente.
+     */
+    public void dibujar(Batch batch) {
+        bindsSinOrdenar = contarCambios();
+        ordenar();
+
+        int anterior = -1;
+        float color = batch.getPackedColor();
+        float colorInicial = color;
+        int cambios = 0;
+        for (int i = 0; i < count; i++) {
+            int comando = (int) claves[i];
+            int id = texturaDe[comando];
+            if (id != anterior) {
+                cambios++;
+                anterior = id;
+            }
+            int base = comando * STRIDE;
+            if (datos[base + COLOR] != color) {
+                color = datos[base + COLOR];
+                batch.setPackedColor(color);
+            }
+            batch.draw(texturas[id], datos[base + X], datos[base + Y], datos[base + ANCHO], datos[base + ALTO],
+                datos[base + U], datos[base + V], datos[base + U2], datos[base + V2]);
+        }
+        if (color != colorInicial) batch.setPackedColor(colorInicial);
+
+        binds = cambios;
+        comandos = count;
+        count = 0;
+    }
+
+    /** Cambios de textura si los comandos se dibujaran en el orden en que llegaron. */
+    private int contarCambios() {
+        int cambios = 0;
+        int anterior = -1;
+        for (int i = 0; i < count; i++) {
+            if (texturaDe[i] != anterior) {
+                cambios++;
+                anterior = texturaDe[i];
+            }
+        }
+        return cambios;
+    }
+
+    /** Radix sort LSD de las claves, un byte por pasada, saltando los bytes constantes. */
+    private void ordenar() {
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(conteo, 0);
+            for (int i = 0; i < count; i++) conteo[(int) (claves[i] >>> shift) & 0xFF]++;
+            if (count == 0 || conteo[(int) (claves[0] >>> shift) & 0xFF] == count) continue; // todas iguales
+
+            int suma = 0;
+            for (int b = 0; b < 256; b++) {
+                int c = conteo[b];
+                conteo[b] = suma;
+                suma += c;
+            }
+            for (int i = 0; i < count; i++) {
+                long clave = claves[i];
+                auxiliar[conteo[(int) (clave >>> shift) & 0xFF]++] = clave;
+            }
+            long[] t = claves;
+            claves = auxiliar;
+            auxiliar = t;
+        }
+    }
+
+    // --- Estadísticas ---
+
+    /** Cambios de textura (binds) del último frame enviado. */
+    public int getBinds() { return binds; }
+
+    /** Binds que habría costado el último frame sin ordenar, para comparar. */
+    public int getBindsSinOrdenar() { return bindsSinOrdenar; }
+
+    /** Comandos dibujados en el último frame. */
+    public int getComandos() { return comandos; }
+
+    /** Comandos descartados por falta de capacidad desde que se creó la cola. */
+    public int getDescartados() { return descartados; }
+}
@@ -0,0 +1,86 @@
+package puppy.code.Dibujo;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/**
+ * Clase ResolucionBaja
+ * Destino de dibujo fuera de pantalla (FrameBuffer) del tamaño del mundo,
+ * multiplicado por una escala de render. El frame se dibuja entero ahí, a
+ * resolución fija, y después se copia a la ventana con un solo quad escalado
+ * por ViewportEntero con filtro Nearest. Así el costo de rellenar pixeles
+ * (fill rate) depende del mundo y no del tamaño de la ventana.
+ *
+ * Uso por frame: comenzar(), dibujar el mundo con su propia cámara, y
+ * terminar(batch) con el batch fuera de begin/end.
+ */
+public class ResolucionBaja implements Disposable {
+
+    private final float worldWidth;
+    private final float worldHeight;
+    private final FrameBuffer frameBuffer;
+    private final Texture textura;
+    private final ViewportEntero viewport;
+
+    /**
+     * @param worldWidth ancho del mundo
+     * @param worldHeight alto del mundo
+     * @param escala pixeles del FrameBuffer por unidad del mundo (1 = resolución nativa del juego)
+     */
+    public ResolucionBaja(float worldWidth, float worldHeight, float escala) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        int ancho = Math.max(1, Math.round(worldWidth * escala));
+        int alto = Math.max(1, Math.round(worldHeight * escala));
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, ancho, alto, false);
+        textura = frameBuffer.getColorBufferTexture();
+        textura.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        viewport = new ViewportEntero(worldWidth, worldHeight, ancho, alto);
+        viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
+    }
+
+    /** Recalcula la escala entera y las franjas para el nuevo tamaño de ventana. */
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    /** Dirige el dibujo al FrameBuffer y lo limpia. */
+    public void comenzar() {
+        frameBuffer.begin();
+        ScreenUtils.clear(0f, 0f, 0f, 1f);
+    }
+
+    /**
+     * Vuelve a la ventana, limpia las franjas y copia el FrameBuffer escalado.
+     * El batch no debe estar entre begin y end; su matriz de proyección queda
+     * en la del viewport.
+     */
+    public void terminar(Batch batch) {
+        frameBuffer.end();
+        ScreenUtils.clear(0f, 0f, 0f, 1f);
+        viewport.apply();
+        batch.setProjectionMatrix(viewport.getCamera().combined);
+        batch.disableBlending(); // el alfa del FrameBuffer no debe oscurecer la copia
+        batch.begin();
+        batch.draw(textura, 0f, 0f, worldWidth, worldHeight, 0f, 0f, 1f, 1f); // la textura del FrameBuffer está invertida en y
+        batch.end();
+        batch.enableBlending();
+        // Las pantallas de UI dibujan en la ventana entera
+        HdpiUtils.glViewport(0, 0, Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+    }
+
+    public int getAncho() { return frameBuffer.getWidth(); }
+    public int getAlto() { return frameBuffer.getHeight(); }
+    public ViewportEntero getViewport() { return viewport; }
+
+    @Override
+    public void dispose() {
+        frameBuffer.dispose();
+    }
+}
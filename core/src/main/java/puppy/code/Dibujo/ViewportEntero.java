@@ -0,0 +1,53 @@
+package puppy.code.Dibujo;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Clase ViewportEntero
+ * Viewport que escala una imagen de pixelesAncho x pixelesAlto por el mayor
+ * factor entero que entra en la ventana y la centra con franjas negras
+ * (letterboxing). Con un factor entero y filtro Nearest cada pixel de la
+ * imagen ocupa el mismo bloque de pixeles en pantalla, sin bordes borrosos
+ * ni pixeles de distinto ancho.
+ *
+ * Si la ventana es más chica que la imagen, se reduce con el factor
+ * fraccionario que la hace entrar (no hay factor entero posible).
+ */
+public class ViewportEntero extends Viewport {
+
+    private final int pixelesAncho;
+    private final int pixelesAlto;
+    private float escala;
+
+    /**
+     * @param worldWidth ancho del mundo que cubre la imagen
+     * @param worldHeight alto del mundo que cubre la imagen
+     * @param pixelesAncho ancho en pixeles de la imagen que se escala
+     * @param pixelesAlto alto en pixeles de la imagen que se escala
+     */
+    public ViewportEntero(float worldWidth, float worldHeight, int pixelesAncho, int pixelesAlto) {
+        this(worldWidth, worldHeight, pixelesAncho, pixelesAlto, new OrthographicCamera());
+    }
+
+    public ViewportEntero(float worldWidth, float worldHeight, int pixelesAncho, int pixelesAlto, Camera camera) {
+        this.pixelesAncho = pixelesAncho;
+        this.pixelesAlto = pixelesAlto;
+        setWorldSize(worldWidth, worldHeight);
+        setCamera(camera);
+    }
+
+    @Override
+    public void update(int screenWidth, int screenHeight, boolean centerCamera) {
+        escala = Math.min((float) screenWidth / pixelesAncho, (float) screenHeight / pixelesAlto);
+        if (escala >= 1f) escala = (float) Math.floor(escala);
+        int ancho = Math.round(pixelesAncho * escala);
+        int alto = Math.round(pixelesAlto * escala);
+        setScreenBounds((screenWidth - ancho) / 2, (screenHeight - alto) / 2, ancho, alto);
+        apply(centerCamera);
+    }
+
+    /** Factor de escala de la última actualización (entero salvo que la ventana sea más chica que la imagen). */
+    public float getEscala() { return escala; }
+}
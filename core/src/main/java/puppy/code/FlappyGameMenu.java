@@ -1,10 +1,30 @@
 package puppy.code;
 
+import java.io.File;
+import java.io.IOException;
+
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 
+import puppy.code.Guardado.SuspendStore;
+import puppy.code.Historial.RunHistory;
+import puppy.code.Historial.RunRecord;
+import puppy.code.Niveles.NivelArchivo;
+import puppy.code.Perfilado.EventoCambioPantalla;
+import puppy.code.Recursos.RegistroRecursos;
+import puppy.code.Screens.GameScreen;
 import puppy.code.Screens.MainMenuScreen;
+import puppy.code.Screens.PauseScreen;
+import puppy.code.Simulacion.ReglasPartida;
+import puppy.code.Simulacion.ReplaySubmission;
+import puppy.code.Telemetria.MonitorTirones;
+import puppy.code.Telemetria.TelemetryRecorder;
 
 /**
  * Clase FlappyGameMenu
@@ -18,11 +38,20 @@ import puppy.code.Screens.MainMenuScreen;
 public class FlappyGameMenu extends Game {
 
     // --- Constantes y atributos privados (GM1.6) ---
-    public static final float GROUND_LEVEL = 96f; // Altura del suelo en el mundo
-    private SpriteBatch batch; // Batch global de renderizado
+    public static final float GROUND_LEVEL = ReglasPartida.GROUND_LEVEL; // Altura del suelo en el mundo
+    private Batch batch; // Batch global de renderizado, compartido por todas las pantallas
     private BitmapFont font; // Fuente por defecto para textos
     private int higherScore; // Mejor puntaje histórico del jugador
     private Asset assets; // Acceso centralizado a recursos (Singleton)
+    private RunHistory runHistory; // Historial de partidas en disco (null si no se pudo abrir)
+    private TelemetryRecorder telemetry; // Telemetría de partidas (null si está desactivada)
+    private SuspendStore suspendStore; // Partida suspendida en disco (null si está desactivada)
+    private boolean hiloSimulacion; // las partidas normales simulan en su propio hilo (HiloSimulacion)
+    private boolean puntoFijo; // y ese hilo simula con SimulacionFija en vez de SimulacionPartida
+    private NivelArchivo nivel; // nivel hecho a mano que se juega con N desde el menú (null si no hay)
+    private int agentesEnjambre; // agentes del modo enjambre (E desde el menú)
+    private float escalaRender; // pixeles del FrameBuffer de GameScreen por unidad del mundo
+    private ReplaySubmission ultimoEnvio; // última partida de HiloSimulacion lista para ReplayVerifier (null si no hay)
 
     /**
      * Metodo principal de inicialización.
@@ -31,36 +60,247 @@ public class FlappyGameMenu extends Game {
      */
     @Override
     public void create() {
-        batch = new SpriteBatch();
-        font = new BitmapFont(); // Fuente por defecto de LibGDX
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        batch = registro.crear(this, createBatch(), "batch compartido");
+        font = registro.crear(this, new BitmapFont(), "fuente por defecto"); // Fuente por defecto de LibGDX
         assets = Asset.getInstancia(); // Uso del Singleton (GM2.1)
-        this.setScreen(new MainMenuScreen(this)); // Pantalla inicial del juego
+        runHistory = abrirHistorial();
+        telemetry = createTelemetry();
+        // Simulación en un hilo aparte del render; se activa con -Dflappy.simThread=true
+        hiloSimulacion = "true".equals(System.getProperty("flappy.simThread"));
+        // Física en punto fijo (SimulacionFija), verificable en cualquier plataforma; -Dflappy.fixed=true
+        // también activa el hilo de simulación, que es donde corre
+        puntoFijo = "true".equals(System.getProperty("flappy.fixed"));
+        hiloSimulacion |= puntoFijo;
+        // Nivel hecho a mano (archivo generado por ConvertidorNivel); se elige con -Dflappy.nivel=ruta
+        nivel = abrirNivel(System.getProperty("flappy.nivel"));
+        // Tamaño de la bandada del modo enjambre; se cambia con -Dflappy.enjambre=N
+        agentesEnjambre = Math.max(1, Integer.getInteger("flappy.enjambre", 200));
+        // Resolución a la que se dibuja la partida (1 = 288 x 600); menos de 1 alivia GPUs integradas débiles
+        escalaRender = leerEscalaRender(System.getProperty("flappy.renderScale"));
+        // Partida suspendida al cerrar o minimizar; se desactiva con -Dflappy.suspend=false
+        GameScreen suspendida = null;
+        if (!"false".equals(System.getProperty("flappy.suspend"))) {
+            suspendStore = new SuspendStore(Gdx.files.external(".flappy/suspended_game.bin").file());
+            suspendida = suspendStore.cargar(this);
+        }
+        // Pantalla inicial del juego: la partida suspendida, si hay una, o el menú
+        this.setScreen(suspendida != null ? suspendida : new MainMenuScreen(this));
+    }
+
+    /**
+     * Crea el Batch compartido por todas las pantallas.
+     * Puede sobrescribirse para entregar otra implementación de Batch
+     * (por ejemplo, una que solo registra los comandos de dibujo en pruebas sin GPU).
+     */
+    protected Batch createBatch() {
+        return new SpriteBatch();
+    }
+
+    /**
+     * Crea la telemetría local en archivos rotativos; null si se desactivó con
+     * -Dflappy.telemetry=false. Puede sobrescribirse para escribir en otra
+     * carpeta (por ejemplo, una temporal en las verificaciones headless).
+     */
+    protected TelemetryRecorder createTelemetry() {
+        if ("false".equals(System.getProperty("flappy.telemetry"))) return null;
+        return new TelemetryRecorder(Gdx.files.external(".flappy/telemetry").file(), 1 << 20, 8);
+    }
+
+    /**
+     * Abre el historial de partidas en el directorio del usuario (junto a las Preferences,
+     * fuera de assets); sin historial el juego sigue funcionando.
+     */
+    private RunHistory abrirHistorial() {
+        try {
+            FileHandle file = Gdx.files.external(".flappy/run_history.bin");
+            file.parent().mkdirs();
+            return RunHistory.open(file.file());
+        } catch (IOException e) {
+            Gdx.app.error("FlappyGameMenu", "No se pudo abrir el historial de partidas", e);
+            return null;
+        }
+    }
+
+    /** Mapea el nivel indicado; sin ruta, o si no se puede leer, el juego sigue sin niveles. */
+    private NivelArchivo abrirNivel(String ruta) {
+        if (ruta == null) return null;
+        try {
+            return NivelArchivo.abrir(new File(ruta));
+        } catch (IOException e) {
+            Gdx.app.error("FlappyGameMenu", "No se pudo abrir el nivel " + ruta, e);
+            return null;
+        }
+    }
+
+    /** Registra una partida terminada en el historial (si está disponible). */
+    public void registrarPartida(RunRecord record) {
+        if (runHistory == null) return;
+        try {
+            runHistory.append(record);
+        } catch (IOException e) {
+            Gdx.app.error("FlappyGameMenu", "No se pudo guardar la partida", e);
+        }
+    }
+
+    /**
+     * Guarda el envío verificable (semilla, ticks de aleteo y puntaje) de una
+     * partida jugada en HiloSimulacion; null si terminó sin morir. Solo queda
+     * disponible en getUltimoEnvio: mandarlo a un servidor con ReplayVerifier
+     * no está implementado.
+     */
+    public void registrarEnvio(ReplaySubmission envio) {
+        if (envio == null) return;
+        ultimoEnvio = envio;
+        Gdx.app.log("FlappyGameMenu", "Partida verificable: semilla " + envio.getSeed() + ", "
+            + envio.getFlapTicks().length + " aleteos, puntaje " + envio.getClaimedScore());
     }
 
     /**
      * Ciclo de renderizado global.
-     * LibGDX delega el render a la pantalla activa.
+     * LibGDX delega el render a la pantalla activa; F9 escribe en el log el reporte de MonitorTirones.
      */
     @Override
     public void render() {
         super.render(); // Llama al render de la pantalla activa
+        // Reporte de tirones a pedido (causa probable de cada frame lento)
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F9)) Gdx.app.log("MonitorTirones", MonitorTirones.getInstancia().reporte());
     }
 
     /**
-     * Libera recursos globales al cerrar la aplicación.
-     * Se asegura de que todos los recursos administrados por Asset también sean liberados.
+     * Cambia de pantalla y libera la anterior, que ya no se vuelve a mostrar;
+     * luego verifica en RegistroRecursos que no haya quedado reteniendo nada.
+     * La pausa es la excepción: la partida detrás de PauseScreen sigue viva
+     * mientras se pueda reanudar, y se libera (junto con su pausa) cuando la
+     * pausa lleva a otra pantalla.
+     */
+    @Override
+    public void setScreen(Screen next) {
+        EventoCambioPantalla evento = EventoCambioPantalla.iniciar(); // evento JFR (null sin grabación)
+        long t0 = System.nanoTime();
+        Screen previous = getScreen();
+        super.setScreen(next);
+        boolean descartada = descartarAnterior(previous, next);
+        MonitorTirones.getInstancia().registrar(MonitorTirones.TRANSICION, t0); // para el frame del cambio
+        if (evento != null) {
+            evento.terminar(previous == null ? null : previous.getClass().getSimpleName(),
+                next == null ? null : next.getClass().getSimpleName(), descartada);
+        }
+    }
+
+    /**
+     * Libera la pantalla que se deja, salvo la partida que se pausa o la pausa que se reanuda.
+     * @return true si se liberó
+     */
+    private static boolean descartarAnterior(Screen previous, Screen next) {
+        if (previous == null || previous == next) return false;
+        if (next instanceof PauseScreen && ((PauseScreen) next).getPreviousGame() == previous) return false; // se pausa
+        if (previous instanceof PauseScreen) {
+            Screen pausada = ((PauseScreen) previous).getPreviousGame();
+            if (pausada == next) return false; // se reanuda
+            descartar(pausada); // la pausa lleva al menú: la partida no vuelve
+        }
+        descartar(previous);
+        return true;
+    }
+
+    /** Libera una pantalla y verifica que haya devuelto todos sus recursos. */
+    private static void descartar(Screen screen) {
+        screen.dispose();
+        RegistroRecursos.getInstancia().verificarSoltado(screen);
+    }
+
+    /**
+     * La aplicación se pausa o pasa a segundo plano (también justo antes de cerrarse):
+     * la pantalla activa se pausa y, si hay una partida en curso, se guarda en disco.
+     */
+    @Override
+    public void pause() {
+        super.pause(); // GameScreen pasa a PauseScreen
+        if (suspendStore == null) return;
+        GameScreen enCurso = partidaEnCurso();
+        if (enCurso != null) suspendStore.guardar(enCurso);
+        else suspendStore.descartar();
+    }
+
+    /**
+     * La ventana perdió el foco: una partida en juego pasa a PauseScreen,
+     * como con ESC, para que bajar los FPS no la deje simulando a saltos.
+     * @return true si la pantalla activa es un menú y puede ralentizarse;
+     *         false si sigue un GameScreen (la animación del choque de una partida terminada)
+     */
+    public boolean focoPerdido() {
+        Screen current = getScreen();
+        if (current instanceof GameScreen && !((GameScreen) current).getGameOver()) current.pause();
+        return !(getScreen() instanceof GameScreen);
+    }
+
+    /** Partida en curso (activa o detrás de la pausa), o null si no hay ninguna. */
+    private GameScreen partidaEnCurso() {
+        Screen current = getScreen();
+        if (current instanceof PauseScreen) current = ((PauseScreen) current).getPreviousGame();
+        if (current instanceof GameScreen && ((GameScreen) current).enCurso()) return (GameScreen) current;
+        return null;
+    }
+
+    /**
+     * Libera recursos globales al cerrar la aplicación: la pantalla activa (y
+     * la partida detrás de la pausa), el batch, la fuente y los recursos de
+     * Asset. Lo que siga registrado en RegistroRecursos después es una fuga y
+     * se informa con el reporte por dueño.
      */
     @Override
     public void dispose() {
-        batch.dispose();
-        font.dispose();
+        if (suspendStore != null) suspendStore.esperar(); // la escritura de pause() debe terminar
+        Screen current = getScreen();
+        if (current instanceof PauseScreen) ((PauseScreen) current).getPreviousGame().dispose();
+        if (current != null) current.dispose();
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        registro.soltar(this, batch);
+        registro.soltar(this, font);
         assets.dispose();
+        if (registro.getCantidad() > 0) {
+            Gdx.app.error("FlappyGameMenu", "Recursos sin liberar al cerrar: " + registro.reporte());
+        }
+        if (telemetry != null) telemetry.dispose();
+        if (runHistory != null) {
+            try {
+                runHistory.close();
+            } catch (IOException e) {
+                Gdx.app.error("FlappyGameMenu", "No se pudo cerrar el historial de partidas", e);
+            }
+        }
     }
 
     // --- Métodos de acceso (encapsulamiento GM1.6) ---
-    public SpriteBatch getBatch() { return batch; }
+    public Batch getBatch() { return batch; }
     public BitmapFont getFont() { return font; }
     public int getHigherScore() { return higherScore; }
+    /**
+     * Récord local. No se verifica con ReplayVerifier: vive en el cliente, así
+     * que verificarlo ahí no protege nada (ver registrarEnvio y el README).
+     */
     public void setHigherScore(int higherScore) { this.higherScore = higherScore; }
     public Asset getAssets() { return assets; }
+    public RunHistory getRunHistory() { return runHistory; }
+    public TelemetryRecorder getTelemetry() { return telemetry; }
+    public boolean usaHiloSimulacion() { return hiloSimulacion; }
+    /** true si HiloSimulacion simula con SimulacionFija (-Dflappy.fixed=true). */
+    public boolean usaPuntoFijo() { return puntoFijo; }
+    /** Última partida de HiloSimulacion con su semilla y aleteos, para enviar a ReplayVerifier (null si no hay). */
+    public ReplaySubmission getUltimoEnvio() { return ultimoEnvio; }
+    public NivelArchivo getNivel() { return nivel; }
+    public int getAgentesEnjambre() { return agentesEnjambre; }
+    public float getEscalaRender() { return escalaRender; }
+
+    /** Escala de render de -Dflappy.renderScale, entre 0.25 y 4; 1 si falta o no es un número. */
+    private static float leerEscalaRender(String valor) {
+        if (valor == null) return 1f;
+        try {
+            return Math.max(0.25f, Math.min(4f, Float.parseFloat(valor)));
+        } catch (NumberFormatException e) {
+            Gdx.app.error("FlappyGameMenu", "flappy.renderScale inválido: " + valor);
+            return 1f;
+        }
+    }
 }
@@ -0,0 +1,190 @@
+package puppy.code.Guardado;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import com.badlogic.gdx.Gdx;
+
+import puppy.code.FlappyGameMenu;
+import puppy.code.Historial.RunRecord;
+import puppy.code.Rebobinado.RewindBuffer;
+import puppy.code.Screens.GameScreen;
+
+/**
+ * Clase SuspendStore
+ * Guarda en disco la partida en curso cuando la aplicación se pausa o pasa a
+ * segundo plano (FlappyGameMenu.pause) y la recupera en el próximo inicio,
+ * directo a GameScreen.
+ *
+ * El estado es el mismo snapshot que usa el rebobinado (GameScreen.guardarEstado)
+ * envuelto en un bloque binario versionado:
+ *   int magic "FSG1" | short versión | byte práctica | byte dificultad |
+ *   long fecha | long seed | int stride | stride × int estado | int CRC32
+ *
+ * La escritura es asíncrona (AsynchronousFileChannel) sobre un archivo temporal
+ * que se mueve al definitivo al terminar, así un cierre a mitad de escritura
+ * nunca deja un bloque corrupto en su lugar.
+ */
+public class SuspendStore {
+
+    private static final int MAGIC = 0x46534731; // "FSG1"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 1 + 1 + 8 + 8 + 4;
+    private static final int MAX_STRIDE = 4096;  // límite de cordura al leer
+
+    private final Path file;
+    private final Path temp;
+    private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+
+    public SuspendStore(File file) {
+        this.file = file.toPath();
+        this.temp = new File(file.getPath() + ".tmp").toPath();
+    }
+
+    // --- Escritura ---
+
+    /**
+     * Codifica la partida y la escribe en segundo plano. El hilo del juego solo
+     * arma el bloque (unos cientos de bytes); el disco lo atiende NIO.
+     */
+    public void guardar(GameScreen screen) {
+        RewindBuffer estado = new RewindBuffer(1, screen.estadoSize());
+        estado.beginWrite();
+        screen.guardarEstado(estado);
+
+        ByteBuffer blob = ByteBuffer.allocate(HEADER_SIZE + estado.stride() * 4 + 4);
+        blob.putInt(MAGIC).putShort(VERSION)
+            .put((byte) (screen.isPractica() ? 1 : 0))
+            .put(RunRecord.DIFICULTAD_DINAMICA)
+            .putLong(System.currentTimeMillis())
+            .putLong(screen.getSeed())
+            .putInt(estado.stride());
+        estado.copySnapshot(0, blob.asIntBuffer());
+        blob.position(blob.position() + estado.stride() * 4);
+        blob.putInt(crc(blob.array(), blob.position()));
+        blob.flip();
+
+        // Una escritura a la vez: la nueva espera a que termine la anterior
+        pending = pending.thenCompose(ignored -> escribir(blob));
+    }
+
+    private CompletableFuture<Void> escribir(ByteBuffer blob) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        try {
+            Files.createDirectories(file.getParent());
+            channel = AsynchronousFileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            done.completeExceptionally(e);
+            return done.exceptionally(SuspendStore::ignorar);
+        }
+
+        channel.write(blob, 0, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer written, Void attachment) {
+                if (blob.hasRemaining()) { // escritura parcial: continúa donde quedó
+                    channel.write(blob, blob.position(), null, this);
+                    return;
+                }
+                try {
+                    channel.force(false);
+                    channel.close();
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    done.complete(null);
+                } catch (IOException e) {
+                    done.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+                done.completeExceptionally(e);
+            }
+        });
+        return done.exceptionally(SuspendStore::ignorar);
+    }
+
+    /** Un fallo al suspender no debe afectar al juego: la partida simplemente no se recupera. */
+    private static Void ignorar(Throwable e) {
+        Gdx.app.error("SuspendStore", "No se pudo guardar la partida", e);
+        return null;
+    }
+
+    // --- Lectura ---
+
+    /**
+     * Recupera la partida suspendida, si hay una válida, y borra el archivo
+     * (una partida se reanuda una sola vez).
+     * @return la pantalla lista para continuar la partida, o null
+     */
+    public GameScreen cargar(FlappyGameMenu game) {
+        esperar();
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            ByteBuffer blob = ByteBuffer.wrap(Files.readAllBytes(file));
+            Files.deleteIfExists(file);
+            if (blob.remaining() < HEADER_SIZE + 4) return null;
+
+            int end = blob.limit() - 4;
+            if (blob.getInt(end) != crc(blob.array(), end)) return null;
+            if (blob.getInt() != MAGIC || blob.getShort() != VERSION) return null;
+            boolean practica = blob.get() == 1;
+            if (blob.get() != RunRecord.DIFICULTAD_DINAMICA) return null;
+            blob.getLong(); // fecha de suspensión (informativa)
+            long seed = blob.getLong();
+            int stride = blob.getInt();
+            if (stride <= 0 || stride > MAX_STRIDE || HEADER_SIZE + stride * 4 != end) return null;
+
+            RewindBuffer estado = new RewindBuffer(1, stride);
+            estado.loadSnapshot(blob.asIntBuffer());
+
+            GameScreen screen = new GameScreen(game, practica);
+            screen.reanudarDesde(estado, seed);
+            return screen;
+        } catch (IOException e) {
+            Gdx.app.error("SuspendStore", "No se pudo leer la partida suspendida", e);
+            return null;
+        }
+    }
+
+    /** Borra la partida suspendida (no hay partida en curso que recuperar). */
+    public void descartar() {
+        pending = pending.thenRun(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                Gdx.app.error("SuspendStore", "No se pudo borrar la partida suspendida", e);
+            }
+        });
+    }
+
+    /** Espera (como máximo un segundo) a que terminen las escrituras pendientes; se llama al cerrar. */
+    public void esperar() {
+        try {
+            pending.get(1, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            Gdx.app.error("SuspendStore", "Escritura pendiente sin terminar", e);
+        }
+    }
+
+    private static int crc(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,323 @@
+package puppy.code.Historial;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Clase RunHistory
+ * Historial de partidas en un archivo de registros de ancho fijo, accedido
+ * mediante un MappedByteBuffer: agregar una partida escribe 32 bytes en el
+ * mapa y las consultas leen directo del archivo, sin cargarlo en el heap.
+ *
+ * Formato (big endian, el orden por defecto de ByteBuffer):
+ *   cabecera de 32 bytes: magic, versión, tamaño de registro, reservado, cantidad (long)
+ *   registros de 32 bytes: timestamp, seed, score, duración, velocidad, causa, dificultad
+ *
+ * Índice disperso en memoria (se reconstruye al abrir con una lectura secuencial):
+ *   - por cada bloque de BLOCK_SIZE registros: primer timestamp y puntaje máximo,
+ *     para buscar rangos de tiempo por búsqueda binaria y saltar bloques en el top-N;
+ *   - histograma de puntajes, para percentiles en O(MAX_TRACKED_SCORE).
+ * La búsqueda binaria supone que las partidas se agregan en orden temporal;
+ * si el reloj retrocede (cambio de hora, NTP) y un timestamp queda menor al
+ * anterior, las consultas por rango pasan a recorrer los registros.
+ *
+ * El archivo se abre con un FileLock exclusivo mientras dure la instancia:
+ * un segundo juego abierto no consigue el historial (open lanza IOException)
+ * en vez de escribir el mismo mapa a la vez.
+ */
+public class RunHistory {
+
+    // --- Formato del archivo ---
+    private static final int MAGIC = 0x46524831; // "FRH1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int COUNT_OFFSET = 16;
+    public static final int RECORD_SIZE = 32;
+
+    // Desplazamientos de cada campo dentro de un registro
+    private static final int F_TIMESTAMP = 0;
+    private static final int F_SEED = 8;
+    private static final int F_SCORE = 16;
+    private static final int F_DURATION = 20;
+    private static final int F_SPEED = 24;
+    private static final int F_CAUSE = 28;
+    private static final int F_DIFFICULTY = 29;
+
+    private static final int INITIAL_CAPACITY = 4096;                       // registros
+    private static final int MAX_RECORDS = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    // --- Índice disperso ---
+    private static final int BLOCK_SIZE = 1024;
+    public static final int MAX_TRACKED_SCORE = 1000; // el último casillero agrupa "1000 o más"
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int capacity;
+    private int count;
+
+    private long[] blockFirstTimestamp = new long[16];
+    private int[] blockMaxScore = new int[16];
+    private final int[] scoreCounts = new int[MAX_TRACKED_SCORE + 1];
+    private long lastTimestamp = Long.MIN_VALUE;
+    private boolean ordered = true;   // timestamps no decrecientes: vale la búsqueda binaria
+
+    private RunHistory(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Abre (o crea) el historial en el archivo indicado, lo bloquea y reconstruye el índice.
+     * @throws IOException si el archivo no se puede abrir, otra instancia lo
+     *         tiene abierto o no es un historial válido
+     */
+    public static RunHistory open(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        RunHistory history = new RunHistory(channel);
+        try {
+            history.lock(file);
+            history.load();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return history;
+    }
+
+    /** Bloqueo exclusivo del archivo completo; se libera al cerrar el canal. */
+    private void lock(File file) throws IOException {
+        boolean locked;
+        try {
+            locked = channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            locked = false; // esta misma JVM ya lo tiene abierto
+        }
+        if (!locked) throw new IOException("Historial en uso por otra instancia: " + file);
+    }
+
+    private void load() throws IOException {
+        boolean isNew = channel.size() < HEADER_SIZE;
+        int stored = 0;
+        if (!isNew) {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || map.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Archivo de historial no reconocido");
+            }
+            stored = (int) Math.min(map.getLong(COUNT_OFFSET), MAX_RECORDS);
+        }
+
+        remap(Math.max(INITIAL_CAPACITY, stored));
+        if (isNew) {
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.putInt(8, RECORD_SIZE);
+            map.putLong(COUNT_OFFSET, 0);
+        }
+
+        // Reconstrucción secuencial del índice (solo lee los campos necesarios)
+        for (int i = 0; i < stored; i++) {
+            int base = HEADER_SIZE + i * RECORD_SIZE;
+            index(i, map.getLong(base + F_TIMESTAMP), map.getInt(base + F_SCORE));
+        }
+        count = stored;
+    }
+
+    /** Vuelve a mapear el archivo con espacio para la cantidad indicada de registros. */
+    private void remap(int newCapacity) throws IOException {
+        capacity = Math.min(newCapacity, MAX_RECORDS);
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+    }
+
+    /** Actualiza el índice disperso y el histograma con el registro i. */
+    private void index(int i, long timestamp, int score) {
+        int block = i / BLOCK_SIZE;
+        if (block == blockFirstTimestamp.length) {
+            blockFirstTimestamp = Arrays.copyOf(blockFirstTimestamp, block * 2);
+            blockMaxScore = Arrays.copyOf(blockMaxScore, block * 2);
+        }
+        if (i % BLOCK_SIZE == 0) {
+            blockFirstTimestamp[block] = timestamp;
+            blockMaxScore[block] = score;
+        } else if (score > blockMaxScore[block]) {
+            blockMaxScore[block] = score;
+        }
+        scoreCounts[Math.min(Math.max(score, 0), MAX_TRACKED_SCORE)]++;
+        if (timestamp < lastTimestamp) ordered = false;
+        lastTimestamp = timestamp;
+    }
+
+    // --- Escritura ---
+
+    /** Agrega una partida al final del historial. */
+    public void append(RunRecord r) throws IOException {
+        if (count == MAX_RECORDS) throw new IOException("Historial lleno");
+        if (count == capacity) remap(capacity * 2);
+
+        int base = HEADER_SIZE + count * RECORD_SIZE;
+        map.putLong(base + F_TIMESTAMP, r.timestamp);
+        map.putLong(base + F_SEED, r.seed);
+        map.putInt(base + F_SCORE, r.score);
+        map.putInt(base + F_DURATION, r.durationMs);
+        map.putFloat(base + F_SPEED, r.pipeSpeed);
+        map.put(base + F_CAUSE, r.deathCause);
+        map.put(base + F_DIFFICULTY, r.difficulty);
+        map.putShort(base + F_DIFFICULTY + 1, (short) 0);
+
+        index(count, r.timestamp, r.score);
+        count++;
+        map.putLong(COUNT_OFFSET, count); // la cantidad se publica después del registro
+    }
+
+    // --- Lectura ---
+
+    /** Cantidad de partidas guardadas. */
+    public int size() {
+        return count;
+    }
+
+    /** Lee el registro i sobre la instancia recibida (sin crear objetos). */
+    public RunRecord read(int i, RunRecord out) {
+        int base = HEADER_SIZE + i * RECORD_SIZE;
+        out.timestamp = map.getLong(base + F_TIMESTAMP);
+        out.seed = map.getLong(base + F_SEED);
+        out.score = map.getInt(base + F_SCORE);
+        out.durationMs = map.getInt(base + F_DURATION);
+        out.pipeSpeed = map.getFloat(base + F_SPEED);
+        out.deathCause = map.get(base + F_CAUSE);
+        out.difficulty = map.get(base + F_DIFFICULTY);
+        return out;
+    }
+
+    private long timestampAt(int i) {
+        return map.getLong(HEADER_SIZE + i * RECORD_SIZE + F_TIMESTAMP);
+    }
+
+    private int scoreAt(int i) {
+        return map.getInt(HEADER_SIZE + i * RECORD_SIZE + F_SCORE);
+    }
+
+    // --- Consultas ---
+
+    /**
+     * Los n mejores puntajes, de mayor a menor. Salta los bloques cuyo máximo
+     * no puede entrar al top gracias al índice disperso.
+     * @param outScores puntajes encontrados (largo mínimo n)
+     * @param outIndices índice de registro de cada puntaje (largo mínimo n), puede ser null
+     * @return cantidad de resultados escritos (≤ n); 0 si n ≤ 0
+     */
+    public int topScores(int n, int[] outScores, int[] outIndices) {
+        if (n <= 0) return 0;
+        int found = 0;
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int b = 0; b < blocks; b++) {
+            if (found == n && blockMaxScore[b] <= outScores[n - 1]) continue;
+            int end = Math.min(count, (b + 1) * BLOCK_SIZE);
+            for (int i = b * BLOCK_SIZE; i < end; i++) {
+                int score = scoreAt(i);
+                if (found == n && score <= outScores[n - 1]) continue;
+                // Inserción ordenada en el arreglo de salida (n es pequeño)
+                int pos = found < n ? found++ : n - 1;
+                while (pos > 0 && outScores[pos - 1] < score) {
+                    outScores[pos] = outScores[pos - 1];
+                    if (outIndices != null) outIndices[pos] = outIndices[pos - 1];
+                    pos--;
+                }
+                outScores[pos] = score;
+                if (outIndices != null) outIndices[pos] = i;
+            }
+        }
+        return found;
+    }
+
+    /** Primer registro con timestamp ≥ t (búsqueda binaria: bloques en memoria, luego el archivo). */
+    private int lowerBound(long t) {
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int lo = 0, hi = blocks;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (blockFirstTimestamp[mid] < t) lo = mid + 1; else hi = mid;
+        }
+        // El primer registro ≥ t está en el bloque anterior a "lo" o al inicio de "lo"
+        int from = Math.max(0, (lo - 1) * BLOCK_SIZE);
+        int to = Math.min(count, lo * BLOCK_SIZE);
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (timestampAt(mid) < t) from = mid + 1; else to = mid;
+        }
+        return from;
+    }
+
+    /** Cantidad de partidas terminadas en [fromMillis, toMillis). */
+    public int countBetween(long fromMillis, long toMillis) {
+        if (!ordered) {
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                long t = timestampAt(i);
+                if (t >= fromMillis && t < toMillis) n++;
+            }
+            return n;
+        }
+        return Math.max(0, lowerBound(toMillis) - lowerBound(fromMillis));
+    }
+
+    /** Mejor puntaje en [fromMillis, toMillis), o -1 si no hubo partidas. */
+    public int bestScoreBetween(long fromMillis, long toMillis) {
+        if (!ordered) {
+            int best = -1;
+            for (int i = 0; i < count; i++) {
+                long t = timestampAt(i);
+                if (t >= fromMillis && t < toMillis) best = Math.max(best, scoreAt(i));
+            }
+            return best;
+        }
+        int from = lowerBound(fromMillis), to = lowerBound(toMillis);
+        int best = -1;
+        int i = from;
+        while (i < to) {
+            // Bloques completos dentro del rango se resuelven con el índice
+            if (i % BLOCK_SIZE == 0 && i + BLOCK_SIZE <= to) {
+                best = Math.max(best, blockMaxScore[i / BLOCK_SIZE]);
+                i += BLOCK_SIZE;
+            } else {
+                best = Math.max(best, scoreAt(i));
+                i++;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Puntaje en el percentil p (0..1) según el histograma. Si cae en el último
+     * casillero devuelve MAX_TRACKED_SCORE ("ese valor o más"). -1 si no hay partidas.
+     */
+    public int percentile(double p) {
+        if (count == 0) return -1;
+        long target = Math.max(1, (long) Math.ceil(p * count));
+        long cumulative = 0;
+        for (int s = 0; s <= MAX_TRACKED_SCORE; s++) {
+            cumulative += scoreCounts[s];
+            if (cumulative >= target) return s;
+        }
+        return MAX_TRACKED_SCORE;
+    }
+
+    /** Fracción (0..1) de partidas con puntaje estrictamente menor al indicado. */
+    public double fractionBelow(int score) {
+        if (count == 0) return 0;
+        long below = 0;
+        int limit = Math.min(Math.max(score, 0), MAX_TRACKED_SCORE);
+        for (int s = 0; s < limit; s++) below += scoreCounts[s];
+        return (double) below / count;
+    }
+
+    /** Fuerza la escritura a disco y cierra el archivo (liberando el bloqueo). */
+    public void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,42 @@
+package puppy.code.Historial;
+
+/**
+ * Clase RunRecord
+ * Datos de una partida terminada tal como se guardan en RunHistory
+ * (un registro de ancho fijo por partida).
+ *
+ * Es mutable a propósito: las consultas leen sobre una instancia reutilizada
+ * en vez de crear un objeto por registro.
+ */
+public class RunRecord {
+
+    // --- Causas de muerte ---
+    public static final byte CAUSA_TUBO = 0;
+    public static final byte CAUSA_ENEMIGO = 1;
+    public static final byte CAUSA_SUELO = 2;
+    public static final byte CAUSA_TECHO = 3;
+
+    // --- Estrategias de dificultad conocidas ---
+    public static final byte DIFICULTAD_DINAMICA = 0;
+
+    public long timestamp;   // fin de la partida (epoch millis)
+    public long seed;        // semilla del generador de huecos de la partida
+    public int score;
+    public int durationMs;
+    public float pipeSpeed;  // velocidad final de los tubos (DifficultyStrategy)
+    public byte deathCause;
+    public byte difficulty;
+
+    /** Copia todos los campos en una sola llamada (útil al preparar un append). */
+    public RunRecord set(long timestamp, long seed, int score, int durationMs,
+                         float pipeSpeed, byte deathCause, byte difficulty) {
+        this.timestamp = timestamp;
+        this.seed = seed;
+        this.score = score;
+        this.durationMs = durationMs;
+        this.pipeSpeed = pipeSpeed;
+        this.deathCause = deathCause;
+        this.difficulty = difficulty;
+        return this;
+    }
+}
@@ -0,0 +1,176 @@
+package puppy.code.Niveles;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+import puppy.code.Screens.GameScreen;
+
+/**
+ * Clase ConvertidorNivel
+ * Convierte un nivel del formato de texto (editable a mano) al binario que
+ * lee NivelArchivo, y de vuelta a texto con --texto. Las dos direcciones
+ * procesan línea por línea / registro por registro, así que niveles de
+ * cualquier largo se convierten con memoria constante.
+ *
+ * Formato de texto, un obstáculo por línea (# inicia un comentario):
+ *   tubo    x  centroHueco  [hueco]  [velocidad]
+ *   enemigo x  alturaBase   [velocidad]
+ * x es la posición del obstáculo en el mundo antes de avanzar (entra en
+ * pantalla cuando la distancia recorrida llega a x - ancho del mundo) y no
+ * puede bajar de una línea a la siguiente. Los valores opcionales que falten
+ * (o que sean "-") usan los normales del juego. Un nivel que en algún
+ * momento tendría más tubos o enemigos en juego que los de Obstaculo se
+ * rechaza (NivelArchivo.Densidad).
+ *
+ * Argumentos: entrada.txt salida.fcn, o --texto entrada.fcn salida.txt.
+ */
+public class ConvertidorNivel {
+
+    private static final int BUFFER_REGISTROS = 4096;
+
+    public static void main(String[] args) throws IOException {
+        boolean aTexto = args.length == 3 && "--texto".equals(args[0]);
+        if (args.length != (aTexto ? 3 : 2)) {
+            System.err.println("Uso: ConvertidorNivel entrada.txt salida.fcn | --texto entrada.fcn salida.txt");
+            System.exit(2);
+        }
+        try {
+            if (aTexto) {
+                File entrada = new File(args[1]);
+                int n = aTexto(entrada, new File(args[2]));
+                System.out.printf("%s: %d obstáculos escritos en %s%n", entrada.getName(), n, args[2]);
+            } else {
+                File entrada = new File(args[0]);
+                int n = aBinario(entrada, new File(args[1]));
+                System.out.printf("%s: %d obstáculos, %d bytes en %s%n", entrada.getName(), n,
+                    NivelArchivo.HEADER_SIZE + (long) n * NivelArchivo.RECORD_SIZE, args[1]);
+            }
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Convierte el texto a un archivo de nivel binario.
+     * @return cantidad de obstáculos escritos
+     * @throws IOException si no se puede leer o escribir, o si una línea es inválida (con su número)
+     */
+    public static int aBinario(File entrada, File salida) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_REGISTROS * NivelArchivo.RECORD_SIZE);
+        try (BufferedReader in = Files.newBufferedReader(entrada.toPath(), StandardCharsets.UTF_8);
+             FileChannel out = FileChannel.open(salida.toPath(), StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.position(NivelArchivo.HEADER_SIZE); // la cabecera se escribe al final, con la cantidad
+            int count = 0;
+            float anterior = Float.NEGATIVE_INFINITY;
+            NivelArchivo.Densidad densidad = new NivelArchivo.Densidad();
+            String linea;
+            for (int numero = 1; (linea = in.readLine()) != null; numero++) {
+                int comentario = linea.indexOf('#');
+                if (comentario >= 0) linea = linea.substring(0, comentario);
+                linea = linea.trim();
+                if (linea.isEmpty()) continue;
+
+                String[] campos = linea.split("\\s+");
+                byte tipo;
+                int maxCampos;
+                if ("tubo".equals(campos[0])) {
+                    tipo = NivelArchivo.TIPO_TUBO;
+                    maxCampos = 5;
+                } else if ("enemigo".equals(campos[0])) {
+                    tipo = NivelArchivo.TIPO_ENEMIGO;
+                    maxCampos = 4;
+                } else {
+                    throw error(entrada, numero, "tipo desconocido \"" + campos[0] + "\" (tubo o enemigo)");
+                }
+                if (campos.length < 3 || campos.length > maxCampos) {
+                    throw error(entrada, numero, "cantidad de valores incorrecta para " + campos[0]);
+                }
+
+                float x = numero(entrada, numero, campos, 1);
+                float vertical = numero(entrada, numero, campos, 2);
+                float hueco = tipo == NivelArchivo.TIPO_TUBO ? numero(entrada, numero, campos, 3) : 0f;
+                float velocidad = numero(entrada, numero, campos, tipo == NivelArchivo.TIPO_TUBO ? 4 : 3);
+                if (x < anterior) throw error(entrada, numero, "x menor que la del obstáculo anterior");
+                if (vertical <= 0 || vertical >= GameScreen.worldHeight) {
+                    throw error(entrada, numero, "posición vertical fuera del mundo (0.." + (int) GameScreen.worldHeight + ")");
+                }
+                if (hueco < 0 || velocidad < 0) throw error(entrada, numero, "hueco y velocidad no pueden ser negativos");
+                if (count == NivelArchivo.MAX_RECORDS) throw error(entrada, numero, "demasiados obstáculos");
+                if (!densidad.agregar(tipo, x)) throw error(entrada, numero, densidad.motivo(tipo));
+                anterior = x;
+
+                NivelArchivo.escribirRegistro(buffer, tipo, x, vertical, hueco, velocidad);
+                count++;
+                if (!buffer.hasRemaining()) vaciar(buffer, out);
+            }
+            vaciar(buffer, out);
+
+            buffer.clear();
+            NivelArchivo.escribirCabecera(buffer, count);
+            buffer.flip();
+            while (buffer.hasRemaining()) out.write(buffer, buffer.position());
+            return count;
+        }
+    }
+
+    /**
+     * Escribe un nivel binario en el formato de texto (para editarlo a mano).
+     * @return cantidad de obstáculos escritos
+     */
+    public static int aTexto(File entrada, File salida) throws IOException {
+        NivelArchivo nivel = NivelArchivo.abrir(entrada);
+        try (BufferedWriter out = Files.newBufferedWriter(salida.toPath(), StandardCharsets.UTF_8)) {
+            out.write("# tubo x centroHueco [hueco] [velocidad] / enemigo x alturaBase [velocidad]");
+            out.newLine();
+            for (int i = 0; i < nivel.getCantidad(); i++) {
+                boolean tubo = nivel.getTipo(i) == NivelArchivo.TIPO_TUBO;
+                out.write(String.format(Locale.ROOT, "%-7s %s %s", tubo ? "tubo" : "enemigo",
+                    valor(nivel.getX(i)), valor(nivel.getPosicionVertical(i))));
+                if (tubo) out.write(" " + opcional(nivel.getHueco(i)));
+                out.write(" " + opcional(nivel.getVelocidad(i)));
+                out.newLine();
+            }
+        }
+        return nivel.getCantidad();
+    }
+
+    /** Campo numérico i de la línea; 0 (valor normal del juego) si falta o es "-". */
+    private static float numero(File entrada, int numero, String[] campos, int i) throws IOException {
+        if (i >= campos.length || "-".equals(campos[i])) return 0f;
+        try {
+            float v = Float.parseFloat(campos[i]);
+            if (Float.isNaN(v) || Float.isInfinite(v)) throw new NumberFormatException();
+            return v;
+        } catch (NumberFormatException e) {
+            throw error(entrada, numero, "número inválido \"" + campos[i] + "\"");
+        }
+    }
+
+    private static String valor(float v) {
+        return v == (int) v ? Integer.toString((int) v) : Float.toString(v);
+    }
+
+    private static String opcional(float v) {
+        return v == 0f ? "-" : valor(v);
+    }
+
+    private static void vaciar(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) out.write(buffer);
+        buffer.clear();
+    }
+
+    private static IOException error(File entrada, int numero, String mensaje) {
+        return new IOException(entrada.getName() + ":" + numero + ": " + mensaje);
+    }
+}
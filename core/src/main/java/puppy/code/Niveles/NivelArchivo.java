@@ -0,0 +1,199 @@
+package puppy.code.Niveles;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import puppy.code.Simulacion.ReglasPartida;
+
+/**
+ * Clase NivelArchivo
+ * Recorrido hecho a mano en un archivo binario de registros de ancho fijo,
+ * leído a través de un MappedByteBuffer de solo lectura: el archivo no se
+ * carga en el heap y Obstaculo pide cada registro recién cuando está por
+ * entrar en cámara, así que la memoria usada no depende del largo del nivel
+ * (el sistema operativo trae las páginas del archivo a medida que se leen).
+ *
+ * Formato (big endian, el orden por defecto de ByteBuffer):
+ *   cabecera de 32 bytes: magic, versión, tamaño de registro, cantidad, reservado
+ *   registros de 20 bytes: tipo (1 byte + 3 de relleno), x, posición vertical,
+ *   hueco y velocidad (float)
+ *
+ * x es la posición del obstáculo en el mundo con la distancia recorrida en 0
+ * (como X_INICIAL en el juego normal): entra por el borde derecho cuando la
+ * distancia recorrida, a la velocidad de los tubos, llega a x - ancho del
+ * mundo. Los registros van ordenados por x.
+ * La posición vertical es el centro del hueco de un tubo o la altura base de
+ * un enemigo. Un hueco o una velocidad de 0 significan "el valor normal del
+ * juego" (ReglasPartida.PIPE_GAP y la velocidad de DifficultyStrategy).
+ *
+ * Obstaculo tiene una cantidad fija de tubos y enemigos (TUBOS_SIMULTANEOS,
+ * ENEMIGOS_SIMULTANEOS): abrir y ConvertidorNivel rechazan los niveles que
+ * en algún momento tendrían más en juego (ver Densidad).
+ *
+ * Los archivos se generan desde el formato de texto con ConvertidorNivel.
+ */
+public class NivelArchivo {
+
+    // --- Formato del archivo ---
+    static final int MAGIC = 0x46434E31; // "FCN1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int COUNT_OFFSET = 12;
+    static final int RECORD_SIZE = 20;
+
+    // Desplazamientos de cada campo dentro de un registro
+    static final int F_TIPO = 0;
+    static final int F_X = 4;
+    static final int F_VERTICAL = 8;
+    static final int F_HUECO = 12;
+    static final int F_VELOCIDAD = 16;
+
+    // --- Tipos de obstáculo ---
+    public static final byte TIPO_TUBO = 0;
+    public static final byte TIPO_ENEMIGO = 1;
+
+    static final int MAX_RECORDS = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    // --- Obstáculos de Obstaculo para un nivel ---
+    /** Tubos en juego a la vez como máximo. */
+    public static final int TUBOS_SIMULTANEOS = 6;
+    /** Enemigos en juego a la vez como máximo. */
+    public static final int ENEMIGOS_SIMULTANEOS = 3;
+    /** Distancia antes del borde derecho a la que se activa cada registro. */
+    public static final float MARGEN_CARGA = 64f;
+
+    private final MappedByteBuffer map;
+    private final int count;
+
+    private NivelArchivo(MappedByteBuffer map, int count) {
+        this.map = map;
+        this.count = count;
+    }
+
+    /**
+     * Mapea el nivel del archivo indicado y valida su cabecera y su tamaño.
+     * El canal se cierra enseguida: el mapa sigue siendo válido sin él.
+     * @throws IOException si el archivo no se puede leer o no es un nivel válido
+     */
+    public static NivelArchivo abrir(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) throw new IOException("Archivo de nivel demasiado corto: " + file);
+            if (size > HEADER_SIZE + (long) MAX_RECORDS * RECORD_SIZE) {
+                throw new IOException("Archivo de nivel demasiado grande: " + file);
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || map.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Archivo de nivel no reconocido: " + file);
+            }
+            int count = map.getInt(COUNT_OFFSET);
+            if (count < 0 || HEADER_SIZE + (long) count * RECORD_SIZE != size) {
+                throw new IOException("Archivo de nivel truncado o con basura al final: " + file);
+            }
+            NivelArchivo nivel = new NivelArchivo(map, count);
+            nivel.validar(file);
+            return nivel;
+        }
+    }
+
+    /** Recorre los registros (sin copiarlos al heap) y verifica tipos, orden y densidad. */
+    private void validar(File file) throws IOException {
+        Densidad densidad = new Densidad();
+        float anterior = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            byte tipo = getTipo(i);
+            float x = getX(i);
+            if (tipo != TIPO_TUBO && tipo != TIPO_ENEMIGO) {
+                throw new IOException("Registro " + i + " de tipo desconocido: " + file);
+            }
+            if (!(x >= anterior)) throw new IOException("Registro " + i + " fuera de orden: " + file);
+            if (!densidad.agregar(tipo, x)) throw new IOException("Registro " + i + ": " + densidad.motivo(tipo) + ": " + file);
+            anterior = x;
+        }
+    }
+
+    /**
+     * Clase Densidad
+     * Verifica, registro a registro en orden de x, que el nivel nunca tenga más
+     * tubos o enemigos en juego que los que tiene Obstaculo. Un obstáculo ocupa
+     * el suyo desde que se activa (MARGEN_CARGA antes del borde derecho) hasta
+     * que su hitbox sale por la izquierda, avanzando a la velocidad de la
+     * cámara: dos registros del mismo tipo conviven si sus x están a menos de
+     * ancho del mundo + MARGEN_CARGA + ancho del obstáculo.
+     */
+    static final class Densidad {
+        private static final float VENTANA_TUBO = ReglasPartida.WORLD_WIDTH + MARGEN_CARGA + ReglasPartida.PIPE_WIDTH;
+        private static final float VENTANA_ENEMIGO = ReglasPartida.WORLD_WIDTH + MARGEN_CARGA
+            + ReglasPartida.ENEMY_HIT_OFFSET_X + ReglasPartida.ENEMY_HIT_W;
+
+        // x de los últimos registros de cada tipo (arreglo circular del tamaño del pool)
+        private final float[] tubos = new float[TUBOS_SIMULTANEOS];
+        private final float[] enemigos = new float[ENEMIGOS_SIMULTANEOS];
+        private int cantidadTubos;
+        private int cantidadEnemigos;
+
+        /**
+         * Agrega el siguiente registro.
+         * @return false si al activarse seguirían en juego todos los obstáculos de su tipo
+         */
+        boolean agregar(byte tipo, float x) {
+            boolean tubo = tipo == TIPO_TUBO;
+            float[] ultimos = tubo ? tubos : enemigos;
+            int n = tubo ? cantidadTubos++ : cantidadEnemigos++;
+            int i = n % ultimos.length;
+            // ultimos[i] es el registro del mismo tipo que está un pool completo antes
+            if (n >= ultimos.length && x - ultimos[i] <= (tubo ? VENTANA_TUBO : VENTANA_ENEMIGO)) return false;
+            ultimos[i] = x;
+            return true;
+        }
+
+        /** Mensaje de error para un registro que agregar rechazó. */
+        String motivo(byte tipo) {
+            return tipo == TIPO_TUBO
+                ? "más de " + TUBOS_SIMULTANEOS + " tubos en juego a la vez"
+                : "más de " + ENEMIGOS_SIMULTANEOS + " enemigos en juego a la vez";
+        }
+    }
+
+    // --- Escritura (usada por ConvertidorNivel) ---
+
+    /** Escribe la cabecera de un nivel de la cantidad indicada de registros al inicio del buffer. */
+    static void escribirCabecera(ByteBuffer buffer, int count) {
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(count);
+        for (int i = 16; i < HEADER_SIZE; i += 4) buffer.putInt(0);
+    }
+
+    /** Agrega un registro en la posición actual del buffer. */
+    static void escribirRegistro(ByteBuffer buffer, byte tipo, float x, float vertical, float hueco, float velocidad) {
+        buffer.put(tipo).put((byte) 0).putShort((short) 0);
+        buffer.putFloat(x).putFloat(vertical).putFloat(hueco).putFloat(velocidad);
+    }
+
+    // --- Lectura (acceso absoluto, sin mover la posición del mapa) ---
+
+    private int base(int i) {
+        return HEADER_SIZE + i * RECORD_SIZE;
+    }
+
+    /** Cantidad de obstáculos del nivel. */
+    public int getCantidad() { return count; }
+
+    /** TIPO_TUBO o TIPO_ENEMIGO. */
+    public byte getTipo(int i) { return map.get(base(i) + F_TIPO); }
+
+    /** Posición en el mundo con la distancia recorrida en 0 (entra por la derecha al recorrer x - ancho del mundo). */
+    public float getX(int i) { return map.getFloat(base(i) + F_X); }
+
+    /** Centro del hueco (tubo) o altura base (enemigo). */
+    public float getPosicionVertical(int i) { return map.getFloat(base(i) + F_VERTICAL); }
+
+    /** Tamaño del hueco del tubo, o 0 para el normal. */
+    public float getHueco(int i) { return map.getFloat(base(i) + F_HUECO); }
+
+    /** Velocidad fija del obstáculo, o 0 para la de la estrategia de dificultad. */
+    public float getVelocidad(int i) { return map.getFloat(base(i) + F_VELOCIDAD); }
+}
@@ -1,9 +1,16 @@
 package puppy.code;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.audio.Sound;
 import puppy.code.Colisiones.Colision;
+import puppy.code.Dibujo.ColaDibujo;
+import puppy.code.Niveles.NivelArchivo;
+import puppy.code.Perfilado.EventoColision;
+import puppy.code.Perfilado.EventoObstaculoReciclado;
 import puppy.code.Screens.GameScreen;
+import puppy.code.Simulacion.ReglasPartida;
+import puppy.code.Telemetria.MonitorTirones;
 
 /**
  * Clase Obstaculo
@@ -14,6 +21,11 @@ import puppy.code.Screens.GameScreen;
  * Utiliza polimorfismo a través de la interfaz Colision (GM1.5 / GM1.6)
  * y coordina los parámetros de dificultad usando DifficultyStrategy
  * para el patrón Strategy (GM2.3).
+ *
+ * Con un NivelArchivo los obstáculos no se reciclan con huecos aleatorios:
+ * hay un conjunto fijo de tubos y enemigos que se activan con los registros
+ * del nivel justo antes de que entren en cámara y se liberan al salir por la
+ * izquierda, así que la memoria no depende del largo del nivel.
  */
 public class Obstaculo {
 
@@ -23,6 +35,16 @@ public class Obstaculo {
     // Estrategia de dificultad aplicada a los obstáculos (para el patrón Strategy (GM2.3))
     private DifficultyStrategy difficulty;
 
+    // --- Nivel hecho a mano (null en el modo normal) ---
+    private static final int TUBOS_NIVEL = NivelArchivo.TUBOS_SIMULTANEOS;
+    private static final int ENEMIGOS_NIVEL = NivelArchivo.ENEMIGOS_SIMULTANEOS;
+    private static final float ESTACIONADO = -1000f;  // x de los obstáculos libres (fuera de pantalla)
+    private NivelArchivo nivel;
+    private int cursor;                 // próximo registro del nivel por activar
+    private double recorrido;           // distancia avanzada a la velocidad de los tubos
+    private boolean[] activo;           // por obstáculo: en juego o libre
+    private float[] velocidadFija;      // velocidad del registro, o 0 si la pone la estrategia
+
     /**
      * Constructor: inicializa tubos y enemigo con sus texturas desde Asset.
      * Asigna la estrategia de dificultad recibida, que define velocidades
@@ -32,37 +54,129 @@ public class Obstaculo {
      * @param initialScore puntaje inicial entregado desde GameScreen
      */
     public Obstaculo(Asset ast, DifficultyStrategy difficulty, int initialScore) {
+        this(ast, difficulty, initialScore, 0);
+    }
+
+    /**
+     * Constructor con modo enjambre: con agentesEnjambre mayor que 0, el
+     * enemigo solitario se reemplaza por un Enjambre de esa cantidad de agentes.
+     */
+    public Obstaculo(Asset ast, DifficultyStrategy difficulty, int initialScore, int agentesEnjambre) {
         this.difficulty = difficulty;
 
         //initialScore ahora se recibe como parametro, ya no se fija A/O dentro de obstaculo --sugerido por ayudante--
         this.colisiones = new Colision[] {
             new puppy.code.Colisiones.Tubo(
                 ast.getTuboTex(),
-                350,
-                GameScreen.worldHeight,
+                ReglasPartida.xInicial(0),
                 difficulty.getPipeSpeed(initialScore)
             ),
             new puppy.code.Colisiones.Tubo(
                 ast.getTuboTex(),
-                550,
-                GameScreen.worldHeight,
+                ReglasPartida.xInicial(1),
                 difficulty.getPipeSpeed(initialScore)
             ),
-            new puppy.code.Colisiones.Enemigo(
-                ast.getEnemyFrames(),
-                ast.getTuboTex().getWidth(),
-                750,
-                GameScreen.worldHeight,
-                difficulty.getEnemySpeed(initialScore)
-            )
+            agentesEnjambre > 0
+                ? new puppy.code.Colisiones.Enjambre(
+                    ast.getEnemyFrames(),
+                    agentesEnjambre,
+                    ReglasPartida.xInicial(2),
+                    GameScreen.worldHeight,
+                    FlappyGameMenu.GROUND_LEVEL,
+                    difficulty.getEnemySpeed(initialScore))
+                : new puppy.code.Colisiones.Enemigo(
+                    ast.getEnemyFrames(),
+                    ReglasPartida.xInicial(2),
+                    difficulty.getEnemySpeed(initialScore)
+                )
         };
     }
 
-    /** Devuelve todos los objetos de colisión activos en la escena. */
+    /**
+     * Constructor para un nivel hecho a mano: crea el conjunto fijo de tubos y
+     * enemigos (todos libres) y activa los obstáculos del comienzo del nivel.
+     * @param nivel registros del nivel, leídos a medida que se avanza
+     */
+    public Obstaculo(Asset ast, DifficultyStrategy difficulty, int initialScore, NivelArchivo nivel) {
+        this.difficulty = difficulty;
+        this.nivel = nivel;
+        this.colisiones = new Colision[TUBOS_NIVEL + ENEMIGOS_NIVEL];
+        for (int i = 0; i < TUBOS_NIVEL; i++) {
+            colisiones[i] = new puppy.code.Colisiones.Tubo(ast.getTuboTex(), ESTACIONADO,
+                difficulty.getPipeSpeed(initialScore));
+        }
+        for (int i = TUBOS_NIVEL; i < colisiones.length; i++) {
+            colisiones[i] = new puppy.code.Colisiones.Enemigo(ast.getEnemyFrames(), ESTACIONADO,
+                difficulty.getEnemySpeed(initialScore));
+        }
+        this.activo = new boolean[colisiones.length];
+        this.velocidadFija = new float[colisiones.length];
+        cargarSiguientes(initialScore);
+    }
+
+    /**
+     * Devuelve todos los objetos de colisión de la escena. Con un nivel
+     * incluye los libres (estacionados fuera de pantalla); ver estaActivo.
+     */
     public Colision[] getColisiones() {
         return this.colisiones;
     }
 
+    /** Indica si el obstáculo i está en juego (en el modo normal, siempre). */
+    public boolean estaActivo(int i) {
+        return nivel == null || activo[i];
+    }
+
+    /** Encola el dibujo de los obstáculos en juego. */
+    public void dibujar(ColaDibujo cola, float worldHeight) {
+        for (int i = 0; i < colisiones.length; i++) {
+            if (estaActivo(i)) colisiones[i].draw(cola, worldHeight); // dibujo polimórfico
+        }
+    }
+
+    /** true cuando un nivel ya activó todos sus obstáculos y todos salieron de pantalla. */
+    public boolean nivelTerminado() {
+        if (nivel == null || cursor < nivel.getCantidad()) return false;
+        for (boolean a : activo) if (a) return false;
+        return true;
+    }
+
+    /**
+     * Activa los registros del nivel que entran en cámara con la distancia
+     * recorrida actual, en su x del mundo menos lo recorrido. NivelArchivo
+     * rechaza los niveles que piden más obstáculos de los que hay; si aun así
+     * falta uno libre (un obstáculo con velocidad propia más lenta que la
+     * cámara tarda más en salir), el registro se omite en vez de demorar a
+     * todos los siguientes.
+     */
+    private void cargarSiguientes(int score) {
+        float borde = GameScreen.worldWidth + NivelArchivo.MARGEN_CARGA;
+        while (cursor < nivel.getCantidad() && nivel.getX(cursor) - recorrido <= borde) {
+            boolean tubo = nivel.getTipo(cursor) == NivelArchivo.TIPO_TUBO;
+            int libre = libre(tubo ? 0 : TUBOS_NIVEL, tubo ? TUBOS_NIVEL : colisiones.length);
+            if (libre < 0) {
+                Gdx.app.error("Obstaculo", "Nivel: sin " + (tubo ? "tubo" : "enemigo") + " libre para el registro "
+                    + cursor + ", se omite");
+                cursor++;
+                continue;
+            }
+
+            Colision c = colisiones[libre];
+            c.colocar((float) (nivel.getX(cursor) - recorrido), nivel.getPosicionVertical(cursor), nivel.getHueco(cursor));
+            velocidadFija[libre] = nivel.getVelocidad(cursor);
+            if (velocidadFija[libre] > 0) c.setVelocidad(velocidadFija[libre]);
+            else c.aplicarEstrategia(difficulty, score);
+            activo[libre] = true;
+            cursor++;
+        }
+    }
+
+    /** Primer obstáculo libre en [desde, hasta), o -1. */
+    private int libre(int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) if (!activo[i]) return i;
+        return -1;
+    }
+
     /**
      * Actualiza la estrategia de dificultad asociada a los obstáculos.
      * Se invoca desde GameScreen cuando cambia el puntaje y se requiere
@@ -75,8 +189,9 @@ public class Obstaculo {
         this.difficulty = newDifficulty;
 
         // Polimorfismo puro: cada Colision sabe cómo aplicar la estrategia
-        for (Colision c : colisiones) {
-            c.aplicarEstrategia(newDifficulty, score);
+        for (int i = 0; i < colisiones.length; i++) {
+            if (tieneVelocidadFija(i)) continue; // la velocidad la fija el nivel
+            colisiones[i].aplicarEstrategia(newDifficulty, score);
         }
     }
 
@@ -90,57 +205,74 @@ public class Obstaculo {
         Sound hurt = (Sound) screen.getAssets().getBirdHurt();
         boolean colisiona = false;
 
-        for (Colision p : this.getColisiones()) {
+        for (int i = 0; i < colisiones.length; i++) {
+            if (!estaActivo(i)) continue;
+            Colision p = colisiones[i];
+
             // Cada obstáculo actualiza su lógica interna (tubos/enemigo)
             p.update(dt);
 
+            // --- Nivel: al salir de pantalla el obstáculo queda libre para otro registro ---
+            if (nivel != null && p.fueraDePantalla()) {
+                activo[i] = false;
+                p.colocar(ESTACIONADO, GameScreen.worldHeight / 2f, 0f);
+                continue;
+            }
+
             // --- Reposicionamiento cuando sale de pantalla ---
             if (p.fueraDePantalla()) {
                 float max = 0;
                 for (Colision other : this.getColisiones())
                     if (other.getX() > max) max = other.getX();
 
-                // Distancia entre obstáculos determinada por la estrategia de dificultad
-                float spacing = difficulty.getObstacleSpacing(screen.getScore());
+                // Polvo donde el tubo dejó la pantalla: su borde derecho antes de reposicionarlo
+                if (p.levantaPolvo()) screen.emitirPolvo(p.getX() + p.getAncho(), FlappyGameMenu.GROUND_LEVEL);
 
-                p.reposicionar(max + spacing);
+                // Distancia entre obstáculos determinada por la estrategia de dificultad
+                p.reposicionar(ReglasPartida.xReciclado(max, difficulty, screen.getScore()));
+                if (game.getTelemetry() != null) game.getTelemetry().obstaculoReciclado();
+                EventoObstaculoReciclado.registrar(p.getClass().getSimpleName(), p.getX(),
+                    difficulty.getObstacleSpacing(screen.getScore()), screen.getScore());
             }
 
             // --- Verificación de colisión con el jugador ---
-            for (Rectangle b : p.getBounds()) {
-                if (screen.getBird().getBounds().overlaps(b)) {
-                    colisiona = true;
-                    break;
-                }
-            }
+            // (cada Colision decide cómo: sus hitboxes, o solo las cercanas en un Enjambre)
+            if (p.colisiona(screen.getBird().getBounds())) colisiona = true;
 
             if (colisiona) {
-                screen.setGameOver(true);
-                hurt.play();
-
-                if (screen.getScore() > game.getHigherScore()) {
-                    game.setHigherScore(screen.getScore());
+                if (!screen.getGameOver()) { // restos solo en el choque, no en cada frame posterior
+                    Rectangle b = screen.getBird().getBounds();
+                    screen.emitirRestos(b.x + b.width / 2f, b.y + b.height / 2f);
+                    EventoColision.registrar(p.causaDeMuerte(), b.x + b.width / 2f, b.y + b.height / 2f, screen.getScore());
                 }
+                screen.setGameOver(true);
+                screen.setDeathCause(p.causaDeMuerte());
+                MonitorTirones.getInstancia().reproducir(hurt);
+                screen.actualizarRecord();
             }
 
             // --- Sistema de puntaje: cuando el pájaro cruza un obstáculo ---
             if (!screen.getGameOver()) {
-                float birdX = screen.getBird().pos.x;
-                float centroAhora = p.getX() + p.getAncho() / 2f;
-                float centroAntes = centroAhora + p.getVelocidad() * dt;
-
                 // Si el pájaro cruzó el centro del obstáculo entre frames
-                if (centroAntes >= birdX && centroAhora < birdX) {
+                if (ReglasPartida.cruzoPajaro(p.getX(), p.getAncho(), p.getVelocidad(), dt, screen.getBird().pos.x)) {
                     screen.setScore(screen.getScore() + 1);
-
-                    if (screen.getScore() > game.getHigherScore()) {
-                        game.setHigherScore(screen.getScore());
-                    }
+                    screen.actualizarRecord();
 
                     // Aplicamos la estrategia con el nuevo puntaje (dificultad dinámica)
-                    p.aplicarEstrategia(difficulty, screen.getScore());
+                    if (!tieneVelocidadFija(i)) p.aplicarEstrategia(difficulty, screen.getScore());
                 }
             }
         }
+
+        // --- Nivel: la cámara avanza a la velocidad de los tubos y entran los registros siguientes ---
+        if (nivel != null) {
+            recorrido += difficulty.getPipeSpeed(screen.getScore()) * dt;
+            cargarSiguientes(screen.getScore());
+        }
+    }
+
+    /** El registro del nivel que activó el obstáculo i fijó su velocidad. */
+    private boolean tieneVelocidadFija(int i) {
+        return nivel != null && velocidadFija[i] > 0;
     }
 }
@@ -0,0 +1,94 @@
+package puppy.code;
+
+import com.badlogic.gdx.graphics.Texture;
+
+import puppy.code.Dibujo.ColaDibujo;
+
+/**
+ * Clase ParallaxLayer
+ * Capa de fondo con desplazamiento horizontal infinito (fondo, suelo, etc.).
+ * La repetición se arma desplazando las coordenadas UV, sin importar cuánta
+ * distancia se haya recorrido: el tramo visible se parte donde termina la
+ * textura y cada parte es un quad con UV dentro de [0, 1]. No se usa
+ * TextureWrap.Repeat porque GLES2 y WebGL no lo admiten en texturas que no
+ * son potencia de dos (el fondo mide 285 x 491 y el suelo 825 x 108). Con una
+ * capa del ancho de la textura son dos quads por frame, de la misma textura y
+ * capa, así que ColaDibujo los dibuja con un solo bind.
+ *
+ * La velocidad se expresa como factor de la velocidad de los tubos, que
+ * entrega DifficultyStrategy (GM2.3): 1 = mismo plano que los tubos, menor = más lejano.
+ */
+public class ParallaxLayer {
+
+    // --- Atributos privados (encapsulamiento GM1.6) ---
+    private final Texture texture;
+    private final float x, y, width, height; // rectángulo en pantalla (unidades del mundo)
+    private final float tileWidth;           // ancho en el mundo de una repetición de la textura
+    private final float factor;              // fracción de la velocidad de los tubos
+    private final int capa;                  // capa de ColaDibujo (fondo o suelo)
+    private float offset;                    // desplazamiento acumulado, siempre en [0, tileWidth)
+
+    /**
+     * Constructor de la capa.
+     * @param texture textura a repetir (se configura con wrap ClampToEdge, válido en cualquier tamaño)
+     * @param x posición X del quad
+     * @param y posición Y del quad
+     * @param width ancho del quad
+     * @param height alto del quad
+     * @param tileWidth ancho de una repetición de la textura en el mundo
+     * @param factor fracción de la velocidad de los tubos a la que se desplaza
+     * @param capa capa de ColaDibujo en la que se dibuja
+     */
+    public ParallaxLayer(Texture texture, float x, float y, float width, float height,
+                         float tileWidth, float factor, int capa) {
+        this.texture = texture;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.factor = factor;
+        this.capa = capa;
+        texture.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.ClampToEdge);
+    }
+
+    /**
+     * Avanza el desplazamiento de la capa.
+     * @param dt tiempo transcurrido
+     * @param pipeSpeed velocidad actual de los tubos (DifficultyStrategy.getPipeSpeed)
+     */
+    public void update(float dt, float pipeSpeed) {
+        offset += pipeSpeed * factor * dt;
+        // Se mantiene acotado para no perder precisión en partidas largas
+        offset %= tileWidth;
+    }
+
+    /** Dibuja la capa con las UV desplazadas, un quad por cada repetición visible de la textura. */
+    public void draw(ColaDibujo cola) {
+        float inicio = offset % tileWidth; // posición dentro de la repetición (setOffset no la acota)
+        if (inicio < 0f) inicio += tileWidth;
+        float drawX = x;
+        float restante = width;
+        while (restante > 0f) {
+            float tramo = Math.min(tileWidth - inicio, restante);
+            cola.draw(capa, texture, drawX, y, tramo, height, inicio / tileWidth, 1f, (inicio + tramo) / tileWidth, 0f);
+            drawX += tramo;
+            restante -= tramo;
+            inicio = 0f;
+        }
+    }
+
+    /** Desplazamiento actual (para snapshots del modo práctica). */
+    public float getOffset() {
+        return offset;
+    }
+
+    public void setOffset(float offset) {
+        this.offset = offset;
+    }
+
+    /** Vuelve la capa a su posición inicial. */
+    public void reset() {
+        offset = 0f;
+    }
+}
@@ -0,0 +1,119 @@
+package puppy.code.Particulas;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase Emisor
+ * Definición de un efecto de partículas (plumas, restos, polvo): cuántas
+ * partículas suelta cada emisión y con qué vida, velocidad, dirección,
+ * gravedad, tamaño y color. Son solo datos: se leen de un archivo de texto
+ * (assets/particulas/emisores.txt) y SistemaParticulas los copia a sus
+ * arreglos al registrarlos, así que ajustar un efecto no toca el código.
+ *
+ * Formato, un emisor por línea (# inicia un comentario):
+ *   nombre clave=valor clave=valor ...
+ * Claves: cantidad, vida (min-max, segundos), velocidad (min-max), angulo
+ * (grados, 0 = derecha, 90 = arriba), apertura (grados en total), gravedad,
+ * arrastre (fracción de velocidad perdida por segundo), radio (de la zona de
+ * emisión), tamano (inicio>fin) y color (RRGGBBAA inicio>fin). Las claves que
+ * falten usan los valores por defecto de los campos.
+ */
+public class Emisor {
+
+    final String nombre;
+    int cantidad = 8;
+    float vidaMin = 0.5f, vidaMax = 0.5f;
+    float velocidadMin = 50f, velocidadMax = 50f;
+    float angulo = 90f;
+    float apertura = 360f;
+    float gravedad;
+    float arrastre;
+    float radio;
+    float tamanoInicio = 4f, tamanoFin = 4f;
+    int colorInicio = 0xFFFFFFFF, colorFin = 0xFFFFFF00; // RGBA8888
+
+    public Emisor(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() { return nombre; }
+
+    /** Partículas por emisión. */
+    public int getCantidad() { return cantidad; }
+
+    /**
+     * Lee todas las definiciones del archivo.
+     * @param origen nombre del archivo, solo para los mensajes de error
+     * @throws IOException si no se puede leer o una línea es inválida (con su número)
+     */
+    public static List<Emisor> cargar(BufferedReader in, String origen) throws IOException {
+        List<Emisor> emisores = new ArrayList<>();
+        String linea;
+        for (int numero = 1; (linea = in.readLine()) != null; numero++) {
+            int comentario = linea.indexOf('#');
+            if (comentario >= 0) linea = linea.substring(0, comentario);
+            linea = linea.trim();
+            if (linea.isEmpty()) continue;
+
+            String[] campos = linea.split("\\s+");
+            Emisor e = new Emisor(campos[0]);
+            for (int i = 1; i < campos.length; i++) {
+                int igual = campos[i].indexOf('=');
+                if (igual < 0) throw error(origen, numero, "se esperaba clave=valor en \"" + campos[i] + "\"");
+                try {
+                    e.asignar(campos[i].substring(0, igual), campos[i].substring(igual + 1));
+                } catch (IllegalArgumentException ex) {
+                    throw error(origen, numero, ex.getMessage());
+                }
+            }
+            emisores.add(e);
+        }
+        return emisores;
+    }
+
+    private void asignar(String clave, String valor) {
+        switch (clave) {
+            case "cantidad": cantidad = Integer.parseInt(valor); break;
+            case "vida": vidaMin = minimo(valor, '-'); vidaMax = maximo(valor, '-'); break;
+            case "velocidad": velocidadMin = minimo(valor, '-'); velocidadMax = maximo(valor, '-'); break;
+            case "angulo": angulo = Float.parseFloat(valor); break;
+            case "apertura": apertura = Float.parseFloat(valor); break;
+            case "gravedad": gravedad = Float.parseFloat(valor); break;
+            case "arrastre": arrastre = Float.parseFloat(valor); break;
+            case "radio": radio = Float.parseFloat(valor); break;
+            case "tamano": tamanoInicio = minimo(valor, '>'); tamanoFin = maximo(valor, '>'); break;
+            case "color": colorInicio = color(valor, 0); colorFin = color(valor, 1); break;
+            default: throw new IllegalArgumentException("clave desconocida \"" + clave + "\"");
+        }
+        if (cantidad < 0 || vidaMin <= 0 || vidaMax < vidaMin || velocidadMax < velocidadMin || arrastre < 0) {
+            throw new IllegalArgumentException("valor fuera de rango en " + clave + "=" + valor);
+        }
+    }
+
+    /** Primer valor de "a-b" (o el único, si no hay separador). */
+    private static float minimo(String valor, char separador) {
+        int s = valor.indexOf(separador, 1); // el 1 deja pasar un signo menos inicial
+        return Float.parseFloat(s < 0 ? valor : valor.substring(0, s));
+    }
+
+    private static float maximo(String valor, char separador) {
+        int s = valor.indexOf(separador, 1);
+        return Float.parseFloat(s < 0 ? valor : valor.substring(s + 1));
+    }
+
+    /** Color RRGGBBAA de "inicio>fin"; con uno solo, el fin es el mismo color transparente. */
+    private static int color(String valor, int cual) {
+        int s = valor.indexOf('>');
+        String texto = s < 0 ? valor : cual == 0 ? valor.substring(0, s) : valor.substring(s + 1);
+        if (texto.length() != 8) throw new IllegalArgumentException("color RRGGBBAA inválido \"" + texto + "\"");
+        int rgba = (int) Long.parseLong(texto, 16);
+        return s < 0 && cual == 1 ? rgba & 0xFFFFFF00 : rgba;
+    }
+
+    private static IOException error(String origen, int numero, String mensaje) {
+        return new IOException(origen + ":" + numero + ": " + mensaje);
+    }
+}
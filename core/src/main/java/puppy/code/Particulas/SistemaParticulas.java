@@ -0,0 +1,211 @@
+package puppy.code.Particulas;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.NumberUtils;
+
+import puppy.code.Dibujo.ColaDibujo;
+
+/**
+ * Clase SistemaParticulas
+ * Partículas de efectos (plumas, restos, polvo) sin un objeto por partícula:
+ * cada atributo vive en un arreglo primitivo de tamaño fijo (la capacidad es
+ * el tope de partículas vivas) y los lugares libres se reutilizan desde una
+ * lista libre (una pila de índices). Emitir con la lista vacía descarta la
+ * partícula y la cuenta, en vez de crecer.
+ *
+ * Los Emisor registrados se copian a arreglos por emisor; cada partícula solo
+ * guarda el índice de su emisor, y de ahí salen gravedad, arrastre, tamaño y
+ * color a lo largo de su vida.
+ *
+ * Todas las partículas usan la misma textura (un punto blanco teñido por el
+ * color de cada una) y se encolan en la capa CAPA_EFECTOS de ColaDibujo con
+ * su color empaquetado, así que llegan al batch juntas y con un solo cambio
+ * de textura, sin importar cuántas haya.
+ *
+ * Usa su propio generador (xorshift) y no MathUtils.random, que define los
+ * huecos de los tubos y debe seguir la semilla de la partida.
+ */
+public class SistemaParticulas {
+
+    private final int capacidad;
+
+    // --- Partículas (arreglos paralelos) ---
+    private final float[] x, y, vx, vy;
+    private final float[] edad, vida;
+    private final byte[] emisor;
+    private final boolean[] viva;
+    private final int[] libres;        // pila de índices libres
+    private int libresCount;
+    private int alto;                  // ninguna partícula viva en [alto, capacidad)
+    private int vivas;
+    private long descartadas;
+
+    // --- Emisores registrados (arreglos por emisor) ---
+    private static final int MAX_EMISORES = 32;
+    private final Emisor[] emisores = new Emisor[MAX_EMISORES];
+    private final float[] gravedad = new float[MAX_EMISORES];
+    private final float[] arrastre = new float[MAX_EMISORES];
+    private final float[] tamano0 = new float[MAX_EMISORES], tamanoDelta = new float[MAX_EMISORES];
+    private final float[] color0 = new float[MAX_EMISORES * 4], colorDelta = new float[MAX_EMISORES * 4]; // r, g, b, a
+    private int emisorCount;
+
+    private int semilla = 0x2545F491;
+
+    /** @param capacidad máximo de partículas vivas a la vez */
+    public SistemaParticulas(int capacidad) {
+        this.capacidad = capacidad;
+        x = new float[capacidad];
+        y = new float[capacidad];
+        vx = new float[capacidad];
+        vy = new float[capacidad];
+        edad = new float[capacidad];
+        vida = new float[capacidad];
+        emisor = new byte[capacidad];
+        viva = new boolean[capacidad];
+        libres = new int[capacidad];
+        limpiar();
+    }
+
+    // --- Emisores ---
+
+    /**
+     * Registra un emisor y devuelve su id para emitir().
+     * @throws IllegalStateException si ya hay MAX_EMISORES registrados
+     */
+    public int registrar(Emisor e) {
+        if (emisorCount == MAX_EMISORES) throw new IllegalStateException("Demasiados emisores");
+        int id = emisorCount++;
+        emisores[id] = e;
+        gravedad[id] = e.gravedad;
+        arrastre[id] = e.arrastre;
+        tamano0[id] = e.tamanoInicio;
+        tamanoDelta[id] = e.tamanoFin - e.tamanoInicio;
+        for (int c = 0; c < 4; c++) {
+            float inicio = (e.colorInicio >>> (24 - 8 * c) & 0xFF) / 255f;
+            float fin = (e.colorFin >>> (24 - 8 * c) & 0xFF) / 255f;
+            color0[id * 4 + c] = inicio;
+            colorDelta[id * 4 + c] = fin - inicio;
+        }
+        return id;
+    }
+
+    /** Id del emisor registrado con ese nombre, o -1. */
+    public int buscar(String nombre) {
+        for (int i = 0; i < emisorCount; i++) {
+            if (emisores[i].nombre.equals(nombre)) return i;
+        }
+        return -1;
+    }
+
+    // --- Emisión ---
+
+    /** Una emisión del emisor (su cantidad de partículas) centrada en x, y. Un id negativo no emite nada. */
+    public void emitir(int id, float px, float py) {
+        if (id >= 0) emitir(id, px, py, emisores[id].cantidad);
+    }
+
+    /** Emite la cantidad indicada de partículas del emisor; las que no entran se descartan. */
+    public void emitir(int id, float px, float py, int cantidad) {
+        Emisor e = emisores[id];
+        float angulo0 = (float) Math.toRadians(e.angulo - e.apertura / 2f);
+        float apertura = (float) Math.toRadians(e.apertura);
+        for (int k = 0; k < cantidad; k++) {
+            if (libresCount == 0) {
+                descartadas += cantidad - k;
+                return;
+            }
+            int i = libres[--libresCount];
+            float a = angulo0 + apertura * aleatorio();
+            float v = e.velocidadMin + (e.velocidadMax - e.velocidadMin) * aleatorio();
+            float r = e.radio * aleatorio();
+            float ar = (float) Math.PI * 2f * aleatorio();
+            x[i] = px + r * (float) Math.cos(ar);
+            y[i] = py + r * (float) Math.sin(ar);
+            vx[i] = v * (float) Math.cos(a);
+            vy[i] = v * (float) Math.sin(a);
+            edad[i] = 0f;
+            vida[i] = e.vidaMin + (e.vidaMax - e.vidaMin) * aleatorio();
+            emisor[i] = (byte) id;
+            viva[i] = true;
+            vivas++;
+            if (i >= alto) alto = i + 1;
+        }
+    }
+
+    // --- Actualización y dibujo ---
+
+    /** Avanza todas las partículas vivas y devuelve a la lista libre las que terminaron. */
+    public void update(float dt) {
+        int ultima = -1;
+        for (int i = 0; i < alto; i++) {
+            if (!viva[i]) continue;
+            float e = edad[i] + dt;
+            if (e >= vida[i]) {
+                viva[i] = false;
+                libres[libresCount++] = i;
+                vivas--;
+                continue;
+            }
+            edad[i] = e;
+            int id = emisor[i];
+            float freno = Math.max(0f, 1f - arrastre[id] * dt);
+            vx[i] *= freno;
+            vy[i] = (vy[i] + gravedad[id] * dt) * freno;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            ultima = i;
+        }
+        alto = ultima + 1;
+    }
+
+    /**
+     * Encola todas las partículas vivas en la capa CAPA_EFECTOS, con tamaño y
+     * color interpolados según su edad.
+     */
+    public void encolar(ColaDibujo cola, Texture textura) {
+        for (int i = 0; i < alto; i++) {
+            if (!viva[i]) continue;
+            int id = emisor[i];
+            float t = edad[i] / vida[i];
+            float s = tamano0[id] + tamanoDelta[id] * t;
+            int c = id * 4;
+            int r = (int) (255f * (color0[c] + colorDelta[c] * t));
+            int g = (int) (255f * (color0[c + 1] + colorDelta[c + 1] * t));
+            int b = (int) (255f * (color0[c + 2] + colorDelta[c + 2] * t));
+            int a = (int) (255f * (color0[c + 3] + colorDelta[c + 3] * t));
+            float color = NumberUtils.intToFloatColor(a << 24 | b << 16 | g << 8 | r);
+            cola.draw(ColaDibujo.CAPA_EFECTOS, textura, x[i] - s / 2f, y[i] - s / 2f, s, s, 0f, 1f, 1f, 0f, color);
+        }
+    }
+
+    /** Elimina todas las partículas (por ejemplo, al reiniciar o rebobinar). */
+    public void limpiar() {
+        Arrays.fill(viva, false);
+        for (int i = 0; i < capacidad; i++) libres[i] = capacidad - 1 - i; // se entregan primero los índices bajos
+        libresCount = capacidad;
+        alto = 0;
+        vivas = 0;
+    }
+
+    /** Número en [0, 1) de un xorshift de 32 bits. */
+    private float aleatorio() {
+        int s = semilla;
+        s ^= s << 13;
+        s ^= s >>> 17;
+        s ^= s << 5;
+        semilla = s;
+        return (s >>> 8) * 0x1p-24f;
+    }
+
+    // --- Estadísticas ---
+
+    public int getCapacidad() { return capacidad; }
+
+    /** Partículas vivas en este momento. */
+    public int getVivas() { return vivas; }
+
+    /** Partículas que no se emitieron por estar lleno el sistema, desde que se creó. */
+    public long getDescartadas() { return descartadas; }
+}
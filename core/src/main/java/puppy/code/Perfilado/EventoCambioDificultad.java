@@ -0,0 +1,51 @@
+package puppy.code.Perfilado;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Clase EventoCambioDificultad
+ * Evento JFR instantáneo cuando la DifficultyStrategy de la partida entrega
+ * otros valores para el puntaje actual (velocidad de tubos y enemigos,
+ * espaciado entre obstáculos).
+ */
+@Name("flappy.CambioDificultad")
+@Label("Cambio de dificultad")
+@Category({"Flappy", "Juego"})
+@Description("La estrategia de dificultad cambió la velocidad o el espaciado de los obstáculos")
+@StackTrace(false)
+public class EventoCambioDificultad extends Event {
+
+    private static final EventoCambioDificultad SONDA = new EventoCambioDificultad();
+
+    @Label("Puntaje")
+    int puntaje;
+
+    @Label("Velocidad anterior de tubos")
+    float velocidadAnterior;
+
+    @Label("Velocidad de tubos")
+    float velocidadTubos;
+
+    @Label("Velocidad de enemigos")
+    float velocidadEnemigos;
+
+    @Label("Espaciado")
+    float espaciado;
+
+    public static void registrar(int puntaje, float velocidadAnterior, float velocidadTubos,
+                                 float velocidadEnemigos, float espaciado) {
+        if (!SONDA.isEnabled()) return;
+        EventoCambioDificultad e = new EventoCambioDificultad();
+        e.puntaje = puntaje;
+        e.velocidadAnterior = velocidadAnterior;
+        e.velocidadTubos = velocidadTubos;
+        e.velocidadEnemigos = velocidadEnemigos;
+        e.espaciado = espaciado;
+        e.commit();
+    }
+}
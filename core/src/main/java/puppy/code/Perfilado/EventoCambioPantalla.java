@@ -0,0 +1,48 @@
+package puppy.code.Perfilado;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Clase EventoCambioPantalla
+ * Evento JFR con duración de FlappyGameMenu.setScreen: hide de la pantalla
+ * anterior, show de la nueva (donde GameScreen arma su partida) y la
+ * liberación de la anterior.
+ */
+@Name("flappy.CambioPantalla")
+@Label("Cambio de pantalla")
+@Category({"Flappy", "Pantallas"})
+@Description("FlappyGameMenu.setScreen: hide, show de la nueva pantalla y liberación de la anterior")
+@StackTrace(false)
+public class EventoCambioPantalla extends Event {
+
+    private static final EventoCambioPantalla SONDA = new EventoCambioPantalla();
+
+    @Label("Desde")
+    String desde;
+
+    @Label("Hacia")
+    String hacia;
+
+    @Label("Descartada") @Description("La pantalla anterior se liberó (no es una pausa ni una reanudación)")
+    boolean descartada;
+
+    /** Empieza el evento del cambio, o devuelve null si la grabación no lo pide. */
+    public static EventoCambioPantalla iniciar() {
+        if (!SONDA.isEnabled()) return null;
+        EventoCambioPantalla e = new EventoCambioPantalla();
+        e.begin();
+        return e;
+    }
+
+    public void terminar(String desde, String hacia, boolean descartada) {
+        this.desde = desde;
+        this.hacia = hacia;
+        this.descartada = descartada;
+        commit();
+    }
+}
@@ -0,0 +1,47 @@
+package puppy.code.Perfilado;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Clase EventoCargaRecurso
+ * Evento JFR con duración de la carga de un recurso de assets (textura,
+ * sonido o música) a través de RegistroRecursos, con la memoria nativa
+ * estimada. Guarda la pila, para ver qué pantalla o clase pidió la carga.
+ */
+@Name("flappy.CargaRecurso")
+@Label("Carga de recurso")
+@Category({"Flappy", "Recursos"})
+@Description("Carga de una textura, un sonido o una música desde assets")
+public class EventoCargaRecurso extends Event {
+
+    private static final EventoCargaRecurso SONDA = new EventoCargaRecurso();
+
+    @Label("Ruta")
+    String ruta;
+
+    @Label("Tipo")
+    String tipo;
+
+    @Label("Memoria estimada") @DataAmount
+    long bytes;
+
+    /** Empieza el evento de una carga, o devuelve null si la grabación no lo pide. */
+    public static EventoCargaRecurso iniciar() {
+        if (!SONDA.isEnabled()) return null;
+        EventoCargaRecurso e = new EventoCargaRecurso();
+        e.begin();
+        return e;
+    }
+
+    public void terminar(String ruta, String tipo, long bytes) {
+        this.ruta = ruta;
+        this.tipo = tipo;
+        this.bytes = bytes;
+        commit();
+    }
+}
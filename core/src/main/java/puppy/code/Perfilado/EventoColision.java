@@ -0,0 +1,45 @@
+package puppy.code.Perfilado;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Clase EventoColision
+ * Evento JFR instantáneo del choque del pájaro con un obstáculo (tubo o
+ * enemigo), con la causa como en RunRecord, el punto del choque y el puntaje.
+ */
+@Name("flappy.Colision")
+@Label("Colisión")
+@Category({"Flappy", "Juego"})
+@Description("El pájaro chocó con un obstáculo")
+@StackTrace(false)
+public class EventoColision extends Event {
+
+    private static final EventoColision SONDA = new EventoColision();
+
+    @Label("Causa") @Description("Causa de muerte de RunRecord (1 tubo, 2 enemigo, ...)")
+    byte causa;
+
+    @Label("X")
+    float x;
+
+    @Label("Y")
+    float y;
+
+    @Label("Puntaje")
+    int puntaje;
+
+    public static void registrar(byte causa, float x, float y, int puntaje) {
+        if (!SONDA.isEnabled()) return;
+        EventoColision e = new EventoColision();
+        e.causa = causa;
+        e.x = x;
+        e.y = y;
+        e.puntaje = puntaje;
+        e.commit();
+    }
+}
@@ -0,0 +1,46 @@
+package puppy.code.Perfilado;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Clase EventoObstaculoReciclado
+ * Evento JFR instantáneo de un obstáculo que salió de pantalla y Obstaculo
+ * volvió a ubicar a la derecha (reposicionar), con su tipo y su nueva x.
+ */
+@Name("flappy.ObstaculoReciclado")
+@Label("Obstáculo reciclado")
+@Category({"Flappy", "Juego"})
+@Description("Un obstáculo salió de pantalla y se reposicionó a la derecha")
+@StackTrace(false)
+public class EventoObstaculoReciclado extends Event {
+
+    private static final EventoObstaculoReciclado SONDA = new EventoObstaculoReciclado();
+
+    @Label("Tipo")
+    String tipo;
+
+    @Label("Nueva X")
+    float x;
+
+    @Label("Espaciado")
+    float espaciado;
+
+    @Label("Puntaje")
+    int puntaje;
+
+    /** @param tipo clase del obstáculo (getSimpleName, que la JVM guarda después de la primera llamada) */
+    public static void registrar(String tipo, float x, float espaciado, int puntaje) {
+        if (!SONDA.isEnabled()) return;
+        EventoObstaculoReciclado e = new EventoObstaculoReciclado();
+        e.tipo = tipo;
+        e.x = x;
+        e.espaciado = espaciado;
+        e.puntaje = puntaje;
+        e.commit();
+    }
+}
@@ -0,0 +1,74 @@
+package puppy.code.Perfilado;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Clase EventoTick
+ * Evento JFR de un frame de GameScreen: su duración es la del render completo
+ * y cada campo de fase es el tiempo de una parte del update (física,
+ * colisiones, dificultad, escenario) o del dibujo. Con la simulación en
+ * HiloSimulacion, física y colisiones corren en el otro hilo y quedan en 0.
+ *
+ * Sin grabación activa (o con el evento desactivado en el perfil) iniciar()
+ * devuelve null sin crear objetos, así el frame no asigna memoria.
+ */
+@Name("flappy.Tick")
+@Label("Tick de juego")
+@Category({"Flappy", "Juego"})
+@Description("Un frame de GameScreen, con la duración de cada fase del update y del dibujo")
+@StackTrace(false)
+public class EventoTick extends Event {
+
+    private static final EventoTick SONDA = new EventoTick(); // solo para consultar isEnabled()
+
+    @Label("Puntaje")
+    int puntaje;
+
+    @Label("Simulación en otro hilo")
+    boolean hiloSimulacion;
+
+    @Label("Física") @Timespan
+    long fisica;
+
+    @Label("Colisiones") @Timespan
+    long colisiones;
+
+    @Label("Dificultad") @Timespan
+    long dificultad;
+
+    @Label("Escenario") @Description("Partículas, fondo, suelo, telemetría y snapshot de práctica") @Timespan
+    long escenario;
+
+    @Label("Dibujo") @Timespan
+    long dibujo;
+
+    /** Empieza el evento del frame, o devuelve null si la grabación no lo pide. */
+    public static EventoTick iniciar() {
+        if (!SONDA.isEnabled()) return null;
+        EventoTick e = new EventoTick();
+        e.begin();
+        return e;
+    }
+
+    /** Tiempos de las fases del update, en nanosegundos. */
+    public void fases(long fisica, long colisiones, long dificultad, long escenario) {
+        this.fisica = fisica;
+        this.colisiones = colisiones;
+        this.dificultad = dificultad;
+        this.escenario = escenario;
+    }
+
+    /** Cierra el evento con el tiempo de dibujo (0 si el frame cambió de pantalla y no dibujó). */
+    public void terminar(int puntaje, boolean hiloSimulacion, long dibujo) {
+        this.puntaje = puntaje;
+        this.hiloSimulacion = hiloSimulacion;
+        this.dibujo = dibujo;
+        commit();
+    }
+}
@@ -0,0 +1,129 @@
+package puppy.code.Rebobinado;
+
+import java.nio.IntBuffer;
+
+/**
+ * Clase RewindBuffer
+ * Buffer circular de snapshots de juego de tamaño fijo, guardados uno tras
+ * otro en un único arreglo int[] preasignado (modo práctica de GameScreen).
+ *
+ * Cada snapshot ocupa "stride" valores. Se escribe con beginWrite() seguido de
+ * put*() y se lee con seek(n) seguido de get*() en el mismo orden; los float
+ * se guardan con sus bits exactos y los long en dos int. Escribir, buscar y
+ * descartar son O(1) y no crean objetos: al llenarse, el snapshot nuevo
+ * reemplaza al más antiguo.
+ */
+public class RewindBuffer {
+
+    private final int[] data;
+    private final int capacity; // cantidad de snapshots
+    private final int stride;   // valores por snapshot
+
+    private int newest = -1;    // posición del snapshot más reciente
+    private int count;
+    private int cursor;         // índice en data de la próxima lectura/escritura
+
+    /**
+     * @param capacity cantidad máxima de snapshots que se conservan
+     * @param stride cantidad de valores int por snapshot (un long ocupa dos)
+     */
+    public RewindBuffer(int capacity, int stride) {
+        if (capacity <= 0 || stride <= 0) throw new IllegalArgumentException("Capacidad y tamaño deben ser positivos");
+        this.capacity = capacity;
+        this.stride = stride;
+        this.data = new int[capacity * stride];
+    }
+
+    // --- Escritura ---
+
+    /** Comienza un snapshot nuevo (pisa el más antiguo si el buffer está lleno). */
+    public void beginWrite() {
+        newest = newest + 1 == capacity ? 0 : newest + 1;
+        if (count < capacity) count++;
+        cursor = newest * stride;
+    }
+
+    public void putInt(int value) {
+        data[cursor++] = value;
+    }
+
+    public void putFloat(float value) {
+        data[cursor++] = Float.floatToRawIntBits(value);
+    }
+
+    public void putLong(long value) {
+        data[cursor++] = (int) (value >>> 32);
+        data[cursor++] = (int) value;
+    }
+
+    // --- Lectura ---
+
+    /**
+     * Posiciona la lectura en un snapshot.
+     * @param back cuántos snapshots hacia atrás (0 = el más reciente)
+     */
+    public void seek(int back) {
+        if (back < 0 || back >= count) throw new IndexOutOfBoundsException("Snapshot fuera de rango: " + back);
+        int slot = newest - back;
+        if (slot < 0) slot += capacity;
+        cursor = slot * stride;
+    }
+
+    public int getInt() {
+        return data[cursor++];
+    }
+
+    public float getFloat() {
+        return Float.intBitsToFloat(data[cursor++]);
+    }
+
+    public long getLong() {
+        long high = data[cursor++];
+        long low = data[cursor++] & 0xFFFFFFFFL;
+        return (high << 32) | low;
+    }
+
+    // --- Copia en bloque (partida suspendida en disco) ---
+
+    /** Copia los valores de un snapshot al buffer de salida. */
+    public void copySnapshot(int back, IntBuffer out) {
+        seek(back);
+        out.put(data, cursor, stride);
+    }
+
+    /** Agrega un snapshot leyendo "stride" valores del buffer de entrada. */
+    public void loadSnapshot(IntBuffer in) {
+        beginWrite();
+        in.get(data, cursor, stride);
+    }
+
+    // --- Administración ---
+
+    /** Descarta los n snapshots más recientes (al reanudar desde un punto anterior). */
+    public void discardNewest(int n) {
+        if (n < 0 || n > count) throw new IndexOutOfBoundsException("No hay " + n + " snapshots para descartar");
+        newest -= n;
+        if (newest < 0) newest += capacity;
+        count -= n;
+    }
+
+    /** Vacía el buffer sin liberar memoria. */
+    public void clear() {
+        newest = -1;
+        count = 0;
+    }
+
+    /** Cantidad de snapshots guardados. */
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Valores int por snapshot. */
+    public int stride() {
+        return stride;
+    }
+}
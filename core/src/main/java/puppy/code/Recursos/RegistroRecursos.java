@@ -0,0 +1,294 @@
+package puppy.code.Recursos;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Disposable;
+
+import puppy.code.Perfilado.EventoCargaRecurso;
+import puppy.code.Telemetria.MonitorTirones;
+
+/**
+ * Clase RegistroRecursos
+ * Registro de los recursos nativos del juego (texturas, sonidos, música,
+ * batches, fuentes y FrameBuffers) con conteo de referencias por dueño.
+ * Quien crea un recurso lo registra con crear() y queda con una referencia;
+ * quien lo comparte (una pantalla que dibuja una textura de Asset) llama
+ * retener(), y cada uno devuelve la suya con soltar(). El recurso se libera
+ * (dispose) cuando no le queda ninguna referencia, así nadie libera algo que
+ * otro todavía usa.
+ *
+ * Cada recurso lleva una estimación de la memoria nativa que ocupa (pixeles
+ * de la textura, vértices del batch, tamaño del archivo de audio), y
+ * reporte() la suma por dueño. Al descartar una pantalla, verificarSoltado()
+ * informa como fuga todo lo que ese dueño no devolvió; en modo estricto
+ * (-Dflappy.recursos.estricto=true) además lanza IllegalStateException, para
+ * que las verificaciones headless fallen.
+ *
+ * Singleton (GM2.1) como Asset. Solo se usa desde el hilo de render, igual
+ * que los recursos de LibGDX que registra.
+ */
+public final class RegistroRecursos {
+
+    private static final RegistroRecursos instancia = new RegistroRecursos();
+
+    // --- Estimaciones de memoria nativa ---
+    private static final long BYTES_POR_PIXEL = 4;                          // texturas subidas como RGBA8888
+    private static final long BYTES_SPRITEBATCH = 1000L * (4 * 5 * 4) + 1000L * 6 * 2; // 1000 sprites: vértices e índices
+    private static final long BYTES_MUSICA = 3L * 4096 * 10;               // buffers de streaming de OpenAL
+
+    private final Map<Disposable, Entrada> recursos = new IdentityHashMap<>();
+    private boolean estricto = "true".equals(System.getProperty("flappy.recursos.estricto"));
+
+    /** Un recurso registrado y quién lo retiene. */
+    private static final class Entrada {
+        final Disposable recurso;
+        final String nombre;
+        final long bytes;
+        final List<Object> duenos = new ArrayList<>(2);
+        final List<int[]> referencias = new ArrayList<>(2); // referencias de cada dueño, en el mismo orden
+
+        Entrada(Disposable recurso, String nombre, long bytes) {
+            this.recurso = recurso;
+            this.nombre = nombre;
+            this.bytes = bytes;
+        }
+
+        int indice(Object dueno) {
+            for (int i = 0; i < duenos.size(); i++) {
+                if (duenos.get(i) == dueno) return i;
+            }
+            return -1;
+        }
+
+        int total() {
+            int total = 0;
+            for (int[] r : referencias) total += r[0];
+            return total;
+        }
+    }
+
+    private RegistroRecursos() {
+    }
+
+    public static RegistroRecursos getInstancia() {
+        return instancia;
+    }
+
+    // --- Alta y conteo de referencias ---
+
+    /**
+     * Registra un recurso recién creado; el dueño queda con una referencia.
+     * La memoria se estima según el tipo (ver estimarBytes).
+     */
+    public <T extends Disposable> T crear(Object dueno, T recurso, String nombre) {
+        return crear(dueno, recurso, nombre, estimarBytes(recurso));
+    }
+
+    /** Registra un recurso con una estimación de memoria nativa conocida por quien lo crea. */
+    public <T extends Disposable> T crear(Object dueno, T recurso, String nombre, long bytes) {
+        if (recursos.containsKey(recurso)) throw new IllegalStateException(nombre + " ya está registrado");
+        Entrada e = new Entrada(recurso, nombre, bytes);
+        e.duenos.add(dueno);
+        e.referencias.add(new int[] {1});
+        recursos.put(recurso, e);
+        return recurso;
+    }
+
+    /** Carga y registra una textura de assets. */
+    public Texture textura(Object dueno, String ruta) {
+        EventoCargaRecurso evento = EventoCargaRecurso.iniciar();
+        long t0 = System.nanoTime();
+        Texture textura = new Texture(Gdx.files.internal(ruta));
+        MonitorTirones.getInstancia().registrar(MonitorTirones.CARGA, t0);
+        long bytes = estimarBytes(textura);
+        if (evento != null) evento.terminar(ruta, "textura", bytes);
+        return crear(dueno, textura, ruta, bytes);
+    }
+
+    /** Carga y registra un sonido; se estima por el tamaño del archivo (OpenAL guarda el audio decodificado, que es mayor). */
+    public Sound sonido(Object dueno, String ruta) {
+        EventoCargaRecurso evento = EventoCargaRecurso.iniciar();
+        long t0 = System.nanoTime();
+        FileHandle archivo = Gdx.files.internal(ruta);
+        Sound sonido = Gdx.audio.newSound(archivo);
+        MonitorTirones.getInstancia().registrar(MonitorTirones.CARGA, t0);
+        if (evento != null) evento.terminar(ruta, "sonido", archivo.length());
+        return crear(dueno, sonido, ruta, archivo.length());
+    }
+
+    /** Carga y registra una música (se reproduce por streaming: solo ocupa sus buffers). */
+    public Music musica(Object dueno, String ruta) {
+        EventoCargaRecurso evento = EventoCargaRecurso.iniciar();
+        long t0 = System.nanoTime();
+        Music musica = Gdx.audio.newMusic(Gdx.files.internal(ruta));
+        MonitorTirones.getInstancia().registrar(MonitorTirones.CARGA, t0);
+        if (evento != null) evento.terminar(ruta, "musica", BYTES_MUSICA);
+        return crear(dueno, musica, ruta, BYTES_MUSICA);
+    }
+
+    /**
+     * Suma una referencia del dueño a un recurso ya registrado (por ejemplo,
+     * una pantalla que dibuja una textura de Asset).
+     * @throws IllegalStateException si el recurso no está registrado (o ya se liberó)
+     */
+    public <T extends Disposable> T retener(Object dueno, T recurso) {
+        Entrada e = recursos.get(recurso);
+        if (e == null) throw new IllegalStateException("Recurso no registrado o ya liberado");
+        int i = e.indice(dueno);
+        if (i < 0) {
+            e.duenos.add(dueno);
+            e.referencias.add(new int[] {1});
+        } else {
+            e.referencias.get(i)[0]++;
+        }
+        return recurso;
+    }
+
+    /**
+     * Devuelve una referencia del dueño; si era la última del recurso, lo libera.
+     * @return true si el recurso se liberó
+     * @throws IllegalStateException si el dueño no tenía referencias a ese recurso
+     */
+    public boolean soltar(Object dueno, Disposable recurso) {
+        Entrada e = recursos.get(recurso);
+        int i = e == null ? -1 : e.indice(dueno);
+        if (i < 0) throw new IllegalStateException(etiqueta(dueno) + " suelta un recurso que no retiene");
+        if (--e.referencias.get(i)[0] == 0) {
+            e.duenos.remove(i);
+            e.referencias.remove(i);
+        }
+        if (!e.duenos.isEmpty()) return false;
+        recursos.remove(recurso);
+        recurso.dispose();
+        return true;
+    }
+
+    /** Devuelve todas las referencias del dueño (Asset al cerrar el juego). */
+    public void soltarTodo(Object dueno) {
+        List<Disposable> suyos = new ArrayList<>();
+        for (Entrada e : recursos.values()) {
+            if (e.indice(dueno) >= 0) suyos.add(e.recurso);
+        }
+        for (Disposable r : suyos) {
+            Entrada e = recursos.get(r);
+            int i = e.indice(dueno);
+            for (int n = e.referencias.get(i)[0]; n > 0; n--) soltar(dueno, r);
+        }
+    }
+
+    // --- Fugas ---
+
+    /**
+     * Verifica que un dueño descartado (una pantalla reemplazada y liberada)
+     * no retenga nada; cada recurso retenido se informa como fuga.
+     * @return cantidad de recursos que el dueño sigue reteniendo
+     * @throws IllegalStateException en modo estricto, si hay fugas
+     */
+    public int verificarSoltado(Object dueno) {
+        int fugas = 0;
+        StringBuilder detalle = new StringBuilder();
+        for (Entrada e : recursos.values()) {
+            int i = e.indice(dueno);
+            if (i < 0) continue;
+            fugas++;
+            detalle.append("\n  ").append(e.nombre).append(" (").append(e.referencias.get(i)[0])
+                .append(" ref., ").append(e.bytes / 1024).append(" KB)");
+        }
+        if (fugas == 0) return 0;
+        String mensaje = etiqueta(dueno) + " se descartó reteniendo " + fugas + " recurso(s):" + detalle;
+        if (estricto) throw new IllegalStateException(mensaje);
+        if (Gdx.app != null) Gdx.app.error("RegistroRecursos", mensaje);
+        return fugas;
+    }
+
+    // --- Consultas ---
+
+    /** Recursos registrados que todavía no se liberaron. */
+    public int getCantidad() { return recursos.size(); }
+
+    /** Memoria nativa estimada de todos los recursos registrados. */
+    public long getBytes() {
+        long total = 0;
+        for (Entrada e : recursos.values()) total += e.bytes;
+        return total;
+    }
+
+    /** Recursos que el dueño retiene (creados o compartidos). */
+    public int getCantidad(Object dueno) {
+        int n = 0;
+        for (Entrada e : recursos.values()) if (e.indice(dueno) >= 0) n++;
+        return n;
+    }
+
+    /** Referencias que le quedan al recurso (0 si no está registrado). */
+    public int getReferencias(Disposable recurso) {
+        Entrada e = recursos.get(recurso);
+        return e == null ? 0 : e.total();
+    }
+
+    public boolean isEstricto() { return estricto; }
+
+    /** En modo estricto verificarSoltado() lanza excepción en vez de solo informar. */
+    public void setEstricto(boolean estricto) { this.estricto = estricto; }
+
+    /**
+     * Una línea por dueño con sus recursos y su memoria estimada. Un recurso
+     * compartido se cuenta en cada dueño que lo retiene, y una vez en el total.
+     */
+    public String reporte() {
+        Map<String, long[]> porDueno = new LinkedHashMap<>(); // etiqueta -> {recursos, bytes}
+        for (Entrada e : recursos.values()) {
+            for (Object dueno : e.duenos) {
+                long[] suma = porDueno.computeIfAbsent(etiqueta(dueno), k -> new long[2]);
+                suma[0]++;
+                suma[1] += e.bytes;
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d recursos, %d KB estimados", getCantidad(), getBytes() / 1024));
+        for (Map.Entry<String, long[]> d : porDueno.entrySet()) {
+            sb.append(String.format("%n  %-28s %4d recursos %8d KB", d.getKey(), d.getValue()[0], d.getValue()[1] / 1024));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Memoria nativa estimada según el tipo: pixeles de texturas, FrameBuffers
+     * y páginas de fuentes; vértices e índices de un SpriteBatch de 1000
+     * sprites. Otros tipos cuentan 0 (registrarlos con crear(..., bytes)).
+     */
+    static long estimarBytes(Disposable recurso) {
+        if (recurso instanceof Texture) {
+            Texture t = (Texture) recurso;
+            return (long) t.getWidth() * t.getHeight() * BYTES_POR_PIXEL;
+        }
+        if (recurso instanceof FrameBuffer) {
+            FrameBuffer f = (FrameBuffer) recurso;
+            return (long) f.getWidth() * f.getHeight() * BYTES_POR_PIXEL;
+        }
+        if (recurso instanceof BitmapFont) {
+            long total = 0;
+            for (TextureRegion region : ((BitmapFont) recurso).getRegions()) total += estimarBytes(region.getTexture());
+            return total;
+        }
+        if (recurso instanceof SpriteBatch) return BYTES_SPRITEBATCH;
+        return 0;
+    }
+
+    private static String etiqueta(Object dueno) {
+        return dueno.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(dueno));
+    }
+}
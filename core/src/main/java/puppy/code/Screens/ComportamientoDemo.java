@@ -0,0 +1,65 @@
+package puppy.code.Screens;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+
+import puppy.code.Character;
+import puppy.code.FlappyGameMenu;
+import puppy.code.Simulacion.Autopiloto;
+import puppy.code.Telemetria.MonitorTirones;
+
+/**
+ * Clase ComportamientoDemo
+ * Modo demo: el pájaro lo controla Autopiloto, que planifica cada frame sobre
+ * los obstáculos reales. Al morir vuelve al menú; ModoPartida.DEMO no cuenta
+ * para el récord ni el historial, así que su puntaje nunca llega a
+ * FlappyGameMenu, tampoco si se sale por la pausa.
+ */
+class ComportamientoDemo extends ComportamientoModo {
+
+    private static final int HORIZONTE = 120;              // 2 segundos planificados
+    private static final long PRESUPUESTO = 2_000_000L;    // 2 ms por frame para planificar
+    private static final float MARGEN = 2f;                // absorbe el delta variable de los frames
+
+    private final FlappyGameMenu game;
+    private final Autopiloto autopiloto = new Autopiloto(HORIZONTE, PRESUPUESTO, MARGEN);
+    private BitmapFontCache demoText;
+
+    ComportamientoDemo(FlappyGameMenu game) {
+        this.game = game;
+    }
+
+    @Override
+    void mostrar(GameScreen pantalla, BitmapFont font) {
+        demoText = font.newFontCache();
+        demoText.setText("DEMO autopiloto", 10, 30);
+    }
+
+    /** Autopiloto decide el aleteo; la física es la misma que la del jugador. */
+    @Override
+    void mover(GameScreen pantalla, float dt) {
+        Character bird = pantalla.getBird();
+        autopiloto.observar(pantalla.getObstaculos().getColisiones());
+        if (autopiloto.decidir(bird.pos.y, bird.vel.y)) bird.flap();
+        bird.presionAtmosferica(dt);
+    }
+
+    /** Se vuelve al menú sin pasar por GameOverScreen. */
+    @Override
+    boolean alMorir(GameScreen pantalla, float dt) {
+        game.setScreen(new MainMenuScreen(game));
+        MonitorTirones.getInstancia().detener(pantalla.getBgMusic());
+        return true;
+    }
+
+    @Override
+    void dibujar(Batch batch) {
+        demoText.draw(batch);
+    }
+
+    @Override
+    void dispose() {
+        demoText = null;
+    }
+}
@@ -0,0 +1,24 @@
+package puppy.code.Screens;
+
+import puppy.code.Asset;
+import puppy.code.DifficultyStrategy;
+import puppy.code.Obstaculo;
+
+/**
+ * Clase ComportamientoEnjambre
+ * Modo enjambre: el enemigo solitario se reemplaza por un Enjambre con la
+ * cantidad de agentes indicada. El resto de la partida es la normal.
+ */
+class ComportamientoEnjambre extends ComportamientoModo {
+
+    private final int agentes;
+
+    ComportamientoEnjambre(int agentes) {
+        this.agentes = agentes;
+    }
+
+    @Override
+    Obstaculo crearObstaculos(Asset assets, DifficultyStrategy difficulty, int score) {
+        return new Obstaculo(assets, difficulty, score, agentes);
+    }
+}
@@ -0,0 +1,58 @@
+package puppy.code.Screens;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+import puppy.code.Asset;
+import puppy.code.DifficultyStrategy;
+import puppy.code.Obstaculo;
+
+/**
+ * Clase ComportamientoModo
+ * Lo que cambia de GameScreen según el modo de juego: qué obstáculos se crean,
+ * quién mueve al pájaro, qué pasa al morir y qué texto se dibuja sobre el
+ * mundo. Es el patrón Strategy (GM2.3), como DifficultyStrategy: esta clase
+ * es la partida normal (o reanudada) y las de demo, práctica, nivel y
+ * enjambre redefinen solo lo que cambian, con su propio estado.
+ *
+ * GameScreen conserva el ciclo del frame; ModoPartida sigue indicando qué
+ * puede hacer la partida (hilo de simulación, suspensión, historial).
+ */
+class ComportamientoModo {
+
+    /** Obstáculos de la partida: dos tubos y el enemigo. */
+    Obstaculo crearObstaculos(Asset assets, DifficultyStrategy difficulty, int score) {
+        return new Obstaculo(assets, difficulty, score);
+    }
+
+    /** Prepara lo propio del modo al mostrarse la pantalla, con los obstáculos ya creados. */
+    void mostrar(GameScreen pantalla, BitmapFont font) { }
+
+    /** Mueve al pájaro un tick; en la partida normal, con el input del jugador. */
+    void mover(GameScreen pantalla, float dt) {
+        pantalla.getBird().movimiento(dt);
+    }
+
+    /** true si el modo da la partida por terminada aunque el pájaro siga vivo. */
+    boolean terminado(Obstaculo obstaculos) {
+        return false;
+    }
+
+    /** Fin de un tick en que el pájaro sigue vivo. */
+    void tickVivo(GameScreen pantalla) { }
+
+    /**
+     * Se llama en cada frame tras la muerte, antes de esperar el choque y
+     * pasar a GameOverScreen.
+     * @return true si el modo se encargó del frame (GameScreen no sigue)
+     */
+    boolean alMorir(GameScreen pantalla, float dt) {
+        return false;
+    }
+
+    /** Textos del modo sobre el puntaje, con el batch ya iniciado. */
+    void dibujar(Batch batch) { }
+
+    /** Suelta lo creado en mostrar (la fuente la libera GameScreen). */
+    void dispose() { }
+}
@@ -0,0 +1,32 @@
+package puppy.code.Screens;
+
+import puppy.code.Asset;
+import puppy.code.DifficultyStrategy;
+import puppy.code.Obstaculo;
+import puppy.code.Niveles.NivelArchivo;
+
+/**
+ * Clase ComportamientoNivel
+ * Modo nivel: los obstáculos salen de un nivel hecho a mano (NivelArchivo) en
+ * vez de huecos aleatorios, y al pasar el último la partida termina como si
+ * el pájaro hubiera muerto.
+ */
+class ComportamientoNivel extends ComportamientoModo {
+
+    private final NivelArchivo nivel;
+
+    ComportamientoNivel(NivelArchivo nivel) {
+        this.nivel = nivel;
+    }
+
+    @Override
+    Obstaculo crearObstaculos(Asset assets, DifficultyStrategy difficulty, int score) {
+        return new Obstaculo(assets, difficulty, score, nivel);
+    }
+
+    /** Se pasó el último obstáculo del nivel. */
+    @Override
+    boolean terminado(Obstaculo obstaculos) {
+        return obstaculos.nivelTerminado();
+    }
+}
@@ -0,0 +1,81 @@
+package puppy.code.Screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+
+import puppy.code.Rebobinado.RewindBuffer;
+
+/**
+ * Clase ComportamientoPractica
+ * Modo práctica: guarda un snapshot por tick y al morir, en vez de pasar a
+ * GameOverScreen, recorre los últimos segundos con IZQUIERDA/DERECHA y con
+ * ESPACIO (o click) reanuda desde el que se muestra.
+ */
+class ComportamientoPractica extends ComportamientoModo {
+
+    private static final int REWIND_TICKS = 300;       // ~5 segundos a 60 FPS
+    private static final int REWIND_INICIAL = 60;      // al morir se retrocede ~1 segundo
+
+    private RewindBuffer rewind;       // un snapshot por tick
+    private boolean rebobinando = false;
+    private int rewindCursor;          // snapshots hacia atrás del que se muestra
+    private BitmapFontCache rewindText;
+
+    @Override
+    void mostrar(GameScreen pantalla, BitmapFont font) {
+        rewind = new RewindBuffer(REWIND_TICKS, pantalla.estadoSize());
+        rewindText = font.newFontCache();
+        rewindText.setText("<- -> rebobinar   ESPACIO seguir", 10, 30);
+    }
+
+    /** Guarda el estado completo del tick en el buffer circular (sin crear objetos). */
+    @Override
+    void tickVivo(GameScreen pantalla) {
+        rewind.beginWrite();
+        pantalla.guardarEstado(rewind);
+    }
+
+    /** Rebobina mientras haya snapshots; sin ninguno la partida termina como la normal. */
+    @Override
+    boolean alMorir(GameScreen pantalla, float dt) {
+        if (rewind.size() == 0) return false;
+        if (!rebobinando) {
+            rebobinando = true;
+            pantalla.getParticulas().limpiar();
+            rewindCursor = Math.min(REWIND_INICIAL, rewind.size() - 1);
+            restaurarSnapshot(pantalla, rewindCursor);
+        }
+
+        int anterior = rewindCursor;
+        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) rewindCursor = Math.min(rewindCursor + 1, rewind.size() - 1);
+        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) rewindCursor = Math.max(rewindCursor - 1, 0);
+        if (rewindCursor != anterior) restaurarSnapshot(pantalla, rewindCursor);
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.justTouched()) {
+            // Lo posterior al punto elegido se descarta; el snapshot elegido pasa a ser el más reciente
+            rewind.discardNewest(rewindCursor);
+            rebobinando = false;
+            pantalla.revivir();
+        }
+        return true;
+    }
+
+    /** Restaura el snapshot de hace "back" ticks. */
+    private void restaurarSnapshot(GameScreen pantalla, int back) {
+        rewind.seek(back);
+        pantalla.restaurarEstado(rewind);
+    }
+
+    @Override
+    void dibujar(Batch batch) {
+        if (rebobinando) rewindText.draw(batch);
+    }
+
+    @Override
+    void dispose() {
+        rewindText = null;
+    }
+}
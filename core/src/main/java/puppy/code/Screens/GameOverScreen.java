@@ -1,13 +1,19 @@
 package puppy.code.Screens;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 
 import puppy.code.FlappyGameMenu;
+import puppy.code.Recursos.RegistroRecursos;
+import puppy.code.Historial.RunHistory;
 import puppy.code.Screens.UIBase.BaseUIScreen;
 
 /**
@@ -34,6 +40,7 @@ public class GameOverScreen extends BaseUIScreen {
 
     private int highScore;
     private Rectangle playBounds;
+    private final Vector3 touch = new Vector3(); // reutilizado para no crear un vector por cada clic
 
     //Vaariables labels
 
@@ -55,6 +62,8 @@ public class GameOverScreen extends BaseUIScreen {
     private float birdW = 60;
     private float birdH = 30;
 
+    private BitmapFontCache staticText; // título, puntajes y "PLAY", armados una vez en setupUI()
+
 
     // Dimensiones del mundo (compatibles con GameScreen)
     /**
@@ -62,7 +71,7 @@ public class GameOverScreen extends BaseUIScreen {
      * También gestiona el guardado del high score con Preferences.
      */
     public GameOverScreen(FlappyGameMenu game, int currentScore) {
-    	super(); //--constructor de BaseUIScreen
+    	super(game.getBatch()); //--constructor de BaseUIScreen (batch compartido del juego)
         this.game = game;
         this.currentScore = currentScore;
 
@@ -79,8 +88,9 @@ public class GameOverScreen extends BaseUIScreen {
     /** Carga de recursos gráficos específicos de GameOverScreen */
     @Override
     protected void loadResources() {
-        bg = game.getAssets().getGameOverScreen();
-        birdTex = game.getAssets().getBirdFrames()[0];
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        bg = registro.retener(this, game.getAssets().getGameOverScreen());
+        birdTex = registro.retener(this, game.getAssets().getBirdFrames()[0]);
     }
 
 
@@ -91,7 +101,7 @@ public class GameOverScreen extends BaseUIScreen {
     @Override
     protected void update(float dt) {
         if (Gdx.input.justTouched() || Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            Vector3 touch = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
+            touch.set(Gdx.input.getX(), Gdx.input.getY(), 0);
             camera.unproject(touch);
 
             if (playBounds.contains(touch.x, touch.y) || Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
@@ -110,55 +120,30 @@ public class GameOverScreen extends BaseUIScreen {
             batch.draw(bg, 0, 0, worldWidth, worldHeight);
         }
 
-        // -------- PANEL CENTRAL --------
+        // -------- PANELES (central y botón PLAY, misma textura) --------
         ui.drawPanel(batch, panelX, panelY, panelWidth, panelHeight, 0.55f);
-
-        // -------- TÍTULO --------
-        ui.drawCenteredScaled(
-            batch,
-            titleText,
-            worldWidth / 2f - 10f,   // tu offset original se mantiene
-            titleY,
-            titleScale
+        ui.drawPanel(batch,
+            playBounds.x, playBounds.y,
+            playBounds.width, playBounds.height,
+            0.65f
         );
 
-        // -------- SCORE --------
-        ui.drawText(batch, "SCORE", panelX + 30, scoreLabelY, 1.1f);
-        ui.drawText(batch, String.valueOf(currentScore),
-            panelX + panelWidth - 90, scoreLabelY, 1.1f);
-
-        // -------- HIGH SCORE --------
-        ui.drawText(batch, "HIGH SCORE", panelX + 30, highScoreLabelY, 1.1f);
-        ui.drawText(batch, String.valueOf(highScore),
-            panelX + panelWidth - 90, highScoreLabelY, 1.1f);
-
         // -------- PÁJARO DECORATIVO --------
         if (birdTex != null) {
             batch.draw(birdTex, birdX, birdY, birdW, birdH);
         }
 
-        // -------- BOTÓN PLAY --------
-        ui.drawPanel(batch,
-            playBounds.x, playBounds.y,
-            playBounds.width, playBounds.height,
-            0.65f
-        );
-
-        ui.drawCenteredScaled(
-            batch,
-            "PLAY",
-            playBounds.x + playBounds.width / 2f -2,
-            playBounds.y + playBounds.height / 2f +1,
-            1.2f
-        );
+        // -------- TEXTOS (título, SCORE, HIGH SCORE y PLAY en un solo envío) --------
+        staticText.draw(batch);
     }
 
 
-    //Libera recursos específicos de esta pantalla
+    //Suelta las texturas de Asset retenidas en loadResources (Asset las sigue teniendo)
     @Override
     protected void unloadResources() {
-        // NO HACER NADA
-
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        registro.soltar(this, bg);
+        registro.soltar(this, birdTex);
     }
 
     //Asigna valores para el UI
@@ -192,5 +177,45 @@ public class GameOverScreen extends BaseUIScreen {
         float playY = panelY - buttonHeight - 20;
 
         playBounds = new Rectangle(playX, playY, buttonWidth, buttonHeight);
+
+        // --- Textos: los puntajes no cambian mientras la pantalla está activa ---
+        staticText = ui.newTextCache();
+        ui.addCentered(staticText, titleText, worldWidth / 2f - 10f, titleY, titleScale); // tu offset original se mantiene
+        ui.addText(staticText, "SCORE", panelX + 30, scoreLabelY, 1.1f);
+        ui.addText(staticText, String.valueOf(currentScore), panelX + panelWidth - 90, scoreLabelY, 1.1f);
+        ui.addText(staticText, "HIGH SCORE", panelX + 30, highScoreLabelY, 1.1f);
+        ui.addText(staticText, String.valueOf(highScore), panelX + panelWidth - 90, highScoreLabelY, 1.1f);
+        ui.addCentered(staticText, "PLAY",
+            playBounds.x + playBounds.width / 2f - 2, playBounds.y + playBounds.height / 2f + 1, 1.2f);
+
+        // --- Estadísticas del historial (leídas del archivo mapeado, una sola vez) ---
+        agregarEstadisticas(playY - 25);
+    }
+
+    /**
+     * Agrega al texto estático un panel con estadísticas del historial de partidas:
+     * total jugado, mejor puntaje de hoy, top 3 y percentil de la partida actual.
+     */
+    private void agregarEstadisticas(float y) {
+        RunHistory history = game.getRunHistory();
+        if (history == null || history.size() == 0) return;
+
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate today = LocalDate.now(zone);
+        long dayStart = today.atStartOfDay(zone).toInstant().toEpochMilli();
+        long dayEnd = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+        int[] top = new int[3];
+        int found = history.topScores(top.length, top, null);
+        StringBuilder topText = new StringBuilder("TOP:");
+        for (int i = 0; i < found; i++) topText.append(' ').append(top[i]);
+
+        int better = (int) (history.fractionBelow(currentScore) * 100);
+        float cx = worldWidth / 2f;
+        ui.addCentered(staticText, "PARTIDAS: " + history.size()
+            + "   HOY: " + history.countBetween(dayStart, dayEnd)
+            + "   MEJOR HOY: " + Math.max(0, history.bestScoreBetween(dayStart, dayEnd)), cx, y, 1f);
+        ui.addCentered(staticText, topText.toString(), cx, y - 20, 1f);
+        ui.addCentered(staticText, "MEJOR QUE EL " + better + "% DE TUS PARTIDAS", cx, y - 40, 1f);
     }
 }
@@ -5,15 +5,34 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 
 import puppy.code.Asset;
 import puppy.code.Character;
 import puppy.code.FlappyGameMenu;
 import puppy.code.Obstaculo;
+import puppy.code.ParallaxLayer;
 import puppy.code.Colisiones.Colision;
+import puppy.code.Dibujo.ColaDibujo;
+import puppy.code.Dibujo.ResolucionBaja;
+import puppy.code.Historial.RunRecord;
+import puppy.code.Niveles.NivelArchivo;
+import puppy.code.Particulas.Emisor;
+import puppy.code.Particulas.SistemaParticulas;
+import puppy.code.Perfilado.EventoCambioDificultad;
+import puppy.code.Perfilado.EventoTick;
+import puppy.code.Rebobinado.RewindBuffer;
+import puppy.code.Recursos.RegistroRecursos;
+import puppy.code.Simulacion.FotoPartida;
+import puppy.code.Simulacion.HiloSimulacion;
+import puppy.code.Simulacion.ReglasPartida;
+import puppy.code.Telemetria.MonitorTirones;
+import puppy.code.Telemetria.UtilizationMeter;
 
 import puppy.code.DifficultyStrategy;
 import puppy.code.DynamicDifficulty;
@@ -29,34 +48,84 @@ import puppy.code.DynamicDifficulty;
  * - Aplica el patrón Strategy (GM2.3) mediante DifficultyStrategy para ajustar
  *   dinámicamente la dificultad según el puntaje del jugador.
  * - Mantiene responsabilidades bien separadas → evidencia de OO y encapsulamiento (GM1.6).
+ * - Un único ModoPartida (normal, reanudada, práctica, demo, nivel, enjambre) decide si
+ *   la física corre en HiloSimulacion (updateDesdeHilo) o aquí (update), y si la partida
+ *   puede suspenderse o guardarse en el historial.
+ * - Lo que hace cada modo (obstáculos, quién aletea, qué pasa al morir, sus textos) está
+ *   en un ComportamientoModo (Strategy GM2.3); esta clase conserva solo el ciclo del frame.
  */
 public class GameScreen implements Screen {
 
     /**--- Constantes y atributos privados ---*/
 
     // --- Dimensiones lógicas de la pantalla ---
-    public static final float worldHeight = 600f;
-    public static final float worldWidth = 288f;
+    public static final float worldHeight = ReglasPartida.WORLD_HEIGHT;
+    public static final float worldWidth = ReglasPartida.WORLD_WIDTH;
 
     // --- Dependencias principales del ciclo de juego ---
     private final FlappyGameMenu game;
-    private SpriteBatch batch;
+    private Batch batch; // batch compartido del juego (no se libera aquí)
     private BitmapFont font;
+    private BitmapFontCache scoreText;      // vértices del puntaje, se rearman solo cuando cambia
+    private final StringBuilder scoreLabel = new StringBuilder(16);
+    private int shownScore = -1;            // puntaje que refleja scoreText actualmente
+    private PauseScreen pauseScreen;        // se reutiliza en cada pausa de esta partida
     private OrthographicCamera camera;
+    private ResolucionBaja resolucion;      // el mundo se dibuja a 288 x 600 (por la escala de render) y se escala a la ventana
+    private static final int COMANDOS_MUNDO = 256;
+    private static final int MAX_PARTICULAS = 2048;
+    private ColaDibujo colaDibujo = new ColaDibujo(COMANDOS_MUNDO + MAX_PARTICULAS); // sprites del mundo, ordenados por capa y textura
 
     // --- Entidades del gameplay ---
     private Character bird;
     private Obstaculo obstaculos;
     private Music bgMusic;
 
-    // --- Constantes de física ---
-    private final float gravity = -600f;
+    // --- Capas de fondo con desplazamiento (parallax) ---
+    private ParallaxLayer backgroundLayer;
+    private ParallaxLayer groundLayer;
+
+    // --- Efectos de partículas (plumas, restos, polvo; ver assets/particulas/emisores.txt) ---
+    private SistemaParticulas particulas;
+    private int emisorRestos = -1;
+    private int emisorPolvo = -1;
+    private static final float DEMORA_CHOQUE = 0.6f; // tiempo en que se ven los restos antes de GameOverScreen
+    private float tiempoChoque;
+
+    // Fracción de la velocidad de los tubos para cada capa
+    private static final float BACKGROUND_PARALLAX = 0.25f;
+    private static final float GROUND_PARALLAX = 1f;
 
     // --- Estado del juego ---
     private int score = 0;
     private boolean gameOver = false;
     private boolean initialized = false;
 
+    // --- Modo de juego: define hilo de simulación, suspensión e historial; su comportamiento, el resto ---
+    private ModoPartida modo;
+    private ComportamientoModo comportamiento;
+
+    // --- Datos de la partida para el historial ---
+    private long seed;                 // semilla de MathUtils.random (huecos de los tubos)
+    private boolean semillaFija;       // la semilla la eligió jugarSemilla (no se sortea en show)
+    private float elapsed;             // tiempo jugado en segundos
+    private byte deathCause = -1;      // RunRecord.CAUSA_*, -1 mientras siga viva
+    private final RunRecord runRecord = new RunRecord();
+    private RandomXS128 rng;           // MathUtils.random, para guardar y restaurar su estado
+
+    // Partida suspendida en disco que se restaura al mostrar la pantalla (null si es nueva)
+    private RewindBuffer estadoSuspendido;
+
+    // --- Simulación en su propio hilo (ModoPartida.usaHiloSimulacion); null si simula este hilo ---
+    private static final long UTILIZACION_NANOS = 5_000_000_000L; // se informa cada 5 segundos
+    private HiloSimulacion hilo;
+    private int aleteosOidos;          // aleteos de la última foto cuyo sonido ya se reprodujo
+    private int recicladosContados;    // reciclados de la última foto ya informados a la telemetría
+    private final UtilizationMeter medidorRender = new UtilizationMeter(UTILIZACION_NANOS);
+    private final MonitorTirones tirones = MonitorTirones.getInstancia(); // duración de cada frame y causa de los tirones
+    private EventoTick eventoTick;         // evento JFR del frame en curso (null si no se está grabando)
+    private float velocidadTubos;          // velocidad del frame anterior, para EventoCambioDificultad
+
     private Asset assets;
 
     // --- Patrón Strategy (GM2.3):
@@ -68,70 +137,190 @@ public class GameScreen implements Screen {
      * estrategia inicial de dificultad (DynamicDifficulty).
      */
     public GameScreen(final FlappyGameMenu game) {
+        this(game, false);
+    }
+
+    /**
+     * Constructor con modo práctica: al morir se puede rebobinar los últimos
+     * segundos (IZQUIERDA/DERECHA) y reanudar (ESPACIO); no se guarda en el historial.
+     */
+    public GameScreen(final FlappyGameMenu game, boolean practica) {
         this.game = game;
+        this.modo = practica ? ModoPartida.PRACTICA : ModoPartida.NORMAL;
+        this.comportamiento = practica ? new ComportamientoPractica() : new ComportamientoModo();
 
         // Dificultad inicial → Normal
         this.difficulty = new DynamicDifficulty();
     }
 
+    /**
+     * Modo demo: el pájaro lo controla Autopiloto, que planifica cada frame
+     * sobre los obstáculos reales. Se llama antes de mostrar la pantalla; al
+     * morir vuelve al menú sin tocar el récord ni el historial.
+     */
+    public void activarDemo() {
+        modo = ModoPartida.DEMO;
+        comportamiento = new ComportamientoDemo(game);
+    }
+
+    /**
+     * Juega un nivel hecho a mano en vez de huecos aleatorios. Se llama antes
+     * de mostrar la pantalla; al pasar el último obstáculo la partida termina
+     * como si el pájaro hubiera muerto, y no se guarda en el historial.
+     */
+    public void jugarNivel(NivelArchivo nivel) {
+        this.modo = ModoPartida.NIVEL;
+        this.comportamiento = new ComportamientoNivel(nivel);
+    }
+
+    /**
+     * Juega con la semilla indicada en vez de sortear una: los mismos aleteos
+     * en los mismos ticks dan la misma partida. Se llama antes de mostrar la
+     * pantalla (lo usa ParityTest para compararla con SimulacionPartida).
+     */
+    public void jugarSemilla(long seed) {
+        this.seed = seed;
+        this.semillaFija = true;
+    }
+
+    /**
+     * Modo enjambre: el enemigo solitario se reemplaza por una bandada de la
+     * cantidad de agentes indicada. Se llama antes de mostrar la pantalla.
+     */
+    public void activarEnjambre(int agentes) {
+        this.modo = ModoPartida.ENJAMBRE;
+        this.comportamiento = new ComportamientoEnjambre(agentes);
+        this.colaDibujo = new ColaDibujo(COMANDOS_MUNDO + agentes + MAX_PARTICULAS);
+    }
+
     /**
      * Inicializa los recursos y entidades. LibGDX puede llamar este metodo
      * múltiples veces, por eso se controla mediante "initialized".
      */
     @Override
     public void show() {
-        if (initialized) return; // evita reinicializar si LibGDX llama show() otra vez
+        if (initialized) { // evita reinicializar si LibGDX llama show() otra vez (p. ej. al salir de la pausa)
+            medidorRender.reiniciar();
+            if (hilo != null) hilo.reanudar();
+            return;
+        }
 
-        batch = new SpriteBatch();
-        font = new BitmapFont();
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        batch = game.getBatch();
+        font = registro.crear(this, new BitmapFont(), "fuente de GameScreen");
+        scoreText = font.newFontCache();
         camera = new OrthographicCamera();
         camera.setToOrtho(false, worldWidth, worldHeight);
+        resolucion = new ResolucionBaja(worldWidth, worldHeight, game.getEscalaRender());
+        registro.crear(this, resolucion, "FrameBuffer de GameScreen", 4L * resolucion.getAncho() * resolucion.getAlto());
 
         // Acceso global a recursos mediante Singleton (GM2.1)
         assets = Asset.getInstancia();
         bgMusic = assets.getBackgroundMusic();
 
+        // Semilla propia de la partida: Tubo.randomizeGap usa MathUtils.random
+        rng = (RandomXS128) MathUtils.random;
+        if (estadoSuspendido == null && !semillaFija) seed = rng.nextLong();
+        rng.setSeed(seed);
+
         // Instancia del jugador y los obstáculos iniciales
-        bird = new Character(20, 350, assets.getBirdFrames(), assets.getBirdFlap());
-        obstaculos = new Obstaculo(assets, difficulty, score); //ahora obstaculo recibe tambien score inicial -sugerido por ayudante-
+        bird = new Character(ReglasPartida.BIRD_X, ReglasPartida.BIRD_START_Y, assets.getBirdFrames(), assets.getBirdFlap());
+        particulas = new SistemaParticulas(MAX_PARTICULAS);
+        for (Emisor e : assets.getEmisores()) particulas.registrar(e);
+        bird.setParticulas(particulas, particulas.buscar("plumas"));
+        emisorRestos = particulas.buscar("restos");
+        emisorPolvo = particulas.buscar("polvo");
+        obstaculos = comportamiento.crearObstaculos(assets, difficulty, score); //ahora obstaculo recibe tambien score inicial -sugerido por ayudante-
+
+        // Fondo estirado a todo el mundo; suelo a su tamaño nativo (mismo plano que los tubos)
+        backgroundLayer = new ParallaxLayer(assets.getBackground(), 0, 0, worldWidth, worldHeight,
+            worldWidth, BACKGROUND_PARALLAX, ColaDibujo.CAPA_FONDO);
+        Texture groundTex = assets.getGround();
+        groundLayer = new ParallaxLayer(groundTex, 0, 0, groundTex.getWidth(), groundTex.getHeight(),
+            groundTex.getWidth(), GROUND_PARALLAX, ColaDibujo.CAPA_SUELO);
+
+        comportamiento.mostrar(this, font);
+
+        // Física en HiloSimulacion si el modo lo admite; los demás simulan aquí
+        if (modo.usaHiloSimulacion(game.usaHiloSimulacion())) {
+            hilo = new HiloSimulacion(difficulty, assets.getBirdFrames().length, UTILIZACION_NANOS, game.usaPuntoFijo());
+            hilo.iniciar(seed);
+        }
 
         score = 0;
         gameOver = false;
         initialized = true;
+
+        // Partida suspendida: se continúa exactamente donde quedó (si el formato coincide)
+        if (estadoSuspendido != null) {
+            if (estadoSuspendido.stride() == estadoSize()) {
+                estadoSuspendido.seek(0);
+                restaurarEstado(estadoSuspendido);
+            }
+            estadoSuspendido = null;
+        }
     }
 
     /**Ciclo principal: delega actualización de lógica y luego dibuja.*/
     @Override
     public void render(float delta) {
-        update(delta);
+        tirones.inicioFrame();
+        eventoTick = EventoTick.iniciar();
+        medidorRender.inicio();
+        if (hilo != null) updateDesdeHilo(delta);
+        else update(delta);
 
         // Seguridad: si la pantalla cambió durante update, no dibujar más
-        if (game.getScreen() != this) return;
+        if (game.getScreen() != this) {
+            if (eventoTick != null) eventoTick.terminar(score, hilo != null, 0L);
+            tirones.finFrame("GameScreen"); // el frame del cambio de pantalla también cuenta
+            return;
+        }
+        long inicioDibujo = System.nanoTime();
 
-        ScreenUtils.clear(0, 0, 0, 1);
+        resolucion.comenzar(); // todo el frame va al FrameBuffer de resolución fija
         camera.update();
         batch.setProjectionMatrix(camera.combined);
 
         batch.begin();
 
-        // Fondo general
-        batch.draw(assets.getBackground(), 0, 0,worldWidth,worldHeight);
-
-        bgMusic.play();
+        tirones.reproducir(bgMusic);
 
-        // Dibujo polimórfico de los obstáculos
-        for (Colision p : obstaculos.getColisiones()) {
-            p.draw(batch, worldHeight);
-        }
-
-        // Jugador y suelo
-        bird.draw(batch);
-        batch.draw(assets.getGround(), 0, 0);
+        // Sprites del mundo a la cola; cada uno elige su capa y la cola los agrupa por textura
+        backgroundLayer.draw(colaDibujo);   // fondo general (quads con UV desplazadas)
+        obstaculos.dibujar(colaDibujo, worldHeight); // dibujo polimórfico de los obstáculos en juego
+        particulas.encolar(colaDibujo, assets.getParticula()); // todas con una textura: un solo bind
+        bird.draw(colaDibujo);
+        groundLayer.draw(colaDibujo);
+        colaDibujo.dibujar(batch);
 
         // Puntaje actual
-        font.draw(batch, "Puntaje: " + score, 10, worldHeight - 10);
+        if (shownScore != score) {
+            shownScore = score;
+            scoreLabel.setLength(0);
+            scoreLabel.append("Puntaje: ").append(score);
+            scoreText.setText(scoreLabel, 10, worldHeight - 10);
+        }
+        scoreText.draw(batch);
+        comportamiento.dibujar(batch);
 
         batch.end();
+        resolucion.terminar(batch); // copia escalada (factor entero) y centrada en la ventana
+        if (eventoTick != null) eventoTick.terminar(score, hilo != null, System.nanoTime() - inicioDibujo);
+        if (medidorRender.fin(1)) informarUtilizacion();
+        tirones.finFrame("GameScreen");
+    }
+
+    /** Utilización del hilo de render (y del de simulación, si hay) en la última ventana. */
+    private void informarUtilizacion() {
+        if (hilo == null) {
+            Gdx.app.log("GameScreen", String.format("render + simulación %.1f%% (%.0f fps)",
+                medidorRender.getUtilizacion() * 100f, medidorRender.getUnidadesPorSegundo()));
+        } else {
+            Gdx.app.log("GameScreen", String.format("render %.1f%% (%.0f fps)  simulación %.1f%% (%.0f ticks/s)",
+                medidorRender.getUtilizacion() * 100f, medidorRender.getUnidadesPorSegundo(),
+                hilo.getUtilizacion() * 100f, hilo.getTicksPorSegundo()));
+        }
     }
 
     /**
@@ -141,31 +330,193 @@ public class GameScreen implements Screen {
     private void update(float dt) {
         // --- Pausa ---
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-            bgMusic.stop();
+            tirones.detener(bgMusic);
             this.pause();
         }
 
-        // --- Game Over ---
+        // --- Game Over (la demo vuelve al menú, la práctica rebobina) ---
         if (gameOver) {
-            if (score > game.getHigherScore()) {
-                game.setHigherScore(score);
-            }
-            game.setScreen(new GameOverScreen(game, score));
-            bgMusic.stop();
+            if (comportamiento.alMorir(this, dt)) return;
+            if (esperarChoque(dt)) return;
+            terminarPartida();
             return;
         }
 
-        // --- Movimiento y física ---
-        bird.movimiento(dt, gravity);
+        // Fases del update para EventoTick (JFR): física, colisiones, dificultad y escenario
+        long t0 = System.nanoTime();
+        elapsed += dt;
+        particulas.update(dt);
+        long t1 = System.nanoTime();
+
+        // --- Movimiento y física (input del jugador o Autopiloto) ---
+        comportamiento.mover(this, dt);
 
         // --- Colisiones y reposicionamientos ---
+        long t2 = System.nanoTime();
         obstaculos.actualizarColision(dt,game,this);
+        if (!gameOver && comportamiento.terminado(obstaculos)) {
+            terminarPartida(); // se pasó el último obstáculo del nivel
+            return;
+        }
 
         // --- Ajuste dinámico de la dificultad (Strategy GM2.3) ---
+        long t3 = System.nanoTime();
         actualizarDificultad();
+        float pipeSpeed = difficulty.getPipeSpeed(score);
+        if (pipeSpeed != velocidadTubos) cambioDificultad(pipeSpeed);
+        long t4 = System.nanoTime();
+
+        // --- Desplazamiento del fondo y suelo a la velocidad actual de los tubos ---
+        backgroundLayer.update(dt, pipeSpeed);
+        groundLayer.update(dt, pipeSpeed);
+
+        // --- Telemetría (solo contadores en este hilo) ---
+        if (game.getTelemetry() != null) game.getTelemetry().frame(dt, score, pipeSpeed);
 
         // --- Verificación de límites de pantalla ---
         bird.fueraDePantalla(this, game);
+
+        // --- Fin del tick para el modo (snapshot de la práctica) ---
+        if (!gameOver) comportamiento.tickVivo(this);
+        if (eventoTick != null) eventoTick.fases(t2 - t1, t3 - t2, t4 - t3, (t1 - t0) + System.nanoTime() - t4);
+    }
+
+    /**
+     * update() cuando la física corre en HiloSimulacion: pasa el input al hilo,
+     * aplica la foto más reciente a los sprites y deriva de ella puntaje,
+     * sonidos y fin de partida. El fondo se sigue desplazando con el delta del frame.
+     */
+    private void updateDesdeHilo(float dt) {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+            tirones.detener(bgMusic);
+            this.pause();
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.justTouched()) hilo.aletear();
+
+        FotoPartida foto = hilo.getFoto();
+        foto.aplicar(bird, obstaculos.getColisiones());
+        score = foto.getScore();
+        elapsed = foto.getTick() * ReglasPartida.DT;
+        if (foto.getAleteos() != aleteosOidos) {
+            aleteosOidos = foto.getAleteos();
+            tirones.reproducir(assets.getBirdFlap());
+            bird.soltarPlumas();
+        }
+        // Obstaculo no recicla en este modo: la telemetría cuenta los reciclados de las fotos
+        if (game.getTelemetry() != null) {
+            for (; recicladosContados < foto.getReciclados(); recicladosContados++) game.getTelemetry().obstaculoReciclado();
+        }
+        if (!foto.isAlive()) {
+            if (!gameOver) {
+                gameOver = true;
+                setDeathCause(foto.getDeathCause());
+                if (deathCause == RunRecord.CAUSA_TUBO || deathCause == RunRecord.CAUSA_ENEMIGO) {
+                    tirones.reproducir(assets.getBirdHurt());
+                    emitirRestos(bird.pos.x + bird.size.x / 2f, bird.pos.y + bird.size.y / 2f);
+                }
+            }
+            if (esperarChoque(dt)) return;
+            terminarPartida();
+            return;
+        }
+        particulas.update(dt);
+
+        float pipeSpeed = difficulty.getPipeSpeed(score);
+        if (pipeSpeed != velocidadTubos) cambioDificultad(pipeSpeed); // la aplica HiloSimulacion; aquí solo se informa
+        backgroundLayer.update(dt, pipeSpeed);
+        groundLayer.update(dt, pipeSpeed);
+        if (game.getTelemetry() != null) game.getTelemetry().frame(dt, score, pipeSpeed);
+    }
+
+    /**
+     * Tras la muerte deja correr DEMORA_CHOQUE segundos solo las partículas,
+     * para que se vean los restos del choque.
+     * @return true mientras siga la espera
+     */
+    private boolean esperarChoque(float dt) {
+        if (tiempoChoque >= DEMORA_CHOQUE || particulas.getVivas() == 0) return false;
+        tiempoChoque += dt;
+        particulas.update(dt);
+        return true;
+    }
+
+    /** Récord, historial y paso a GameOverScreen al terminar una partida normal o de práctica. */
+    private void terminarPartida() {
+        if (hilo != null) {
+            hilo.detener();
+            game.registrarEnvio(hilo.getEnvio()); // el puntaje con su semilla y aleteos, verificable
+        }
+        actualizarRecord();
+        if (modo.registraHistorial()) registrarPartida();
+        game.setScreen(new GameOverScreen(game, score));
+        tirones.detener(bgMusic);
+    }
+
+    // --- Estado completo de la partida (rebobinado y partida suspendida) ---
+
+    /** Valores int que ocupa el estado: puntaje, tiempo, RNG (2 long), jugador, obstáculos y 2 capas de fondo. */
+    public int estadoSize() {
+        return 1 + 1 + 4 + Character.ESTADO_SIZE + obstaculos.getColisiones().length * Colision.ESTADO_SIZE + 2;
+    }
+
+    /**
+     * Escribe el estado de la partida en el snapshot actual del buffer.
+     * La dificultad no se guarda: DynamicDifficulty se deriva del puntaje.
+     */
+    public void guardarEstado(RewindBuffer buffer) {
+        buffer.putInt(score);
+        buffer.putFloat(elapsed);
+        buffer.putLong(rng.getState(0));
+        buffer.putLong(rng.getState(1));
+        bird.guardarEstado(buffer);
+        for (Colision c : obstaculos.getColisiones()) c.guardarEstado(buffer);
+        buffer.putFloat(backgroundLayer.getOffset());
+        buffer.putFloat(groundLayer.getOffset());
+    }
+
+    /** Restaura el estado escrito por guardarEstado, en el mismo orden. */
+    public void restaurarEstado(RewindBuffer buffer) {
+        score = buffer.getInt();
+        elapsed = buffer.getFloat();
+        long s0 = buffer.getLong();
+        rng.setState(s0, buffer.getLong());
+        bird.restaurarEstado(buffer);
+        for (Colision c : obstaculos.getColisiones()) c.restaurarEstado(buffer);
+        backgroundLayer.setOffset(buffer.getFloat());
+        groundLayer.setOffset(buffer.getFloat());
+    }
+
+    /**
+     * Indica que al mostrarse la pantalla debe continuar una partida suspendida
+     * (ver SuspendStore) en lugar de empezar una nueva. Una partida normal
+     * pasa a REANUDADA: su estado vuelve a los sprites y no a HiloSimulacion.
+     * @param estado buffer con el estado como snapshot más reciente
+     * @param seed semilla original de la partida (para el historial)
+     */
+    public void reanudarDesde(RewindBuffer estado, long seed) {
+        if (modo == ModoPartida.NORMAL) modo = ModoPartida.REANUDADA;
+        this.estadoSuspendido = estado;
+        this.seed = seed;
+    }
+
+    /**
+     * Único punto que sube el récord del juego con el puntaje actual. Los
+     * modos que no cuentan para el récord (la demo) nunca lo escriben, así
+     * salir por la pausa no deja el puntaje del Autopiloto.
+     */
+    public void actualizarRecord() {
+        if (modo.cuentaRecord() && score > game.getHigherScore()) game.setHigherScore(score);
+    }
+
+    /** Guarda la partida terminada en el historial del juego (RunHistory) y en la telemetría. */
+    private void registrarPartida() {
+        byte causa = deathCause < 0 ? RunRecord.CAUSA_TUBO : deathCause;
+        game.registrarPartida(runRecord.set(
+            System.currentTimeMillis(), seed, score, (int) (elapsed * 1000f),
+            difficulty.getPipeSpeed(score), causa, RunRecord.DIFICULTAD_DINAMICA));
+        if (game.getTelemetry() != null) {
+            game.getTelemetry().partida(seed, score, (int) (elapsed * 1000f), bird.pos.x, bird.pos.y, causa);
+        }
     }
 
     /**
@@ -176,38 +527,87 @@ public class GameScreen implements Screen {
         obstaculos.setDifficulty(difficulty, score);
     }
 
+    /** La estrategia entrega otra velocidad para el puntaje actual: se informa a JFR (EventoCambioDificultad). */
+    private void cambioDificultad(float pipeSpeed) {
+        EventoCambioDificultad.registrar(score, velocidadTubos, pipeSpeed,
+            difficulty.getEnemySpeed(score), difficulty.getObstacleSpacing(score));
+        velocidadTubos = pipeSpeed;
+    }
+
     // --- Métodos del ciclo de vida de pantalla ---
-    @Override public void resize(int width, int height) { }
+    @Override public void resize(int width, int height) {
+        if (resolucion != null) resolucion.resize(width, height);
+    }
     @Override public void pause() {
-        game.setScreen(new PauseScreen(game, this));
-        return;
+        if (hilo != null) hilo.pausar();
+        if (pauseScreen == null) pauseScreen = new PauseScreen(game, this);
+        game.setScreen(pauseScreen);
     }
     @Override public void resume() { }
     @Override public void hide() { }
 
     /**
-     * Libera los recursos locales de la pantalla.
+     * Libera los recursos locales de la pantalla (y la pausa que se reutilizaba).
      * Los recursos globales se liberan a nivel de FlappyGameMenu.
      */
     @Override
     public void dispose() {
-        if (batch != null) {
-            batch.dispose();
-            batch = null;
+        batch = null; // pertenece a FlappyGameMenu
+        if (hilo != null) {
+            hilo.detener();
+            hilo = null;
+        }
+        if (pauseScreen != null) {
+            pauseScreen.dispose(); // se reutilizaba en cada pausa: se va con la partida
+            pauseScreen = null;
+        }
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        if (resolucion != null) {
+            registro.soltar(this, resolucion);
+            resolucion = null;
         }
         if (font != null) {
-            font.dispose();
+            registro.soltar(this, font);
             font = null;
+            scoreText = null;
+            shownScore = -1;
         }
+        comportamiento.dispose();
         initialized = false;
     }
 
     // --- Getters utilizados por otras clases (Obstaculo, etc.) ---
     public Character getBird() { return bird; }
+    public Obstaculo getObstaculos() { return obstaculos; }
+    /** Cola de dibujo del mundo; sus estadísticas (binds por frame) son las del último frame. */
+    public ColaDibujo getColaDibujo() { return colaDibujo; }
+    /** Partículas de la partida (null antes de show()). */
+    public SistemaParticulas getParticulas() { return particulas; }
+    /** Restos del choque del pájaro, centrados en x, y. */
+    public void emitirRestos(float x, float y) { particulas.emitir(emisorRestos, x, y); }
+    /** Polvo de un tubo que se recicla, a ras del suelo en x (donde dejó la pantalla). */
+    public void emitirPolvo(float x, float y) { particulas.emitir(emisorPolvo, x, y); }
     public int getScore() { return score; }
     public void setScore(int score) { this.score = score; }
     public boolean getGameOver() { return gameOver; }
     public void setGameOver(boolean gameOver) { this.gameOver = gameOver; }
+    /** Registra la causa de muerte; se conserva la primera si hay varias en el mismo frame. */
+    public void setDeathCause(byte causa) { if (deathCause < 0) deathCause = causa; }
+    /** Vuelve a poner en juego al pájaro muerto (el modo práctica, tras rebobinar). */
+    void revivir() {
+        gameOver = false;
+        deathCause = -1;
+    }
+    /** RunRecord.CAUSA_* de la partida, o -1 mientras siga viva. */
+    public byte getDeathCause() { return deathCause; }
+    public long getSeed() { return seed; }
+    public ModoPartida getModo() { return modo; }
+    public boolean isPractica() { return modo == ModoPartida.PRACTICA; }
+    /** Indica si hay una partida en curso que el modo permite suspender (ver ModoPartida.puedeSuspender). */
+    public boolean enCurso() {
+        return initialized && !gameOver && modo.puedeSuspender(game.usaHiloSimulacion());
+    }
+    public boolean isDemo() { return modo == ModoPartida.DEMO; }
     public static float getWorldheight() {
         return worldHeight;
     }
@@ -4,7 +4,9 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import puppy.code.FlappyGameMenu;
+import puppy.code.Recursos.RegistroRecursos;
 import puppy.code.Screens.UIBase.BaseUIScreen;
 
 /**
@@ -25,16 +27,17 @@ public class MainMenuScreen extends BaseUIScreen {
 
 
     // Textos y parámetros visuales del UI
-    private String titleText, instruction1, instruction2, instruction3;
+    private String titleText, instruction1, instruction2, instruction3, instruction4, instruction5;
     private float titleScale, titleY;
-    private float instruction1Y, instruction2Y, instruction3Y;
+    private float instruction1Y, instruction2Y, instruction3Y, instruction4Y, instruction5Y;
+    private BitmapFontCache staticText; // título e instrucciones, armados una vez en setupUI()
 
     /**
      * Constructor de la pantalla de menú.
      * @param game referencia a la instancia principal del juego.
      */
     public MainMenuScreen(FlappyGameMenu game) {
-    	super(); // define dimensiones base desde BaseUIScreen (Template Method GM2.2)
+    	super(game.getBatch()); // dimensiones base y batch compartido desde BaseUIScreen (Template Method GM2.2)
         this.game = game;
     }
 
@@ -44,19 +47,38 @@ public class MainMenuScreen extends BaseUIScreen {
      */
     @Override
     protected void loadResources() {
-        bg = game.getAssets().getStartScreen();
-        pipeTex = game.getAssets().getPipeMain();
-        birdTex = game.getAssets().getBirdFrames()[1];
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        bg = registro.retener(this, game.getAssets().getStartScreen());
+        pipeTex = registro.retener(this, game.getAssets().getPipeMain());
+        birdTex = registro.retener(this, game.getAssets().getBirdFrames()[1]);
     }
 
     /**
      * Maneja la entrada del usuario:
      *  - Presionar SPACE o hacer clic inicia una nueva partida.
+     *  - Presionar P inicia una partida de práctica (con rebobinado).
+     *  - Presionar A muestra una demo jugada por el autopiloto.
+     *  - Presionar E inicia una partida contra un enjambre de enemigos.
+     *  - Presionar N juega el nivel hecho a mano (si se indicó uno).
      */
     @Override
     protected void update(float dt) {
         if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.justTouched()) {
             game.setScreen(new GameScreen(game)); // nueva partida limpia
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.P)) {
+            game.setScreen(new GameScreen(game, true)); // práctica: al morir se rebobina
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.A)) {
+            GameScreen demo = new GameScreen(game);
+            demo.activarDemo();
+            game.setScreen(demo);
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.E)) {
+            GameScreen partida = new GameScreen(game);
+            partida.activarEnjambre(game.getAgentesEnjambre());
+            game.setScreen(partida);
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.N) && game.getNivel() != null) {
+            GameScreen partida = new GameScreen(game);
+            partida.jugarNivel(game.getNivel());
+            game.setScreen(partida);
         }
     }
 
@@ -73,15 +95,6 @@ public class MainMenuScreen extends BaseUIScreen {
             batch.draw(bg, 0, 0, worldWidth + 10, worldHeight);
         }
 
-        // Título principal
-        ui.drawCenteredScaled(
-            batch,
-            titleText,
-            worldWidth / 2f,
-            titleY,
-            titleScale
-        );
-
         // Elemento decorativo (pájaro)
         if (birdTex != null) {
             batch.setColor(1, 1, 1, 1f);
@@ -103,16 +116,18 @@ public class MainMenuScreen extends BaseUIScreen {
         // Reset color por seguridad (siempre recomendable en LibGDX)
         batch.setColor(Color.WHITE);
 
-        // Textos explicativos
-        ui.drawCenteredScaled( batch,instruction1,180f,instruction1Y,1.4f);
-        ui.drawCenteredScaled(batch,instruction2,worldWidth - 195f,instruction2Y,1.4f);
-        ui.drawCenteredScaled(batch,instruction3,worldWidth / 2f + 10,instruction3Y,1.4f);
+        // Título y textos explicativos (un solo envío de vértices)
+        staticText.draw(batch);
     }
 
 
-    //Libera recursos específicos, no es necesario.
+    //Suelta las texturas de Asset retenidas en loadResources (Asset las sigue teniendo).
     @Override
     protected void unloadResources() {
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        registro.soltar(this, bg);
+        registro.soltar(this, pipeTex);
+        registro.soltar(this, birdTex);
     }
 
     /**
@@ -131,11 +146,24 @@ public class MainMenuScreen extends BaseUIScreen {
         instruction1 = "Presiona espacio para saltar";
         instruction2 = "Esquiva los obstaculos para sobrevivir";
         instruction3 = "Presiona ESPACIO o CLICK para empezar";
+        instruction4 = "P: practica   A: autopiloto";
+        instruction5 = game.getNivel() != null ? "E: enjambre   N: nivel" : "E: enjambre";
 
         // Posiciones relativas para mantener coherencia visual
         instruction1Y = worldHeight / 2f - 110f;
         instruction2Y = worldHeight / 2f - 111f;
         instruction3Y = 60f;
+        instruction4Y = 35f;
+        instruction5Y = 15f;
+
+        // Textos estáticos preconstruidos: no se vuelven a diagramar en cada frame
+        staticText = ui.newTextCache();
+        ui.addCentered(staticText, titleText, worldWidth / 2f, titleY, titleScale);
+        ui.addCentered(staticText, instruction1, 180f, instruction1Y, 1.4f);
+        ui.addCentered(staticText, instruction2, worldWidth - 195f, instruction2Y, 1.4f);
+        ui.addCentered(staticText, instruction3, worldWidth / 2f + 10, instruction3Y, 1.4f);
+        ui.addCentered(staticText, instruction4, worldWidth / 2f + 10, instruction4Y, 1.1f);
+        ui.addCentered(staticText, instruction5, worldWidth / 2f + 10, instruction5Y, 1.1f);
     }
 
 }
@@ -0,0 +1,69 @@
+package puppy.code.Screens;
+
+/**
+ * Enumeración ModoPartida
+ * Modo de juego de un GameScreen. Los modos se excluyen entre sí, y de cada
+ * uno se deriva qué puede hacer la partida: simular en HiloSimulacion,
+ * suspenderse a disco, contar para el récord y guardarse en el historial. GameScreen consulta el
+ * modo en vez de combinar un indicador por modo; lo que el modo hace durante
+ * la partida (quién aletea, rebobinar al morir, ...) está en ComportamientoModo.
+ */
+public enum ModoPartida {
+
+    /** Partida normal; con -Dflappy.simThread=true la física corre en HiloSimulacion. */
+    NORMAL(true, true, true, true),
+
+    /** Partida normal retomada de disco: su estado vuelve a los sprites, así que simula en el hilo de render. */
+    REANUDADA(false, true, true, true),
+
+    /** Al morir se rebobina en vez de terminar; no se guarda en el historial. */
+    PRACTICA(false, true, true, false),
+
+    /** El pájaro lo controla Autopiloto; no toca récord ni historial. */
+    DEMO(false, false, false, false),
+
+    /** Nivel hecho a mano (NivelArchivo); no se guarda en el historial. */
+    NIVEL(false, false, true, false),
+
+    /** Un Enjambre reemplaza al enemigo; su estado no entra en el snapshot de la partida. */
+    ENJAMBRE(false, false, true, true);
+
+    private final boolean admiteHilo;
+    private final boolean suspendible;
+    private final boolean cuentaRecord;
+    private final boolean registraHistorial;
+
+    ModoPartida(boolean admiteHilo, boolean suspendible, boolean cuentaRecord, boolean registraHistorial) {
+        this.admiteHilo = admiteHilo;
+        this.suspendible = suspendible;
+        this.cuentaRecord = cuentaRecord;
+        this.registraHistorial = registraHistorial;
+    }
+
+    /**
+     * true si la partida simula en HiloSimulacion.
+     * @param hiloActivado FlappyGameMenu.usaHiloSimulacion()
+     */
+    public boolean usaHiloSimulacion(boolean hiloActivado) {
+        return admiteHilo && hiloActivado;
+    }
+
+    /**
+     * true si la partida en curso puede suspenderse a disco: su estado completo
+     * está en los sprites (no en HiloSimulacion) y entra en el snapshot.
+     * @param hiloActivado FlappyGameMenu.usaHiloSimulacion()
+     */
+    public boolean puedeSuspender(boolean hiloActivado) {
+        return suspendible && !usaHiloSimulacion(hiloActivado);
+    }
+
+    /** true si el puntaje de la partida puede pasar a ser el récord (FlappyGameMenu.higherScore). */
+    public boolean cuentaRecord() {
+        return cuentaRecord;
+    }
+
+    /** true si la partida terminada se guarda en el historial y la telemetría. */
+    public boolean registraHistorial() {
+        return registraHistorial;
+    }
+}
@@ -4,8 +4,10 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 
 import puppy.code.FlappyGameMenu;
+import puppy.code.Recursos.RegistroRecursos;
 import puppy.code.Screens.UIBase.BaseUIScreen;
 
 /**
@@ -30,6 +32,7 @@ public class PauseScreen extends BaseUIScreen {
     private float titleX, titleY;
     private float instructionsX, instructionsY;
     private float titleScale, instructionsScale;
+    private BitmapFontCache staticText; // título e instrucciones, armados una vez en setupUI()
 
     /**
      * Constructor de PauseScreen.
@@ -37,15 +40,20 @@ public class PauseScreen extends BaseUIScreen {
      * @param previousGame  pantalla activa antes de pausar (GameScreen)
      */
     public PauseScreen(FlappyGameMenu game, Screen previousGame) {
-        super(); // aplica las dimensiones base (Template Method GM2.2)
+        super(game.getBatch()); // aplica las dimensiones base y usa el batch compartido (Template Method GM2.2)
         this.game = game;
         this.previousGame = previousGame;
     }
 
+    /** Pantalla que se reanuda al salir de la pausa. */
+    public Screen getPreviousGame() {
+        return previousGame;
+    }
+
     /** Carga los recursos gráficos exclusivos de esta pantalla. */
     @Override
     protected void loadResources() {
-        bg = game.getAssets().getGameOverScreen();
+        bg = RegistroRecursos.getInstancia().retener(this, game.getAssets().getGameOverScreen());
     }
 
     /**
@@ -76,20 +84,17 @@ public class PauseScreen extends BaseUIScreen {
             batch.draw(bg, 0, 0, worldWidth, worldHeight);
         }
 
-        // Título de la pantalla
-        ui.drawCenteredScaled(batch, "Pausa",
-            titleX, titleY, titleScale);
-
-        // Instrucciones al usuario
-        ui.drawCenteredScaled(batch,
-            "ESPACIO: continuar   |   ESC: menu",
-            instructionsX, instructionsY, instructionsScale);
+        // Título e instrucciones al usuario
+        staticText.draw(batch);
     }
 
-    /** Libera los recursos exclusivos de PauseScreen. */
+    /**
+     * Suelta el fondo retenido en loadResources. La textura es de Asset (la
+     * usa también GameOverScreen): liberarla aquí la dejaba inservible.
+     */
     @Override
     protected void unloadResources() {
-        if (bg != null) bg.dispose();
+        RegistroRecursos.getInstancia().soltar(this, bg);
     }
 
     /**
@@ -110,5 +115,11 @@ public class PauseScreen extends BaseUIScreen {
         // Escala de textos
 	    titleScale = 2.5f;
 	    instructionsScale = 1.2f;
+
+        // Textos estáticos preconstruidos
+        staticText = ui.newTextCache();
+        ui.addCentered(staticText, "Pausa", titleX, titleY, titleScale);
+        ui.addCentered(staticText, "ESPACIO: continuar   |   ESC: menu",
+            instructionsX, instructionsY, instructionsScale);
 	}
 }
@@ -1,10 +1,14 @@
 package puppy.code.Screens.UIBase;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.ScreenUtils;
+import puppy.code.Recursos.RegistroRecursos;
 import puppy.code.Screens.UIRenderer;
+import puppy.code.Telemetria.MonitorTirones;
 
 /**
  * BaseUIScreen
@@ -19,35 +23,64 @@ import puppy.code.Screens.UIRenderer;
  *   - unloadResources(): liberar recursos propios
  *
  * Provee campos protegidos útiles para subclases: batch, camera, ui, worldWidth/worldHeight.
+ *
+ * Renderizado a pedido: mientras la pantalla está activa el renderizado
+ * continuo se desactiva y solo se dibuja un frame al mostrarse, con input,
+ * al cambiar el tamaño de la ventana o cuando la subclase llama invalidar().
+ *
+ * Cada render se marca en MonitorTirones, que registra la duración de los frames.
  */
 public abstract class BaseUIScreen implements Screen {
 
-    protected SpriteBatch batch;
+    protected Batch batch;
     protected OrthographicCamera camera;
     protected UIRenderer ui;
     protected float worldWidth = 800f;   // valores por defecto - Aplica en todas las pantallas
     protected float worldHeight = 480f;
 
+    private boolean ownsBatch; // true si el batch fue creado por esta pantalla (y debe liberarse aquí)
+    private boolean preparada;  // loadResources/setupUI ya corrieron (PauseScreen se muestra en cada pausa)
+    private boolean descartada; // dispose() ya corrió (puede pasar durante update, al cambiar de pantalla)
+    private final String nombre = getClass().getSimpleName(); // para MonitorTirones
+
     // ---------- Metodos ----------
 
     /** Constructor vacío. Subclases pueden añadir constructores con parámetros. */
     public BaseUIScreen() {
     }
 
+    /**
+     * Constructor con Batch compartido (normalmente FlappyGameMenu.getBatch()).
+     * La pantalla dibuja con él pero no lo libera, ya que pertenece al juego.
+     */
+    public BaseUIScreen(Batch sharedBatch) {
+        this.batch = sharedBatch;
+    }
+
     /** show: hook inicial donde preparamos recursos comunes y llamamos a hooks concretos */
     @Override
     public void show() {
         // Inicializa batch y cámara si no están
-        if (batch == null) batch = new SpriteBatch();
+        if (batch == null) {
+            batch = RegistroRecursos.getInstancia().crear(this, new SpriteBatch(), "batch de " + getClass().getSimpleName());
+            ownsBatch = true;
+        }
         if (camera == null) {
             camera = new OrthographicCamera();
             camera.setToOrtho(false, worldWidth, worldHeight);
         }
-        if (ui == null) ui = new UIRenderer();
+        if (ui == null) ui = new UIRenderer(this);
 
-        // Hooks para la subclase
-        loadResources(); // cargar texturas/fuentes propias
-        setupUI();       // preparar layout, valores, etc.
+        // Hooks para la subclase, solo la primera vez: retienen recursos que se devuelven en dispose()
+        if (!preparada) {
+            loadResources(); // cargar texturas/fuentes propias
+            setupUI();       // preparar layout, valores, etc.
+            preparada = true;
+        }
+
+        // Nada cambia sin input: el backend solo dibuja cuando se lo pide
+        Gdx.graphics.setContinuousRendering(false);
+        invalidar();
     }
 
     /**
@@ -59,6 +92,9 @@ public abstract class BaseUIScreen implements Screen {
      */
     @Override
     public final void render(float delta) {
+        MonitorTirones tirones = MonitorTirones.getInstancia();
+        tirones.inicioFrame();
+
         // 1) limpiar pantalla
         clearScreen(); // negro por defecto
 
@@ -67,11 +103,16 @@ public abstract class BaseUIScreen implements Screen {
 
         // 3) lógica de actualización (input, animaciones, etc.)
         update(delta);
+        if (descartada) { // update cambió de pantalla y el juego ya liberó esta
+            tirones.finFrame(nombre);
+            return;
+        }
 
         // 4) dibujado en batch
         batch.begin();
         renderContent(delta);
         batch.end();
+        tirones.finFrame(nombre);
     }
 
     //Solo por si se necesita en otro momento: si la ventana cambia tamaño, actualiza cámara y guarda dimensiones.
@@ -79,6 +120,7 @@ public abstract class BaseUIScreen implements Screen {
     public void resize(int width, int height) {
         // por simplicidad mantenemos worldWidth/worldHeight fijos, pero actualizamos la cámara.
         camera.setToOrtho(false, worldWidth, worldHeight);
+        invalidar();
     }
 
     @Override
@@ -87,8 +129,16 @@ public abstract class BaseUIScreen implements Screen {
     @Override
     public void resume() {}
 
+    /** La pantalla siguiente (GameScreen) se anima: se restaura el renderizado continuo. */
     @Override
-    public void hide() {}
+    public void hide() {
+        Gdx.graphics.setContinuousRendering(true);
+    }
+
+    /** Pide un frame más: para cambios que no vienen de input (el backend ya dibuja con cada evento). */
+    protected void invalidar() {
+        Gdx.graphics.requestRendering();
+    }
 
     private void clearScreen() {
     	ScreenUtils.clear(0f, 0f, 0f, 1f);
@@ -101,26 +151,28 @@ public abstract class BaseUIScreen implements Screen {
     }
 
 
-    //libera recursos comunes y llama al hook para recursos propios
+    //libera recursos comunes y llama al hook para recursos propios (una sola vez)
     @Override
     public void dispose() {
-        if (batch != null) {
-            batch.dispose();
+        if (descartada) return;
+        descartada = true;
+        if (batch != null && ownsBatch) {
+            RegistroRecursos.getInstancia().soltar(this, batch);
             batch = null;
         }
         if (ui != null) {
             ui.dispose();
             ui = null;
         }
-        unloadResources(); // hook para la subclase
+        if (preparada) unloadResources(); // hook para la subclase, si llegó a cargar
     }
 
     // ---------- Hooks que las subclases deben/pueden implementar ----------
 
-    //Cargar recursos específicos (texturas, sonidos, etc.). Llamado desde show(). */
+    //Cargar recursos específicos (texturas, sonidos, etc.). Llamado desde el primer show(). Los compartidos de Asset se retienen en RegistroRecursos. */
     protected abstract void loadResources();
 
-    //Preparar UI, posiciones, variables iniciales. Llamado desde show(). */
+    //Preparar UI, posiciones, variables iniciales. Llamado desde el primer show(). */
     protected abstract void setupUI();
 
     //Actualización por frame (inputs, contadores). Llamado antes de dibujar. */
@@ -129,7 +181,7 @@ public abstract class BaseUIScreen implements Screen {
     //Dibujar el contenido particular de la pantalla,Todas las operaciones de dibujo con SpriteBatch deben realizarse aquí.
     protected abstract void renderContent(float delta);
 
-    //Liberar recursos específicos de la pantalla (texturas, etc.).
+    //Liberar recursos específicos de la pantalla (texturas, etc.) y soltar los retenidos en loadResources().
     protected void unloadResources() {};
 }
 
@@ -1,12 +1,18 @@
 package puppy.code.Screens;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.Color;
 
+import puppy.code.Recursos.RegistroRecursos;
+
 /**
  * Clase UIRenderer
  * Clase auxiliar responsable de dibujar elementos de interfaz reutilizables:
@@ -16,6 +22,10 @@ import com.badlogic.gdx.graphics.Color;
  * la modularidad (GM1.6). Además, funciona como un componente de apoyo dentro
  * de la estructura común de pantallas basada en Template Method (GM2.2),
  * ya que todas las pantallas utilizan sus métodos de dibujo estándar.
+ *
+ * Los textos se preparan una sola vez: los dinámicos quedan en una caché LRU
+ * indexada por (texto, escala) y los estáticos de cada pantalla se arman en
+ * setupUI() dentro de un BitmapFontCache, que se dibuja con un único envío de vértices.
  */
 public class UIRenderer {
 
@@ -23,15 +33,31 @@ public class UIRenderer {
     private final Texture white1x1; // Textura mínima 1x1 utilizada para generar paneles rectangulares de cualquier tamaño
     private final BitmapFont font;  // Fuente tipográfica utilizada por todas las pantallas del juego
 
-    public UIRenderer() {
+    // --- Caché LRU de textos ya diagramados, por (texto, escala) ---
+    private static final int TEXT_CACHE_SIZE = 64;
+    private final TextKey lookupKey = new TextKey(); // clave reutilizada para buscar sin asignar memoria
+    private final Map<TextKey, CachedText> textCache =
+        new LinkedHashMap<TextKey, CachedText>(TEXT_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TextKey, CachedText> eldest) {
+                return size() > TEXT_CACHE_SIZE;
+            }
+        };
+
+    private final Object dueno; // pantalla a cuyo nombre se registran la textura y la fuente
+
+    /** @param dueno pantalla que usa este renderer; sus recursos se registran a su nombre en RegistroRecursos */
+    public UIRenderer(Object dueno) {
+        this.dueno = dueno;
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
         // Genera una textura blanca 1x1 para construir paneles con transparencia
         Pixmap pm = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
         pm.setColor(Color.WHITE);
         pm.fill();
-        white1x1 = new Texture(pm);
+        white1x1 = registro.crear(dueno, new Texture(pm), "panel 1x1 de UIRenderer");
         pm.dispose();
 
-        font = new BitmapFont();
+        font = registro.crear(dueno, new BitmapFont(), "fuente de UIRenderer");
         // Asegura una visualización más suave del texto
         font.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
     }
@@ -40,48 +66,132 @@ public class UIRenderer {
     // --- Métodos reutilizables de dibujo (interfaz común para las distintas pantallas) ---
 
     /** Dibuja un panel rectangular semitransparente (útil para menús y pantallas de fin de juego). */
-    public void drawPanel(SpriteBatch batch, float x, float y, float w, float h, float alpha) {
-        Color prev = batch.getColor();
+    public void drawPanel(Batch batch, float x, float y, float w, float h, float alpha) {
+        float prev = batch.getPackedColor(); // getColor() devuelve el mismo objeto que setColor modifica
         batch.setColor(0f, 0f, 0f, alpha);
         batch.draw(white1x1, x, y, w, h);
-        batch.setColor(prev);
+        batch.setPackedColor(prev);
     }
 
     /** Dibuja texto centrado horizontal y verticalmente respecto al punto dado. */
-    public void drawCentered(SpriteBatch batch, String text, float cx, float cy) {
-        GlyphLayout layout = new GlyphLayout(font, text);
-        font.draw(batch, layout, cx - layout.width / 2f, cy + layout.height / 2f);
+    public void drawCentered(Batch batch, String text, float cx, float cy) {
+        drawCenteredScaled(batch, text, cx, cy, 1f);
     }
 
     /** Versión escalada del metodo anterior para títulos o textos destacados. */
-    public void drawCenteredScaled(SpriteBatch batch, String text, float cx, float cy, float scale) {
-        float prevScale = font.getData().scaleX;
-        font.getData().setScale(scale);
-        drawCentered(batch, text, cx, cy);
-        font.getData().setScale(prevScale);
+    public void drawCenteredScaled(Batch batch, String text, float cx, float cy, float scale) {
+        CachedText t = cachedText(text, scale);
+        t.cache.setPosition(cx - t.width / 2f, cy + t.height / 2f);
+        t.cache.draw(batch);
     }
 
     /** Dibuja texto sin centrado, usado para mensajes informativos o etiquetas fijas. */
-    public void draw(SpriteBatch batch, String text, float x, float y) {
-        font.draw(batch, text, x, y);
+    public void draw(Batch batch, String text, float x, float y) {
+        drawScaled(batch, text, x, y, 1f);
     }
 
     /** Dibuja texto con un factor de escalado personalizado. */
-    public void drawScaled(SpriteBatch batch, String text, float x, float y, float scale) {
-        float prevScale = font.getData().scaleX;
-        font.getData().setScale(scale);
-        font.draw(batch, text, x, y);
-        font.getData().setScale(prevScale);
+    public void drawScaled(Batch batch, String text, float x, float y, float scale) {
+        CachedText t = cachedText(text, scale);
+        t.cache.setPosition(x, y);
+        t.cache.draw(batch);
     }
 
     /** Dibuja texto de interfaz (equivalente a drawScaled, pero con nombre semántico claro) */
-    public void drawText(SpriteBatch batch, String text, float x, float y, float scale) {
+    public void drawText(Batch batch, String text, float x, float y, float scale) {
         drawScaled(batch, text, x, y, scale);
     }
 
+    // --- Textos estáticos: se arman una vez en setupUI() y se dibujan con cache.draw(batch) ---
+
+    /** Crea un BitmapFontCache vacío con la fuente de la interfaz. */
+    public BitmapFontCache newTextCache() {
+        return font.newFontCache();
+    }
+
+    /** Agrega al cache un texto centrado respecto a (cx, cy), con la escala indicada. */
+    public void addCentered(BitmapFontCache cache, String text, float cx, float cy, float scale) {
+        GlyphLayout layout = layout(text, scale);
+        addLayout(cache, layout, cx - layout.width / 2f, cy + layout.height / 2f, scale);
+    }
+
+    /** Agrega al cache un texto sin centrar en (x, y), con la escala indicada. */
+    public void addText(BitmapFontCache cache, String text, float x, float y, float scale) {
+        addLayout(cache, layout(text, scale), x, y, scale);
+    }
+
     /** Libera los recursos gráficos asociados a la interfaz. */
     public void dispose() {
-        white1x1.dispose();
-        font.dispose();
+        textCache.clear();
+        RegistroRecursos registro = RegistroRecursos.getInstancia();
+        registro.soltar(dueno, white1x1);
+        registro.soltar(dueno, font);
+    }
+
+    // --- Métodos privados de la caché ---
+
+    /** Busca el texto en la caché LRU; si no está, lo diagrama y lo agrega. */
+    private CachedText cachedText(String text, float scale) {
+        CachedText t = textCache.get(lookupKey.set(text, scale));
+        if (t == null) {
+            GlyphLayout layout = layout(text, scale);
+            t = new CachedText(font.newFontCache(), layout.width, layout.height);
+            addLayout(t.cache, layout, 0f, 0f, scale);
+            textCache.put(new TextKey().set(text, scale), t);
+        }
+        return t;
+    }
+
+    /** Diagrama el texto con la escala indicada, sin dejar la fuente escalada. */
+    private GlyphLayout layout(String text, float scale) {
+        float prevScale = font.getData().scaleX;
+        font.getData().setScale(scale);
+        GlyphLayout layout = new GlyphLayout(font, text);
+        font.getData().setScale(prevScale);
+        return layout;
+    }
+
+    /** Copia los vértices del texto al cache (los tamaños de glifo dependen de la escala actual). */
+    private void addLayout(BitmapFontCache cache, GlyphLayout layout, float x, float y, float scale) {
+        float prevScale = font.getData().scaleX;
+        font.getData().setScale(scale);
+        cache.addText(layout, x, y);
+        font.getData().setScale(prevScale);
+    }
+
+    /** Clave (texto, escala) de la caché; mutable para poder reutilizarla en las búsquedas. */
+    private static final class TextKey {
+        private String text;
+        private float scale;
+
+        TextKey set(String text, float scale) {
+            this.text = text;
+            this.scale = scale;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TextKey)) return false;
+            TextKey k = (TextKey) o;
+            return Float.floatToIntBits(scale) == Float.floatToIntBits(k.scale) && text.equals(k.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * text.hashCode() + Float.floatToIntBits(scale);
+        }
+    }
+
+    /** Texto ya diagramado: vértices listos en su BitmapFontCache y medidas para centrar. */
+    private static final class CachedText {
+        final BitmapFontCache cache;
+        final float width, height;
+
+        CachedText(BitmapFontCache cache, float width, float height) {
+            this.cache = cache;
+            this.width = width;
+            this.height = height;
+        }
     }
 }
@@ -0,0 +1,324 @@
+package puppy.code.Simulacion;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import puppy.code.Colisiones.Colision;
+
+/**
+ * Clase Autopiloto
+ * Piloto que planifica en vez de reaccionar: en cada tick busca una secuencia
+ * de aletear / no aletear que sobreviva los próximos "horizonte" ticks con la
+ * física de ReglasPartida (la de Character.presionAtmosferica) y la
+ * posición predicha de los obstáculos (movimiento horizontal constante y la
+ * onda del Enemigo), y devuelve la primera acción de esa secuencia.
+ *
+ * Búsqueda en profundidad con tabla de transposición: los estados (tick, y,
+ * vy) se cuantizan y se recuerda hasta qué tick sobrevivió lo mejor encontrado
+ * desde cada uno, así un estado ya explorado no se vuelve a expandir. Los
+ * ticks de la tabla son absolutos y se conserva entre decisiones mientras los
+ * obstáculos estén donde se predijo, así replanificar en el tick siguiente
+ * reutiliza casi todo (sobre todo cuando ninguna secuencia sobrevive).
+ * Primero se prueba la acción que acerca al pájaro al centro del próximo hueco.
+ *
+ * Cada decisión tiene un presupuesto de tiempo; si se agota se usa la mejor
+ * acción encontrada hasta ese momento. Los contadores (nodos, aciertos de la
+ * tabla, decisiones sin salida, presupuestos agotados) sirven para ajustar
+ * horizonte y presupuesto en el modo demo y en AutopilotBenchmark.
+ *
+ * Observa el juego real (Colision) o un Recorrido; no crea objetos por tick.
+ */
+public class Autopiloto {
+
+    public static final int MAX_HORIZONTE = 240;
+    private static final int MAX_RECTS = 16;
+    private static final int TT_BITS = 18;
+    private static final int TT_SIZE = 1 << TT_BITS;
+    private static final int TT_PROBES = 8;
+    private static final int CHECK_EVERY = 256;    // nodos entre lecturas del reloj
+    private static final float TOLERANCIA = 0.25f; // error de predicción admitido para conservar la tabla
+
+    private final int horizonte;
+    private final long presupuestoNanos;
+    private final float margen;
+
+    // --- Obstáculos observados en t = 0 ---
+    private int rects;
+    private final float[] rx = new float[MAX_RECTS];
+    private final float[] ry = new float[MAX_RECTS];
+    private final float[] rw = new float[MAX_RECTS];
+    private final float[] rh = new float[MAX_RECTS];
+    private final float[] rvel = new float[MAX_RECTS];
+    private final float[] rfase = new float[MAX_RECTS]; // -1 si no oscila
+
+    // --- Predicción por tick: índice t * MAX_RECTS + r ---
+    private final float[] px;
+    private final float[] py;
+    private final float[] objetivo;  // altura ideal del pájaro en cada tick (centro del próximo hueco)
+
+    // --- Posición esperada en la próxima observación (para conservar la tabla) ---
+    private int esperadoRects = -1;
+    private final float[] esperadoX = new float[MAX_RECTS];
+    private final float[] esperadoY = new float[MAX_RECTS];
+    private final float[] esperadoH = new float[MAX_RECTS];
+    private final float[] esperadoVel = new float[MAX_RECTS];
+
+    // --- Tabla de transposición (se invalida cambiando el sello, sin limpiarla) ---
+    private final long[] ttKey = new long[TT_SIZE];
+    private final int[] ttSello = new int[TT_SIZE];
+    private final int[] ttAlcance = new int[TT_SIZE];  // tick absoluto
+    private int sello;
+    private int tickBase;                               // tick absoluto de la decisión actual
+
+    private final boolean[] plan;
+
+    // --- Búsqueda en curso ---
+    private long deadline;
+    private boolean agotado;
+    private long nodos;
+
+    // --- Estadísticas ---
+    private long decisiones, nodosTotales, maxNodos, ttHits, agotados, sinSalida, nanosTotales;
+
+    /**
+     * @param horizonte ticks que se simulan hacia adelante (hasta MAX_HORIZONTE)
+     * @param presupuestoNanos tiempo máximo de búsqueda por decisión
+     * @param margen píxeles que se agrandan los obstáculos para absorber errores de predicción
+     */
+    public Autopiloto(int horizonte, long presupuestoNanos, float margen) {
+        if (horizonte < 1 || horizonte > MAX_HORIZONTE) {
+            throw new IllegalArgumentException("Horizonte fuera de rango: " + horizonte);
+        }
+        this.horizonte = horizonte;
+        this.presupuestoNanos = presupuestoNanos;
+        this.margen = margen;
+        px = new float[(horizonte + 1) * MAX_RECTS];
+        py = new float[(horizonte + 1) * MAX_RECTS];
+        objetivo = new float[horizonte + 1];
+        plan = new boolean[horizonte];
+    }
+
+    // --- Observación ---
+
+    /** Toma los obstáculos del juego real (hitboxes actuales, velocidad y onda). */
+    public void observar(Colision[] colisiones) {
+        rects = 0;
+        for (Colision c : colisiones) {
+            for (Rectangle r : c.getBounds()) {
+                agregar(r.x, r.y, r.width, r.height, c.getVelocidad(), c.getFaseOnda());
+            }
+        }
+    }
+
+    /** Toma los obstáculos de una partida sin gráficos. */
+    public void observar(Recorrido recorrido) {
+        rects = 0;
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            float x = recorrido.left(i);
+            float w = Recorrido.ancho(i);
+            float vel = recorrido.getVelocidad(i);
+            if (i == SimulacionPartida.ENEMIGO) {
+                agregar(x, recorrido.enemyHitY(), w, ReglasPartida.ENEMY_HIT_H, vel, recorrido.getEnemyTime());
+            } else {
+                agregar(x, 0f, w, recorrido.bottomHeight(i), vel, -1f);
+                agregar(x, recorrido.topY(i), w, recorrido.topHeight(i), vel, -1f);
+            }
+        }
+    }
+
+    private void agregar(float x, float y, float w, float h, float velocidad, float fase) {
+        if (rects == MAX_RECTS || h <= 0f) return; // un tubo sin altura no choca
+        rx[rects] = x;
+        ry[rects] = y;
+        rw[rects] = w;
+        rh[rects] = h;
+        rvel[rects] = velocidad;
+        rfase[rects] = fase;
+        rects++;
+    }
+
+    // --- Decisión ---
+
+    /**
+     * Planifica desde el estado actual del pájaro con los obstáculos observados.
+     * @return true si hay que aletear en este tick
+     */
+    public boolean decidir(float birdY, float birdVy) {
+        long inicio = System.nanoTime();
+        deadline = inicio + presupuestoNanos;
+        agotado = false;
+        nodos = 0;
+        tickBase++;
+        if (!coincidePrediccion() && ++sello == 0) sello = 1;
+        predecir();
+
+        int alcance = buscar(0, birdY, birdVy);
+        boolean flap = plan[0];
+
+        decisiones++;
+        nodosTotales += nodos;
+        maxNodos = Math.max(maxNodos, nodos);
+        if (agotado) agotados++;
+        if (alcance < horizonte && !agotado) sinSalida++;
+        nanosTotales += System.nanoTime() - inicio;
+        return flap;
+    }
+
+    /** true si los obstáculos observados están donde los predijo la decisión anterior. */
+    private boolean coincidePrediccion() {
+        if (rects != esperadoRects) return false;
+        for (int r = 0; r < rects; r++) {
+            if (Math.abs(rx[r] - esperadoX[r]) > TOLERANCIA || Math.abs(ry[r] - esperadoY[r]) > TOLERANCIA
+                    || rh[r] != esperadoH[r] || rvel[r] != esperadoVel[r]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Posición de cada rectángulo en los ticks 1..horizonte. */
+    private void predecir() {
+        for (int r = 0; r < rects; r++) {
+            float x = rx[r];
+            float base = rfase[r] < 0 ? ry[r] : ry[r] - onda(rfase[r]);
+            for (int t = 1; t <= horizonte; t++) {
+                x -= rvel[r] * ReglasPartida.DT;
+                int i = t * MAX_RECTS + r;
+                px[i] = x;
+                py[i] = rfase[r] < 0 ? base : base + onda(rfase[r] + t * ReglasPartida.DT);
+            }
+            esperadoX[r] = px[MAX_RECTS + r];
+            esperadoY[r] = py[MAX_RECTS + r];
+            esperadoH[r] = rh[r];
+            esperadoVel[r] = rvel[r];
+        }
+        esperadoRects = rects;
+
+        // Objetivo: el hueco del primer tubo de abajo (y = 0) que todavía no pasó al pájaro
+        for (int t = 1; t <= horizonte; t++) {
+            float mejorX = Float.MAX_VALUE;
+            objetivo[t] = (ReglasPartida.WORLD_HEIGHT - ReglasPartida.BIRD_SIZE) / 2f;
+            for (int r = 0; r < rects; r++) {
+                float x = px[t * MAX_RECTS + r];
+                if (rfase[r] >= 0 || ry[r] != 0f || x + rw[r] <= ReglasPartida.BIRD_X || x >= mejorX) continue;
+                mejorX = x;
+                objetivo[t] = rh[r] + (ReglasPartida.PIPE_GAP + ReglasPartida.PIPE_TOP_LIFT
+                    - ReglasPartida.BIRD_SIZE) / 2f;
+            }
+        }
+    }
+
+    private static float onda(float tiempo) {
+        return ReglasPartida.ondaEnemigo(tiempo);
+    }
+
+    /**
+     * Búsqueda en profundidad desde el estado del tick t.
+     * @return último tick alcanzado con vida por la mejor rama (horizonte si sobrevive)
+     */
+    private int buscar(int t, float y, float vy) {
+        if (t == horizonte) return horizonte;
+        if (++nodos % CHECK_EVERY == 0 && System.nanoTime() > deadline) agotado = true;
+        if (agotado) return t;
+
+        // La raíz siempre se expande: la tabla guarda hasta dónde se llega, no con qué acción (plan[0])
+        long key = clave(t, y, vy);
+        if (t > 0) {
+            int slot = ttBuscar(key);
+            if (slot >= 0) {
+                ttHits++;
+                return ttAlcance[slot] - tickBase;
+            }
+        }
+
+        // Primero la acción que acerca al centro del próximo hueco
+        boolean primero = y + vy * ReglasPartida.DT < objetivo[t + 1];
+        int mejor = t;
+        for (int k = 0; k < 2; k++) {
+            boolean flap = k == 0 ? primero : !primero;
+            float nvy = ReglasPartida.velocidadPajaro(vy, flap, ReglasPartida.DT);
+            float ny = ReglasPartida.alturaPajaro(y, nvy, ReglasPartida.DT);
+            int alcance = muere(t + 1, ny) ? t : buscar(t + 1, ny, nvy);
+            if (alcance > mejor || t == 0 && k == 0) {
+                mejor = alcance;
+                plan[t] = flap;
+            }
+            if (mejor == horizonte) return horizonte; // solo se guardan fracasos
+        }
+        if (!agotado) ttGuardar(key, tickBase + mejor);
+        return mejor;
+    }
+
+    /** true si el pájaro a la altura y choca en el tick t (límites de Character y obstáculos). */
+    private boolean muere(int t, float y) {
+        if (ReglasPartida.causaFueraDePantalla(y) >= 0) return true;
+        float bx = ReglasPartida.BIRD_X;
+        float size = ReglasPartida.BIRD_SIZE;
+        int base = t * MAX_RECTS;
+        for (int r = 0; r < rects; r++) {
+            float x = px[base + r] - margen;
+            float ty = py[base + r] - margen;
+            if (bx < x + rw[r] + 2 * margen && bx + size > x && y < ty + rh[r] + 2 * margen && y + size > ty) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- Tabla de transposición ---
+
+    /**
+     * Tick absoluto (20 bits), y (1 px) y vy (10 px/s, lo que cambia por tick
+     * con la gravedad) empaquetados; el bit 62 distingue la clave de un slot vacío.
+     */
+    private long clave(int t, float y, float vy) {
+        long tick = (tickBase + t) & 0xFFFFF;
+        long qy = Math.max(0, Math.min(0x3FFF, (int) (y + 1024f)));
+        long qvy = Math.max(0, Math.min(0x3FFF, Math.round((vy + 65536f) * 0.1f)));
+        return 1L << 62 | tick << 28 | qy << 14 | qvy;
+    }
+
+    private int ttBuscar(long key) {
+        int h = hash(key);
+        for (int p = 0; p < TT_PROBES; p++) {
+            int i = (h + p) & (TT_SIZE - 1);
+            if (ttSello[i] != sello) return -1;
+            if (ttKey[i] == key) return i;
+        }
+        return -1;
+    }
+
+    private void ttGuardar(long key, int alcance) {
+        int h = hash(key);
+        int i = h;
+        for (int p = 0; p < TT_PROBES; p++) {
+            i = (h + p) & (TT_SIZE - 1);
+            if (ttSello[i] != sello || ttKey[i] == key) break;
+        }
+        ttKey[i] = key;   // tabla llena en esta zona: se pisa el último probado
+        ttSello[i] = sello;
+        ttAlcance[i] = alcance;
+    }
+
+    private static int hash(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - TT_BITS));
+    }
+
+    // --- Estadísticas ---
+
+    public int getHorizonte() { return horizonte; }
+    public long getDecisiones() { return decisiones; }
+    public long getNodosTotales() { return nodosTotales; }
+    /** Nodos de la última decisión. */
+    public long getNodos() { return nodos; }
+    public long getMaxNodos() { return maxNodos; }
+    public long getTtHits() { return ttHits; }
+    /** Decisiones en las que se agotó el presupuesto antes de terminar la búsqueda. */
+    public long getAgotados() { return agotados; }
+    /** Decisiones completas sin ninguna secuencia que sobreviva el horizonte. */
+    public long getSinSalida() { return sinSalida; }
+    public long getNanosTotales() { return nanosTotales; }
+
+    public void reiniciarEstadisticas() {
+        decisiones = nodosTotales = maxNodos = ttHits = agotados = sinSalida = nanosTotales = 0;
+    }
+}
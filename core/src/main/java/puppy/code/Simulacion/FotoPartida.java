@@ -0,0 +1,46 @@
+package puppy.code.Simulacion;
+
+import puppy.code.Character;
+import puppy.code.Colisiones.Colision;
+import puppy.code.Rebobinado.RewindBuffer;
+
+/**
+ * Clase FotoPartida
+ * Lo que el render necesita de un tick de HiloSimulacion: puntaje, tick,
+ * estado de vida, contadores de sonidos y de telemetría y la pose del pájaro y de los
+ * obstáculos. Las poses se guardan en un RewindBuffer de un snapshot con el
+ * formato de Character.guardarEstado y Colision.guardarEstado, así que el
+ * render las aplica con restaurarEstado sobre sus propios sprites.
+ *
+ * Se preasignan tres y se reutilizan a través de un TripleBuffer: solo
+ * HiloSimulacion las escribe y, una vez publicadas, el render las lee sin
+ * modificarlas.
+ */
+public class FotoPartida {
+
+    /** Valores de la pose: el pájaro y los obstáculos en el orden de Obstaculo. */
+    static final int POSE_SIZE = Character.ESTADO_SIZE + SimulacionPartida.OBSTACULOS * Colision.ESTADO_SIZE;
+
+    final RewindBuffer pose = new RewindBuffer(1, POSE_SIZE);
+    int tick;
+    int score;
+    boolean alive;
+    byte deathCause;
+    int aleteos;        // aleteos acumulados de la partida (uno por sonido de aleteo)
+    int reciclados;     // obstáculos reciclados acumulados de la partida (telemetría)
+
+    /** Aplica la pose a los sprites del render (mismo orden que los escribió HiloSimulacion). */
+    public void aplicar(Character bird, Colision[] obstaculos) {
+        pose.seek(0);
+        bird.restaurarEstado(pose);
+        for (Colision c : obstaculos) c.restaurarEstado(pose);
+    }
+
+    public int getTick() { return tick; }
+    public int getScore() { return score; }
+    public boolean isAlive() { return alive; }
+    /** RunRecord.CAUSA_*, o -1 mientras siga viva. */
+    public byte getDeathCause() { return deathCause; }
+    public int getAleteos() { return aleteos; }
+    public int getReciclados() { return reciclados; }
+}
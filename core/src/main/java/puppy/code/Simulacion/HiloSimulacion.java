@@ -0,0 +1,204 @@
+package puppy.code.Simulacion;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import puppy.code.DifficultyStrategy;
+import puppy.code.Rebobinado.RewindBuffer;
+import puppy.code.Telemetria.UtilizationMeter;
+
+/**
+ * Clase HiloSimulacion
+ * Corre una SimulacionPartida (o, en modo punto fijo, una SimulacionFija) en su propio hilo a 60 ticks por segundo de
+ * tiempo real, independiente de los frames: un dibujo lento no atrasa la
+ * física y un tick lento no atrasa el frame.
+ *
+ * Después de cada tick escribe una FotoPartida preasignada y la publica en un
+ * TripleBuffer; el hilo de render solo lee la más reciente con getFoto(). El
+ * input va en sentido contrario con aletear(), que el próximo tick consume.
+ * Sonidos, pantallas, récord y telemetría quedan en el hilo de render, que
+ * los deriva de las fotos (LibGDX no permite usarlos desde otro hilo, y
+ * TelemetryRecorder acumula sin sincronizar).
+ *
+ * Cada aleteo queda en un RegistroAleteos con su tick; cuando el pájaro
+ * muere, el hilo arma el ReplaySubmission (semilla, ticks, puntaje y modo)
+ * que ReplayVerifier puede reproducir, y lo deja en getEnvio().
+ *
+ * Si un tick se atrasa (GC, sistema cargado) se recupera con hasta
+ * MAX_TICKS_ATRASO ticks seguidos; más allá, el atraso se descarta y el juego
+ * se ralentiza en vez de acelerar de golpe.
+ */
+public class HiloSimulacion implements Runnable {
+
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+    private static final int MAX_TICKS_ATRASO = 5;
+    private static final float ANIM_FRAME = 0.12f;  // Character.presionAtmosferica
+
+    private final SimulacionDeterminista sim;
+    private final boolean puntoFijo;
+    private final int framesPajaro;
+    private final TripleBuffer<FotoPartida> fotos =
+        new TripleBuffer<>(new FotoPartida(), new FotoPartida(), new FotoPartida());
+    private final AtomicBoolean aleteoPendiente = new AtomicBoolean();
+    private final UtilizationMeter medidor;
+    private final RegistroAleteos registro = new RegistroAleteos(1024);
+    private volatile ReplaySubmission envio;
+
+    private Thread thread;
+    private volatile boolean pausado;
+    private volatile boolean detenido;
+
+    // --- Animación del pájaro y sonidos (solo el hilo de simulación) ---
+    private float animTimer;
+    private int frameIndex;
+    private int aleteos;
+
+    /**
+     * @param difficulty estrategia de dificultad de la partida
+     * @param framesPajaro cantidad de frames de la animación del pájaro
+     * @param ventanaNanos ventana de medición de la utilización del hilo
+     * @param puntoFijo simular con SimulacionFija en vez de SimulacionPartida
+     */
+    public HiloSimulacion(DifficultyStrategy difficulty, int framesPajaro, long ventanaNanos, boolean puntoFijo) {
+        this.sim = puntoFijo ? new SimulacionFija(difficulty) : new SimulacionPartida(difficulty);
+        this.puntoFijo = puntoFijo;
+        this.framesPajaro = framesPajaro;
+        this.medidor = new UtilizationMeter(ventanaNanos);
+    }
+
+    /** Empieza la partida con la semilla indicada; la foto del tick 0 ya queda disponible. */
+    public void iniciar(long seed) {
+        sim.reset(seed);
+        registro.reiniciar();
+        envio = null;
+        publicar();
+        thread = new Thread(this, "simulacion");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        long siguiente = System.nanoTime() + TICK_NANOS;
+        while (!detenido && sim.isAlive()) {
+            if (pausado) {
+                LockSupport.park(this);
+                siguiente = System.nanoTime() + TICK_NANOS;
+                medidor.reiniciar(); // la pausa no cuenta como tiempo libre
+                continue;
+            }
+            long espera = siguiente - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(this, espera);
+                continue;
+            }
+
+            medidor.inicio();
+            int ticks = 0;
+            do {
+                tick();
+                ticks++;
+                siguiente += TICK_NANOS;
+            } while (sim.isAlive() && ticks < MAX_TICKS_ATRASO && siguiente - System.nanoTime() <= 0);
+            if (siguiente - System.nanoTime() <= 0) siguiente = System.nanoTime() + TICK_NANOS;
+            medidor.fin(ticks);
+        }
+    }
+
+    /** Un tick de la partida y su foto. */
+    private void tick() {
+        boolean flap = aleteoPendiente.getAndSet(false);
+        if (flap) {
+            aleteos++;
+            registro.registrar(sim.getTick() + 1);
+        }
+        if (!sim.step(flap)) {
+            // Antes de publicar la foto de la muerte: quien la ve ya encuentra el envío
+            envio = registro.envio(System.currentTimeMillis(), sim.getSeed(), sim.getScore(), puntoFijo);
+        }
+
+        animTimer += ReglasPartida.DT;
+        if (animTimer > ANIM_FRAME) {
+            animTimer = 0f;
+            frameIndex = (frameIndex + 1) % framesPajaro;
+        }
+        publicar();
+    }
+
+    /** Escribe la foto del estado actual en el formato de Character y Colision y la publica. */
+    private void publicar() {
+        FotoPartida foto = fotos.escritura();
+        RewindBuffer pose = foto.pose;
+        pose.beginWrite();
+        pose.putFloat(ReglasPartida.BIRD_X);
+        pose.putFloat(sim.getBirdY());
+        pose.putFloat(0f);
+        pose.putFloat(sim.getBirdVy());
+        pose.putFloat(animTimer);
+        pose.putInt(frameIndex);
+
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            boolean enemigo = i == SimulacionPartida.ENEMIGO;
+            pose.putFloat(sim.getSpriteX(i));
+            pose.putFloat(enemigo ? ReglasPartida.ENEMY_BASE_Y : sim.getObstacleY(i));
+            pose.putFloat(enemigo ? sim.getEnemyTime() : 0f);
+            pose.putFloat(sim.getObstacleSpeed(i));
+        }
+
+        foto.tick = sim.getTick();
+        foto.score = sim.getScore();
+        foto.alive = sim.isAlive();
+        foto.deathCause = sim.getDeathCause();
+        foto.aleteos = aleteos;
+        foto.reciclados = sim.getReciclados();
+        fotos.publicar();
+    }
+
+    // --- Hilo de render ---
+
+    /** Pide un aleteo para el próximo tick. */
+    public void aletear() {
+        aleteoPendiente.set(true);
+    }
+
+    /** La foto más reciente; válida hasta la próxima llamada. */
+    public FotoPartida getFoto() {
+        return fotos.lectura();
+    }
+
+    /**
+     * Partida terminada lista para ReplayVerifier, o null si el pájaro sigue
+     * vivo (o la partida se abandonó antes de morir).
+     */
+    public ReplaySubmission getEnvio() {
+        return envio;
+    }
+
+    /** Detiene los ticks hasta reanudar() (pausa del juego). */
+    public void pausar() {
+        pausado = true;
+    }
+
+    public void reanudar() {
+        pausado = false;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+
+    /** Termina el hilo (si sigue corriendo) y espera a que salga. */
+    public void detener() {
+        detenido = true;
+        if (thread == null) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Fracción del tiempo que el hilo de simulación estuvo ocupado en la última ventana. */
+    public float getUtilizacion() { return medidor.getUtilizacion(); }
+
+    /** Ticks por segundo de la última ventana. */
+    public float getTicksPorSegundo() { return medidor.getUnidadesPorSegundo(); }
+}
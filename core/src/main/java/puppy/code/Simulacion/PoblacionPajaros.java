@@ -0,0 +1,212 @@
+package puppy.code.Simulacion;
+
+import java.util.Arrays;
+
+import puppy.code.Colisiones.SolapamientoAABB;
+import puppy.code.DifficultyStrategy;
+import puppy.code.Historial.RunRecord;
+
+/**
+ * Clase PoblacionPajaros
+ * Muchos pájaros volando a la vez sobre un único Recorrido, para entrenar
+ * pilotos sin correr una SimulacionPartida por pájaro.
+ *
+ * El estado de cada pájaro (altura y velocidad, como pos.y / vel.y de
+ * Character) vive en arreglos primitivos y solo los vivos ocupan el prefijo
+ * [0, getCount()): los que mueren se compactan al final del tick, así cada
+ * recorrido de los arreglos es contiguo. La colisión se resuelve por
+ * obstáculo: la prueba en x es la misma para todos (comparten BIRD_X) y, si
+ * hay solapamiento, cada rectángulo del obstáculo se compara con todos los
+ * vivos de una vez con SolapamientoAABB.
+ *
+ * Cada pájaro termina exactamente igual que en una SimulacionPartida con la
+ * misma semilla y los mismos aleteos: todos los vivos cruzan los obstáculos
+ * juntos, por lo que el puntaje y la dificultad del recorrido son los suyos.
+ */
+public class PoblacionPajaros {
+
+    private final Recorrido recorrido;
+    private final int capacity;
+
+    // --- Pájaros vivos, compactados en [0, count) ---
+    private final float[] y;
+    private final float[] vy;
+    private final int[] id;          // índice original del pájaro (0..birds-1)
+    private final boolean[] muerto;  // marcado durante el tick, se limpia al compactar
+    private int count;
+
+    // --- Hitboxes para SolapamientoAABB (x y tamaño son iguales para todos) ---
+    private final SolapamientoAABB solapamiento = SolapamientoAABB.get();
+    private final float[] birdX;
+    private final float[] birdSize;
+    private final boolean[] hits;
+
+    // --- Resultado por pájaro (índice original) ---
+    private final int[] deathTick;   // 0 mientras siga vivo
+    private final int[] score;
+    private final byte[] deathCause;
+
+    private int birds;
+    private int tick;
+
+    /**
+     * @param difficulty misma estrategia que usaría cada partida individual
+     * @param capacity cantidad máxima de pájaros por población
+     */
+    public PoblacionPajaros(DifficultyStrategy difficulty, int capacity) {
+        this.recorrido = new Recorrido(difficulty);
+        this.capacity = capacity;
+        y = new float[capacity];
+        vy = new float[capacity];
+        id = new int[capacity];
+        muerto = new boolean[capacity];
+        birdX = new float[capacity];
+        birdSize = new float[capacity];
+        hits = new boolean[capacity];
+        Arrays.fill(birdX, ReglasPartida.BIRD_X);
+        Arrays.fill(birdSize, ReglasPartida.BIRD_SIZE);
+        deathTick = new int[capacity];
+        score = new int[capacity];
+        deathCause = new byte[capacity];
+    }
+
+    /** Empieza una población nueva de pájaros en la posición inicial. */
+    public void reset(long seed, int birds) {
+        if (birds < 0 || birds > capacity) {
+            throw new IllegalArgumentException("Cantidad de pájaros fuera de rango: " + birds);
+        }
+        recorrido.reset(seed);
+        this.birds = birds;
+        count = birds;
+        tick = 0;
+        for (int i = 0; i < birds; i++) {
+            y[i] = ReglasPartida.BIRD_START_Y;
+            vy[i] = 0f;
+            id[i] = i;
+            muerto[i] = false;
+            deathTick[i] = 0;
+            score[i] = 0;
+            deathCause[i] = -1;
+        }
+    }
+
+    /**
+     * Avanza un tick con el mismo orden que SimulacionPartida.step.
+     * @param flap aleteo de cada pájaro vivo, indexado igual que getY / getId
+     * @return pájaros que siguen vivos
+     */
+    public int step(boolean[] flap) {
+        int n = count;
+        if (n == 0) return 0;
+        tick++;
+
+        // --- Pájaros ---
+        for (int i = 0; i < n; i++) {
+            vy[i] = ReglasPartida.velocidadPajaro(vy[i], flap[i], ReglasPartida.DT);
+            y[i] = ReglasPartida.alturaPajaro(y[i], vy[i], ReglasPartida.DT);
+        }
+
+        // --- Obstáculos: el recorrido se mueve una vez y se compara con todos ---
+        int muertos = 0;
+        for (int o = 0; o < SimulacionPartida.OBSTACULOS; o++) {
+            recorrido.avanzar(o);
+            muertos += colisionar(o, n);
+            if (muertos < n) recorrido.puntuar(o);
+        }
+
+        // --- Dificultad y límites ---
+        recorrido.aplicarDificultad();
+        for (int i = 0; i < n; i++) {
+            if (muerto[i]) continue;
+            byte fuera = ReglasPartida.causaFueraDePantalla(y[i]);
+            if (fuera >= 0) {
+                morir(i, fuera);
+                muertos++;
+            }
+        }
+
+        if (muertos > 0) compactar(n);
+        return count;
+    }
+
+    /** Marca los pájaros que tocan el obstáculo o; devuelve cuántos murieron. */
+    private int colisionar(int o, int n) {
+        // Prueba en x (Rectangle.overlaps): igual para todos los pájaros
+        float x = recorrido.left(o);
+        float w = Recorrido.ancho(o);
+        float bx = ReglasPartida.BIRD_X;
+        if (!(bx < x + w && bx + ReglasPartida.BIRD_SIZE > x)) return 0;
+
+        if (o == SimulacionPartida.ENEMIGO) {
+            return marcar(x, recorrido.enemyHitY(), w, ReglasPartida.ENEMY_HIT_H, n, RunRecord.CAUSA_ENEMIGO);
+        }
+        return marcar(x, 0f, w, recorrido.bottomHeight(o), n, RunRecord.CAUSA_TUBO)
+            + marcar(x, recorrido.topY(o), w, recorrido.topHeight(o), n, RunRecord.CAUSA_TUBO);
+    }
+
+    /** Un rectángulo del obstáculo contra todos los vivos con el kernel por lotes. */
+    private int marcar(float x, float y, float w, float h, int n, byte causa) {
+        if (solapamiento.overlaps(x, y, w, h, birdX, this.y, birdSize, birdSize, n, hits) == 0) return 0;
+        int muertos = 0;
+        for (int i = 0; i < n; i++) {
+            if (hits[i] && !muerto[i]) {
+                morir(i, causa);
+                muertos++;
+            }
+        }
+        return muertos;
+    }
+
+    /** Registra el resultado con el puntaje del recorrido antes del próximo cruce. */
+    private void morir(int i, byte causa) {
+        muerto[i] = true;
+        int original = id[i];
+        deathTick[original] = tick;
+        score[original] = recorrido.getScore();
+        deathCause[original] = causa;
+    }
+
+    /** Mueve los vivos al principio de los arreglos conservando su orden. */
+    private void compactar(int n) {
+        int w = 0;
+        for (int i = 0; i < n; i++) {
+            if (muerto[i]) {
+                muerto[i] = false;
+                continue;
+            }
+            if (w != i) {
+                y[w] = y[i];
+                vy[w] = vy[i];
+                id[w] = id[i];
+            }
+            w++;
+        }
+        count = w;
+    }
+
+    // --- Consultas de los vivos (índice compactado) ---
+
+    /** Pájaros vivos. */
+    public int getCount() { return count; }
+    public float getY(int i) { return y[i]; }
+    public float getVy(int i) { return vy[i]; }
+    /** Índice original del i-ésimo pájaro vivo. */
+    public int getId(int i) { return id[i]; }
+
+    // --- Consultas por pájaro (índice original) ---
+
+    public boolean isAlive(int bird) { return deathTick[bird] == 0; }
+    /** Tick en que murió, o 0 si sigue vivo. */
+    public int getDeathTick(int bird) { return deathTick[bird]; }
+    public int getScore(int bird) { return isAlive(bird) ? recorrido.getScore() : score[bird]; }
+    /** RunRecord.CAUSA_*, o -1 mientras siga vivo. */
+    public byte getDeathCause(int bird) { return deathCause[bird]; }
+
+    // --- Población ---
+
+    public int getBirds() { return birds; }
+    public int getTick() { return tick; }
+    public int getCapacity() { return capacity; }
+    /** Obstáculos compartidos, para que los pilotos lean los huecos. */
+    public Recorrido getRecorrido() { return recorrido; }
+}
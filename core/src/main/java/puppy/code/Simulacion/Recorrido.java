@@ -0,0 +1,161 @@
+package puppy.code.Simulacion;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+import puppy.code.DifficultyStrategy;
+
+/**
+ * Clase Recorrido
+ * Los obstáculos de una partida sin gráficos: dos tubos y el enemigo con las
+ * reglas de ReglasPartida (movimiento, reciclado, puntaje), las mismas que usa
+ * Obstaculo, y la DifficultyStrategy.
+ * No conoce al pájaro: SimulacionPartida lo recorre con uno solo y
+ * PoblacionPajaros con muchos a la vez, ya que todos los pájaros vivos están
+ * en la misma x y por lo tanto comparten puntaje y dificultad.
+ *
+ * Es determinista: el hueco de cada tubo sale de su propio RandomXS128.
+ */
+public class Recorrido {
+
+    private final DifficultyStrategy difficulty;
+    private final RandomXS128 rng = new RandomXS128();
+
+    private final float[] obsX = new float[SimulacionPartida.OBSTACULOS];   // x del tubo / x base del enemigo
+    private final float[] gapY = new float[SimulacionPartida.OBSTACULOS];   // centro del hueco (solo tubos)
+    private final float[] obsVel = new float[SimulacionPartida.OBSTACULOS];
+    private float enemyTime;
+    private int score;
+    private int reciclados;  // obstáculos reposicionados en la partida (telemetría; no entra en el hash)
+
+    public Recorrido(DifficultyStrategy difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    /** Vuelve los obstáculos a su posición inicial con la semilla indicada. */
+    public void reset(long seed) {
+        rng.setSeed(seed);
+        score = 0;
+        reciclados = 0;
+        enemyTime = 0f;
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            obsX[i] = ReglasPartida.xInicial(i);
+            obsVel[i] = velocidad(i, 0);
+            if (i != SimulacionPartida.ENEMIGO) gapY[i] = ReglasPartida.nuevoHueco(rng);
+        }
+    }
+
+    /** Mueve el obstáculo i un tick y lo recicla si salió por la izquierda. */
+    public void avanzar(int i) {
+        if (i == SimulacionPartida.ENEMIGO) enemyTime += ReglasPartida.DT;
+        obsX[i] -= obsVel[i] * ReglasPartida.DT;
+
+        if (ReglasPartida.fueraDePantalla(left(i), ancho(i))) {
+            float max = 0;
+            for (int j = 0; j < SimulacionPartida.OBSTACULOS; j++) if (left(j) > max) max = left(j);
+            reposicionar(i, ReglasPartida.xReciclado(max, difficulty, score));
+            reciclados++;
+        }
+    }
+
+    /**
+     * Suma el punto si el centro del obstáculo i cruzó al pájaro en este tick.
+     * Se llama solo si queda algún pájaro vivo después de la colisión.
+     */
+    public void puntuar(int i) {
+        if (ReglasPartida.cruzoPajaro(left(i), ancho(i), obsVel[i], ReglasPartida.DT, ReglasPartida.BIRD_X)) {
+            score++;
+            obsVel[i] = velocidad(i, score);
+        }
+    }
+
+    /** Ajusta la velocidad de todos los obstáculos al puntaje actual (fin del tick). */
+    public void aplicarDificultad() {
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) obsVel[i] = velocidad(i, score);
+    }
+
+    // --- Reglas auxiliares ---
+
+    private float velocidad(int i, int score) {
+        return i == SimulacionPartida.ENEMIGO ? difficulty.getEnemySpeed(score) : difficulty.getPipeSpeed(score);
+    }
+
+    private void reposicionar(int i, float nuevoX) {
+        obsX[i] = nuevoX;
+        if (i != SimulacionPartida.ENEMIGO) gapY[i] = ReglasPartida.nuevoHueco(rng);
+    }
+
+    // --- Hitboxes ---
+
+    /** Borde izquierdo de la hitbox (Colision.getX). */
+    public float left(int i) {
+        return i == SimulacionPartida.ENEMIGO ? obsX[i] + ReglasPartida.ENEMY_HIT_OFFSET_X : obsX[i];
+    }
+
+    /** Ancho de la hitbox (Colision.getAncho). */
+    public static float ancho(int i) {
+        return i == SimulacionPartida.ENEMIGO ? ReglasPartida.ENEMY_HIT_W : ReglasPartida.PIPE_WIDTH;
+    }
+
+    /** Centro del hueco del tubo i. */
+    public float gapY(int i) { return gapY[i]; }
+
+    /** Altura del tubo de abajo (su rectángulo empieza en y = 0). */
+    public float bottomHeight(int i) {
+        return ReglasPartida.alturaTuboInferior(gapY[i], ReglasPartida.PIPE_GAP);
+    }
+
+    /** Borde inferior del tubo de arriba. */
+    public float topY(int i) {
+        return ReglasPartida.baseTuboSuperior(gapY[i], ReglasPartida.PIPE_GAP);
+    }
+
+    /** Altura del tubo de arriba. */
+    public float topHeight(int i) {
+        return ReglasPartida.alturaTuboSuperior(gapY[i], ReglasPartida.PIPE_GAP);
+    }
+
+    /** Borde inferior de la hitbox del enemigo. */
+    public float enemyHitY() {
+        return ReglasPartida.hitboxEnemigoY(ReglasPartida.ENEMY_BASE_Y, enemyTime);
+    }
+
+    /** true si el pájaro (en BIRD_X, con la altura indicada) toca el obstáculo i. */
+    public boolean colisiona(int i, float birdY) {
+        float bx = ReglasPartida.BIRD_X;
+        if (i == SimulacionPartida.ENEMIGO) {
+            return ReglasPartida.solapaPajaro(bx, birdY, left(i), enemyHitY(),
+                ReglasPartida.ENEMY_HIT_W, ReglasPartida.ENEMY_HIT_H);
+        }
+        float x = obsX[i];
+        return ReglasPartida.solapaPajaro(bx, birdY, x, 0f, ReglasPartida.PIPE_WIDTH, bottomHeight(i))
+            || ReglasPartida.solapaPajaro(bx, birdY, x, topY(i), ReglasPartida.PIPE_WIDTH, topHeight(i));
+    }
+
+    /** x del tubo, o x base del sprite del enemigo (sin el margen de su hitbox). */
+    public float getX(int i) { return obsX[i]; }
+
+    /** Velocidad horizontal actual del obstáculo i. */
+    public float getVelocidad(int i) { return obsVel[i]; }
+
+    /** Tiempo acumulado del enemigo (fase de su onda vertical). */
+    public float getEnemyTime() { return enemyTime; }
+
+    /** Puntaje del recorrido: obstáculos cruzados por los pájaros vivos. */
+    public int getScore() { return score; }
+
+    /** Obstáculos reciclados desde reset (los que cuenta TelemetryRecorder.obstaculoReciclado). */
+    public int getReciclados() { return reciclados; }
+
+    /** Continúa el hash h con el estado de los obstáculos y del generador. */
+    long hashEstado(long h) {
+        h = SimulacionFija.mezclar(h, score);
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            h = SimulacionFija.mezclar(h, Float.floatToRawIntBits(obsX[i]));
+            h = SimulacionFija.mezclar(h, Float.floatToRawIntBits(gapY[i]));
+            h = SimulacionFija.mezclar(h, Float.floatToRawIntBits(obsVel[i]));
+        }
+        h = SimulacionFija.mezclar(h, Float.floatToRawIntBits(enemyTime));
+        h = SimulacionFija.mezclar(h, rng.getState(0));
+        return SimulacionFija.mezclar(h, rng.getState(1));
+    }
+}
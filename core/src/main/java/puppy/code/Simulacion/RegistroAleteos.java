@@ -0,0 +1,47 @@
+package puppy.code.Simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Clase RegistroAleteos
+ * Ticks en que aleteó el jugador durante una partida, con la numeración que
+ * espera ReplayVerifier: el tick que se va a simular (getTick() + 1 antes
+ * del step). Al terminar la partida arma el ReplaySubmission con la semilla,
+ * el puntaje y el modo de la simulación.
+ *
+ * El arreglo crece al doble cuando se llena, así registrar no crea objetos
+ * salvo en esos pocos ticks; envio() copia solo los ticks usados.
+ */
+public class RegistroAleteos {
+
+    private int[] ticks;
+    private int cantidad;
+
+    /** @param capacidadInicial aleteos que entran antes de crecer */
+    public RegistroAleteos(int capacidadInicial) {
+        this.ticks = new int[Math.max(1, capacidadInicial)];
+    }
+
+    /** Vacía el registro para una partida nueva (conserva la capacidad). */
+    public void reiniciar() {
+        cantidad = 0;
+    }
+
+    /** Registra un aleteo en el tick indicado; los ticks deben llegar en orden creciente. */
+    public void registrar(int tick) {
+        if (cantidad == ticks.length) ticks = Arrays.copyOf(ticks, ticks.length * 2);
+        ticks[cantidad++] = tick;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Envío con una copia de los ticks registrados y el puntaje que se declara.
+     * @param puntoFijo la partida se jugó con SimulacionFija
+     */
+    public ReplaySubmission envio(long id, long seed, int score, boolean puntoFijo) {
+        return new ReplaySubmission(id, seed, Arrays.copyOf(ticks, cantidad), score, puntoFijo);
+    }
+}
@@ -0,0 +1,152 @@
+package puppy.code.Simulacion;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import puppy.code.DifficultyStrategy;
+import puppy.code.Historial.RunRecord;
+
+/**
+ * Clase ReglasPartida
+ * Las reglas de una partida en un solo lugar: medidas del mundo, física del
+ * pájaro, hitboxes de tubos y enemigo, reciclado, puntaje y límites de
+ * pantalla. Las usan las clases con sprites (Character, Tubo, Enemigo,
+ * Obstaculo) y las que juegan sin gráficos (SimulacionPartida, Recorrido,
+ * PoblacionPajaros, Autopiloto, y SimulacionFija, que redondea las
+ * constantes a punto fijo), así el juego, el servidor y las herramientas no
+ * tienen cada uno su copia.
+ *
+ * Solo hay constantes y funciones sin estado: cada clase guarda el suyo a su
+ * manera (objetos, arreglos por obstáculo o por pájaro). Cada función opera
+ * en el orden del juego original, porque con float el orden cambia el
+ * resultado. ParityTest (módulo headless) juega la misma semilla y los
+ * mismos aleteos con GameScreen y con SimulacionPartida y compara el
+ * resultado.
+ */
+public final class ReglasPartida {
+
+    // --- Física ---
+    public static final float DT = 1f / 60f;
+    public static final float GRAVITY = -600f;
+    public static final float FLAP_VELOCITY = 260f;
+
+    // --- Mundo ---
+    public static final float WORLD_WIDTH = 288f;
+    public static final float WORLD_HEIGHT = 600f;
+    public static final float GROUND_LEVEL = 96f;
+    public static final float CEILING_MARGIN = 24f;
+    public static final float BIRD_X = 20f;
+    public static final float BIRD_START_Y = 350f;
+    public static final float BIRD_RESET_X = 80f;   // x de Character.reset, la del juego original (la partida empieza en BIRD_X)
+    public static final float BIRD_SIZE = 32f;
+
+    // --- Tubos (pipe.png mide 77 px de ancho) ---
+    public static final float PIPE_WIDTH = 77f;
+    public static final float PIPE_GAP = 120f;
+    public static final float PIPE_TOP_LIFT = 14f;
+    public static final float GAP_MARGIN = 150f;
+
+    // --- Enemigo (tamaño relativo al tubo, hitbox reducida) ---
+    public static final float ENEMY_SIZE = PIPE_WIDTH * 0.6f;
+    public static final float ENEMY_HIT_W = ENEMY_SIZE * 0.5f;
+    public static final float ENEMY_HIT_H = ENEMY_SIZE * 0.4f;
+    public static final float ENEMY_HIT_OFFSET_X = (ENEMY_SIZE - ENEMY_HIT_W) / 2f;
+    public static final float ENEMY_BASE_Y = WORLD_HEIGHT / 2f;
+    public static final float ENEMY_WAVE_AMPLITUDE = 40f;
+    public static final float ENEMY_WAVE_SPEED = 3f;
+    public static final float ENEMY_SPAWN_DROP = 40f; // la hitbox recién creada está más abajo hasta el primer update
+
+    // x inicial de los dos tubos y del enemigo, en el orden de Obstaculo
+    private static final float[] X_INICIAL = {350f, 550f, 750f};
+
+    private ReglasPartida() {
+    }
+
+    // --- Pájaro ---
+
+    /** Velocidad vertical tras un tick: el aleteo la reemplaza y después actúa la gravedad. */
+    public static float velocidadPajaro(float vy, boolean aleteo, float dt) {
+        return (aleteo ? FLAP_VELOCITY : vy) + GRAVITY * dt;
+    }
+
+    /** Altura tras un tick, con la velocidad ya actualizada por velocidadPajaro. */
+    public static float alturaPajaro(float y, float vy, float dt) {
+        return y + vy * dt;
+    }
+
+    /** Causa de muerte si el pájaro tocó el suelo o el techo (RunRecord.CAUSA_*), o -1. */
+    public static byte causaFueraDePantalla(float y) {
+        if (y <= GROUND_LEVEL) return RunRecord.CAUSA_SUELO;
+        if (y + CEILING_MARGIN >= WORLD_HEIGHT) return RunRecord.CAUSA_TECHO;
+        return -1;
+    }
+
+    /** Rectangle.overlaps entre el pájaro (esquina en bx, by) y un rectángulo. */
+    public static boolean solapaPajaro(float bx, float by, float x, float y, float w, float h) {
+        return bx < x + w && bx + BIRD_SIZE > x && by < y + h && by + BIRD_SIZE > y;
+    }
+
+    // --- Obstáculos ---
+
+    /** x inicial del obstáculo i (0 y 1 los tubos, 2 el enemigo). */
+    public static float xInicial(int i) {
+        return X_INICIAL[i];
+    }
+
+    /** Centro de un hueco nuevo, uniforme entre GAP_MARGIN y WORLD_HEIGHT - GAP_MARGIN. */
+    public static float nuevoHueco(Random rng) {
+        return GAP_MARGIN + rng.nextFloat() * (WORLD_HEIGHT - 2 * GAP_MARGIN);
+    }
+
+    /** Altura del tubo de abajo (su rectángulo empieza en y = 0). */
+    public static float alturaTuboInferior(float gapY, float hueco) {
+        return Math.max(0f, gapY - hueco / 2f);
+    }
+
+    /** Borde inferior de la hitbox del tubo de arriba. */
+    public static float baseTuboSuperior(float gapY, float hueco) {
+        return gapY + hueco / 2f + PIPE_TOP_LIFT;
+    }
+
+    /** Altura de la hitbox del tubo de arriba. */
+    public static float alturaTuboSuperior(float gapY, float hueco) {
+        return Math.max(0f, WORLD_HEIGHT - baseTuboSuperior(gapY, hueco));
+    }
+
+    /** Desplazamiento vertical de la onda del enemigo con su tiempo acumulado. */
+    public static float ondaEnemigo(float tiempo) {
+        return MathUtils.sin(tiempo * ENEMY_WAVE_SPEED) * ENEMY_WAVE_AMPLITUDE;
+    }
+
+    /** Borde inferior de la hitbox del enemigo con altura base baseY. */
+    public static float hitboxEnemigoY(float baseY, float tiempo) {
+        return baseY + ondaEnemigo(tiempo) + (ENEMY_SIZE - ENEMY_HIT_H) / 2f + 15f;
+    }
+
+    /**
+     * Borde inferior de la hitbox de un Enemigo recién creado, antes de su
+     * primer update (el valor del juego original, sin onda). Las simulaciones
+     * no lo usan: todo tick empieza con el update, que aplica hitboxEnemigoY.
+     */
+    public static float hitboxEnemigoInicialY(float baseY) {
+        return baseY + ENEMY_SIZE * 0.30f - ENEMY_SPAWN_DROP;
+    }
+
+    /** El obstáculo (hitbox desde x, de ese ancho) salió por la izquierda. */
+    public static boolean fueraDePantalla(float x, float ancho) {
+        return x + ancho < 0;
+    }
+
+    /** x a la que vuelve un obstáculo que salió: detrás del más lejano, con el espaciado de la dificultad. */
+    public static float xReciclado(float maxX, DifficultyStrategy difficulty, int score) {
+        return maxX + difficulty.getObstacleSpacing(score);
+    }
+
+    /** true si el centro del obstáculo cruzó la x del pájaro en este tick (un punto). */
+    public static boolean cruzoPajaro(float x, float ancho, float velocidad, float dt, float birdX) {
+        float centroAhora = x + ancho / 2f;
+        float centroAntes = centroAhora + velocidad * dt;
+        return centroAntes >= birdX && centroAhora < birdX;
+    }
+}
@@ -0,0 +1,35 @@
+package puppy.code.Simulacion;
+
+/**
+ * Clase ReplaySubmission
+ * Puntaje de una partida junto con lo necesario para reproducirla: la
+ * semilla, los ticks en que aleteó, en orden creciente, y la simulación con
+ * que se jugó (SimulacionPartida o SimulacionFija, que con la misma semilla
+ * dan partidas distintas). La arma HiloSimulacion al terminar cada partida
+ * (con RegistroAleteos) y la verifica ReplayVerifier en el servidor.
+ * El arreglo no se copia: quien envía no debe modificarlo.
+ */
+public final class ReplaySubmission {
+
+    private final long id;
+    private final long seed;
+    private final int[] flapTicks;
+    private final int claimedScore;
+    private final boolean puntoFijo;
+
+    public ReplaySubmission(long id, long seed, int[] flapTicks, int claimedScore, boolean puntoFijo) {
+        this.id = id;
+        this.seed = seed;
+        this.flapTicks = flapTicks;
+        this.claimedScore = claimedScore;
+        this.puntoFijo = puntoFijo;
+    }
+
+    public long getId() { return id; }
+    public long getSeed() { return seed; }
+    /** Ticks de los aleteos (el arreglo del envío, no una copia). */
+    public int[] getFlapTicks() { return flapTicks; }
+    public int getClaimedScore() { return claimedScore; }
+    /** true si se jugó con SimulacionFija, false si con SimulacionPartida. */
+    public boolean isPuntoFijo() { return puntoFijo; }
+}
@@ -0,0 +1,53 @@
+package puppy.code.Simulacion;
+
+/**
+ * Interfaz SimulacionDeterminista
+ * Una partida sin gráficos que avanza en ticks fijos y que, con la misma
+ * semilla y los mismos aleteos, produce siempre la misma partida.
+ *
+ * SimulacionPartida usa float (los mismos valores que el juego);
+ * SimulacionFija usa enteros en punto fijo 16.16 y da el mismo resultado bit
+ * a bit en cualquier JVM, nivel de JIT o plataforma. Los dos modos no son
+ * intercambiables: una repetición se verifica con el modo con que se jugó.
+ */
+public interface SimulacionDeterminista {
+
+    /** Empieza una partida nueva con la semilla indicada. */
+    void reset(long seed);
+
+    /**
+     * Avanza un tick.
+     * @param flap true si el jugador aleteó en este tick
+     * @return true si el pájaro sigue vivo
+     */
+    boolean step(boolean flap);
+
+    long getSeed();
+    int getTick();
+    int getScore();
+    boolean isAlive();
+    /** RunRecord.CAUSA_*, o -1 mientras siga viva. */
+    byte getDeathCause();
+    float getBirdY();
+    float getBirdVy();
+    /** Borde izquierdo de la hitbox del obstáculo i. */
+    float getObstacleX(int i);
+    /** Ancho de la hitbox del obstáculo i. */
+    float getObstacleWidth(int i);
+    /** Centro del hueco para los tubos; borde inferior de la hitbox para el enemigo. */
+    float getObstacleY(int i);
+
+    // --- Para dibujar (HiloSimulacion las escribe en FotoPartida) ---
+
+    /** x del sprite del obstáculo i: la del tubo, o la x base del enemigo (sin el margen de su hitbox). */
+    float getSpriteX(int i);
+    /** Velocidad horizontal actual del obstáculo i. */
+    float getObstacleSpeed(int i);
+    /** Tiempo de la onda y la animación del enemigo, como Enemigo.getFaseOnda. */
+    float getEnemyTime();
+    /** Obstáculos reciclados desde reset (telemetría; no entra en hashEstado). */
+    int getReciclados();
+
+    /** Hash de todo el estado (pájaro, obstáculos, generador), para comparar ejecuciones. */
+    long hashEstado();
+}
@@ -0,0 +1,282 @@
+package puppy.code.Simulacion;
+
+import puppy.code.DifficultyStrategy;
+import puppy.code.Historial.RunRecord;
+
+/**
+ * Clase SimulacionFija
+ * Las reglas de ReglasPartida, como SimulacionPartida (pájaro, dos tubos y el
+ * enemigo, con la misma DifficultyStrategy), pero con todo el estado en
+ * enteros de punto fijo 16.16: posiciones, velocidades, el hueco de cada tubo y la onda del
+ * enemigo, que sale de una tabla de senos en vez de MathUtils.sin.
+ *
+ * Solo usa suma, resta, multiplicación y desplazamientos de int/long, así que
+ * el resultado es idéntico bit a bit en cualquier JVM, nivel de JIT o
+ * plataforma. Los float solo aparecen al leer posiciones para dibujar y al
+ * convertir las constantes de ReglasPartida y los valores de la
+ * DifficultyStrategy (constantes por puntaje), que se redondean a punto fijo
+ * con la misma operación en toda JVM.
+ *
+ * El generador de huecos es un SplitMix64 propio, no RandomXS128: la misma
+ * semilla da otro recorrido que en SimulacionPartida, pero no depende de la
+ * versión de LibGDX.
+ *
+ * El juego la usa con -Dflappy.fixed=true (HiloSimulacion en modo punto
+ * fijo), y el ReplaySubmission de esas partidas lleva el modo para que
+ * ReplayVerifier las reproduzca con esta clase.
+ */
+public class SimulacionFija implements SimulacionDeterminista {
+
+    /** Bits de la parte fraccionaria. */
+    public static final int FRACCION = 16;
+    /** 1.0 en punto fijo. */
+    public static final int UNO = 1 << FRACCION;
+
+    // --- Física (redondeo de las constantes de ReglasPartida) ---
+    private static final int DT = aFijo(ReglasPartida.DT);
+    private static final int GRAVEDAD_TICK = mul(aFijo(ReglasPartida.GRAVITY), DT);
+    private static final int FLAP = aFijo(ReglasPartida.FLAP_VELOCITY);
+
+    // --- Mundo ---
+    private static final int ALTO = aFijo(ReglasPartida.WORLD_HEIGHT);
+    private static final int SUELO = aFijo(ReglasPartida.GROUND_LEVEL);
+    private static final int MARGEN_TECHO = aFijo(ReglasPartida.CEILING_MARGIN);
+    private static final int BIRD_X = aFijo(ReglasPartida.BIRD_X);
+    private static final int BIRD_START_Y = aFijo(ReglasPartida.BIRD_START_Y);
+    private static final int BIRD_SIZE = aFijo(ReglasPartida.BIRD_SIZE);
+
+    // --- Tubos ---
+    private static final int PIPE_WIDTH = aFijo(ReglasPartida.PIPE_WIDTH);
+    private static final int MEDIO_HUECO = aFijo(ReglasPartida.PIPE_GAP / 2f);
+    private static final int PIPE_TOP_LIFT = aFijo(ReglasPartida.PIPE_TOP_LIFT);
+    private static final int GAP_MARGIN = aFijo(ReglasPartida.GAP_MARGIN);
+    private static final int GAP_RANGO = ALTO - 2 * GAP_MARGIN;
+    private static final int[] START_X = {
+        aFijo(ReglasPartida.xInicial(0)), aFijo(ReglasPartida.xInicial(1)), aFijo(ReglasPartida.xInicial(2))};
+
+    // --- Enemigo ---
+    private static final int ENEMY_HIT_W = aFijo(ReglasPartida.ENEMY_HIT_W);
+    private static final int ENEMY_HIT_H = aFijo(ReglasPartida.ENEMY_HIT_H);
+    private static final int ENEMY_OFFSET_X = aFijo(ReglasPartida.ENEMY_HIT_OFFSET_X);
+    private static final int ENEMY_OFFSET_Y = aFijo(ReglasPartida.ENEMY_BASE_Y
+        + (ReglasPartida.ENEMY_SIZE - ReglasPartida.ENEMY_HIT_H) / 2f + 15f);
+    private static final int ENEMY_AMPLITUD = (int) ReglasPartida.ENEMY_WAVE_AMPLITUDE;
+
+    /**
+     * Seno de una vuelta en 4096 pasos, en punto fijo. StrictMath.sin da el
+     * mismo double en toda JVM, así que la tabla también es la misma.
+     */
+    private static final int BITS_SENO = 12;
+    private static final int PASOS_SENO = 1 << BITS_SENO;
+    private static final int[] SENO = new int[PASOS_SENO];
+    /**
+     * La fase del enemigo es un int donde 2^32 es una vuelta completa: el
+     * desborde es la vuelta. Avanza ENEMY_WAVE_SPEED * DT radianes por tick.
+     */
+    private static final int FASE_TICK = (int) StrictMath.round(
+        ReglasPartida.ENEMY_WAVE_SPEED / 60.0 / (2 * StrictMath.PI) * 4294967296.0);
+
+    static {
+        for (int k = 0; k < PASOS_SENO; k++) {
+            SENO[k] = (int) StrictMath.round(StrictMath.sin(2 * StrictMath.PI * k / PASOS_SENO) * UNO);
+        }
+    }
+
+    private final DifficultyStrategy difficulty;
+    private long seed;
+    private long rngState;
+
+    private int birdY, birdVy;
+    private final int[] obsX = new int[SimulacionPartida.OBSTACULOS];
+    private final int[] gapY = new int[SimulacionPartida.OBSTACULOS];
+    private final int[] obsVel = new int[SimulacionPartida.OBSTACULOS];
+    private int enemyFase;
+    private int score;
+    private int reciclados;  // telemetría; no entra en hashEstado
+    private int tick;
+    private boolean alive;
+    private byte deathCause;
+
+    public SimulacionFija(DifficultyStrategy difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    @Override
+    public void reset(long seed) {
+        this.seed = seed;
+        rngState = seed;
+        birdY = BIRD_START_Y;
+        birdVy = 0;
+        enemyFase = 0;
+        score = 0;
+        reciclados = 0;
+        tick = 0;
+        alive = true;
+        deathCause = -1;
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            obsX[i] = START_X[i];
+            obsVel[i] = velocidad(i, 0);
+            if (i != SimulacionPartida.ENEMIGO) gapY[i] = nuevoHueco();
+        }
+    }
+
+    /** Mismo orden que SimulacionPartida.step. */
+    @Override
+    public boolean step(boolean flap) {
+        if (!alive) return false;
+        tick++;
+
+        // --- Pájaro ---
+        if (flap) birdVy = FLAP;
+        birdVy += GRAVEDAD_TICK;
+        birdY += mul(birdVy, DT);
+
+        // --- Obstáculos ---
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            int paso = mul(obsVel[i], DT);
+            if (i == SimulacionPartida.ENEMIGO) enemyFase += FASE_TICK;
+            obsX[i] -= paso;
+            if (left(i) + ancho(i) < 0) {
+                int max = 0;
+                for (int j = 0; j < SimulacionPartida.OBSTACULOS; j++) if (left(j) > max) max = left(j);
+                obsX[i] = max + aFijo(difficulty.getObstacleSpacing(score));
+                if (i != SimulacionPartida.ENEMIGO) gapY[i] = nuevoHueco();
+                reciclados++;
+            }
+
+            if (colisiona(i)) morir(i == SimulacionPartida.ENEMIGO ? RunRecord.CAUSA_ENEMIGO : RunRecord.CAUSA_TUBO);
+
+            if (alive) {
+                int centroAhora = left(i) + ancho(i) / 2;
+                if (centroAhora + paso >= BIRD_X && centroAhora < BIRD_X) {
+                    score++;
+                    obsVel[i] = velocidad(i, score);
+                }
+            }
+        }
+
+        // --- Dificultad y límites ---
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) obsVel[i] = velocidad(i, score);
+        if (birdY <= SUELO) morir(RunRecord.CAUSA_SUELO);
+        else if (birdY + MARGEN_TECHO >= ALTO) morir(RunRecord.CAUSA_TECHO);
+        return alive;
+    }
+
+    private void morir(byte causa) {
+        if (!alive) return;
+        alive = false;
+        deathCause = causa;
+    }
+
+    // --- Reglas auxiliares ---
+
+    private int velocidad(int i, int score) {
+        return aFijo(i == SimulacionPartida.ENEMIGO ? difficulty.getEnemySpeed(score) : difficulty.getPipeSpeed(score));
+    }
+
+    /** Centro del hueco uniforme en [GAP_MARGIN, ALTO - GAP_MARGIN). */
+    private int nuevoHueco() {
+        long z = (rngState += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return GAP_MARGIN + (int) ((z >>> 1) % GAP_RANGO);
+    }
+
+    private int left(int i) {
+        return i == SimulacionPartida.ENEMIGO ? obsX[i] + ENEMY_OFFSET_X : obsX[i];
+    }
+
+    private static int ancho(int i) {
+        return i == SimulacionPartida.ENEMIGO ? ENEMY_HIT_W : PIPE_WIDTH;
+    }
+
+    private int enemyHitY() {
+        return ENEMY_OFFSET_Y + SENO[enemyFase >>> (32 - BITS_SENO)] * ENEMY_AMPLITUD;
+    }
+
+    private boolean colisiona(int i) {
+        if (i == SimulacionPartida.ENEMIGO) {
+            return overlaps(left(i), enemyHitY(), ENEMY_HIT_W, ENEMY_HIT_H);
+        }
+        int x = obsX[i];
+        int bottom = Math.max(0, gapY[i] - MEDIO_HUECO);
+        int topY = gapY[i] + MEDIO_HUECO + PIPE_TOP_LIFT;
+        return overlaps(x, 0, PIPE_WIDTH, bottom) || overlaps(x, topY, PIPE_WIDTH, Math.max(0, ALTO - topY));
+    }
+
+    /** Rectangle.overlaps entre el pájaro y un rectángulo. */
+    private boolean overlaps(int x, int y, int w, int h) {
+        return BIRD_X < x + w && BIRD_X + BIRD_SIZE > x && birdY < y + h && birdY + BIRD_SIZE > y;
+    }
+
+    // --- Punto fijo ---
+
+    /**
+     * Redondea un float al múltiplo de 2^-16 más cercano. Es exacto para los
+     * valores con pocos decimales binarios (gravedad, tamaños, posiciones),
+     * pero no para todos: DT = 1/60 queda en 1092/65536 (≈ 0.016663, un
+     * 0.02% menos). Lo que importa es que el redondeo es el mismo en toda JVM.
+     */
+    public static int aFijo(float valor) {
+        return (int) Math.round((double) valor * UNO);
+    }
+
+    /** Convierte a float, solo para dibujar o mostrar. */
+    public static float aFloat(int fijo) {
+        return fijo / (float) UNO;
+    }
+
+    private static int mul(int a, int b) {
+        return (int) (((long) a * b) >> FRACCION);
+    }
+
+    // --- Consultas ---
+
+    @Override public long getSeed() { return seed; }
+    @Override public int getTick() { return tick; }
+    @Override public int getScore() { return score; }
+    @Override public boolean isAlive() { return alive; }
+    @Override public byte getDeathCause() { return deathCause; }
+    @Override public float getBirdY() { return aFloat(birdY); }
+    @Override public float getBirdVy() { return aFloat(birdVy); }
+    @Override public float getObstacleX(int i) { return aFloat(left(i)); }
+    @Override public float getObstacleWidth(int i) { return aFloat(ancho(i)); }
+    @Override public float getObstacleY(int i) { return aFloat(getObstacleYFijo(i)); }
+    @Override public float getSpriteX(int i) { return aFloat(obsX[i]); }
+    @Override public float getObstacleSpeed(int i) { return aFloat(obsVel[i]); }
+    /**
+     * La fase avanza lo mismo en cada tick desde reset, así que el tiempo del
+     * enemigo es tick * DT; solo sirve para dibujar (la hitbox usa la tabla de senos).
+     */
+    @Override public float getEnemyTime() { return tick * ReglasPartida.DT; }
+    @Override public int getReciclados() { return reciclados; }
+
+    /** Las mismas consultas sin convertir, para quien decide con el estado exacto. */
+    public int getBirdYFijo() { return birdY; }
+    public int getBirdVyFijo() { return birdVy; }
+    public int getObstacleXFijo(int i) { return left(i); }
+    public int getObstacleYFijo(int i) { return i == SimulacionPartida.ENEMIGO ? enemyHitY() : gapY[i]; }
+
+    @Override
+    public long hashEstado() {
+        long h = mezclar(0x6A09E667F3BCC908L, tick);
+        h = mezclar(h, score);
+        h = mezclar(h, alive ? deathCause : deathCause | 0x100);
+        h = mezclar(h, birdY);
+        h = mezclar(h, birdVy);
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            h = mezclar(h, obsX[i]);
+            h = mezclar(h, gapY[i]);
+            h = mezclar(h, obsVel[i]);
+        }
+        h = mezclar(h, enemyFase);
+        return mezclar(h, rngState);
+    }
+
+    /** Un paso de mezcla (multiplicación por la constante áurea y xorshift) para los hash de estado. */
+    static long mezclar(long h, long v) {
+        h = (h ^ v) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+}
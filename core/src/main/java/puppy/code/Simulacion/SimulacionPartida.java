@@ -0,0 +1,115 @@
+package puppy.code.Simulacion;
+
+import puppy.code.DifficultyStrategy;
+import puppy.code.Historial.RunRecord;
+
+/**
+ * Clase SimulacionPartida
+ * Lógica de una partida sin gráficos, sonido ni input de LibGDX: el pájaro
+ * sobre un Recorrido, que tiene los dos tubos y el enemigo, con las reglas de
+ * ReglasPartida (las mismas de Character y Obstaculo) y la misma
+ * DifficultyStrategy.
+ *
+ * Avanza en ticks fijos de ReglasPartida.DT y es determinista: con la misma semilla y la
+ * misma secuencia de aleteos produce exactamente la misma partida, sin
+ * depender de MathUtils.random global. La usan el servidor y las herramientas
+ * que necesitan muchas partidas a la vez; GameScreen juega con las clases
+ * con sprites y ParityTest verifica que las dos den la misma partida. Para
+ * verificar partidas entre máquinas distintas está SimulacionFija, con las
+ * mismas reglas en punto fijo.
+ */
+public class SimulacionPartida implements SimulacionDeterminista {
+
+    // --- Obstáculos: índices 0 y 1 son tubos, 2 es el enemigo (mismo orden que Obstaculo) ---
+    public static final int OBSTACULOS = 3;
+    public static final int ENEMIGO = 2;
+
+    private final Recorrido recorrido;
+    private long seed;
+
+    private float birdY, birdVy;
+    private int tick;
+    private boolean alive;
+    private byte deathCause;
+
+    public SimulacionPartida(DifficultyStrategy difficulty) {
+        this.recorrido = new Recorrido(difficulty);
+    }
+
+    @Override
+    public void reset(long seed) {
+        this.seed = seed;
+        recorrido.reset(seed);
+        birdY = ReglasPartida.BIRD_START_Y;
+        birdVy = 0f;
+        tick = 0;
+        alive = true;
+        deathCause = -1;
+    }
+
+    /**
+     * Avanza un tick con el orden de GameScreen.update: pájaro, obstáculos
+     * (mover, reciclar, colisión, puntaje), dificultad y límites de pantalla.
+     * @param flap true si el jugador aleteó en este tick
+     * @return true si el pájaro sigue vivo
+     */
+    @Override
+    public boolean step(boolean flap) {
+        if (!alive) return false;
+        tick++;
+
+        // --- Pájaro ---
+        birdVy = ReglasPartida.velocidadPajaro(birdVy, flap, ReglasPartida.DT);
+        birdY = ReglasPartida.alturaPajaro(birdY, birdVy, ReglasPartida.DT);
+
+        // --- Obstáculos ---
+        for (int i = 0; i < OBSTACULOS; i++) {
+            recorrido.avanzar(i);
+            if (recorrido.colisiona(i, birdY)) morir(i == ENEMIGO ? RunRecord.CAUSA_ENEMIGO : RunRecord.CAUSA_TUBO);
+            if (alive) recorrido.puntuar(i);
+        }
+
+        // --- Dificultad y límites ---
+        recorrido.aplicarDificultad();
+        byte fuera = ReglasPartida.causaFueraDePantalla(birdY);
+        if (fuera >= 0) morir(fuera);
+        return alive;
+    }
+
+    private void morir(byte causa) {
+        if (!alive) return; // se conserva la primera causa, como GameScreen.setDeathCause
+        alive = false;
+        deathCause = causa;
+    }
+
+    // --- Consultas ---
+
+    @Override public long getSeed() { return seed; }
+    @Override public int getTick() { return tick; }
+    @Override public int getScore() { return recorrido.getScore(); }
+    @Override public boolean isAlive() { return alive; }
+    @Override public byte getDeathCause() { return deathCause; }
+    @Override public float getBirdY() { return birdY; }
+    @Override public float getBirdVy() { return birdVy; }
+
+    /** Obstáculos de la partida (solo lectura: lo usa Autopiloto para planificar). */
+    public Recorrido getRecorrido() { return recorrido; }
+
+    @Override public float getObstacleX(int i) { return recorrido.left(i); }
+    @Override public float getObstacleWidth(int i) { return Recorrido.ancho(i); }
+    @Override public float getObstacleY(int i) { return i == ENEMIGO ? recorrido.enemyHitY() : recorrido.gapY(i); }
+    @Override public float getSpriteX(int i) { return recorrido.getX(i); }
+    @Override public float getObstacleSpeed(int i) { return recorrido.getVelocidad(i); }
+    @Override public float getEnemyTime() { return recorrido.getEnemyTime(); }
+    @Override public int getReciclados() { return recorrido.getReciclados(); }
+
+    /** Hash de los bits de cada float: dos JVM que redondean distinto dan hashes distintos. */
+    @Override
+    public long hashEstado() {
+        long h = SimulacionFija.mezclar(0x6A09E667F3BCC908L, tick);
+        h = SimulacionFija.mezclar(h, alive ? deathCause : deathCause | 0x100);
+        h = SimulacionFija.mezclar(h, Float.floatToRawIntBits(birdY));
+        h = SimulacionFija.mezclar(h, Float.floatToRawIntBits(birdVy));
+        return recorrido.hashEstado(h);
+    }
+}
@@ -0,0 +1,60 @@
+package puppy.code.Simulacion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase TripleBuffer
+ * Pasa el último valor de un hilo productor a un hilo consumidor sin locks ni
+ * asignaciones: hay tres objetos preasignados, uno para escribir, uno para
+ * leer y uno intermedio que se intercambia con un getAndSet atómico.
+ *
+ * El productor escribe siempre en escritura() y llama publicar(); nunca
+ * espera al consumidor. El consumidor recibe en lectura() el publicado más
+ * reciente (los intermedios que no alcanzó a leer se descartan) y lo puede
+ * leer sin copiar hasta su próxima llamada, ya que el productor no lo toca.
+ * Cada lado debe usarse desde un solo hilo.
+ */
+public class TripleBuffer<T> {
+
+    private static final int INDICE = 3;    // bits del índice del intermedio
+    private static final int NUEVO = 4;     // el intermedio tiene un valor sin leer
+
+    private final T[] slots;
+    private final AtomicInteger intermedio = new AtomicInteger(1);
+    private int escritura = 0;  // solo lo usa el productor
+    private int lectura = 2;    // solo lo usa el consumidor
+    private boolean publicado;  // el consumidor ya recibió al menos un valor
+
+    /** @param slots exactamente tres objetos distintos, que se reutilizan para siempre */
+    @SafeVarargs
+    public TripleBuffer(T... slots) {
+        if (slots.length != 3) throw new IllegalArgumentException("Se necesitan exactamente tres objetos");
+        this.slots = slots;
+    }
+
+    // --- Productor ---
+
+    /** Objeto donde escribir el próximo valor. */
+    public T escritura() {
+        return slots[escritura];
+    }
+
+    /** Publica el objeto de escritura() y pasa a escribir en otro. */
+    public void publicar() {
+        escritura = intermedio.getAndSet(escritura | NUEVO) & INDICE;
+    }
+
+    // --- Consumidor ---
+
+    /**
+     * El valor publicado más reciente, o null si todavía no se publicó ninguno.
+     * Sigue siendo válido hasta la próxima llamada.
+     */
+    public T lectura() {
+        if ((intermedio.get() & NUEVO) != 0) {
+            lectura = intermedio.getAndSet(lectura) & INDICE;
+            publicado = true;
+        }
+        return publicado ? slots[lectura] : null;
+    }
+}
@@ -0,0 +1,283 @@
+package puppy.code.Telemetria;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+/**
+ * Clase MonitorTirones
+ * Busca la causa de los tirones (frames que exceden el presupuesto, 1/60 s
+ * por defecto) cruzando dos líneas de tiempo:
+ *  - los frames: GameScreen.render y BaseUIScreen.render marcan inicioFrame()
+ *    y finFrame(), y la duración de cada uno queda en un buffer circular;
+ *  - las pausas de GC: cada GarbageCollectorMXBean avisa al terminar una
+ *    recolección (en el hilo de notificaciones de la JVM) con su inicio y
+ *    duración, que se guardan en otro buffer circular.
+ * Durante el frame, el hilo de render suma además el tiempo que pasó cargando
+ * recursos (RegistroRecursos), cambiando de pantalla (FlappyGameMenu.setScreen)
+ * y llamando al audio (reproducir/detener).
+ *
+ * Los avisos de GC llegan después de la pausa, así que la etiqueta se decide
+ * al armar el reporte: la causa que más tiempo se llevó dentro del frame (GC,
+ * carga de recursos, cambio de pantalla o audio), si explica al menos la
+ * mitad del exceso sobre el presupuesto; si no, "desconocida". reporte()
+ * resume los últimos tirones; FlappyGameMenu lo escribe en el log con F9.
+ *
+ * Las marcas de frame no crean objetos ni sincronizan; solo el buffer de GC,
+ * escrito desde otro hilo, se protege con synchronized.
+ * Singleton (GM2.1), como Asset.
+ */
+public final class MonitorTirones {
+
+    public static final int GC = 0;
+    public static final int CARGA = 1;
+    public static final int TRANSICION = 2;
+    public static final int AUDIO = 3;
+    public static final int DESCONOCIDA = 4;
+    private static final String[] CAUSAS = {"GC", "carga de recursos", "cambio de pantalla", "audio", "desconocida"};
+    private static final int CAUSAS_HILO = 3; // CARGA, TRANSICION y AUDIO se miden en el hilo de render
+
+    private static final int FRAMES = 600;        // 10 s a 60 FPS
+    private static final int TIRONES = 64;
+    private static final int PAUSAS_GC = 64;
+    private static final long TOLERANCIA_GC = 2_000_000L; // hora y duración de la pausa llegan con resolución de 1 ms
+
+    private static final MonitorTirones instancia = new MonitorTirones();
+
+    private long presupuestoNanos = 1_000_000_000L / 60;
+
+    // --- Frames (solo el hilo de render) ---
+    private final long[] duracionFrame = new long[FRAMES];
+    private int frames;                 // frames registrados desde el inicio (el buffer guarda los últimos FRAMES)
+    private long inicioFrame = -1;
+    private final long[] causasFrame = new long[CAUSAS_HILO]; // nanos de cada causa en el frame en curso
+
+    // --- Tirones (solo el hilo de render) ---
+    private final long[] inicioTiron = new long[TIRONES];
+    private final long[] duracionTiron = new long[TIRONES];
+    private final String[] pantallaTiron = new String[TIRONES];
+    private final long[] causasTiron = new long[TIRONES * CAUSAS_HILO];
+    private int tirones;
+
+    // --- Pausas de GC (hilo de notificaciones; protegidas por el monitor de gcInicio) ---
+    private final long[] gcInicio = new long[PAUSAS_GC];   // escala de System.nanoTime()
+    private final long[] gcDuracion = new long[PAUSAS_GC];
+    private final String[] gcNombre = new String[PAUSAS_GC];
+    private int pausasGc;
+
+    private MonitorTirones() {
+        NotificationListener oyente = this::notificacionGc;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter) ((NotificationEmitter) gc).addNotificationListener(oyente, null, null);
+        }
+    }
+
+    public static MonitorTirones getInstancia() {
+        return instancia;
+    }
+
+    // --- Frames ---
+
+    /** Comienzo de un frame (al entrar en render). */
+    public void inicioFrame() {
+        inicioFrame = System.nanoTime();
+        Arrays.fill(causasFrame, 0L);
+    }
+
+    /**
+     * Fin del frame empezado en inicioFrame(); si excede el presupuesto queda
+     * como tirón, con el tiempo que se llevó cada causa medida en este hilo.
+     * @param pantalla nombre de la pantalla que dibujó el frame
+     */
+    public void finFrame(String pantalla) {
+        if (inicioFrame < 0) return;
+        long duracion = System.nanoTime() - inicioFrame;
+        duracionFrame[frames++ % FRAMES] = duracion;
+        if (duracion > presupuestoNanos) {
+            int t = tirones++ % TIRONES;
+            inicioTiron[t] = inicioFrame;
+            duracionTiron[t] = duracion;
+            pantallaTiron[t] = pantalla;
+            System.arraycopy(causasFrame, 0, causasTiron, t * CAUSAS_HILO, CAUSAS_HILO);
+        }
+        inicioFrame = -1;
+    }
+
+    /**
+     * Suma al frame en curso el tiempo desde la marca hasta ahora para una
+     * causa medida en el hilo de render (CARGA, TRANSICION o AUDIO). Fuera de
+     * un frame no cuenta (por ejemplo, la carga de Asset en create()).
+     * @param desdeNanos System.nanoTime() tomado antes de la operación
+     */
+    public void registrar(int causa, long desdeNanos) {
+        if (inicioFrame >= 0) causasFrame[causa - CARGA] += System.nanoTime() - desdeNanos;
+    }
+
+    // --- Audio medido ---
+
+    public void reproducir(Sound sonido) {
+        long t0 = System.nanoTime();
+        sonido.play();
+        registrar(AUDIO, t0);
+    }
+
+    public void reproducir(Music musica) {
+        long t0 = System.nanoTime();
+        musica.play();
+        registrar(AUDIO, t0);
+    }
+
+    public void detener(Music musica) {
+        long t0 = System.nanoTime();
+        musica.stop();
+        registrar(AUDIO, t0);
+    }
+
+    // --- Pausas de GC ---
+
+    /**
+     * Aviso de fin de recolección; los ciclos concurrentes (ZGC, Shenandoah,
+     * G1 Concurrent) no detienen el juego. El aviso llega tarde (el primero,
+     * decenas de ms) y GcInfo cuenta desde un cero propio de la JVM, pero el
+     * timestamp del aviso es la hora del fin de la pausa: con él se ubica la
+     * pausa en la escala de System.nanoTime().
+     */
+    private void notificacionGc(Notification n, Object handback) {
+        long finNanos = System.nanoTime() - (System.currentTimeMillis() - n.getTimeStamp()) * 1_000_000L;
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+        String nombre = info.getGcName();
+        if (nombre.contains("Cycles") || nombre.contains("Concurrent")) return;
+        GcInfo gc = info.getGcInfo();
+        synchronized (gcInicio) {
+            int i = pausasGc++ % PAUSAS_GC;
+            gcDuracion[i] = gc.getDuration() * 1_000_000L;
+            gcInicio[i] = finNanos - gcDuracion[i];
+            gcNombre[i] = nombre + ", " + info.getGcCause();
+        }
+    }
+
+    /**
+     * Tiempo de GC dentro de [desde, hasta], con la tolerancia de la resolución
+     * de GcInfo. Si hay varias pausas, nombre[0] queda con la más larga.
+     */
+    private long gcDentro(long desde, long hasta, String[] nombre) {
+        long total = 0, mayor = 0;
+        synchronized (gcInicio) {
+            for (int k = 0; k < Math.min(pausasGc, PAUSAS_GC); k++) {
+                long duracion = gcDuracion[k];
+                long inicio = gcInicio[k] - TOLERANCIA_GC;
+                long fin = gcInicio[k] + duracion + TOLERANCIA_GC;
+                long solapado = Math.min(fin, hasta) - Math.max(inicio, desde);
+                if (solapado <= 0) continue;
+                solapado = Math.min(solapado, Math.max(duracion, TOLERANCIA_GC));
+                total += solapado;
+                if (solapado > mayor) {
+                    mayor = solapado;
+                    nombre[0] = gcNombre[k];
+                }
+            }
+        }
+        return total;
+    }
+
+    // --- Reporte ---
+
+    /**
+     * Causa probable del tirón guardado en la posición t: la que más tiempo se
+     * llevó, si explica al menos la mitad del exceso sobre el presupuesto.
+     * @param tiempo recibe los nanos atribuidos a la causa elegida
+     */
+    private int causa(int t, long[] tiempo, String[] gc) {
+        long fin = inicioTiron[t] + duracionTiron[t];
+        long mejor = gcDentro(inicioTiron[t], fin, gc);
+        int causa = GC;
+        for (int c = 0; c < CAUSAS_HILO; c++) {
+            long ns = causasTiron[t * CAUSAS_HILO + c];
+            if (ns > mejor) {
+                mejor = ns;
+                causa = CARGA + c;
+            }
+        }
+        tiempo[0] = mejor;
+        long exceso = duracionTiron[t] - presupuestoNanos;
+        return mejor > 0 && mejor * 2 >= exceso ? causa : DESCONOCIDA;
+    }
+
+    /** Causa probable del último tirón registrado (DESCONOCIDA si no hubo ninguno). */
+    public int getCausaUltimoTiron() {
+        if (tirones == 0) return DESCONOCIDA;
+        return causa((tirones - 1) % TIRONES, new long[1], new String[1]);
+    }
+
+    /**
+     * Resumen de los últimos frames (percentiles de duración) y de los últimos
+     * tirones, del más reciente al más antiguo, con su causa probable.
+     */
+    public String reporte() {
+        int n = Math.min(frames, FRAMES);
+        long[] ordenados = Arrays.copyOf(duracionFrame, n);
+        Arrays.sort(ordenados);
+        int enVentana = 0;
+        for (int i = 0; i < n; i++) if (duracionFrame[i] > presupuestoNanos) enVentana++;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Tirones (presupuesto %.1f ms): %d en los últimos %d frames", ms(presupuestoNanos), enVentana, n));
+        if (n > 0) {
+            sb.append(String.format("; frame p50 %.2f ms, p99 %.2f ms, máx %.2f ms",
+                ms(ordenados[n / 2]), ms(ordenados[Math.min(n - 1, n * 99 / 100)]), ms(ordenados[n - 1])));
+        }
+
+        int guardados = Math.min(tirones, TIRONES);
+        int[] porCausa = new int[CAUSAS.length];
+        StringBuilder detalle = new StringBuilder();
+        long ahora = System.nanoTime();
+        long[] tiempo = new long[1];
+        String[] gc = new String[1];
+        for (int k = 1; k <= guardados; k++) {
+            int t = (tirones - k) % TIRONES;
+            gc[0] = null;
+            int c = causa(t, tiempo, gc);
+            porCausa[c]++;
+            detalle.append(String.format("%n  hace %6.1f s  %-16s %7.2f ms  %s", (ahora - inicioTiron[t]) / 1e9,
+                pantallaTiron[t], ms(duracionTiron[t]), CAUSAS[c]));
+            if (c == GC) detalle.append(" (").append(gc[0]).append(String.format(", %.0f ms)", ms(tiempo[0])));
+            else if (c != DESCONOCIDA) detalle.append(String.format(" (%.2f ms)", ms(tiempo[0])));
+        }
+        sb.append(String.format("%nÚltimos %d tirones por causa:", guardados));
+        for (int c = 0; c < CAUSAS.length; c++) sb.append(' ').append(CAUSAS[c]).append(' ').append(porCausa[c]).append(c + 1 < CAUSAS.length ? "," : "");
+        return sb.append(detalle).toString();
+    }
+
+    /** Nombre de la causa para reportes (GC, carga de recursos, ...). */
+    public static String nombreCausa(int causa) {
+        return CAUSAS[causa];
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    // --- Configuración ---
+
+    public long getPresupuestoNanos() { return presupuestoNanos; }
+
+    /** Duración a partir de la cual un frame cuenta como tirón. */
+    public void setPresupuestoNanos(long presupuestoNanos) { this.presupuestoNanos = presupuestoNanos; }
+
+    /** Tirones registrados desde el inicio (el reporte muestra los últimos). */
+    public int getTirones() { return tirones; }
+
+    /** Frames registrados desde el inicio. */
+    public int getFrames() { return frames; }
+}
@@ -0,0 +1,201 @@
+package puppy.code.Telemetria;
+
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Clase TelemetryRecorder
+ * Registro de telemetría de bajo costo alimentado por el ciclo de juego.
+ *
+ * En el hilo del juego solo se acumulan contadores y un histograma de tiempos
+ * de frame (sin crear objetos). Una vez por segundo y al terminar cada partida
+ * se codifica un frame binario con prefijo de largo en un buffer preasignado;
+ * los buffers llenos pasan a un hilo de fondo (TelemetryWriter) que los
+ * comprime en archivos rotativos. Si no hay buffer libre el dato se descarta.
+ *
+ * Formato de cada frame: int largo (del resto) | byte tipo | datos.
+ *   CABECERA: short versión
+ *   SEGUNDO:  long timestamp, int score, float velocidad, short frames,
+ *             float p50/p95/p99/max (ms), int GCs, int ms de GC, short obstáculos reciclados
+ *   PARTIDA:  long timestamp, long seed, int score, int duración ms, float x/y de muerte, byte causa
+ */
+public class TelemetryRecorder {
+
+    public static final byte TIPO_CABECERA = 0;
+    public static final byte TIPO_SEGUNDO = 1;
+    public static final byte TIPO_PARTIDA = 2;
+    public static final short VERSION = 1;
+
+    // --- Histograma de tiempos de frame: casilleros de 0.25 ms hasta 64 ms ---
+    private static final float BUCKET_MS = 0.25f;
+    private static final int BUCKETS = 256;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int POOL_SIZE = 4;
+    private static final int MAX_FRAME_BYTES = 64; // espacio mínimo antes de entregar el buffer
+
+    // --- Estado del segundo actual (solo hilo del juego) ---
+    private final int[] frameHistogram = new int[BUCKETS + 1];
+    private float secondTimer;
+    private int frames;
+    private float maxFrameMs;
+    private int recycled;
+    private long lastGcCount, lastGcTimeMs;
+
+    // --- Buffers preasignados compartidos con el escritor ---
+    private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(POOL_SIZE);
+    private ByteBuffer current;
+    private int dropped;
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final TelemetryWriter writer;
+    private final Thread writerThread;
+
+    /**
+     * Crea el recorder e inicia el hilo escritor.
+     * @param directory carpeta de los archivos de telemetría
+     * @param maxFileBytes bytes (sin comprimir) por archivo antes de rotar
+     * @param maxFiles cantidad de archivos que se conservan
+     */
+    public TelemetryRecorder(File directory, long maxFileBytes, int maxFiles) {
+        for (int i = 0; i < POOL_SIZE; i++) free.offer(ByteBuffer.allocate(BUFFER_SIZE));
+
+        ByteBuffer header = ByteBuffer.allocate(7);
+        header.putInt(3).put(TIPO_CABECERA).putShort(VERSION);
+        writer = new TelemetryWriter(directory, maxFileBytes, maxFiles, full, free, header.array());
+        writerThread = new Thread(writer, "telemetry-writer");
+        writerThread.setDaemon(true);
+        writerThread.setPriority(Thread.MIN_PRIORITY);
+        writerThread.start();
+
+        lastGcCount = gcCount();
+        lastGcTimeMs = gcTimeMs();
+    }
+
+    // --- Entradas desde el ciclo de juego ---
+
+    /**
+     * Registra un frame de juego (llamado desde GameScreen.update).
+     * @param dt duración del frame en segundos
+     * @param score puntaje actual
+     * @param pipeSpeed velocidad actual de los tubos
+     */
+    public void frame(float dt, int score, float pipeSpeed) {
+        float ms = dt * 1000f;
+        frameHistogram[Math.min((int) (ms / BUCKET_MS), BUCKETS)]++;
+        if (ms > maxFrameMs) maxFrameMs = ms;
+        frames++;
+
+        secondTimer += dt;
+        if (secondTimer >= 1f) {
+            secondTimer -= 1f;
+            writeSecond(score, pipeSpeed);
+        }
+    }
+
+    /** Un obstáculo salió de pantalla y fue reposicionado (Obstaculo.actualizarColision). */
+    public void obstaculoReciclado() {
+        recycled++;
+    }
+
+    /** Registra el fin de una partida y entrega los datos pendientes al escritor. */
+    public void partida(long seed, int score, int durationMs, float deathX, float deathY, byte cause) {
+        ByteBuffer b = reserve();
+        if (b != null) {
+            b.putInt(34).put(TIPO_PARTIDA)
+                .putLong(System.currentTimeMillis()).putLong(seed)
+                .putInt(score).putInt(durationMs)
+                .putFloat(deathX).putFloat(deathY).put(cause);
+        }
+        handOff();
+        resetSecond();
+        secondTimer = 0f;
+    }
+
+    /** Cantidad de frames descartados por falta de buffers libres. */
+    public int getDropped() {
+        return dropped;
+    }
+
+    /** Entrega lo pendiente y detiene el hilo escritor (espera como máximo un segundo). */
+    public void dispose() {
+        handOff();
+        writer.stop();
+        try {
+            writerThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Codificación ---
+
+    private void writeSecond(int score, float pipeSpeed) {
+        long gcCount = gcCount(), gcTime = gcTimeMs();
+        ByteBuffer b = reserve();
+        if (b != null) {
+            b.putInt(45).put(TIPO_SEGUNDO)
+                .putLong(System.currentTimeMillis())
+                .putInt(score).putFloat(pipeSpeed)
+                .putShort((short) Math.min(frames, Short.MAX_VALUE))
+                .putFloat(percentile(0.50f)).putFloat(percentile(0.95f)).putFloat(percentile(0.99f))
+                .putFloat(maxFrameMs)
+                .putInt((int) (gcCount - lastGcCount)).putInt((int) (gcTime - lastGcTimeMs))
+                .putShort((short) Math.min(recycled, Short.MAX_VALUE));
+        }
+        lastGcCount = gcCount;
+        lastGcTimeMs = gcTime;
+        resetSecond();
+    }
+
+    /** Percentil del tiempo de frame (ms, límite superior del casillero) del segundo actual. */
+    private float percentile(float p) {
+        int target = Math.max(1, (int) Math.ceil(p * frames));
+        int cumulative = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            cumulative += frameHistogram[i];
+            if (cumulative >= target) return Math.min((i + 1) * BUCKET_MS, maxFrameMs);
+        }
+        return maxFrameMs;
+    }
+
+    private void resetSecond() {
+        for (int i = 0; i <= BUCKETS; i++) frameHistogram[i] = 0;
+        frames = 0;
+        maxFrameMs = 0f;
+        recycled = 0;
+    }
+
+    /** Buffer con espacio para un frame más, o null (dato descartado) si no hay buffers libres. */
+    private ByteBuffer reserve() {
+        if (current != null && current.remaining() < MAX_FRAME_BYTES) handOff();
+        if (current == null) current = free.poll();
+        if (current == null) dropped++;
+        return current;
+    }
+
+    /** Pasa el buffer actual al hilo escritor (la cola nunca se llena: tiene el tamaño del pool). */
+    private void handOff() {
+        if (current == null || current.position() == 0) return;
+        full.offer(current);
+        current = null;
+    }
+
+    private long gcCount() {
+        long total = 0;
+        for (int i = 0; i < collectors.size(); i++) total += Math.max(0, collectors.get(i).getCollectionCount());
+        return total;
+    }
+
+    private long gcTimeMs() {
+        long total = 0;
+        for (int i = 0; i < collectors.size(); i++) total += Math.max(0, collectors.get(i).getCollectionTime());
+        return total;
+    }
+}
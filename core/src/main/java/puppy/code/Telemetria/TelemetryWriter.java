@@ -0,0 +1,117 @@
+package puppy.code.Telemetria;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Clase TelemetryWriter
+ * Hilo de fondo que toma los buffers llenos del TelemetryRecorder y los escribe
+ * (ya codificados como frames con prefijo de largo) en archivos GZIP.
+ * Rota de archivo al superar maxFileBytes sin comprimir y conserva solo los
+ * últimos maxFiles archivos. El hilo del juego nunca espera por este hilo.
+ *
+ * El GZIP se abre con syncFlush y se vacía después de cada buffer: cada
+ * buffer termina en un bloque deflate completo en disco, así un cierre
+ * abrupto del juego solo pierde el buffer que se estaba escribiendo y el
+ * archivo truncado se puede leer hasta el último buffer vaciado.
+ */
+class TelemetryWriter implements Runnable {
+
+    private static final String PREFIX = "telemetry-";
+    private static final String SUFFIX = ".bin.gz";
+
+    private final File directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final BlockingQueue<ByteBuffer> full;  // buffers listos para escribir
+    private final BlockingQueue<ByteBuffer> free;  // buffers devueltos al recorder
+    private final byte[] header;                   // frame de cabecera al inicio de cada archivo
+
+    private volatile boolean running = true;
+    private OutputStream out;
+    private long fileBytes;
+    private long sequence;
+
+    TelemetryWriter(File directory, long maxFileBytes, int maxFiles,
+                    BlockingQueue<ByteBuffer> full, BlockingQueue<ByteBuffer> free, byte[] header) {
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.full = full;
+        this.free = free;
+        this.header = header;
+    }
+
+    /** Pide terminar: el hilo escribe lo que quede pendiente y cierra el archivo. */
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running || !full.isEmpty()) {
+                ByteBuffer buffer = full.poll(250, TimeUnit.MILLISECONDS);
+                if (buffer == null) continue;
+                try {
+                    write(buffer);
+                } finally {
+                    buffer.clear();
+                    free.offer(buffer);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Sin disco disponible la telemetría se desactiva; el juego no se ve afectado
+            running = false;
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        int length = buffer.position();
+        if (length == 0) return;
+        if (out == null || fileBytes + length > maxFileBytes) rotate();
+        out.write(buffer.array(), 0, length);
+        out.flush(); // syncFlush: el bloque comprimido llega al archivo ahora, no al rotar
+        fileBytes += length;
+    }
+
+    /** Cierra el archivo actual, abre uno nuevo y borra los más antiguos. */
+    private void rotate() throws IOException {
+        closeQuietly();
+        directory.mkdirs();
+        File file = new File(directory, PREFIX + System.currentTimeMillis() + "-" + (sequence++) + SUFFIX);
+        out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file)), 8192, true);
+        out.write(header);
+        fileBytes = header.length;
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (files == null || files.length <= maxFiles) return;
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (int i = 0; i < files.length - maxFiles; i++) files[i].delete();
+    }
+
+    private void closeQuietly() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // sin el trailer GZIP: lo vaciado hasta el último buffer sigue siendo legible
+        }
+        out = null;
+    }
+}
@@ -0,0 +1,70 @@
+package puppy.code.Telemetria;
+
+/**
+ * Clase UtilizationMeter
+ * Fracción del tiempo que un hilo pasa trabajando: el hilo marca inicio() y
+ * fin() alrededor de cada unidad de trabajo (un frame, una tanda de ticks) y
+ * al cerrarse cada ventana se publica la utilización y las unidades por
+ * segundo. Lo que queda fuera de inicio/fin (esperar el vsync, dormir hasta
+ * el próximo tick) cuenta como tiempo libre.
+ *
+ * Las marcas solo las hace el hilo medido (sin sincronización ni objetos);
+ * los resultados publicados se pueden leer desde cualquier hilo.
+ */
+public class UtilizationMeter {
+
+    private final long ventanaNanos;
+
+    // --- Ventana actual (solo el hilo medido) ---
+    private long inicioVentana = -1;
+    private long inicio;
+    private long ocupado;
+    private int unidades;
+
+    // --- Última ventana cerrada ---
+    private volatile float utilizacion;
+    private volatile float unidadesPorSegundo;
+
+    /** @param ventanaNanos duración de cada ventana de medición */
+    public UtilizationMeter(long ventanaNanos) {
+        this.ventanaNanos = ventanaNanos;
+    }
+
+    /** Marca el comienzo de una unidad de trabajo. */
+    public void inicio() {
+        inicio = System.nanoTime();
+        if (inicioVentana < 0) inicioVentana = inicio;
+    }
+
+    /**
+     * Marca el fin del trabajo empezado en inicio().
+     * @param cantidad unidades completadas (frames, ticks)
+     * @return true si con esta marca se cerró una ventana y hay resultados nuevos
+     */
+    public boolean fin(int cantidad) {
+        long ahora = System.nanoTime();
+        ocupado += ahora - inicio;
+        unidades += cantidad;
+        long transcurrido = ahora - inicioVentana;
+        if (transcurrido < ventanaNanos) return false;
+        utilizacion = ocupado / (float) transcurrido;
+        unidadesPorSegundo = unidades * 1e9f / transcurrido;
+        inicioVentana = ahora;
+        ocupado = 0;
+        unidades = 0;
+        return true;
+    }
+
+    /** Descarta la ventana en curso (por ejemplo, después de una pausa que no debe contar como tiempo libre). */
+    public void reiniciar() {
+        inicioVentana = -1;
+        ocupado = 0;
+        unidades = 0;
+    }
+
+    /** Fracción de 0 a 1 de la última ventana cerrada. */
+    public float getUtilizacion() { return utilizacion; }
+
+    /** Unidades por segundo de la última ventana cerrada. */
+    public float getUnidadesPorSegundo() { return unidadesPorSegundo; }
+}
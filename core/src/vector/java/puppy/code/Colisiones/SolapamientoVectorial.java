@@ -0,0 +1,49 @@
+package puppy.code.Colisiones;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Clase SolapamientoVectorial
+ * Implementación de SolapamientoAABB con jdk.incubator.vector: compara
+ * SPECIES_PREFERRED.length() rectángulos por instrucción (8 con AVX2) y
+ * termina el resto con el bucle escalar. Solo la crea SolapamientoAABB.get()
+ * por reflexión, después de comprobar que el módulo está cargado.
+ */
+final class SolapamientoVectorial implements SolapamientoAABB {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public int overlaps(float qx, float qy, float qw, float qh,
+                        float[] x, float[] y, float[] w, float[] h, int count, boolean[] hits) {
+        float qRight = qx + qw;
+        float qTop = qy + qh;
+        int total = 0;
+        int i = 0;
+        int bound = SPECIES.loopBound(count);
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector vx = FloatVector.fromArray(SPECIES, x, i);
+            FloatVector vy = FloatVector.fromArray(SPECIES, y, i);
+            VectorMask<Float> hit = vx.lt(qRight)
+                .and(vx.add(FloatVector.fromArray(SPECIES, w, i)).compare(VectorOperators.GT, qx))
+                .and(vy.lt(qTop))
+                .and(vy.add(FloatVector.fromArray(SPECIES, h, i)).compare(VectorOperators.GT, qy));
+            hit.intoArray(hits, i);
+            total += hit.trueCount();
+        }
+        for (; i < count; i++) {
+            boolean hit = x[i] < qRight && x[i] + w[i] > qx && y[i] < qTop && y[i] + h[i] > qy;
+            hits[i] = hit;
+            if (hit) total++;
+        }
+        return total;
+    }
+
+    @Override
+    public String nombre() {
+        return "vectorial (" + SPECIES.length() + " floats)";
+    }
+}
@@ -0,0 +1,80 @@
+package puppy.code.headless;
+
+import java.util.Random;
+
+import puppy.code.DynamicDifficulty;
+import puppy.code.Simulacion.Autopiloto;
+import puppy.code.Simulacion.SimulacionPartida;
+
+/**
+ * Clase AutopilotBenchmark
+ * Juega partidas de SimulacionPartida con Autopiloto (un tick = una decisión)
+ * con distintos presupuestos por decisión y reporta, para cada uno, puntaje,
+ * partidas que llegan al límite de ticks, nodos por decisión, aciertos de la
+ * tabla de transposición y tiempo de planificación.
+ *
+ * Argumentos: --runs N (partidas por presupuesto, 10 por defecto),
+ * --ticks N (límite por partida, 3600 = 1 minuto por defecto),
+ * --horizon N (ticks planificados, 120 por defecto),
+ * --budgets a,b,c (microsegundos por decisión, "100,1000,5000" por defecto).
+ *
+ * Algunos recorridos no tienen salida (dos huecos seguidos demasiado
+ * separados en altura para la velocidad de los tubos): "sin salida" cuenta
+ * las decisiones en que la búsqueda completa lo confirmó.
+ */
+public class AutopilotBenchmark {
+
+    private static final float MARGEN = 1f;
+
+    public static void main(String[] args) {
+        int runs = 10;
+        int maxTicks = 3600;
+        int horizonte = 120;
+        String budgets = "100,1000,5000";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--runs": runs = Integer.parseInt(args[i + 1]); break;
+                case "--ticks": maxTicks = Integer.parseInt(args[i + 1]); break;
+                case "--horizon": horizonte = Integer.parseInt(args[i + 1]); break;
+                case "--budgets": budgets = args[i + 1]; break;
+                default: throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+
+        long[] seeds = new long[runs];
+        Random random = new Random(42);
+        for (int r = 0; r < runs; r++) seeds[r] = random.nextLong();
+
+        SimulacionPartida sim = new SimulacionPartida(new DynamicDifficulty());
+        jugar(sim, new Autopiloto(horizonte, 1_000_000L, MARGEN), seeds[0], maxTicks); // calentamiento del JIT
+
+        System.out.printf("%d partidas de hasta %d ticks, horizonte %d%n", runs, maxTicks, horizonte);
+        for (String budget : budgets.split(",")) {
+            long micros = Long.parseLong(budget.trim());
+            Autopiloto piloto = new Autopiloto(horizonte, micros * 1000L, MARGEN);
+            long scores = 0;
+            int completas = 0;
+            for (long seed : seeds) {
+                jugar(sim, piloto, seed, maxTicks);
+                scores += sim.getScore();
+                if (sim.isAlive()) completas++;
+            }
+            long decisiones = piloto.getDecisiones();
+            long nodos = piloto.getNodosTotales();
+            System.out.printf("presupuesto %5d µs: puntaje prom %6.1f  vivas al límite %d/%d  nodos/decisión %7.1f"
+                    + " (máx %d)  tabla %4.1f%%  %6.1f µs/decisión  agotados %d  sin salida %d%n",
+                micros, scores / (double) runs, completas, runs, nodos / (double) decisiones, piloto.getMaxNodos(),
+                100.0 * piloto.getTtHits() / Math.max(1, nodos), piloto.getNanosTotales() / 1e3 / decisiones,
+                piloto.getAgotados(), piloto.getSinSalida());
+        }
+    }
+
+    /** Una partida completa (o hasta maxTicks) decidiendo cada tick con el autopiloto. */
+    private static void jugar(SimulacionPartida sim, Autopiloto piloto, long seed, int maxTicks) {
+        sim.reset(seed);
+        while (sim.isAlive() && sim.getTick() < maxTicks) {
+            piloto.observar(sim.getRecorrido());
+            sim.step(piloto.decidir(sim.getBirdY(), sim.getBirdVy()));
+        }
+    }
+}
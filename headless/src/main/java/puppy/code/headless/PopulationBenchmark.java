@@ -0,0 +1,247 @@
+package puppy.code.headless;
+
+import java.lang.reflect.Proxy;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.Rectangle;
+
+import puppy.code.Character;
+import puppy.code.Colisiones.SolapamientoAABB;
+import puppy.code.DynamicDifficulty;
+import puppy.code.Historial.RunRecord;
+import puppy.code.Simulacion.PoblacionPajaros;
+import puppy.code.Simulacion.Recorrido;
+import puppy.code.Simulacion.ReglasPartida;
+import puppy.code.Simulacion.SimulacionPartida;
+
+/**
+ * Clase PopulationBenchmark
+ * Compara pájaros-tick por segundo de PoblacionPajaros (arreglos primitivos,
+ * colisión por obstáculo) contra el camino por objetos: un Character por
+ * pájaro con su Rectangle, comparado contra las hitboxes del mismo Recorrido
+ * como hace Obstaculo.actualizarColision.
+ *
+ * Ambos caminos usan el mismo piloto (aletear bajo el hueco del próximo tubo,
+ * con un desvío distinto por pájaro para que no vuelen todos igual) y la misma
+ * semilla; al final se comprueba que cada pájaro muera en el mismo tick, con
+ * el mismo puntaje y la misma causa (falla con código 1 si no).
+ *
+ * Argumentos: --birds N (1000 por defecto), --seconds N (por camino, 3 por defecto).
+ */
+public class PopulationBenchmark {
+
+    private static final float TARGET_BELOW_GAP = 20f;
+    private static final long SEED = 0x5EEDL;
+    private static final int MAX_TICKS = 60 * 60 * 10;
+
+    /** Sonido de aleteo mudo: Character.flap lo reproduce siempre. */
+    private static final Sound MUTE = (Sound) Proxy.newProxyInstance(Sound.class.getClassLoader(),
+        new Class<?>[] {Sound.class}, (proxy, method, args) -> method.getReturnType() == long.class ? 0L : null);
+
+    public static void main(String[] args) {
+        int birds = 1000;
+        long seconds = 3;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--birds": birds = Integer.parseInt(args[i + 1]); break;
+                case "--seconds": seconds = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+        long budget = seconds * 1_000_000_000L;
+
+        PoblacionPajaros poblacion = new PoblacionPajaros(new DynamicDifficulty(), birds);
+        PorObjetos objetos = new PorObjetos(birds);
+
+        // Calentamiento del JIT y comprobación de que ambos caminos dan lo mismo
+        correr(poblacion);
+        objetos.correr();
+        int mismatches = 0;
+        for (int b = 0; b < birds; b++) {
+            if (poblacion.getDeathTick(b) != objetos.deathTick[b]
+                    || poblacion.getScore(b) != objetos.score[b]
+                    || poblacion.getDeathCause(b) != objetos.deathCause[b]) {
+                mismatches++;
+            }
+        }
+        long birdTicks = 0;
+        int maxTick = 0;
+        for (int b = 0; b < birds; b++) {
+            birdTicks += poblacion.getDeathTick(b);
+            maxTick = Math.max(maxTick, poblacion.getDeathTick(b));
+        }
+        System.out.printf("%d pájaros, %.0f ticks de vida promedio, el último muere en el tick %d, kernel %s%n",
+            birds, birdTicks / (double) birds, maxTick, SolapamientoAABB.get().nombre());
+
+        double porObjetos = medir(budget, () -> objetos.correr());
+        double soa = medir(budget, () -> correr(poblacion));
+        System.out.printf("Character por objeto: %8.2f M pájaros-tick/s%n", porObjetos / 1e6);
+        System.out.printf("PoblacionPajaros:     %8.2f M pájaros-tick/s  (x%.1f)%n", soa / 1e6, soa / porObjetos);
+        System.out.printf("resultados distintos: %d%n", mismatches);
+        if (mismatches > 0) System.exit(1);
+    }
+
+    /** Repite la corrida hasta agotar el tiempo; devuelve pájaros-tick por segundo. */
+    private static double medir(long budget, Corrida corrida) {
+        long birdTicks = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            birdTicks += corrida.correr();
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < budget);
+        return birdTicks / (elapsed / 1e9);
+    }
+
+    private interface Corrida {
+        /** Juega una población completa; devuelve los pájaros-tick simulados. */
+        long correr();
+    }
+
+    /** Camino SoA: un step por tick para todos los vivos. */
+    private static long correr(PoblacionPajaros poblacion) {
+        int birds = poblacion.getCapacity();
+        boolean[] flap = new boolean[birds];
+        poblacion.reset(SEED, birds);
+        long birdTicks = 0;
+        while (poblacion.getCount() > 0 && poblacion.getTick() < MAX_TICKS) {
+            int n = poblacion.getCount();
+            float target = objetivo(poblacion.getRecorrido());
+            for (int i = 0; i < n; i++) {
+                flap[i] = quiereAletear(poblacion.getId(i), poblacion.getY(i), poblacion.getVy(i), target);
+            }
+            birdTicks += n;
+            poblacion.step(flap);
+        }
+        return birdTicks;
+    }
+
+    /**
+     * Camino por objetos: cada pájaro es un Character y cada obstáculo expone
+     * sus Rectangle, igual que Tubo / Enemigo en GameScreen. Los muertos se
+     * sacan del arreglo, así la comparación mide el layout y no la compactación.
+     */
+    private static final class PorObjetos {
+        final int birds;
+        final Recorrido recorrido = new Recorrido(new DynamicDifficulty());
+        final Character[] vivos;
+        final int[] ids;
+        final Rectangle[][] hitboxes = new Rectangle[SimulacionPartida.OBSTACULOS][];
+        final int[] deathTick;
+        final int[] score;
+        final byte[] deathCause;
+
+        PorObjetos(int birds) {
+            this.birds = birds;
+            vivos = new Character[birds];
+            ids = new int[birds];
+            deathTick = new int[birds];
+            score = new int[birds];
+            deathCause = new byte[birds];
+            for (int o = 0; o < SimulacionPartida.OBSTACULOS; o++) {
+                hitboxes[o] = o == SimulacionPartida.ENEMIGO
+                    ? new Rectangle[] {new Rectangle()}
+                    : new Rectangle[] {new Rectangle(), new Rectangle()};
+            }
+        }
+
+        long correr() {
+            recorrido.reset(SEED);
+            Texture[] frames = new Texture[1]; // nunca se dibuja
+            for (int b = 0; b < birds; b++) {
+                vivos[b] = new Character(ReglasPartida.BIRD_X, ReglasPartida.BIRD_START_Y, frames, MUTE);
+                ids[b] = b;
+                deathTick[b] = 0;
+                score[b] = 0;
+                deathCause[b] = -1;
+            }
+            int count = birds;
+            long birdTicks = 0;
+            for (int tick = 1; count > 0 && tick <= MAX_TICKS; tick++) {
+                birdTicks += count;
+                float target = objetivo(recorrido);
+                for (int i = 0; i < count; i++) {
+                    Character bird = vivos[i];
+                    if (quiereAletear(ids[i], bird.pos.y, bird.vel.y, target)) bird.flap();
+                    bird.presionAtmosferica(ReglasPartida.DT);
+                }
+
+                for (int o = 0; o < SimulacionPartida.OBSTACULOS; o++) {
+                    recorrido.avanzar(o);
+                    actualizarHitboxes(o);
+                    boolean quedanVivos = false;
+                    for (int i = 0; i < count; i++) {
+                        if (deathTick[ids[i]] == tick) continue;
+                        for (Rectangle r : hitboxes[o]) {
+                            if (vivos[i].getBounds().overlaps(r)) {
+                                morir(ids[i], tick, o == SimulacionPartida.ENEMIGO
+                                    ? RunRecord.CAUSA_ENEMIGO : RunRecord.CAUSA_TUBO);
+                                break;
+                            }
+                        }
+                        if (deathTick[ids[i]] != tick) quedanVivos = true;
+                    }
+                    if (quedanVivos) recorrido.puntuar(o);
+                }
+
+                recorrido.aplicarDificultad();
+                int w = 0;
+                for (int i = 0; i < count; i++) {
+                    Character bird = vivos[i];
+                    if (deathTick[ids[i]] != tick) {
+                        if (bird.pos.y <= ReglasPartida.GROUND_LEVEL) {
+                            morir(ids[i], tick, RunRecord.CAUSA_SUELO);
+                        } else if (bird.pos.y + ReglasPartida.CEILING_MARGIN >= ReglasPartida.WORLD_HEIGHT) {
+                            morir(ids[i], tick, RunRecord.CAUSA_TECHO);
+                        }
+                    }
+                    if (deathTick[ids[i]] == tick) continue;
+                    vivos[w] = bird;
+                    ids[w] = ids[i];
+                    w++;
+                }
+                count = w;
+            }
+            return birdTicks;
+        }
+
+        private void morir(int bird, int tick, byte causa) {
+            deathTick[bird] = tick;
+            score[bird] = recorrido.getScore();
+            deathCause[bird] = causa;
+        }
+
+        /** Mismos rectángulos que Tubo.updateRects y la hitbox reducida de Enemigo. */
+        private void actualizarHitboxes(int o) {
+            Rectangle[] r = hitboxes[o];
+            float x = recorrido.left(o);
+            if (o == SimulacionPartida.ENEMIGO) {
+                r[0].set(x, recorrido.enemyHitY(), ReglasPartida.ENEMY_HIT_W, ReglasPartida.ENEMY_HIT_H);
+                return;
+            }
+            r[0].set(x, 0f, ReglasPartida.PIPE_WIDTH, recorrido.bottomHeight(o));
+            r[1].set(x, recorrido.topY(o), ReglasPartida.PIPE_WIDTH, recorrido.topHeight(o));
+        }
+    }
+
+    /** Altura objetivo: un poco bajo el hueco del próximo tubo (mismo criterio que el arnés headless). */
+    private static float objetivo(Recorrido recorrido) {
+        float target = ReglasPartida.WORLD_HEIGHT / 2f;
+        float bestX = Float.MAX_VALUE;
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            if (i == SimulacionPartida.ENEMIGO) continue;
+            float x = recorrido.left(i);
+            if (x + ReglasPartida.PIPE_WIDTH > ReglasPartida.BIRD_X && x < bestX) {
+                bestX = x;
+                target = recorrido.gapY(i) - TARGET_BELOW_GAP;
+            }
+        }
+        return target;
+    }
+
+    /** Desvío por pájaro de -30 a +30 px respecto del objetivo común. */
+    private static boolean quiereAletear(int bird, float y, float vy, float target) {
+        return vy <= 0 && y < target + (bird * 37 % 61) - 30;
+    }
+}
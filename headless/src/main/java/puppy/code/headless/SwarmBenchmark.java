@@ -0,0 +1,153 @@
+package puppy.code.headless;
+
+import java.util.Random;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.Rectangle;
+
+import puppy.code.FlappyGameMenu;
+import puppy.code.Colisiones.Enjambre;
+import puppy.code.Colisiones.RejillaEspacial;
+import puppy.code.Screens.GameScreen;
+import puppy.code.Simulacion.ReglasPartida;
+
+/**
+ * Clase SwarmBenchmark
+ * Cuántos agentes de Enjambre entran en un frame de 16 ms: mide el tick
+ * completo (reglas de bandada con RejillaEspacial, avance, hitboxes y
+ * reconstrucción de la rejilla) más una consulta de colisión con el pájaro,
+ * duplicando la cantidad de agentes hasta pasarse del presupuesto y después
+ * buscando el máximo por bisección.
+ *
+ * Como referencia mide también la misma búsqueda de vecinos con un recorrido
+ * O(n²) de todos los pares, y comprueba que la rejilla encuentre exactamente
+ * los mismos vecinos que ese recorrido (falla con código 1 si no).
+ *
+ * Argumentos: --budget-ms N (16 por defecto), --max N (agentes, 65536 por defecto).
+ */
+public class SwarmBenchmark {
+
+    private static final float RADIO = 24f;
+    private static final long MEDICION_NANOS = 500_000_000L;
+
+    public static void main(String[] args) {
+        double budgetMs = 16;
+        int max = 65536;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--budget-ms": budgetMs = Double.parseDouble(args[i + 1]); break;
+                case "--max": max = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+
+        int errores = comprobarRejilla();
+        System.out.printf("vecinos distintos entre rejilla y O(n²): %d%n", errores);
+
+        System.out.printf("%8s %14s %14s%n", "agentes", "tick rejilla", "vecinos O(n²)");
+        int dentro = 0, fuera = -1;
+        for (int n = 100; n <= max; n *= 2) {
+            double ms = msPorTick(n);
+            String bruta = n <= 8192 ? String.format("%11.3f ms", msFuerzaBruta(n)) : "";
+            System.out.printf("%8d %11.3f ms %14s%n", n, ms, bruta);
+            if (ms > budgetMs) {
+                fuera = n;
+                break;
+            }
+            dentro = n;
+        }
+        // Bisección entre el último tamaño que entró y el primero que no
+        if (fuera > 0) {
+            while (fuera - dentro > Math.max(16, dentro / 50)) {
+                int medio = (dentro + fuera) >>> 1;
+                if (msPorTick(medio) <= budgetMs) dentro = medio;
+                else fuera = medio;
+            }
+        }
+        System.out.printf("agentes por frame con %.1f ms: %s%d%n", budgetMs, fuera < 0 ? ">= " : "~", dentro);
+        if (errores > 0) System.exit(1);
+    }
+
+    /** Promedio en ms de un tick de bandada más la consulta de colisión con el pájaro. */
+    private static double msPorTick(int agentes) {
+        Enjambre enjambre = new Enjambre(new Texture[0], agentes, 0f, GameScreen.worldHeight,
+            FlappyGameMenu.GROUND_LEVEL, 110f);
+        Rectangle pajaro = new Rectangle(ReglasPartida.BIRD_X, 300f, 34f, 24f);
+        int colisiones = 0;
+        for (int t = 0; t < 120; t++) { // calentamiento y bandada ya formada
+            enjambre.update(ReglasPartida.DT);
+        }
+        long ticks = 0;
+        long inicio = System.nanoTime();
+        long transcurrido;
+        do {
+            enjambre.update(ReglasPartida.DT);
+            pajaro.x = enjambre.getX() + (ticks % 64) * enjambre.getAncho() / 64f; // recorre la bandada
+            if (enjambre.colisiona(pajaro)) colisiones++;
+            ticks++;
+            transcurrido = System.nanoTime() - inicio;
+        } while (transcurrido < MEDICION_NANOS);
+        if (colisiones < 0) System.out.println(); // mantiene vivo el resultado
+        return transcurrido / 1e6 / ticks;
+    }
+
+    /** Promedio en ms de contar los vecinos de todos los agentes recorriendo todos los pares. */
+    private static double msFuerzaBruta(int n) {
+        float[] x = new float[n], y = new float[n];
+        repartir(new Random(n), x, y);
+        long pasadas = 0;
+        long suma = 0;
+        long inicio = System.nanoTime();
+        long transcurrido;
+        do {
+            for (int i = 0; i < n; i++) suma += vecinosFuerzaBruta(x, y, n, i);
+            pasadas++;
+            transcurrido = System.nanoTime() - inicio;
+        } while (transcurrido < MEDICION_NANOS / 2);
+        if (suma < 0) System.out.println();
+        return transcurrido / 1e6 / pasadas;
+    }
+
+    /** Compara, para cada punto, los vecinos que da la rejilla contra el recorrido de todos los pares. */
+    private static int comprobarRejilla() {
+        int errores = 0;
+        int[] celdas = new int[16];
+        for (int n : new int[] {1, 50, 1000, 5000}) {
+            float[] x = new float[n], y = new float[n];
+            repartir(new Random(n), x, y);
+            RejillaEspacial rejilla = new RejillaEspacial(n, RADIO);
+            rejilla.construir(x, y, n);
+            for (int i = 0; i < n; i++) {
+                int vecinos = 0;
+                int nc = rejilla.celdasVecinas(x[i], y[i], celdas);
+                for (int c = 0; c < nc; c++) {
+                    for (int k = rejilla.inicio(celdas[c]); k < rejilla.fin(celdas[c]); k++) {
+                        int j = rejilla.agente(k);
+                        float dx = x[j] - x[i], dy = y[j] - y[i];
+                        if (j != i && dx * dx + dy * dy < RADIO * RADIO) vecinos++;
+                    }
+                }
+                if (vecinos != vecinosFuerzaBruta(x, y, n, i)) errores++;
+            }
+        }
+        return errores;
+    }
+
+    private static int vecinosFuerzaBruta(float[] x, float[] y, int n, int i) {
+        int vecinos = 0;
+        for (int j = 0; j < n; j++) {
+            float dx = x[j] - x[i], dy = y[j] - y[i];
+            if (j != i && dx * dx + dy * dy < RADIO * RADIO) vecinos++;
+        }
+        return vecinos;
+    }
+
+    /** Puntos con la densidad de una bandada recién formada (y coordenadas negativas, como al salir de pantalla). */
+    private static void repartir(Random random, float[] x, float[] y) {
+        float lado = (float) Math.sqrt(x.length) * 12f;
+        for (int i = 0; i < x.length; i++) {
+            x[i] = -lado / 2f + random.nextFloat() * lado;
+            y[i] = 136f + random.nextFloat() * Math.min(lado, 400f);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package puppy.code.headless;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import puppy.code.FlappyGameMenu;
+import puppy.code.Dibujo.ResolucionBaja;
+import puppy.code.Screens.GameOverScreen;
+import puppy.code.Screens.GameScreen;
+import puppy.code.Screens.MainMenuScreen;
+import puppy.code.Screens.PauseScreen;
+
+/**
+ * Clase AllocationTest
+ * Corre N frames de cada pantalla en el backend headless y mide los bytes
+ * asignados por el hilo de render con com.sun.management.ThreadMXBean.
+ * Falla si la asignación en régimen estable supera el presupuesto por frame
+ * de la pantalla, y en ese caso repite el escenario bajo JFR para listar los
+ * sitios del juego que más memoria asignan.
+ *
+ * La partida corre con telemetría real (en una carpeta temporal), así el
+ * costo de TelemetryRecorder entra en el presupuesto de GameScreen.
+ *
+ * El dibujo va a un RecordingBatch para que el batch no llame a GL; el único GL
+ * restante por frame (ScreenUtils.clear sobre el proxy StubGL20, y en GameScreen el FrameBuffer de
+ * ResolucionBaja) se calibra y se descuenta.
+ */
+class AllocationTest extends HeadlessTest {
+
+    private static final int WARMUP_FRAMES = 60;
+    private static final int MEASURED_FRAMES = 600;
+    private static final int TOP_SITES = 10;
+    // Presupuesto en bytes por frame: la meta es 0, con una pequeña tolerancia para ruido de medición
+    private static final long BUDGET_PER_FRAME = 32;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Escenario medible: crea la pantalla y (opcionalmente) programa input antes de cada frame. */
+    interface Scenario {
+        Screen create(FlappyGameMenu game);
+
+        default void beforeFrame(HeadlessHarness harness, Screen screen) {
+        }
+    }
+
+    private long threadId;
+    private long probeCost;  // bytes que asigna la propia lectura del contador
+    private long clearCost;  // bytes que asigna ScreenUtils.clear sobre el GL simulado
+    private long resolucionCost; // bytes del FrameBuffer de GameScreen (begin, end, viewport) sobre el GL simulado
+
+    /** Con telemetría: GameScreen llama TelemetryRecorder.frame en cada frame, que también debe asignar 0 B. */
+    @Override
+    protected HeadlessHarness createHarness() {
+        return HeadlessHarness.withRecordingBatch(new RecordingBatch(), true);
+    }
+
+    @Test
+    void mainMenu() throws IOException {
+        run("MainMenuScreen", MainMenuScreen::new);
+    }
+
+    @Test
+    void gameScreen() throws IOException {
+        run("GameScreen", new Scenario() {
+            @Override
+            public Screen create(FlappyGameMenu game) {
+                return new GameScreen(game);
+            }
+
+            @Override
+            public void beforeFrame(HeadlessHarness h, Screen screen) {
+                h.steerBird((GameScreen) screen); // mantiene la partida viva el mayor tiempo posible
+            }
+        });
+    }
+
+    @Test
+    void pauseScreen() throws IOException {
+        final GameScreen paused = new GameScreen(game);
+        run("PauseScreen", game -> new PauseScreen(game, paused));
+    }
+
+    @Test
+    void gameOverScreen() throws IOException {
+        run("GameOverScreen", game -> new GameOverScreen(game, 0));
+    }
+
+    /** Mide el costo fijo de leer el contador y de limpiar pantalla con el GL simulado. */
+    @BeforeAll
+    void calibrate() {
+        threadId = Thread.currentThread().getId();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long a = allocated();
+            long b = allocated();
+            min = Math.min(min, b - a);
+        }
+        probeCost = min;
+
+        min = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long a = allocated();
+            ScreenUtils.clear(0f, 0f, 0f, 1f);
+            long b = allocated();
+            min = Math.min(min, b - a - probeCost);
+        }
+        clearCost = Math.max(0, min);
+
+        // GameScreen no limpia la pantalla directo: lo hace ResolucionBaja junto con sus llamadas GL
+        ResolucionBaja resolucion = new ResolucionBaja(GameScreen.worldWidth, GameScreen.worldHeight, 1f);
+        Batch batch = harness.getGame().getBatch();
+        min = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long a = allocated();
+            resolucion.comenzar();
+            resolucion.terminar(batch);
+            long b = allocated();
+            min = Math.min(min, b - a - probeCost);
+        }
+        resolucionCost = Math.max(0, min);
+        resolucion.dispose();
+    }
+
+    /**
+     * Ejecuta un escenario: calentamiento, medición frame a frame mientras la
+     * pantalla siga activa y, si se excede el presupuesto, reporte JFR.
+     */
+    private void run(String name, Scenario scenario) throws IOException {
+        Screen screen = scenario.create(harness.getGame());
+        harness.setScreen(screen);
+        for (int i = 0; i < WARMUP_FRAMES && harness.getGame().getScreen() == screen; i++) {
+            scenario.beforeFrame(harness, screen);
+            harness.frame(DELTA);
+        }
+
+        long total = 0;
+        int frames = 0;
+        while (frames < MEASURED_FRAMES && harness.getGame().getScreen() == screen) {
+            scenario.beforeFrame(harness, screen);
+            long before = allocated();
+            harness.frame(DELTA);
+            long after = allocated();
+            // Los frames que cambian de pantalla son transiciones, no régimen estable
+            if (harness.getGame().getScreen() != screen) break;
+            long glCost = screen instanceof GameScreen ? resolucionCost : clearCost;
+            total += Math.max(0, after - before - probeCost - glCost);
+            frames++;
+        }
+
+        long perFrame = frames == 0 ? 0 : total / frames;
+        System.out.printf("%-16s %6d frames  %8d B total  %6d B/frame (budget %d)%n",
+            name, frames, total, perFrame, BUDGET_PER_FRAME);
+        assertTrue(frames > 0, name + " no llegó a un frame de régimen estable");
+        if (perFrame > BUDGET_PER_FRAME) reportTopSites(scenario, frames);
+        assertTrue(perFrame <= BUDGET_PER_FRAME,
+            name + " asigna " + perFrame + " B/frame (presupuesto " + BUDGET_PER_FRAME + ")");
+    }
+
+    /** Repite el escenario con eventos de asignación de JFR y muestra los sitios que más asignan. */
+    private void reportTopSites(Scenario scenario, int frames) throws IOException {
+        Screen screen = scenario.create(harness.getGame());
+        harness.setScreen(screen);
+
+        Path file = Files.createTempFile("allocation-check", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.ObjectAllocationInNewTLAB").withStackTrace();
+            recording.enable("jdk.ObjectAllocationOutsideTLAB").withStackTrace();
+            recording.start();
+            for (int i = 0; i < frames && harness.getGame().getScreen() == screen; i++) {
+                scenario.beforeFrame(harness, screen);
+                harness.frame(DELTA);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, Long> bySite = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getThread() == null || event.getThread().getJavaThreadId() != threadId) continue;
+            // Los eventos son muestras: se ponderan por el TLAB (o el objeto) que provocó el evento
+            long bytes = event.hasField("tlabSize") ? event.getLong("tlabSize") : event.getLong("allocationSize");
+            String site = callSite(event.getStackTrace()) + " (" + event.getClass("objectClass").getName() + ")";
+            bySite.merge(site, bytes, Long::sum);
+        }
+        Files.deleteIfExists(file);
+
+        List<Map.Entry<String, Long>> sites = new ArrayList<>(bySite.entrySet());
+        sites.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        System.out.println("  top allocation sites (JFR samples, TLAB-weighted):");
+        for (int i = 0; i < Math.min(TOP_SITES, sites.size()); i++) {
+            System.out.printf("    %10d B  %s%n", sites.get(i).getValue(), sites.get(i).getKey());
+        }
+    }
+
+    /** Primer frame del código del juego (puppy.code, fuera del arnés); si no hay, el frame superior. */
+    private static String callSite(RecordedStackTrace stack) {
+        if (stack == null || stack.getFrames().isEmpty()) return "<unknown>";
+        for (RecordedFrame frame : stack.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("puppy.code.") && !type.startsWith("puppy.code.headless.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        RecordedFrame top = stack.getFrames().get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName() + ":" + top.getLineNumber();
+    }
+
+    private long allocated() {
+        return THREADS.getThreadAllocatedBytes(threadId);
+    }
+}
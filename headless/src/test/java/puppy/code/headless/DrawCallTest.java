@@ -0,0 +1,86 @@
+package puppy.code.headless;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.Screen;
+
+import puppy.code.Screens.GameOverScreen;
+import puppy.code.Screens.GameScreen;
+import puppy.code.Screens.MainMenuScreen;
+import puppy.code.Screens.PauseScreen;
+
+/**
+ * Clase DrawCallTest
+ * Renderiza un frame de cada pantalla del juego en un RecordingBatch y compara
+ * texture binds, flushes y sprites contra un presupuesto fijo por pantalla.
+ * Cada contador es una aserción, así "check" falla en CI sin GPU con la
+ * pantalla y el contador que se excedió.
+ */
+class DrawCallTest extends HeadlessTest {
+
+    private final RecordingBatch recorder = new RecordingBatch();
+
+    @Override
+    protected HeadlessHarness createHarness() {
+        return HeadlessHarness.withRecordingBatch(recorder);
+    }
+
+    /** Menú: fondo, pájaros, tubo y textos estáticos (incluye las líneas de los modos de juego). */
+    @Test
+    void mainMenu() {
+        check("MainMenuScreen", new MainMenuScreen(game), 4, 4, 180);
+    }
+
+    /** Juego: fondo, tubos, enemigo, pájaro, suelo y puntaje en el FrameBuffer, más la copia a la ventana. */
+    @Test
+    void gameScreen() {
+        GameScreen gameScreen = new GameScreen(game);
+        check("GameScreen", gameScreen, 7, 7, 25);
+        System.out.printf("%-16s cola: %d comandos, binds %d ordenados / %d en orden de llegada%n", "",
+            gameScreen.getColaDibujo().getComandos(),
+            gameScreen.getColaDibujo().getBinds(),
+            gameScreen.getColaDibujo().getBindsSinOrdenar());
+    }
+
+    /** Pausa: fondo y dos textos. */
+    @Test
+    void pauseScreen() {
+        GameScreen partida = new GameScreen(game);
+        harness.setScreen(partida);
+        harness.frame(DELTA);
+        check("PauseScreen", new PauseScreen(game, partida), 2, 2, 45);
+    }
+
+    /** Game Over: fondo, paneles, pájaro y todos los textos juntos (incluye estadísticas del historial). */
+    @Test
+    void gameOverScreen() {
+        check("GameOverScreen", new GameOverScreen(game, 0), 4, 4, 160);
+    }
+
+    /**
+     * Dibuja un frame de la pantalla en el batch de registro y verifica cada
+     * máximo por frame por separado, así el fallo dice qué contador se pasó.
+     */
+    private void check(String name, Screen screen, int textureBinds, int flushes, int sprites) {
+        harness.setScreen(screen);
+        recorder.reset();
+        harness.frame(DELTA);
+
+        System.out.printf("%-16s binds %d/%d  flushes %d/%d  sprites %d/%d%n", name,
+            recorder.getTextureBinds(), textureBinds,
+            recorder.getFlushCount(), flushes,
+            recorder.getSpriteCount(), sprites);
+        assertAll(name,
+            () -> assertTrue(recorder.getTextureBinds() <= textureBinds,
+                () -> "texture binds " + recorder.getTextureBinds() + " > " + textureBinds),
+            () -> assertTrue(recorder.getFlushCount() <= flushes,
+                () -> "flushes " + recorder.getFlushCount() + " > " + flushes),
+            () -> assertTrue(recorder.getSpriteCount() <= sprites,
+                () -> "sprites " + recorder.getSpriteCount() + " > " + sprites),
+            () -> assertFalse(recorder.isDrawing(), "el frame terminó con el batch entre begin() y end()"));
+    }
+}
@@ -0,0 +1,66 @@
+package puppy.code.headless;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+
+import com.badlogic.gdx.Screen;
+
+import puppy.code.FlappyGameMenu;
+
+/**
+ * Clase HeadlessTest
+ * Base de las pruebas que corren el juego real sobre el backend headless.
+ * Cada clase de prueba arranca un único HeadlessHarness antes de sus pruebas
+ * (createHarness) y lo descarta al final; Gdx.* es global a la JVM, así que
+ * el test de Gradle corre cada clase en su propia JVM (forkEvery = 1).
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class HeadlessTest {
+
+    static final float DELTA = 1f / 60f;
+
+    protected HeadlessHarness harness;
+    protected FlappyGameMenu game;
+
+    /** Arnés de la clase: por defecto el juego con SpriteBatch sobre StubGL20. */
+    protected HeadlessHarness createHarness() {
+        return new HeadlessHarness(new FlappyGameMenu());
+    }
+
+    @BeforeAll
+    void startHarness() {
+        harness = createHarness();
+        game = harness.getGame();
+    }
+
+    @AfterAll
+    void stopHarness() {
+        disposeHarness();
+    }
+
+    /** Descarta el juego antes del final de la clase (para verificar lo que queda al cerrarlo). */
+    protected void disposeHarness() {
+        if (harness == null) return;
+        harness.dispose();
+        harness = null;
+    }
+
+    // --- Auxiliares del guion ---
+
+    /** Programa una tecla y corre el frame en que se ve presionada. */
+    protected void press(int keycode) {
+        harness.getInput().press(keycode);
+        harness.frame(DELTA);
+    }
+
+    /** Verifica el tipo de la pantalla activa y la devuelve. */
+    protected Screen expect(String step, Class<? extends Screen> type) {
+        Screen screen = game.getScreen();
+        assertTrue(type.isInstance(screen), () -> step + ": se esperaba " + type.getSimpleName() + " y está "
+            + (screen == null ? "null" : screen.getClass().getSimpleName()));
+        return screen;
+    }
+}
@@ -0,0 +1,79 @@
+package puppy.code.headless;
+
+import java.util.concurrent.locks.LockSupport;
+
+import com.badlogic.gdx.Input;
+
+import puppy.code.FlappyGameMenu;
+import puppy.code.Screens.GameScreen;
+import puppy.code.Screens.MainMenuScreen;
+import puppy.code.Telemetria.MonitorTirones;
+
+/**
+ * Clase HitchCheck
+ * Provoca un tirón de cada tipo y verifica la causa que le asigna
+ * MonitorTirones:
+ *  - cambio de pantalla: el frame del menú en que SPACE crea la partida
+ *    (GameScreen.show arma fuentes, FrameBuffer y obstáculos);
+ *  - GC: un frame marcado a mano alrededor de System.gc() (pausa completa en
+ *    Serial, Parallel y G1);
+ *  - desconocida: un frame que solo duerme.
+ * El presupuesto baja a 1 ms para que el cambio de pantalla cuente siempre
+ * como tirón. Al final muestra el reporte, el mismo que F9 escribe en el log.
+ *
+ * Falla (código 1) si alguna causa no coincide.
+ */
+public class HitchCheck {
+
+    private static final float DELTA = 1f / 60f;
+    private static final long ESPERA_GC_NANOS = 1_000_000_000L; // el aviso de GC llega en otro hilo
+
+    public static void main(String[] args) {
+        MonitorTirones tirones = MonitorTirones.getInstancia();
+        HeadlessHarness harness = new HeadlessHarness(new FlappyGameMenu());
+        tirones.setPresupuestoNanos(1_000_000L);
+        int failures = 0;
+
+        harness.frames(10, DELTA);
+        harness.getInput().press(Input.Keys.SPACE);
+        harness.frame(DELTA); // el menú crea la partida
+        if (!(harness.getGame().getScreen() instanceof GameScreen)) {
+            System.out.println("  FAIL: SPACE no inició la partida");
+            failures++;
+        } else {
+            failures += expect("cambio de pantalla", tirones, MonitorTirones.TRANSICION);
+        }
+        harness.frames(30, DELTA);
+
+        tirones.inicioFrame();
+        System.gc();
+        tirones.finFrame("HitchCheck");
+        long limite = System.nanoTime() + ESPERA_GC_NANOS;
+        while (tirones.getCausaUltimoTiron() != MonitorTirones.GC && System.nanoTime() < limite) {
+            LockSupport.parkNanos(10_000_000L);
+        }
+        failures += expect("System.gc()", tirones, MonitorTirones.GC);
+
+        tirones.inicioFrame();
+        LockSupport.parkNanos(5_000_000L);
+        tirones.finFrame("HitchCheck");
+        failures += expect("sin causa", tirones, MonitorTirones.DESCONOCIDA);
+
+        harness.setScreen(new MainMenuScreen(harness.getGame()));
+        System.out.println(tirones.reporte());
+        harness.dispose();
+        if (failures > 0) {
+            System.err.println(failures + " hitch cause(s) mislabeled");
+            System.exit(1);
+        }
+    }
+
+    /** Verifica la causa asignada al último tirón. */
+    private static int expect(String paso, MonitorTirones tirones, int causa) {
+        int obtenida = tirones.getCausaUltimoTiron();
+        boolean ok = obtenida == causa;
+        System.out.printf("%-20s %-20s %s%n", paso, MonitorTirones.nombreCausa(obtenida),
+            ok ? "OK" : "expected " + MonitorTirones.nombreCausa(causa));
+        return ok ? 0 : 1;
+    }
+}
@@ -0,0 +1,143 @@
+package puppy.code.headless;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.locks.LockSupport;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+
+import puppy.code.FlappyGameMenu;
+import puppy.code.Screens.MainMenuScreen;
+
+/**
+ * Clase IdleMenuBenchmark
+ * Uso de CPU de MainMenuScreen sin que el jugador haga nada, con renderizado
+ * continuo (como antes) y a pedido (BaseUIScreen). Imita el bucle del
+ * backend de escritorio a 60 Hz: en cada vuelta dibuja un frame si el
+ * renderizado es continuo o si alguien lo pidió, y cada segundo llega un
+ * evento de input (un movimiento del mouse) que pide un frame.
+ *
+ * Gdx.graphics se envuelve en un proxy que registra setContinuousRendering y
+ * requestRendering; en el modo continuo ignora el pedido de desactivarlo.
+ * Mide el tiempo de CPU del hilo (juego real, SpriteBatch sobre StubGL20).
+ * Es un modelo del bucle, no el de Lwjgl3Launcher: sin GPU solo se ve el
+ * costo de CPU, y en escritorio además se ahorran la GPU y el intercambio de
+ * buffers de cada frame.
+ *
+ * Falla (código 1) si en el modo a pedido se dibujan más frames que eventos.
+ * Argumentos: --seconds N (5 por defecto).
+ */
+public class IdleMenuBenchmark {
+
+    private static final float DELTA = 1f / 60f;
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+
+    public static void main(String[] args) {
+        int seconds = 5;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--seconds")) seconds = Integer.parseInt(args[i + 1]);
+            else throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+        }
+
+        HeadlessHarness harness = new HeadlessHarness(new FlappyGameMenu());
+        GraficosEspia graficos = new GraficosEspia(Gdx.graphics);
+        Gdx.graphics = graficos.crear();
+
+        medir(harness, graficos, true, 1); // calentamiento
+        Resultado continuo = medir(harness, graficos, true, seconds);
+        Resultado aPedido = medir(harness, graficos, false, seconds);
+        harness.dispose();
+
+        System.out.printf("%-10s %8s %8s %10s %10s%n", "modo", "frames", "eventos", "CPU", "núcleo");
+        continuo.imprimir("continuo");
+        aPedido.imprimir("a pedido");
+        System.out.printf("CPU del menú inactivo: %.1f%% de la del modo continuo%n",
+            continuo.cpuNanos == 0 ? 0.0 : aPedido.cpuNanos * 100.0 / continuo.cpuNanos);
+
+        if (aPedido.frames > aPedido.eventos + 1) { // +1: el frame al mostrarse
+            System.err.println("IdleMenuBenchmark: el menú inactivo sigue dibujando en cada frame");
+            System.exit(1);
+        }
+    }
+
+    /** Corre el menú inactivo durante los segundos indicados con el bucle de 60 Hz. */
+    private static Resultado medir(HeadlessHarness harness, GraficosEspia graficos, boolean continuo, int seconds) {
+        graficos.forzarContinuo = continuo;
+        harness.setScreen(new MainMenuScreen(harness.getGame()));
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Resultado r = new Resultado();
+        long cpu0 = threads.getCurrentThreadCpuTime();
+        long siguiente = System.nanoTime();
+        for (int tick = 0; tick < seconds * 60; tick++) {
+            if (tick % 60 == 59) { // un evento de input por segundo
+                r.eventos++;
+                graficos.pedido = true;
+            }
+            if (graficos.continuo || graficos.pedido) {
+                graficos.pedido = false;
+                harness.frame(DELTA);
+                r.frames++;
+            }
+            siguiente += TICK_NANOS;
+            LockSupport.parkNanos(siguiente - System.nanoTime());
+        }
+        r.cpuNanos = threads.getCurrentThreadCpuTime() - cpu0;
+        r.segundos = seconds;
+        return r;
+    }
+
+    private static final class Resultado {
+        int frames;
+        int eventos;
+        long cpuNanos;
+        int segundos;
+
+        void imprimir(String modo) {
+            System.out.printf("%-10s %8d %8d %7.1f ms %9.2f%%%n", modo, frames, eventos,
+                cpuNanos / 1e6, cpuNanos * 100.0 / (segundos * 1e9));
+        }
+    }
+
+    /** Proxy de Graphics que registra el modo de renderizado y delega el resto en el del backend. */
+    private static final class GraficosEspia implements InvocationHandler {
+        private final Graphics real;
+        boolean continuo = true;
+        boolean pedido;
+        boolean forzarContinuo;
+
+        GraficosEspia(Graphics real) {
+            this.real = real;
+        }
+
+        Graphics crear() {
+            return (Graphics) Proxy.newProxyInstance(
+                Graphics.class.getClassLoader(), new Class<?>[]{Graphics.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "setContinuousRendering":
+                    continuo = forzarContinuo || (Boolean) args[0];
+                    return null;
+                case "isContinuousRendering":
+                    return continuo;
+                case "requestRendering":
+                    pedido = true;
+                    return null;
+                default:
+                    try {
+                        return method.invoke(real, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package puppy.code.headless;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import com.badlogic.gdx.Input;
+
+import puppy.code.Character;
+import puppy.code.DynamicDifficulty;
+import puppy.code.Colisiones.Colision;
+import puppy.code.Screens.GameScreen;
+import puppy.code.Simulacion.Autopiloto;
+import puppy.code.Simulacion.ReglasPartida;
+import puppy.code.Simulacion.SimulacionPartida;
+
+/**
+ * Clase ParityTest
+ * Juega cada partida dos veces, con la misma semilla y los mismos aleteos:
+ * primero en SimulacionPartida (la que usan el servidor y las herramientas),
+ * que graba el tick de cada aleteo, y después en GameScreen con los sprites
+ * (Character, Obstaculo, Tubo, Enemigo) sobre el backend headless, con un
+ * SPACE programado antes de cada tick grabado. Las dos leen sus reglas de
+ * ReglasPartida; esta verificación falla si aun así dan partidas distintas.
+ *
+ * En cada tick compara los bits de la altura y la velocidad del pájaro, la x
+ * de cada obstáculo, el puntaje y si la partida terminó (y con qué causa), e
+ * falla con la primera diferencia de cada partida (una prueba por partida).
+ *
+ * Los aleteos los decide Autopiloto (partidas largas, con cambios de
+ * dificultad), un piloto al azar (choques con tubos y enemigo) o nadie
+ * (caída al suelo). Propiedades: "headless.runs" (partidas por piloto, 5 por
+ * defecto; gradlew :headless:test -Pruns=N) y "headless.ticks" (límite por
+ * partida, 3600 = 1 minuto por defecto; -Pticks=N).
+ */
+class ParityTest extends HeadlessTest {
+
+    private static final long PRESUPUESTO = 500_000L;  // 0,5 ms por decisión del autopiloto
+    private static final float PROB_ALETEO = 0.06f;    // piloto al azar: ~3.6 aleteos por segundo
+    private static final String[] PILOTOS = {"autopiloto", "azar", "sin aleteos"};
+
+    private final SimulacionPartida sim = new SimulacionPartida(new DynamicDifficulty());
+    private final Autopiloto autopiloto = new Autopiloto(120, PRESUPUESTO, 1f);
+    private final Random azar = new Random(7);
+
+    // Partida grabada en SimulacionPartida, por tick (índice tick - 1)
+    private final int maxTicks = Integer.getInteger("headless.ticks", 3600);
+    private final boolean[] aleteos = new boolean[maxTicks];
+    private final float[] birdY = new float[maxTicks];
+    private final float[] birdVy = new float[maxTicks];
+    private final float[][] obstacleX = new float[SimulacionPartida.OBSTACULOS][maxTicks];
+    private final int[] score = new int[maxTicks];
+    private int ticks;
+
+    @BeforeAll
+    void requiereSimulacionEnRender() {
+        assumeFalse(game.usaHiloSimulacion(), "ParityTest compara el update de GameScreen: correr sin -Dflappy.simThread=true");
+    }
+
+    @TestFactory
+    List<DynamicTest> mismaPartida() {
+        int runs = Integer.getInteger("headless.runs", 5);
+        Random seeds = new Random(42);
+        List<DynamicTest> partidas = new ArrayList<>();
+        for (int p = 0; p < PILOTOS.length; p++) {
+            for (int r = 0; r < (p == 2 ? 1 : runs); r++) {
+                final int piloto = p;
+                final long seed = seeds.nextLong();
+                partidas.add(DynamicTest.dynamicTest(PILOTOS[p] + " semilla " + seed, () -> {
+                    grabar(seed, piloto);
+                    String diferencia = reproducir(seed);
+                    System.out.printf("%-11s semilla %20d: %5d ticks, puntaje %3d, %-7s %s%n", PILOTOS[piloto], seed,
+                        ticks, sim.getScore(), sim.isAlive() ? "viva" : "causa " + sim.getDeathCause(),
+                        diferencia == null ? "OK" : "DIFIERE en " + diferencia);
+                    assertNull(diferencia, () -> "GameScreen y SimulacionPartida difieren en " + diferencia);
+                }));
+            }
+        }
+        return partidas;
+    }
+
+    /** Juega la semilla en SimulacionPartida con el piloto indicado y graba aleteos y estado por tick. */
+    private void grabar(long seed, int piloto) {
+        sim.reset(seed);
+        ticks = 0;
+        while (sim.isAlive() && ticks < maxTicks) {
+            boolean aleteo;
+            if (piloto == 0) {
+                autopiloto.observar(sim.getRecorrido());
+                aleteo = autopiloto.decidir(sim.getBirdY(), sim.getBirdVy());
+            } else {
+                aleteo = piloto == 1 && azar.nextFloat() < PROB_ALETEO;
+            }
+            sim.step(aleteo);
+            aleteos[ticks] = aleteo;
+            birdY[ticks] = sim.getBirdY();
+            birdVy[ticks] = sim.getBirdVy();
+            for (int i = 0; i < obstacleX.length; i++) obstacleX[i][ticks] = sim.getObstacleX(i);
+            score[ticks] = sim.getScore();
+            ticks++;
+        }
+    }
+
+    /**
+     * Reproduce los aleteos grabados en un GameScreen con la misma semilla.
+     * @return descripción de la primera diferencia, o null si no hay
+     */
+    private String reproducir(long seed) {
+        GameScreen screen = new GameScreen(game);
+        screen.jugarSemilla(seed);
+        harness.setScreen(screen);
+        try {
+            for (int t = 0; t < ticks; t++) {
+                if (aleteos[t]) harness.getInput().press(Input.Keys.SPACE);
+                harness.frame(ReglasPartida.DT);
+                if (game.getScreen() != screen) return "tick " + (t + 1) + ": GameScreen terminó antes";
+
+                String diferencia = comparar(screen, t);
+                if (diferencia != null) return "tick " + (t + 1) + ": " + diferencia;
+            }
+            return null;
+        } finally {
+            screen.dispose();
+        }
+    }
+
+    /** Diferencia entre el GameScreen y lo grabado en el tick t, o null. */
+    private String comparar(GameScreen screen, int t) {
+        Character bird = screen.getBird();
+        if (Float.floatToRawIntBits(bird.pos.y) != Float.floatToRawIntBits(birdY[t])) {
+            return "altura " + bird.pos.y + " != " + birdY[t];
+        }
+        if (Float.floatToRawIntBits(bird.vel.y) != Float.floatToRawIntBits(birdVy[t])) {
+            return "velocidad " + bird.vel.y + " != " + birdVy[t];
+        }
+        Colision[] colisiones = screen.getObstaculos().getColisiones();
+        for (int i = 0; i < obstacleX.length; i++) {
+            if (Float.floatToRawIntBits(colisiones[i].getX()) != Float.floatToRawIntBits(obstacleX[i][t])) {
+                return "x del obstáculo " + i + " " + colisiones[i].getX() + " != " + obstacleX[i][t];
+            }
+        }
+        if (screen.getScore() != score[t]) return "puntaje " + screen.getScore() + " != " + score[t];
+
+        boolean terminada = t == ticks - 1 && !sim.isAlive();
+        if (screen.getGameOver() != terminada) {
+            return screen.getGameOver() ? "GameScreen murió (causa " + screen.getDeathCause() + ")" : "GameScreen sigue viva";
+        }
+        if (terminada && screen.getDeathCause() != sim.getDeathCause()) {
+            return "causa " + screen.getDeathCause() + " != " + sim.getDeathCause();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+package puppy.code.headless;
+
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.gdx.graphics.Texture;
+
+import puppy.code.Asset;
+import puppy.code.Dibujo.ColaDibujo;
+import puppy.code.Particulas.Emisor;
+import puppy.code.Particulas.SistemaParticulas;
+import puppy.code.Screens.GameScreen;
+
+/**
+ * Clase ParticleBenchmark
+ * Costo por frame de SistemaParticulas con el sistema lleno (10 000 partículas
+ * vivas por defecto): cada frame repone las que murieron, pide además unas
+ * cuantas de más para ejercitar el tope, y mide por separado update, encolar
+ * en ColaDibujo y el envío a un RecordingBatch (orden por capa y textura).
+ *
+ * Informa ms por etapa, binds y flushes del batch simulado, bytes asignados
+ * por frame (com.sun.management.ThreadMXBean) y partículas descartadas por el
+ * tope. Falla (código 1) si el régimen estable asigna memoria o si las
+ * partículas cuestan más de un cambio de textura.
+ *
+ * Argumentos: --particulas N (10000 por defecto), --frames N (600 por defecto).
+ */
+public class ParticleBenchmark {
+
+    private static final float DELTA = 1f / 60f;
+    private static final int WARMUP_FRAMES = 300;
+    private static final int EXCESO = 64;            // partículas pedidas de más en cada frame (se descartan)
+    private static final long ALLOCATION_BUDGET = 32; // bytes por frame, tolerancia de medición
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int capacidad = 10_000;
+        int frames = 600;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--particulas": capacidad = Integer.parseInt(args[i + 1]); break;
+                case "--frames": frames = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+
+        RecordingBatch batch = new RecordingBatch(capacidad, 1000);
+        HeadlessHarness harness = HeadlessHarness.withRecordingBatch(batch);
+        Asset assets = Asset.getInstancia();
+        Texture textura = assets.getParticula();
+
+        SistemaParticulas particulas = new SistemaParticulas(capacidad);
+        for (Emisor e : assets.getEmisores()) particulas.registrar(e);
+        int[] ids = new int[assets.getEmisores().size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = i;
+        ColaDibujo cola = new ColaDibujo(capacidad);
+
+        for (int f = 0; f < WARMUP_FRAMES; f++) frame(particulas, ids, f, cola, textura, batch, null);
+
+        long[] nanos = new long[3];
+        long vivas = 0;
+        long descartadasAntes = particulas.getDescartadas();
+        long threadId = Thread.currentThread().getId();
+        long bytesAntes = THREADS.getThreadAllocatedBytes(threadId);
+        for (int f = 0; f < frames; f++) {
+            frame(particulas, ids, f, cola, textura, batch, nanos);
+            vivas += particulas.getVivas();
+        }
+        long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesAntes;
+        long porFrame = bytes / frames;
+
+        double update = nanos[0] / 1e6 / frames, encolar = nanos[1] / 1e6 / frames, envio = nanos[2] / 1e6 / frames;
+        System.out.printf("partículas: capacidad %d, vivas en promedio %d, descartadas por el tope %d%n",
+            capacidad, vivas / frames, particulas.getDescartadas() - descartadasAntes);
+        System.out.printf("por frame: update %.3f ms  encolar %.3f ms  ordenar + batch %.3f ms  total %.3f ms%n",
+            update, encolar, envio, update + encolar + envio);
+        System.out.printf("batch: %d sprites, %d binds, %d flushes (cola: %d binds sin ordenar)%n",
+            batch.getSpriteCount(), batch.getTextureBinds(), batch.getFlushCount(), cola.getBindsSinOrdenar());
+        System.out.printf("asignado: %d B en %d frames (%d B/frame, presupuesto %d)%n",
+            bytes, frames, porFrame, ALLOCATION_BUDGET);
+
+        harness.dispose();
+        boolean ok = porFrame <= ALLOCATION_BUDGET && batch.getTextureBinds() <= 1;
+        if (!ok) {
+            System.err.println("ParticleBenchmark: fuera de presupuesto");
+            System.exit(1);
+        }
+    }
+
+    /** Un frame: reponer hasta el tope (más EXCESO), update, encolar y enviar; suma los tiempos si nanos no es null. */
+    private static void frame(SistemaParticulas particulas, int[] ids, int f, ColaDibujo cola, Texture textura,
+                              RecordingBatch batch, long[] nanos) {
+        int faltan = particulas.getCapacidad() - particulas.getVivas() + EXCESO;
+        int id = ids[f % ids.length];
+        float x = (f * 37) % (int) GameScreen.worldWidth;
+        particulas.emitir(id, x, GameScreen.worldHeight / 2f, faltan);
+
+        long t0 = System.nanoTime();
+        particulas.update(DELTA);
+        long t1 = System.nanoTime();
+        particulas.encolar(cola, textura);
+        long t2 = System.nanoTime();
+        batch.reset();
+        batch.begin();
+        cola.dibujar(batch);
+        batch.end();
+        long t3 = System.nanoTime();
+        if (nanos != null) {
+            nanos[0] += t1 - t0;
+            nanos[1] += t2 - t1;
+            nanos[2] += t3 - t2;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package puppy.code.headless;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+
+import puppy.code.FlappyGameMenu;
+import puppy.code.Recursos.RegistroRecursos;
+import puppy.code.Screens.GameOverScreen;
+import puppy.code.Screens.GameScreen;
+import puppy.code.Screens.MainMenuScreen;
+import puppy.code.Screens.PauseScreen;
+
+/**
+ * Clase ResourceLeakTest
+ * Repite con input programado el ciclo completo de pantallas (menú → juego →
+ * pausa → juego → game over → juego → pausa → menú) y compara después de
+ * cada vuelta los recursos vivos en RegistroRecursos: cantidad y memoria
+ * nativa estimada deben quedar iguales a los de la primera vuelta. Corre en
+ * modo estricto, así que una pantalla descartada que retiene algo corta la
+ * prueba con su detalle. Al cerrar el juego no debe quedar nada.
+ *
+ * Vueltas: propiedad "headless.cycles" (gradlew :headless:test -Pcycles=N), 5 por defecto.
+ */
+class ResourceLeakTest extends HeadlessTest {
+
+    private static final int MAX_FALL_FRAMES = 600; // tiempo máximo para que el pájaro caiga
+
+    private final RegistroRecursos registro = RegistroRecursos.getInstancia();
+
+    /** El modo estricto se activa antes de crear el juego, así cubre también sus recursos. */
+    @Override
+    protected HeadlessHarness createHarness() {
+        registro.setEstricto(true);
+        return new HeadlessHarness(new FlappyGameMenu());
+    }
+
+    @Test
+    void screenCyclesDoNotLeak() {
+        int cycles = Integer.getInteger("headless.cycles", 5);
+
+        int cantidad = 0;
+        long bytes = 0;
+        System.out.printf("%-8s %10s %12s%n", "vuelta", "recursos", "memoria");
+        for (int c = 1; c <= cycles; c++) {
+            cycle();
+            System.out.printf("%-8d %10d %9d KB%n", c, registro.getCantidad(), registro.getBytes() / 1024);
+            if (c == 1) {
+                cantidad = registro.getCantidad();
+                bytes = registro.getBytes();
+            } else {
+                assertEquals(cantidad, registro.getCantidad(), "los recursos crecen entre vueltas\n" + registro.reporte());
+                assertEquals(bytes, registro.getBytes(), "la memoria nativa crece entre vueltas\n" + registro.reporte());
+            }
+        }
+        System.out.println(registro.reporte());
+
+        disposeHarness();
+        assertEquals(0, registro.getCantidad(), "quedan recursos al cerrar el juego\n" + registro.reporte());
+    }
+
+    /** Una vuelta por todas las transiciones; empieza y termina en el menú. */
+    private void cycle() {
+        expect("inicio de vuelta", MainMenuScreen.class);
+        press(Input.Keys.SPACE);
+        Screen partida = expect("menu -> juego", GameScreen.class);
+        harness.frames(30, DELTA);
+        press(Input.Keys.ESCAPE);
+        expect("juego -> pausa", PauseScreen.class);
+        press(Input.Keys.SPACE);
+        expect("pausa -> juego", GameScreen.class);
+
+        // Sin input el pájaro cae hasta el suelo
+        for (int i = 0; i < MAX_FALL_FRAMES && game.getScreen() == partida; i++) harness.frame(DELTA);
+        expect("juego -> game over", GameOverScreen.class);
+        press(Input.Keys.SPACE);
+        expect("game over -> juego", GameScreen.class);
+        press(Input.Keys.ESCAPE);
+        expect("juego -> pausa", PauseScreen.class);
+        press(Input.Keys.ESCAPE);
+        expect("pausa -> menu", MainMenuScreen.class);
+    }
+}
@@ -0,0 +1,140 @@
+package puppy.code.headless;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+
+import puppy.code.Screens.GameOverScreen;
+import puppy.code.Screens.GameScreen;
+import puppy.code.Screens.MainMenuScreen;
+import puppy.code.Screens.PauseScreen;
+
+/**
+ * Clase SessionTest
+ * Sesión completa del juego real sobre el backend headless (GL y audio simulados,
+ * SpriteBatch real): recorre MainMenuScreen → GameScreen → PauseScreen →
+ * GameScreen → GameOverScreen → GameScreen → PauseScreen → MainMenuScreen con
+ * input programado y verifica la pantalla activa en cada paso. La telemetría
+ * está activa (en una carpeta temporal), así cada partida pasa por
+ * TelemetryRecorder.frame y partida.
+ *
+ * Después mide ticks por segundo de GameScreen (update + render) sin ventana,
+ * reiniciando la partida cada vez que termina. Con la propiedad
+ * "headless.minTps" (gradlew :headless:test -PminTps=N) falla si el
+ * rendimiento queda por debajo de N.
+ */
+class SessionTest extends HeadlessTest {
+
+    private static final int MAX_FALL_FRAMES = 600;  // tiempo máximo para que el pájaro caiga
+    private static final int MAX_DEMO_FRAMES = 3600; // tiempo máximo para que el autopiloto sume un punto
+    private static final long BENCHMARK_NANOS = 3_000_000_000L;
+
+    /** Cada game over pasa por TelemetryRecorder.partida. */
+    @Override
+    protected HeadlessHarness createHarness() {
+        return HeadlessHarness.withTemporaryTelemetry();
+    }
+
+    /** Recorre todas las transiciones de pantalla con input programado. */
+    @Test
+    void scriptedSession() {
+        harness.setScreen(new MainMenuScreen(game));
+        expect("inicio", MainMenuScreen.class);
+
+        press(Input.Keys.SPACE);
+        GameScreen firstRun = (GameScreen) expect("menu -> juego", GameScreen.class);
+
+        for (int i = 0; i < 30; i++) steeredFrame(firstRun);
+        expect("juego en curso", GameScreen.class);
+
+        press(Input.Keys.ESCAPE);
+        expect("juego -> pausa", PauseScreen.class);
+        harness.frames(10, DELTA);
+        expect("pausa estable", PauseScreen.class);
+
+        press(Input.Keys.SPACE);
+        assertSame(firstRun, expect("pausa -> juego", GameScreen.class), "reanudar debe volver a la misma partida");
+
+        // Sin input el pájaro cae hasta el suelo
+        for (int i = 0; i < MAX_FALL_FRAMES && game.getScreen() == firstRun; i++) harness.frame(DELTA);
+        expect("juego -> game over", GameOverScreen.class);
+
+        press(Input.Keys.SPACE);
+        assertNotSame(firstRun, expect("game over -> juego", GameScreen.class), "reiniciar debe crear una partida nueva");
+
+        press(Input.Keys.ESCAPE);
+        expect("juego -> pausa", PauseScreen.class);
+        press(Input.Keys.ESCAPE);
+        expect("pausa -> menu", MainMenuScreen.class);
+    }
+
+    /** Perder el foco pausa la partida en juego (Lwjgl3Launcher solo ralentiza los menús). */
+    @Test
+    void focusLossPausesGame() {
+        GameScreen partida = new GameScreen(game);
+        harness.setScreen(partida);
+        harness.frames(10, DELTA);
+
+        assertTrue(game.focoPerdido(), "con la partida en pausa la pantalla activa debe poder ralentizarse");
+        expect("sin foco -> pausa", PauseScreen.class);
+        press(Input.Keys.SPACE);
+        assertSame(partida, expect("pausa -> juego", GameScreen.class), "reanudar debe volver a la misma partida");
+    }
+
+    /** Salir de la demo por la pausa no deja el puntaje del Autopiloto como récord. */
+    @Test
+    void demoLeavesRecordUntouched() {
+        game.setHigherScore(0); // las otras pruebas de la clase comparten el juego
+        GameScreen demo = new GameScreen(game);
+        demo.activarDemo();
+        harness.setScreen(demo);
+        for (int i = 0; i < MAX_DEMO_FRAMES && game.getScreen() == demo && demo.getScore() == 0; i++) harness.frame(DELTA);
+        assertTrue(demo.getScore() > 0, "el autopiloto debe sumar puntos para que la prueba tenga sentido");
+
+        press(Input.Keys.ESCAPE);
+        expect("demo -> pausa", PauseScreen.class);
+        press(Input.Keys.ESCAPE);
+        expect("pausa -> menu", MainMenuScreen.class);
+        assertEquals(0, game.getHigherScore(), "la demo no cuenta para el récord");
+    }
+
+    /**
+     * Ticks por segundo de GameScreen con el piloto simple; al perder,
+     * reinicia desde GameOverScreen como lo haría un jugador.
+     */
+    @Test
+    void ticksPerSecond() {
+        double minTicksPerSecond = Double.parseDouble(System.getProperty("headless.minTps", "0"));
+
+        harness.setScreen(new GameScreen(game));
+        long ticks = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            Screen screen = game.getScreen();
+            if (screen instanceof GameScreen) {
+                harness.steerBird((GameScreen) screen);
+            } else {
+                harness.getInput().press(Input.Keys.SPACE);
+            }
+            harness.frame(DELTA);
+            ticks++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < BENCHMARK_NANOS);
+        double tps = ticks * 1e9 / elapsed;
+
+        System.out.printf("GameScreen: %.0f ticks/s (min %.0f)%n", tps, minTicksPerSecond);
+        assertTrue(tps >= minTicksPerSecond, String.format("GameScreen a %.0f ticks/s, mínimo %.0f", tps, minTicksPerSecond));
+    }
+
+    private void steeredFrame(GameScreen screen) {
+        harness.steerBird(screen);
+        harness.frame(DELTA);
+    }
+}
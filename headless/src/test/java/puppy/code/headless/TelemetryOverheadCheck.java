@@ -0,0 +1,159 @@
+package puppy.code.headless;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+import puppy.code.FlappyGameMenu;
+import puppy.code.Screens.GameScreen;
+import puppy.code.Telemetria.TelemetryRecorder;
+
+/**
+ * Clase TelemetryOverheadCheck
+ * Verifica que la telemetría cueste menos del 1% del tiempo de un frame a
+ * 144 FPS (69 µs). Corre GameScreen a 144 FPS con el piloto del arnés en
+ * bloques de un segundo, alternando telemetría activa y apagada (el juego
+ * entrega null en getTelemetry, como con -Dflappy.telemetry=false), y compara
+ * la mediana del tiempo de CPU por frame del hilo de render en cada modo.
+ * El hilo escritor no cuenta: comprime en otro núcleo y el frame no lo espera.
+ *
+ * Además mide TelemetryRecorder solo, a 144 FPS con una partida cada 30 s,
+ * porque la diferencia entre los modos queda dentro del ruido del frame.
+ *
+ * Falla (código 1) si cualquiera de las dos mediciones supera el 1%.
+ * Argumentos: --blocks N (20 por modo por defecto).
+ */
+public class TelemetryOverheadCheck {
+
+    private static final float DELTA = 1f / 144f;
+    private static final double FRAME_NANOS = 1e9 / 144;
+    private static final double MAX_FRACTION = 0.01;
+    private static final int BLOCK_FRAMES = 144;        // un segundo de juego por bloque
+    private static final int WARMUP_BLOCKS = 5;
+    private static final int RECORDER_SECONDS = 600;    // diez minutos de juego para TelemetryRecorder solo
+    private static final int PARTIDA_FRAMES = 144 * 30;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /** Juego cuya telemetría se puede apagar entre bloques sin recrearla. */
+    private static final class JuegoConTelemetria extends FlappyGameMenu {
+        boolean activa = true;
+
+        @Override
+        protected TelemetryRecorder createTelemetry() {
+            return HeadlessHarness.temporaryTelemetry();
+        }
+
+        @Override
+        public TelemetryRecorder getTelemetry() {
+            return activa ? super.getTelemetry() : null;
+        }
+    }
+
+    public static void main(String[] args) {
+        int blocks = 20;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--blocks")) blocks = Integer.parseInt(args[i + 1]);
+            else throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+        }
+
+        JuegoConTelemetria game = new JuegoConTelemetria();
+        HeadlessHarness harness = new HeadlessHarness(game);
+        harness.setScreen(new GameScreen(game));
+
+        for (int b = 0; b < WARMUP_BLOCKS; b++) {
+            bloque(harness, game, true);
+            bloque(harness, game, false);
+        }
+        long[] con = new long[blocks];
+        long[] sin = new long[blocks];
+        for (int b = 0; b < blocks; b++) {
+            // El orden se alterna para que ninguno de los modos quede siempre después del otro
+            boolean primero = b % 2 == 0;
+            long x = bloque(harness, game, primero);
+            long y = bloque(harness, game, !primero);
+            con[b] = primero ? x : y;
+            sin[b] = primero ? y : x;
+        }
+        harness.dispose();
+
+        double conNanos = mediana(con) / (double) BLOCK_FRAMES;
+        double sinNanos = mediana(sin) / (double) BLOCK_FRAMES;
+        double partidaNanos = soloRecorder();
+
+        int failures = 0;
+        System.out.printf("presupuesto a 144 FPS: %.1f µs por frame (1%% de %.2f ms)%n",
+            FRAME_NANOS * MAX_FRACTION / 1e3, FRAME_NANOS / 1e6);
+        System.out.printf("GameScreen sin telemetría  %8.1f µs/frame%n", sinNanos / 1e3);
+        System.out.printf("GameScreen con telemetría  %8.1f µs/frame%n", conNanos / 1e3);
+        failures += informar("diferencia", conNanos - sinNanos);
+        failures += informar("TelemetryRecorder solo", partidaNanos);
+
+        if (failures > 0) {
+            System.err.println("TelemetryOverheadCheck: la telemetría supera el 1% del frame a 144 FPS");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Un bloque de frames en el modo indicado; si la partida termina a mitad
+     * del bloque se empieza otra y se repite el bloque (el cambio de pantalla no es régimen estable).
+     * @return tiempo de CPU del hilo de render en el bloque
+     */
+    private static long bloque(HeadlessHarness harness, JuegoConTelemetria game, boolean activa) {
+        game.activa = activa;
+        while (true) {
+            GameScreen screen = (GameScreen) game.getScreen();
+            long cpu0 = THREADS.getCurrentThreadCpuTime();
+            int i = 0;
+            for (; i < BLOCK_FRAMES && game.getScreen() == screen; i++) {
+                harness.steerBird(screen);
+                harness.frame(DELTA);
+            }
+            long cpu = THREADS.getCurrentThreadCpuTime() - cpu0;
+            if (i == BLOCK_FRAMES && game.getScreen() == screen) return cpu;
+            harness.setScreen(new GameScreen(game));
+        }
+    }
+
+    /** Costo por frame de TelemetryRecorder solo: frame() a 144 FPS y partida() cada 30 s. */
+    private static double soloRecorder() {
+        TelemetryRecorder recorder = HeadlessHarness.temporaryTelemetry();
+        int frames = RECORDER_SECONDS * 144;
+        for (int i = 0; i < frames / 10; i++) recorder.frame(DELTA, i, 150f); // calentamiento
+        long nanos = 0;
+        for (int p = 0; p < frames / PARTIDA_FRAMES; p++) {
+            long t0 = System.nanoTime();
+            for (int i = 1; i <= PARTIDA_FRAMES; i++) recorder.frame(DELTA, i / 144, 150f);
+            recorder.partida(p, PARTIDA_FRAMES / 144, 30_000, 50f, 0f, (byte) 1);
+            nanos += System.nanoTime() - t0;
+            // Fuera de la medición: el bucle simula 30 s en microsegundos y el escritor necesita su tiempo real
+            sleep(20);
+        }
+        recorder.dispose();
+        if (recorder.getDropped() > 0) System.out.println("  (" + recorder.getDropped() + " registros descartados)");
+        return nanos / (double) frames;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int informar(String medida, double nanosPorFrame) {
+        double fraccion = nanosPorFrame / FRAME_NANOS;
+        boolean ok = fraccion < MAX_FRACTION;
+        System.out.printf("%-26s %8.2f µs/frame  %6.3f%% del frame  %s%n",
+            medida, nanosPorFrame / 1e3, fraccion * 100, ok ? "OK" : "OVER BUDGET");
+        return ok ? 0 : 1;
+    }
+
+    private static long mediana(long[] valores) {
+        long[] copia = valores.clone();
+        Arrays.sort(copia);
+        return copia[copia.length / 2];
+    }
+}
@@ -0,0 +1,164 @@
+package puppy.code.headless;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.g2d.Batch;
+
+import puppy.code.Character;
+import puppy.code.FlappyGameMenu;
+import puppy.code.Colisiones.Colision;
+import puppy.code.Screens.GameScreen;
+import puppy.code.Telemetria.TelemetryRecorder;
+
+/**
+ * Clase HeadlessHarness
+ * Arranca el juego real (FlappyGameMenu y sus pantallas) sobre el backend
+ * headless de LibGDX con GL simulado (StubGL20), sin ventana ni GPU.
+ *
+ * Los frames no los genera el bucle del backend: el arnés llama render()
+ * explícitamente, así cada herramienta controla cuántos frames corre y con qué delta.
+ */
+public class HeadlessHarness {
+
+    private final HeadlessApplication app;
+    private final FlappyGameMenu game;
+    private final ScriptedInput input = new ScriptedInput();
+
+    /**
+     * Inicializa Gdx.* (archivos, audio simulado, input programable, GL stub)
+     * y ejecuta game.create(), que deja activa la pantalla inicial.
+     */
+    public HeadlessHarness(FlappyGameMenu game) {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = 1; // el bucle propio del backend queda prácticamente inactivo
+        this.app = new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Gdx.gl = Gdx.gl20 = StubGL20.create();
+        Gdx.input = input;
+
+        this.game = game;
+        game.create();
+    }
+
+    /**
+     * Arnés cuyo juego dibuja en el RecordingBatch indicado en vez de un SpriteBatch,
+     * así el dibujo no genera llamadas GL y puede inspeccionarse.
+     */
+    public static HeadlessHarness withRecordingBatch(RecordingBatch recorder) {
+        return withRecordingBatch(recorder, false);
+    }
+
+    /**
+     * Como withRecordingBatch(recorder), y con telemetry la partida además
+     * alimenta un TelemetryRecorder real (ver temporaryTelemetry).
+     */
+    public static HeadlessHarness withRecordingBatch(final RecordingBatch recorder, final boolean telemetry) {
+        return new HeadlessHarness(new FlappyGameMenu() {
+            @Override
+            protected Batch createBatch() {
+                return recorder;
+            }
+
+            @Override
+            protected TelemetryRecorder createTelemetry() {
+                return telemetry ? temporaryTelemetry() : super.createTelemetry();
+            }
+        });
+    }
+
+    /** Arnés del juego con SpriteBatch sobre StubGL20 y telemetría real (ver temporaryTelemetry). */
+    public static HeadlessHarness withTemporaryTelemetry() {
+        return new HeadlessHarness(new FlappyGameMenu() {
+            @Override
+            protected TelemetryRecorder createTelemetry() {
+                return temporaryTelemetry();
+            }
+        });
+    }
+
+    /**
+     * TelemetryRecorder (con su hilo escritor) que escribe en una carpeta
+     * temporal, así las verificaciones recorren frame() y partida() sin tocar
+     * ~/.flappy aunque corran con -Dflappy.telemetry=false. La carpeta se
+     * borra al terminar la JVM.
+     */
+    public static TelemetryRecorder temporaryTelemetry() {
+        try {
+            Path dir = Files.createTempDirectory("flappy-telemetry");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteTree(dir)));
+            return new TelemetryRecorder(dir.toFile(), 1 << 20, 8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteTree(Path dir) {
+        File[] files = dir.toFile().listFiles();
+        if (files != null) for (File f : files) f.delete();
+        dir.toFile().delete();
+    }
+
+    public FlappyGameMenu getGame() {
+        return game;
+    }
+
+    /** Input programable: lo que se programe aquí se ve en el próximo frame. */
+    public ScriptedInput getInput() {
+        return input;
+    }
+
+    /** Activa una pantalla usando el flujo normal de Game.setScreen (hide/show/resize). */
+    public void setScreen(Screen screen) {
+        game.setScreen(screen);
+    }
+
+    /** Renderiza un frame de la pantalla activa con un delta fijo. */
+    public void frame(float delta) {
+        input.beginFrame();
+        Screen screen = game.getScreen();
+        if (screen != null) screen.render(delta);
+        input.endFrame();
+    }
+
+    /** Renderiza varios frames consecutivos con el mismo delta. */
+    public void frames(int count, float delta) {
+        for (int i = 0; i < count; i++) frame(delta);
+    }
+
+    /**
+     * Piloto simple para mantener viva una partida: apunta al centro del hueco del
+     * próximo tubo (o a media altura si no hay) y programa un SPACE cuando el pájaro cae por debajo.
+     */
+    public void steerBird(GameScreen screen) {
+        Character bird = screen.getBird();
+        if (bird == null || screen.getObstaculos() == null) return;
+
+        float target = GameScreen.worldHeight / 2f;
+        float nearest = Float.MAX_VALUE;
+        for (Colision c : screen.getObstaculos().getColisiones()) {
+            // Los tubos tienen dos hitboxes: [1] es el tubo inferior, el hueco empieza sobre él
+            if (c.getBounds().length != 2) continue;
+            float right = c.getX() + c.getAncho();
+            if (right >= bird.pos.x && c.getX() < nearest) {
+                nearest = c.getX();
+                target = c.getBounds()[1].height + 40f;
+            }
+        }
+        if (bird.pos.y < target && bird.vel.y <= 0) input.press(Input.Keys.SPACE);
+    }
+
+    /** Libera los recursos del juego y detiene el backend headless. */
+    public void dispose() {
+        game.dispose();
+        app.exit();
+    }
+}
@@ -0,0 +1,366 @@
+package puppy.code.headless;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * Clase RecordingBatch
+ * Implementación de Batch que no dibuja: registra cada comando de dibujo
+ * (textura, región UV y transformación) en un buffer preasignado y simula
+ * las reglas de vaciado de SpriteBatch para contar draw calls sin GPU.
+ *
+ * Reglas imitadas de SpriteBatch:
+ *  - cambiar de textura vacía el lote (flush) y cuenta un texture bind,
+ *  - el lote se vacía al llenarse (batchSize sprites), en end() y en flush(),
+ *  - cambiar blending, shader o matrices durante el dibujo también vacía el lote.
+ *
+ * Los comandos que exceden la capacidad no se guardan, pero sí cuentan en las estadísticas.
+ */
+public class RecordingBatch implements Batch {
+
+    // --- Layout de cada comando en el buffer de floats ---
+    public static final int CMD_X = 0;
+    public static final int CMD_Y = 1;
+    public static final int CMD_WIDTH = 2;
+    public static final int CMD_HEIGHT = 3;
+    public static final int CMD_U = 4;
+    public static final int CMD_V = 5;
+    public static final int CMD_U2 = 6;
+    public static final int CMD_V2 = 7;
+    public static final int CMD_ROTATION = 8;
+    public static final int CMD_COLOR = 9;
+    public static final int CMD_STRIDE = 10;
+
+    // --- Buffer de comandos (preasignado) ---
+    private final float[] commands;
+    private final Texture[] textures;
+    private final int capacity;
+    private int commandCount;
+    private int droppedCommands;
+
+    // --- Simulación del lote de SpriteBatch ---
+    private final int batchSize;   // sprites por lote antes de vaciar (1000 por defecto en SpriteBatch)
+    private Texture lastTexture;
+    private int pendingSprites;
+
+    // --- Estadísticas ---
+    private int flushCount;        // lotes no vacíos enviados (equivale a renderCalls de SpriteBatch)
+    private int textureBinds;      // cambios de textura
+    private int spriteCount;       // quads dibujados
+    private int maxSpritesInBatch;
+
+    // --- Estado del Batch ---
+    private boolean drawing;
+    private boolean blendingDisabled;
+    private int blendSrcFunc = GL20.GL_SRC_ALPHA;
+    private int blendDstFunc = GL20.GL_ONE_MINUS_SRC_ALPHA;
+    private int blendSrcFuncAlpha = GL20.GL_SRC_ALPHA;
+    private int blendDstFuncAlpha = GL20.GL_ONE_MINUS_SRC_ALPHA;
+    private final Matrix4 projectionMatrix = new Matrix4();
+    private final Matrix4 transformMatrix = new Matrix4();
+    private final Color color = new Color(1, 1, 1, 1);
+    private float colorPacked = Color.WHITE_FLOAT_BITS;
+    private ShaderProgram shader;
+
+    /** Crea un batch con capacidad para 8192 comandos y lotes de 1000 sprites (como SpriteBatch). */
+    public RecordingBatch() {
+        this(8192, 1000);
+    }
+
+    /**
+     * @param capacity máximo de comandos guardados por frame
+     * @param batchSize sprites por lote simulado antes de un flush forzado
+     */
+    public RecordingBatch(int capacity, int batchSize) {
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.commands = new float[capacity * CMD_STRIDE];
+        this.textures = new Texture[capacity];
+    }
+
+    // --- Ciclo begin/end ---
+
+    @Override
+    public void begin() {
+        if (drawing) throw new IllegalStateException("RecordingBatch.end must be called before begin.");
+        drawing = true;
+    }
+
+    @Override
+    public void end() {
+        if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before end.");
+        flush();
+        lastTexture = null;
+        drawing = false;
+    }
+
+    @Override
+    public void flush() {
+        if (pendingSprites == 0) return;
+        flushCount++;
+        if (pendingSprites > maxSpritesInBatch) maxSpritesInBatch = pendingSprites;
+        pendingSprites = 0;
+    }
+
+    // --- Registro de comandos ---
+
+    /** Registra un quad y aplica las reglas de vaciado de SpriteBatch. */
+    private void record(Texture texture, float x, float y, float width, float height,
+                        float u, float v, float u2, float v2, float rotation, float packedColor) {
+        if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+        if (texture != lastTexture) {
+            flush();
+            lastTexture = texture;
+            textureBinds++;
+        } else if (pendingSprites == batchSize) {
+            flush();
+        }
+        pendingSprites++;
+        spriteCount++;
+
+        if (commandCount == capacity) {
+            droppedCommands++;
+            return;
+        }
+        int i = commandCount * CMD_STRIDE;
+        commands[i + CMD_X] = x;
+        commands[i + CMD_Y] = y;
+        commands[i + CMD_WIDTH] = width;
+        commands[i + CMD_HEIGHT] = height;
+        commands[i + CMD_U] = u;
+        commands[i + CMD_V] = v;
+        commands[i + CMD_U2] = u2;
+        commands[i + CMD_V2] = v2;
+        commands[i + CMD_ROTATION] = rotation;
+        commands[i + CMD_COLOR] = packedColor;
+        textures[commandCount] = texture;
+        commandCount++;
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight,
+                     boolean flipX, boolean flipY) {
+        float invW = 1f / texture.getWidth(), invH = 1f / texture.getHeight();
+        float u = srcX * invW, v = (srcY + srcHeight) * invH;
+        float u2 = (srcX + srcWidth) * invW, v2 = srcY * invH;
+        if (flipX) { float t = u; u = u2; u2 = t; }
+        if (flipY) { float t = v; v = v2; v2 = t; }
+        record(texture, x, y, width * scaleX, height * scaleY, u, v, u2, v2, rotation, colorPacked);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY,
+                     int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+        draw(texture, x, y, 0, 0, width, height, 1, 1, 0, srcX, srcY, srcWidth, srcHeight, flipX, flipY);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+        draw(texture, x, y, 0, 0, srcWidth, srcHeight, 1, 1, 0, srcX, srcY, srcWidth, srcHeight, false, false);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+        record(texture, x, y, width, height, u, v, u2, v2, 0, colorPacked);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y) {
+        draw(texture, x, y, texture.getWidth(), texture.getHeight());
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height) {
+        record(texture, x, y, width, height, 0, 1, 1, 0, 0, colorPacked);
+    }
+
+    /** Vértices ya armados (BitmapFontCache, Sprite): cada SPRITE_SIZE floats es un quad. */
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        for (int end = offset + count; offset + SPRITE_SIZE <= end; offset += SPRITE_SIZE) {
+            float x = spriteVertices[offset + X1], y = spriteVertices[offset + Y1];
+            record(texture, x, y,
+                spriteVertices[offset + X3] - x, spriteVertices[offset + Y3] - y,
+                spriteVertices[offset + U1], spriteVertices[offset + V1],
+                spriteVertices[offset + U3], spriteVertices[offset + V3],
+                0, spriteVertices[offset + C1]);
+        }
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y) {
+        draw(region, x, y, region.getRegionWidth(), region.getRegionHeight());
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+        record(region.getTexture(), x, y, width, height,
+            region.getU(), region.getV2(), region.getU2(), region.getV(), 0, colorPacked);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation) {
+        record(region.getTexture(), x, y, width * scaleX, height * scaleY,
+            region.getU(), region.getV2(), region.getU2(), region.getV(), rotation, colorPacked);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation, boolean clockwise) {
+        draw(region, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+        float rotation = MathUtils.atan2(transform.m10, transform.m00) * MathUtils.radiansToDegrees;
+        record(region.getTexture(), transform.m02, transform.m12, width, height,
+            region.getU(), region.getV2(), region.getU2(), region.getV(), rotation, colorPacked);
+    }
+
+    // --- Estado que en SpriteBatch provoca flush ---
+
+    @Override
+    public void disableBlending() {
+        if (blendingDisabled) return;
+        flush();
+        blendingDisabled = true;
+    }
+
+    @Override
+    public void enableBlending() {
+        if (!blendingDisabled) return;
+        flush();
+        blendingDisabled = false;
+    }
+
+    @Override
+    public void setBlendFunction(int srcFunc, int dstFunc) {
+        setBlendFunctionSeparate(srcFunc, dstFunc, srcFunc, dstFunc);
+    }
+
+    @Override
+    public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+        if (blendSrcFunc == srcFuncColor && blendDstFunc == dstFuncColor
+            && blendSrcFuncAlpha == srcFuncAlpha && blendDstFuncAlpha == dstFuncAlpha) return;
+        flush();
+        blendSrcFunc = srcFuncColor;
+        blendDstFunc = dstFuncColor;
+        blendSrcFuncAlpha = srcFuncAlpha;
+        blendDstFuncAlpha = dstFuncAlpha;
+    }
+
+    @Override
+    public void setProjectionMatrix(Matrix4 projection) {
+        if (drawing) flush();
+        projectionMatrix.set(projection);
+    }
+
+    @Override
+    public void setTransformMatrix(Matrix4 transform) {
+        if (drawing) flush();
+        transformMatrix.set(transform);
+    }
+
+    @Override
+    public void setShader(ShaderProgram shader) {
+        if (drawing) flush();
+        this.shader = shader;
+    }
+
+    // --- Color ---
+
+    @Override
+    public void setColor(Color tint) {
+        color.set(tint);
+        colorPacked = tint.toFloatBits();
+    }
+
+    @Override
+    public void setColor(float r, float g, float b, float a) {
+        color.set(r, g, b, a);
+        colorPacked = color.toFloatBits();
+    }
+
+    @Override
+    public Color getColor() { return color; }
+
+    @Override
+    public void setPackedColor(float packedColor) {
+        Color.abgr8888ToColor(color, packedColor);
+        colorPacked = packedColor;
+    }
+
+    @Override
+    public float getPackedColor() { return colorPacked; }
+
+    // --- Getters de estado del Batch ---
+
+    @Override
+    public int getBlendSrcFunc() { return blendSrcFunc; }
+
+    @Override
+    public int getBlendDstFunc() { return blendDstFunc; }
+
+    @Override
+    public int getBlendSrcFuncAlpha() { return blendSrcFuncAlpha; }
+
+    @Override
+    public int getBlendDstFuncAlpha() { return blendDstFuncAlpha; }
+
+    @Override
+    public Matrix4 getProjectionMatrix() { return projectionMatrix; }
+
+    @Override
+    public Matrix4 getTransformMatrix() { return transformMatrix; }
+
+    @Override
+    public ShaderProgram getShader() { return shader; }
+
+    @Override
+    public boolean isBlendingEnabled() { return !blendingDisabled; }
+
+    @Override
+    public boolean isDrawing() { return drawing; }
+
+    @Override
+    public void dispose() {
+        reset();
+    }
+
+    // --- Acceso a lo registrado ---
+
+    /** Limpia comandos y estadísticas (típicamente antes de cada frame medido). */
+    public void reset() {
+        for (int i = 0; i < commandCount; i++) textures[i] = null;
+        commandCount = 0;
+        droppedCommands = 0;
+        pendingSprites = 0;
+        lastTexture = null;
+        flushCount = 0;
+        textureBinds = 0;
+        spriteCount = 0;
+        maxSpritesInBatch = 0;
+    }
+
+    public int getCommandCount() { return commandCount; }
+    public int getDroppedCommands() { return droppedCommands; }
+    public Texture getTexture(int command) { return textures[command]; }
+
+    /** Lee un campo de un comando registrado (usar las constantes CMD_*). */
+    public float get(int command, int field) { return commands[command * CMD_STRIDE + field]; }
+
+    public int getFlushCount() { return flushCount; }
+    public int getTextureBinds() { return textureBinds; }
+    public int getSpriteCount() { return spriteCount; }
+    public int getMaxSpritesInBatch() { return maxSpritesInBatch; }
+}
@@ -0,0 +1,80 @@
+package puppy.code.headless;
+
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+
+/**
+ * Clase ScriptedInput
+ * Input simulado para el backend headless: las herramientas del módulo
+ * programan teclas o toques y estos se ven como "recién presionados"
+ * (isKeyJustPressed / justTouched) durante exactamente un frame.
+ */
+public class ScriptedInput extends MockInput {
+
+    private static final int MAX_KEYS = 256;
+
+    // Lo programado para el próximo frame y lo visible en el frame actual
+    private final boolean[] queuedKeys = new boolean[MAX_KEYS];
+    private final boolean[] justPressed = new boolean[MAX_KEYS];
+    private boolean queuedTouch, justTouched;
+    private int queuedX, queuedY, touchX, touchY;
+
+    /** Programa una tecla para el próximo frame. */
+    public void press(int keycode) {
+        queuedKeys[keycode] = true;
+    }
+
+    /** Programa un clic/toque en coordenadas de pantalla para el próximo frame. */
+    public void tap(int screenX, int screenY) {
+        queuedTouch = true;
+        queuedX = screenX;
+        queuedY = screenY;
+    }
+
+    /** Publica lo programado como entrada del frame que va a comenzar. */
+    void beginFrame() {
+        for (int i = 0; i < MAX_KEYS; i++) {
+            justPressed[i] = queuedKeys[i];
+            queuedKeys[i] = false;
+        }
+        justTouched = queuedTouch;
+        touchX = queuedX;
+        touchY = queuedY;
+        queuedTouch = false;
+    }
+
+    /** Limpia la entrada al terminar el frame (los "just pressed" duran un frame). */
+    void endFrame() {
+        for (int i = 0; i < MAX_KEYS; i++) justPressed[i] = false;
+        justTouched = false;
+    }
+
+    @Override
+    public boolean isKeyJustPressed(int key) {
+        return key >= 0 && key < MAX_KEYS && justPressed[key];
+    }
+
+    @Override
+    public boolean isKeyPressed(int key) {
+        return isKeyJustPressed(key);
+    }
+
+    @Override
+    public boolean justTouched() {
+        return justTouched;
+    }
+
+    @Override
+    public boolean isTouched() {
+        return justTouched;
+    }
+
+    @Override
+    public int getX() {
+        return touchX;
+    }
+
+    @Override
+    public int getY() {
+        return touchY;
+    }
+}
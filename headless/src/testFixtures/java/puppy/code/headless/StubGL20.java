@@ -0,0 +1,71 @@
+package puppy.code.headless;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * Clase StubGL20
+ * Implementación vacía de GL20 para ejecutar el juego sin GPU ni ventana.
+ * Todas las llamadas se ignoran y devuelven 0/false, salvo las mínimas
+ * necesarias para que Texture, Mesh y ShaderProgram se construyan sin errores
+ * (ids de shader/programa distintos de 0 y estado de compilación/enlace OK).
+ */
+public final class StubGL20 implements InvocationHandler {
+
+    private int nextHandle = 1; // ids "reales" para shaders, programas, buffers y texturas
+
+    private StubGL20() {
+    }
+
+    /** Crea un proxy de GL20 listo para asignarse a Gdx.gl y Gdx.gl20. */
+    public static GL20 create() {
+        return (GL20) Proxy.newProxyInstance(
+            GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, new StubGL20());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        switch (name) {
+            case "glCreateShader":
+            case "glCreateProgram":
+            case "glGenBuffer":
+            case "glGenTexture":
+            case "glGenFramebuffer":
+            case "glGenRenderbuffer":
+                return nextHandle++;
+            case "glGetShaderiv":
+            case "glGetProgramiv":
+                // Solo se informa éxito de compilación/enlace; el resto queda en 0
+                int pname = (Integer) args[1];
+                if (pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS) {
+                    ((IntBuffer) args[2]).put(0, 1);
+                }
+                return null;
+            case "glCheckFramebufferStatus":
+                return GL20.GL_FRAMEBUFFER_COMPLETE;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "StubGL20";
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+    /** Valor neutro para cada tipo de retorno (evita NullPointerException al desempaquetar). */
+    private static Object defaultValue(Class<?> type) {
+        if (type == int.class) return 0;
+        if (type == boolean.class) return false;
+        if (type == float.class) return 0f;
+        if (type == long.class) return 0L;
+        if (type == String.class) return "";
+        return null;
+    }
+}
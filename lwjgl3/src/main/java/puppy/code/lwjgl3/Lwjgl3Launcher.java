@@ -1,21 +1,30 @@
 package puppy.code.lwjgl3;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3WindowAdapter;
 import puppy.code.FlappyGameMenu;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
+
+    // Revisiones de eventos por segundo mientras un menú no pide frames (renderizado a pedido, ver BaseUIScreen)
+    private static final int IDLE_FPS = 20;
+    // FPS de los menús con la ventana sin foco (en segundo plano o detrás de otra ventana)
+    private static final int BACKGROUND_FPS = 10;
+
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
         createApplication();
     }
 
     private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new FlappyGameMenu(), getDefaultConfiguration());
+        FlappyGameMenu game = new FlappyGameMenu();
+        return new Lwjgl3Application(game, getDefaultConfiguration(game));
     }
 
-    private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
+    private static Lwjgl3ApplicationConfiguration getDefaultConfiguration(final FlappyGameMenu game) {
         Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
         configuration.setTitle("FlappyGameMenu");
         //// Vsync limits the frames per second to what your hardware can display, and helps eliminate
@@ -23,7 +32,22 @@ public class Lwjgl3Launcher {
         configuration.useVsync(true);
         //// Limits FPS to the refresh rate of the currently active monitor, plus 1 to try to match fractional
         //// refresh rates. The Vsync setting above should limit the actual FPS to match the monitor.
-        configuration.setForegroundFPS(Lwjgl3ApplicationConfiguration.getDisplayMode().refreshRate + 1);
+        final int foregroundFPS = Lwjgl3ApplicationConfiguration.getDisplayMode().refreshRate + 1;
+        configuration.setForegroundFPS(foregroundFPS);
+        // Los menús no dibujan si nada cambia; mientras tanto el bucle solo espera eventos a este ritmo
+        configuration.setIdleFPS(IDLE_FPS);
+        // Sin foco una partida en juego pasa a la pausa, y los menús siguen corriendo a pocos FPS
+        configuration.setWindowListener(new Lwjgl3WindowAdapter() {
+            @Override
+            public void focusLost() {
+                if (game.focoPerdido()) Gdx.graphics.setForegroundFPS(BACKGROUND_FPS);
+            }
+
+            @Override
+            public void focusGained() {
+                Gdx.graphics.setForegroundFPS(foregroundFPS);
+            }
+        });
         //// If you remove the above line and set Vsync to false, you can get unlimited FPS, which can be
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
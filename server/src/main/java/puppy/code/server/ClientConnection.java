@@ -0,0 +1,61 @@
+package puppy.code.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Clase ClientConnection
+ * Conexión de un jugador. El hilo de red solo lee (buffer "in"); el worker
+ * que simula la sala del jugador es el único que escribe (buffer "out").
+ *
+ * Los envíos nunca bloquean: si el frame anterior aún no salió completo, el
+ * nuevo se descarta (el siguiente estado lo reemplaza de todas formas).
+ */
+final class ClientConnection {
+
+    final SocketChannel channel;
+    final ByteBuffer in = ByteBuffer.allocate(256);
+    private final ByteBuffer out = ByteBuffer.allocate(Protocol.MAX_FRAME);
+
+    // Asignados por el hilo de red al recibir HELLO
+    Room room;
+    int slot = -1;
+
+    volatile boolean closed;
+
+    ClientConnection(SocketChannel channel) {
+        this.channel = channel;
+        out.flip(); // "out" queda siempre en modo lectura: lo pendiente de enviar
+    }
+
+    /**
+     * Envía un frame completo (prefijo de largo incluido) o lo descarta.
+     * @return true si el frame quedó en cola del socket
+     */
+    boolean send(byte[] frame, int length) {
+        if (closed) return false;
+        try {
+            if (out.hasRemaining()) {
+                channel.write(out);
+                if (out.hasRemaining()) return false;
+            }
+            out.clear();
+            out.put(frame, 0, length);
+            out.flip();
+            channel.write(out);
+            return true;
+        } catch (IOException e) {
+            closed = true;
+            return false;
+        }
+    }
+
+    void close() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package puppy.code.server;
+
+import java.lang.management.ManagementFactory;
+
+import puppy.code.DynamicDifficulty;
+import puppy.code.Simulacion.ReglasPartida;
+import puppy.code.Simulacion.SimulacionFija;
+import puppy.code.Simulacion.SimulacionPartida;
+
+/**
+ * Clase DeterminismCheck
+ * Comprueba que SimulacionFija sea idéntica bit a bit entre ejecuciones y
+ * entre JVM: juega un lote fijo de partidas con un piloto que solo mira el
+ * estado en punto fijo, combina el hashEstado de cada tick en un resumen y lo
+ * compara con HASH_ESPERADO, calculado una vez y guardado aquí. Cualquier JVM,
+ * nivel de JIT o plataforma tiene que llegar al mismo valor.
+ *
+ * El lote se juega dos veces en el mismo proceso (la segunda ya con código
+ * compilado por el JIT) y las dos tienen que coincidir. El resumen del mismo
+ * lote con SimulacionPartida se muestra solo como referencia: en float no
+ * hay un valor esperado.
+ *
+ * Termina con código 1 si algo no coincide. Si se cambian las reglas de la
+ * simulación a propósito, HASH_ESPERADO se actualiza con el valor impreso.
+ *
+ * Argumentos: --runs N (partidas, 200 por defecto; HASH_ESPERADO es para 200).
+ */
+public class DeterminismCheck {
+
+    static final long HASH_ESPERADO = 0x76be7a2fc2af16e5L;
+    private static final int RUNS = 200;
+    private static final int MAX_TICKS = 3600;
+    private static final int TARGET_BELOW_GAP = SimulacionFija.aFijo(20f);
+
+    public static void main(String[] args) {
+        int runs = RUNS;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--runs": runs = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+
+        System.out.printf("%s %s (%s), %s%n", System.getProperty("java.vm.name"),
+            System.getProperty("java.version"), System.getProperty("os.arch"),
+            ManagementFactory.getRuntimeMXBean().getInputArguments());
+
+        long start = System.nanoTime();
+        long[] ticks = new long[1];
+        long primera = lotePuntoFijo(runs, ticks);
+        long segunda = lotePuntoFijo(runs, new long[1]);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("punto fijo: %016x / %016x (%d partidas, %d ticks, x2 en %.2f s)%n",
+            primera, segunda, runs, ticks[0], seconds);
+        System.out.printf("float (referencia): %016x%n", loteFloat(runs));
+
+        boolean ok = primera == segunda;
+        if (!ok) System.err.println("Las dos pasadas del mismo proceso no coinciden");
+        if (runs == RUNS && primera != HASH_ESPERADO) {
+            System.err.printf("El resumen no coincide con HASH_ESPERADO (%016x)%n", HASH_ESPERADO);
+            ok = false;
+        }
+        if (!ok) System.exit(1);
+        System.out.println("OK");
+    }
+
+    /** Juega el lote con SimulacionFija y devuelve el resumen de todos los ticks. */
+    private static long lotePuntoFijo(int runs, long[] ticks) {
+        SimulacionFija sim = new SimulacionFija(new DynamicDifficulty());
+        long resumen = 0;
+        for (int r = 0; r < runs; r++) {
+            long seed = semilla(r);
+            sim.reset(seed);
+            resumen = mezclar(resumen, sim.hashEstado());
+            while (sim.isAlive() && sim.getTick() < MAX_TICKS) {
+                sim.step(quiereAletear(sim) && !falla(seed, sim.getTick(), r));
+                resumen = mezclar(resumen, sim.hashEstado());
+            }
+            ticks[0] += sim.getTick();
+        }
+        return resumen;
+    }
+
+    /** El mismo lote con SimulacionPartida y el piloto en float. */
+    private static long loteFloat(int runs) {
+        SimulacionPartida sim = new SimulacionPartida(new DynamicDifficulty());
+        long resumen = 0;
+        for (int r = 0; r < runs; r++) {
+            long seed = semilla(r);
+            sim.reset(seed);
+            resumen = mezclar(resumen, sim.hashEstado());
+            while (sim.isAlive() && sim.getTick() < MAX_TICKS) {
+                sim.step(quiereAletear(sim) && !falla(seed, sim.getTick(), r));
+                resumen = mezclar(resumen, sim.hashEstado());
+            }
+        }
+        return resumen;
+    }
+
+    /** Piloto de VerificationBenchmark, con enteros: aletear si cae bajo el hueco del próximo tubo. */
+    private static boolean quiereAletear(SimulacionFija sim) {
+        int target = SimulacionFija.aFijo(ReglasPartida.WORLD_HEIGHT / 2f);
+        int bestX = Integer.MAX_VALUE;
+        int ancho = SimulacionFija.aFijo(ReglasPartida.PIPE_WIDTH);
+        int birdX = SimulacionFija.aFijo(ReglasPartida.BIRD_X);
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            if (i == SimulacionPartida.ENEMIGO) continue;
+            int x = sim.getObstacleXFijo(i);
+            if (x + ancho > birdX && x < bestX) {
+                bestX = x;
+                target = sim.getObstacleYFijo(i) - TARGET_BELOW_GAP;
+            }
+        }
+        return sim.getBirdVyFijo() <= 0 && sim.getBirdYFijo() < target;
+    }
+
+    private static boolean quiereAletear(SimulacionPartida sim) {
+        float target = ReglasPartida.WORLD_HEIGHT / 2f;
+        float bestX = Float.MAX_VALUE;
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            if (i == SimulacionPartida.ENEMIGO) continue;
+            float x = sim.getObstacleX(i);
+            if (x + ReglasPartida.PIPE_WIDTH > ReglasPartida.BIRD_X && x < bestX) {
+                bestX = x;
+                target = sim.getObstacleY(i) - 20f;
+            }
+        }
+        return sim.getBirdVy() <= 0 && sim.getBirdY() < target;
+    }
+
+    /** Errores del piloto sin Random: de 0 a 4 por mil según la partida, elegidos por hash del tick. */
+    private static boolean falla(long seed, int tick, int run) {
+        return Long.remainderUnsigned(mezclar(seed, tick), 1000) < run % 5;
+    }
+
+    private static long semilla(int run) {
+        return mezclar(0x5DEECE66DL, run);
+    }
+
+    private static long mezclar(long h, long v) {
+        h = (h ^ v) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+}
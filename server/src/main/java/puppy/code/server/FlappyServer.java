@@ -0,0 +1,216 @@
+package puppy.code.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Clase FlappyServer
+ * Servidor local de salas: acepta jugadores por TCP (Protocol), los agrupa en
+ * salas de tamaño fijo y deja la simulación a RoomScheduler (un worker por
+ * núcleo). Este hilo solo atiende la red: acepta, lee HELLO/FLAP y cierra.
+ *
+ * Una vez por segundo imprime salas, jugadores, frames enviados/descartados y
+ * la utilización de los workers, con la estimación de salas por núcleo.
+ *
+ * Argumentos: --port N, --threads N (núcleos por defecto), --room-size N,
+ * --broadcast-every N (ticks entre estados), --seconds N (0 = sin límite).
+ */
+public class FlappyServer {
+
+    private final int roomSize;
+    private final int broadcastEvery;
+    private final RoomScheduler scheduler;
+    private final List<Room> rooms = new ArrayList<>(); // solo para el reporte
+
+    private Room currentRoom;
+    private int nextSlot;
+    private int nextRoomId;
+
+    private FlappyServer(int threads, int roomSize, int broadcastEvery) {
+        this.roomSize = roomSize;
+        this.broadcastEvery = broadcastEvery;
+        this.scheduler = new RoomScheduler(threads);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = Protocol.DEFAULT_PORT;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int roomSize = 8;
+        int broadcastEvery = 2;
+        int seconds = 0;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            int value = Integer.parseInt(args[i + 1]);
+            switch (args[i]) {
+                case "--port": port = value; break;
+                case "--threads": threads = value; break;
+                case "--room-size": roomSize = value; break;
+                case "--broadcast-every": broadcastEvery = value; break;
+                case "--seconds": seconds = value; break;
+                default: throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+        if (roomSize < 1 || roomSize > Protocol.MAX_ROOM_SIZE) {
+            throw new IllegalArgumentException("--room-size debe estar entre 1 y " + Protocol.MAX_ROOM_SIZE);
+        }
+
+        FlappyServer server = new FlappyServer(threads, roomSize, Math.max(1, broadcastEvery));
+        System.out.printf("Servidor en 127.0.0.1:%d, %d workers, salas de %d%n", port, threads, roomSize);
+        server.serve(port, seconds * 1_000_000_000L);
+    }
+
+    /** Ciclo de red con reporte periódico; termina al cumplirse el tiempo indicado (0 = nunca). */
+    private void serve(int port, long durationNanos) throws IOException {
+        scheduler.start();
+        try (Selector selector = Selector.open();
+             ServerSocketChannel acceptor = ServerSocketChannel.open()) {
+            acceptor.bind(new InetSocketAddress("127.0.0.1", port), 4096);
+            acceptor.configureBlocking(false);
+            acceptor.register(selector, SelectionKey.OP_ACCEPT);
+
+            long start = System.nanoTime();
+            long nextReport = start + 1_000_000_000L;
+            Report report = new Report();
+            while (durationNanos == 0 || System.nanoTime() - start < durationNanos) {
+                selector.select(250);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) accept(acceptor, selector);
+                    else if (key.isReadable()) read(key);
+                }
+
+                long now = System.nanoTime();
+                if (now >= nextReport) {
+                    report.print(now);
+                    nextReport += 1_000_000_000L;
+                }
+            }
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    private void accept(ServerSocketChannel acceptor, Selector selector) throws IOException {
+        SocketChannel channel;
+        while ((channel = acceptor.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.register(selector, SelectionKey.OP_READ, new ClientConnection(channel));
+        }
+    }
+
+    /** Lee los frames del cliente; HELLO lo asigna a una sala y FLAP se pasa a su sala. */
+    private void read(SelectionKey key) {
+        ClientConnection connection = (ClientConnection) key.attachment();
+        ByteBuffer in = connection.in;
+        try {
+            if (connection.channel.read(in) < 0) {
+                disconnect(key, connection);
+                return;
+            }
+        } catch (IOException e) {
+            disconnect(key, connection);
+            return;
+        }
+
+        in.flip();
+        while (in.remaining() >= Protocol.LENGTH_SIZE + 1) {
+            int length = in.getInt(in.position());
+            if (length < 1 || length > in.capacity() - Protocol.LENGTH_SIZE) {
+                disconnect(key, connection); // frame inválido
+                return;
+            }
+            if (in.remaining() < Protocol.LENGTH_SIZE + length) break;
+            in.position(in.position() + Protocol.LENGTH_SIZE);
+            byte type = in.get();
+            in.position(in.position() + length - 1); // los mensajes del cliente no llevan datos
+
+            if (type == Protocol.HELLO && connection.room == null) assign(connection);
+            else if (type == Protocol.FLAP && connection.room != null) connection.room.flap(connection.slot);
+        }
+        in.compact();
+    }
+
+    private void disconnect(SelectionKey key, ClientConnection connection) {
+        key.cancel();
+        if (connection.room == null) connection.close();
+        else connection.closed = true; // el worker de la sala la cierra en su próximo tick
+    }
+
+    /** Ubica al jugador en la sala actual; al llenarse se abre otra. */
+    private void assign(ClientConnection connection) {
+        if (currentRoom == null || nextSlot == roomSize) {
+            currentRoom = new Room(nextRoomId, 0x5EEDL * 31 + nextRoomId, roomSize, broadcastEvery);
+            nextRoomId++;
+            nextSlot = 0;
+            rooms.add(currentRoom);
+            scheduler.add(currentRoom);
+        }
+        currentRoom.join(connection, nextSlot++);
+    }
+
+    /** Reporte por segundo (diferencias respecto del anterior). */
+    private final class Report {
+        private long lastNanos = System.nanoTime();
+        private long lastSent, lastDropped, lastTicks;
+        private long retiredSent, retiredDropped, retiredTicks; // totales de salas ya terminadas
+        private final long[] lastBusy = new long[scheduler.getWorkers().length];
+
+        void print(long now) {
+            int players = 0, liveRooms = 0;
+            for (int i = rooms.size() - 1; i >= 0; i--) {
+                Room room = rooms.get(i);
+                if (room.isFinished()) {
+                    retiredSent += room.framesSent;
+                    retiredDropped += room.framesDropped;
+                    retiredTicks += room.ticks;
+                    rooms.remove(i);
+                }
+            }
+            long sent = retiredSent, dropped = retiredDropped, roomTicks = retiredTicks;
+            for (int i = 0; i < rooms.size(); i++) {
+                Room room = rooms.get(i);
+                sent += room.framesSent;
+                dropped += room.framesDropped;
+                roomTicks += room.ticks;
+                players += room.activePlayers;
+                if (room.activePlayers > 0) liveRooms++;
+            }
+
+            double seconds = (now - lastNanos) / 1e9;
+            double busyCores = 0;
+            long skipped = 0;
+            StringBuilder perWorker = new StringBuilder();
+            RoomScheduler.Worker[] workers = scheduler.getWorkers();
+            for (int i = 0; i < workers.length; i++) {
+                long busy = workers[i].busyNanos;
+                double utilization = (busy - lastBusy[i]) / 1e9 / seconds;
+                lastBusy[i] = busy;
+                busyCores += utilization;
+                skipped += workers[i].skippedTicks;
+                perWorker.append(String.format(" %.0f%%", utilization * 100));
+            }
+
+            System.out.printf("salas %d  jugadores %d  ticks/s %.0f  estados/s %.0f  descartados/s %.0f"
+                    + "  ticks perdidos %d  uso workers:%s  salas/núcleo %s%n",
+                liveRooms, players, (roomTicks - lastTicks) / seconds,
+                (sent - lastSent) / seconds, (dropped - lastDropped) / seconds, skipped, perWorker,
+                busyCores > 0.001 ? String.format("%.0f", liveRooms / busyCores) : "-");
+
+            lastNanos = now;
+            lastSent = sent;
+            lastDropped = dropped;
+            lastTicks = roomTicks;
+        }
+    }
+}
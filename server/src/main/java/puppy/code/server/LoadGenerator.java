@@ -0,0 +1,245 @@
+package puppy.code.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import puppy.code.Simulacion.ReglasPartida;
+import puppy.code.Simulacion.SimulacionPartida;
+
+/**
+ * Clase LoadGenerator
+ * Cliente de carga para FlappyServer: abre miles de conexiones desde un solo
+ * hilo (NIO) y cada una juega como un jugador con un piloto simple, que aletea
+ * cuando su pájaro cae por debajo del hueco del próximo tubo.
+ *
+ * Reporta por segundo conexiones, estados recibidos, bytes, aleteos y la
+ * latencia de entrega (System.nanoTime del servidor contra la del cliente:
+ * válida porque ambos procesos corren en la misma máquina).
+ *
+ * Argumentos: --host H, --port N, --clients N, --seconds N, --connect-rate N (conexiones por segundo).
+ */
+public class LoadGenerator {
+
+    private static final int LATENCY_BUCKETS = 1000;       // casilleros de 100 µs hasta 100 ms
+    private static final long LATENCY_BUCKET_NANOS = 100_000L;
+    private static final float TARGET_BELOW_GAP = 20f;     // mismo criterio que el piloto del arnés headless
+
+    /** Estado de un jugador simulado. */
+    private static final class Bot {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(Protocol.MAX_FRAME);
+        int slot = -1;
+        boolean welcomed;
+
+        Bot(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    // Frames del cliente (sin datos): se reutilizan para todos los bots
+    private final ByteBuffer hello = frame(Protocol.HELLO);
+    private final ByteBuffer flap = frame(Protocol.FLAP);
+
+    private final long[] latency = new long[LATENCY_BUCKETS + 1];
+    private long states, bytes, flaps, connected, failed;
+
+    public static void main(String[] args) throws IOException {
+        String host = "127.0.0.1";
+        int port = Protocol.DEFAULT_PORT;
+        int clients = 1000;
+        int seconds = 30;
+        int connectRate = 2000;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--host": host = args[i + 1]; break;
+                case "--port": port = Integer.parseInt(args[i + 1]); break;
+                case "--clients": clients = Integer.parseInt(args[i + 1]); break;
+                case "--seconds": seconds = Integer.parseInt(args[i + 1]); break;
+                case "--connect-rate": connectRate = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+        new LoadGenerator().run(new InetSocketAddress(host, port), clients, seconds, connectRate);
+    }
+
+    private static ByteBuffer frame(byte type) {
+        ByteBuffer buffer = ByteBuffer.allocate(Protocol.LENGTH_SIZE + 1);
+        buffer.putInt(1).put(type).flip();
+        return buffer;
+    }
+
+    private void run(InetSocketAddress address, int clients, int seconds, int connectRate) throws IOException {
+        System.out.printf("Conectando %d jugadores a %s durante %d s%n", clients, address, seconds);
+        try (Selector selector = Selector.open()) {
+            long start = System.nanoTime();
+            long end = start + seconds * 1_000_000_000L;
+            long nextReport = start + 1_000_000_000L;
+            int opened = 0;
+            long lastStates = 0, lastBytes = 0, lastFlaps = 0;
+
+            while (System.nanoTime() < end) {
+                // Conexiones graduales para no desbordar la cola de aceptación del servidor
+                long now = System.nanoTime();
+                int due = (int) Math.min(clients, (now - start) / 1_000_000_000.0 * connectRate + 1);
+                while (opened < due) {
+                    connect(selector, address);
+                    opened++;
+                }
+
+                selector.select(10);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    try {
+                        if (key.isConnectable()) finishConnect(key);
+                        else if (key.isReadable()) read(key);
+                    } catch (IOException e) {
+                        failed++;
+                        key.cancel();
+                        key.channel().close();
+                    }
+                }
+
+                now = System.nanoTime();
+                if (now >= nextReport) {
+                    System.out.printf("conectados %d  fallidos %d  estados/s %d  KB/s %d  aleteos/s %d"
+                            + "  latencia p50 %.1f ms  p99 %.1f ms%n",
+                        connected, failed, states - lastStates, (bytes - lastBytes) / 1024, flaps - lastFlaps,
+                        percentileMillis(0.50), percentileMillis(0.99));
+                    lastStates = states;
+                    lastBytes = bytes;
+                    lastFlaps = flaps;
+                    Arrays.fill(latency, 0);
+                    nextReport += 1_000_000_000L;
+                }
+            }
+
+            for (SelectionKey key : selector.keys()) key.channel().close();
+        }
+        System.out.printf("Total: %d estados (%.0f/s), %d aleteos, %d conexiones fallidas%n",
+            states, states / (double) seconds, flaps, failed);
+    }
+
+    private void connect(Selector selector, InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Bot bot = new Bot(channel);
+        if (channel.connect(address)) {
+            channel.register(selector, SelectionKey.OP_READ, bot);
+            sayHello(bot);
+        } else {
+            channel.register(selector, SelectionKey.OP_CONNECT, bot);
+        }
+    }
+
+    private void finishConnect(SelectionKey key) throws IOException {
+        Bot bot = (Bot) key.attachment();
+        if (!bot.channel.finishConnect()) return;
+        key.interestOps(SelectionKey.OP_READ);
+        sayHello(bot);
+    }
+
+    private void sayHello(Bot bot) throws IOException {
+        connected++;
+        send(bot, hello);
+    }
+
+    private void send(Bot bot, ByteBuffer frame) throws IOException {
+        frame.rewind();
+        bot.channel.write(frame); // 5 bytes: en la práctica nunca es una escritura parcial
+    }
+
+    /** Lee todos los frames disponibles y decide un aleteo con el último estado recibido. */
+    private void read(SelectionKey key) throws IOException {
+        Bot bot = (Bot) key.attachment();
+        int read = bot.channel.read(bot.in);
+        if (read < 0) throw new IOException("El servidor cerró la conexión");
+        bytes += read;
+
+        ByteBuffer in = bot.in;
+        in.flip();
+        boolean shouldFlap = false;
+        while (in.remaining() >= Protocol.LENGTH_SIZE + 1) {
+            int length = in.getInt(in.position());
+            if (in.remaining() < Protocol.LENGTH_SIZE + length) break;
+            int frameEnd = in.position() + Protocol.LENGTH_SIZE + length;
+            in.position(in.position() + Protocol.LENGTH_SIZE);
+            byte type = in.get();
+            if (type == Protocol.WELCOME) {
+                in.getInt(); // sala
+                bot.slot = in.get();
+                bot.welcomed = true;
+            } else if (type == Protocol.STATE) {
+                states++;
+                shouldFlap = readState(in, bot.slot);
+            }
+            in.position(frameEnd);
+        }
+        in.compact();
+
+        if (shouldFlap && bot.welcomed) {
+            send(bot, flap);
+            flaps++;
+        }
+    }
+
+    /** Registra la latencia del estado y aplica el piloto a la entrada propia. */
+    private boolean readState(ByteBuffer in, int slot) {
+        in.getInt(); // tick
+        long sentNanos = in.getLong();
+        long delay = Math.max(0, System.nanoTime() - sentNanos);
+        latency[(int) Math.min(delay / LATENCY_BUCKET_NANOS, LATENCY_BUCKETS)]++;
+
+        int players = in.get();
+        for (int p = 0; p < players; p++) {
+            int entry = in.position();
+            if (in.get(entry) != slot) {
+                in.position(entry + Protocol.STATE_ENTRY);
+                continue;
+            }
+            in.position(entry + 1);
+            boolean alive = in.get() == 1;
+            in.getInt(); // puntaje
+            float y = in.getFloat();
+            float vy = in.getFloat();
+
+            // Próximo tubo: el primero cuyo borde derecho todavía no pasó al pájaro
+            float target = ReglasPartida.WORLD_HEIGHT / 2f;
+            float bestX = Float.MAX_VALUE;
+            for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+                float x = in.getFloat();
+                float oy = in.getFloat();
+                if (i == SimulacionPartida.ENEMIGO) continue;
+                if (x + ReglasPartida.PIPE_WIDTH > ReglasPartida.BIRD_X && x < bestX) {
+                    bestX = x;
+                    target = oy - TARGET_BELOW_GAP;
+                }
+            }
+            return alive && vy <= 0 && y < target;
+        }
+        return false;
+    }
+
+    private double percentileMillis(double p) {
+        long total = 0;
+        for (long count : latency) total += count;
+        if (total == 0) return 0;
+        long target = (long) Math.ceil(p * total);
+        long cumulative = 0;
+        for (int i = 0; i <= LATENCY_BUCKETS; i++) {
+            cumulative += latency[i];
+            if (cumulative >= target) return (i + 1) * LATENCY_BUCKET_NANOS / 1e6;
+        }
+        return LATENCY_BUCKETS * LATENCY_BUCKET_NANOS / 1e6;
+    }
+}
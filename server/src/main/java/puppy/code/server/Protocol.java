@@ -0,0 +1,39 @@
+package puppy.code.server;
+
+import puppy.code.Simulacion.SimulacionPartida;
+
+/**
+ * Clase Protocol
+ * Protocolo binario entre el servidor y los clientes (TCP local, big endian).
+ * Cada frame es: int largo (del resto) | byte tipo | datos.
+ *
+ *   cliente → servidor
+ *     HELLO: (sin datos) pide un lugar en una sala
+ *     FLAP:  (sin datos) aleteo para el próximo tick de la sala
+ *   servidor → cliente
+ *     WELCOME: int sala, byte lugar, long semilla de la sala
+ *     STATE:   int tick, long System.nanoTime() del envío, byte jugadores,
+ *              por jugador: byte lugar, byte vivo, int puntaje, float y, float vy,
+ *              y por obstáculo: float x, float y (ver SimulacionPartida.getObstacleY)
+ */
+final class Protocol {
+
+    static final int DEFAULT_PORT = 7777;
+
+    static final byte HELLO = 1;
+    static final byte WELCOME = 2;
+    static final byte FLAP = 3;
+    static final byte STATE = 4;
+
+    static final int LENGTH_SIZE = 4;
+    static final int MAX_FRAME = 16 * 1024;
+    static final int WELCOME_SIZE = 1 + 4 + 1 + 8;
+    static final int STATE_HEADER = 1 + 4 + 8 + 1;
+    static final int STATE_ENTRY = 1 + 1 + 4 + 4 + 4 + SimulacionPartida.OBSTACULOS * 8;
+
+    /** Jugadores por sala como máximo (el aleteo de cada sala es una máscara de 32 bits). */
+    static final int MAX_ROOM_SIZE = 32;
+
+    private Protocol() {
+    }
+}
@@ -0,0 +1,142 @@
+package puppy.code.server;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import puppy.code.DynamicDifficulty;
+import puppy.code.Simulacion.ReplaySubmission;
+import puppy.code.Simulacion.SimulacionDeterminista;
+import puppy.code.Simulacion.SimulacionFija;
+import puppy.code.Simulacion.SimulacionPartida;
+
+/**
+ * Clase ReplayVerifier
+ * Verifica puntajes reproduciendo la partida completa a máxima velocidad (sin
+ * esperar ticks reales) en un pool de workers acotado.
+ *
+ * La cola de espera también es acotada: si está llena, el envío se rechaza de
+ * inmediato con COLA_LLENA en vez de acumular memoria (el cliente reintenta).
+ * Cada worker reutiliza su propia simulación, así verificar no crea objetos
+ * por tick. Las métricas (throughput, profundidad de cola, veredictos) se
+ * pueden leer desde cualquier hilo.
+ *
+ * Cada envío se reproduce con la simulación con que se jugó
+ * (ReplaySubmission.isPuntoFijo): los de SimulacionFija dan un veredicto que
+ * no depende de la JVM ni de la plataforma de ninguno de los dos lados.
+ */
+public class ReplayVerifier {
+
+    /** Duración máxima de una partida que se acepta reproducir (10 minutos a 60 ticks/s). */
+    public static final int MAX_TICKS = 60 * 60 * 10;
+
+    /** Resultado de una verificación. */
+    public enum Veredicto {
+        ACEPTADA,
+        PUNTAJE_DISTINTO,   // la partida reproducida termina con otro puntaje
+        LOG_INVALIDO,       // ticks desordenados, negativos o posteriores a la muerte
+        DEMASIADO_LARGA,    // sigue viva después de MAX_TICKS
+        COLA_LLENA          // no se verificó: el servicio está saturado
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final ArrayBlockingQueue<Runnable> queue;
+    private final ThreadLocal<SimulacionPartida> sims =
+        ThreadLocal.withInitial(() -> new SimulacionPartida(new DynamicDifficulty()));
+    private final ThreadLocal<SimulacionFija> fijas =
+        ThreadLocal.withInitial(() -> new SimulacionFija(new DynamicDifficulty()));
+
+    // --- Métricas ---
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueFull = new LongAdder();
+    private final LongAdder simulatedTicks = new LongAdder();
+
+    /**
+     * @param workers hilos de verificación (típicamente los núcleos disponibles)
+     * @param queueCapacity envíos que pueden esperar antes de rechazar con COLA_LLENA
+     */
+    public ReplayVerifier(int workers, int queueCapacity) {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadIndex = new AtomicInteger();
+        pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "replay-verifier-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Encola la verificación; el futuro se completa con el veredicto. */
+    public CompletableFuture<Veredicto> submit(ReplaySubmission submission) {
+        submitted.increment();
+        CompletableFuture<Veredicto> result = new CompletableFuture<>();
+        try {
+            pool.execute(() -> {
+                SimulacionDeterminista sim = submission.isPuntoFijo() ? fijas.get() : sims.get();
+                Veredicto veredicto = verificar(submission, sim);
+                if (veredicto == Veredicto.ACEPTADA) accepted.increment(); else rejected.increment();
+                completed.increment();
+                result.complete(veredicto);
+            });
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            result.complete(Veredicto.COLA_LLENA);
+        }
+        return result;
+    }
+
+    /**
+     * Reproduce la partida tick a tick. Después del último aleteo el pájaro
+     * sigue sin input hasta morir, que es como termina toda partida real.
+     */
+    Veredicto verificar(ReplaySubmission submission, SimulacionDeterminista sim) {
+        int[] flaps = submission.getFlapTicks();
+        int next = 0;
+        long ticks = 0;
+        sim.reset(submission.getSeed());
+        try {
+            while (sim.isAlive()) {
+                if (sim.getTick() >= MAX_TICKS) return Veredicto.DEMASIADO_LARGA;
+                int tick = sim.getTick() + 1; // tick que se va a simular
+                boolean flap = false;
+                if (next < flaps.length) {
+                    if (flaps[next] < tick) return Veredicto.LOG_INVALIDO; // desordenado o repetido
+                    if (flaps[next] == tick) {
+                        flap = true;
+                        next++;
+                    }
+                }
+                sim.step(flap);
+                ticks++;
+            }
+        } finally {
+            simulatedTicks.add(ticks);
+        }
+        if (next < flaps.length) return Veredicto.LOG_INVALIDO; // aleteos después de morir
+        return sim.getScore() == submission.getClaimedScore() ? Veredicto.ACEPTADA : Veredicto.PUNTAJE_DISTINTO;
+    }
+
+    // --- Métricas ---
+
+    /** Envíos esperando un worker. */
+    public int getQueueDepth() { return queue.size(); }
+    public long getSubmitted() { return submitted.sum(); }
+    public long getCompleted() { return completed.sum(); }
+    public long getAccepted() { return accepted.sum(); }
+    public long getRejected() { return rejected.sum(); }
+    public long getQueueFull() { return queueFull.sum(); }
+    /** Ticks de simulación ejecutados en total (mide el trabajo real, no solo la cantidad de envíos). */
+    public long getSimulatedTicks() { return simulatedTicks.sum(); }
+
+    /** Deja de aceptar envíos y espera a que terminen los encolados. */
+    public void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
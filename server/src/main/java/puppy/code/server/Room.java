@@ -0,0 +1,152 @@
+package puppy.code.server;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import puppy.code.DynamicDifficulty;
+import puppy.code.Simulacion.SimulacionPartida;
+
+/**
+ * Clase Room
+ * Sala con hasta "capacity" jugadores, cada uno con su SimulacionPartida
+ * autoritativa. La sala vive en un solo worker de RoomScheduler, que es el
+ * único que la simula y escribe a sus conexiones; el hilo de red solo encola
+ * jugadores nuevos y marca aleteos (máscara atómica, sin locks).
+ *
+ * Al morir, el jugador reaparece en una partida nueva tras RESPAWN_TICKS;
+ * todas las partidas de la sala salen de la semilla de la sala.
+ */
+final class Room {
+
+    private static final int RESPAWN_TICKS = 60;
+
+    final int id;
+    private final long seed;
+    private final int capacity;
+    private final int broadcastEvery;
+
+    private final ClientConnection[] players;
+    private final SimulacionPartida[] sims;
+    private final int[] respawn;
+    private final AtomicInteger flapMask = new AtomicInteger();
+    private final ConcurrentLinkedQueue<ClientConnection> joins = new ConcurrentLinkedQueue<>();
+    private volatile boolean sealed; // ya no recibe jugadores nuevos
+
+    private final ByteBuffer frame;
+    private int tick;
+    private int runs;
+
+    // --- Estadísticas (escritas por el worker, leídas por el reporte) ---
+    volatile int activePlayers;
+    volatile long framesSent;
+    volatile long framesDropped;  // el cliente no alcanzaba a leer
+    volatile long ticks;
+
+    Room(int id, long seed, int capacity, int broadcastEvery) {
+        this.id = id;
+        this.seed = seed;
+        this.capacity = capacity;
+        this.broadcastEvery = broadcastEvery;
+        this.players = new ClientConnection[capacity];
+        this.sims = new SimulacionPartida[capacity];
+        this.respawn = new int[capacity];
+        DynamicDifficulty difficulty = new DynamicDifficulty();
+        for (int i = 0; i < capacity; i++) sims[i] = new SimulacionPartida(difficulty);
+        this.frame = ByteBuffer.allocate(Protocol.LENGTH_SIZE + Protocol.STATE_HEADER
+            + capacity * Protocol.STATE_ENTRY);
+    }
+
+    // --- Llamados desde el hilo de red ---
+
+    /** Agrega un jugador en el lugar indicado; el worker lo incorpora en el próximo tick. */
+    void join(ClientConnection connection, int slot) {
+        connection.room = this;
+        connection.slot = slot;
+        joins.add(connection);
+        if (slot == capacity - 1) sealed = true;
+    }
+
+    /** Marca un aleteo del jugador para el próximo tick. */
+    void flap(int slot) {
+        int bit = 1 << slot;
+        int mask;
+        do {
+            mask = flapMask.get();
+        } while ((mask & bit) == 0 && !flapMask.compareAndSet(mask, mask | bit));
+    }
+
+    // --- Llamados desde el worker ---
+
+    /** Avanza un tick: incorpora jugadores, simula, reaparece y difunde el estado. */
+    void tick() {
+        ClientConnection joined;
+        while ((joined = joins.poll()) != null) {
+            players[joined.slot] = joined;
+            sims[joined.slot].reset(seed + runs++);
+            sendWelcome(joined);
+        }
+
+        int mask = flapMask.getAndSet(0);
+        int active = 0;
+        for (int s = 0; s < capacity; s++) {
+            ClientConnection player = players[s];
+            if (player == null) continue;
+            if (player.closed) {
+                player.close();
+                players[s] = null;
+                continue;
+            }
+            active++;
+
+            SimulacionPartida sim = sims[s];
+            if (sim.isAlive()) {
+                if (!sim.step((mask & (1 << s)) != 0)) respawn[s] = RESPAWN_TICKS;
+            } else if (--respawn[s] <= 0) {
+                sim.reset(seed + runs++);
+            }
+        }
+        activePlayers = active;
+        tick++;
+        ticks = tick;
+
+        if (active > 0 && tick % broadcastEvery == 0) broadcast(active);
+    }
+
+    /** La sala está cerrada a nuevos jugadores y ya no le queda ninguno. */
+    boolean isFinished() {
+        return sealed && joins.isEmpty() && activePlayers == 0 && ticks > 0;
+    }
+
+    private void sendWelcome(ClientConnection player) {
+        frame.clear();
+        frame.putInt(Protocol.WELCOME_SIZE).put(Protocol.WELCOME)
+            .putInt(id).put((byte) player.slot).putLong(seed);
+        player.send(frame.array(), frame.position());
+    }
+
+    /** Codifica el estado de la sala una vez y lo envía a todos sus jugadores. */
+    private void broadcast(int active) {
+        frame.clear();
+        frame.putInt(Protocol.STATE_HEADER + active * Protocol.STATE_ENTRY)
+            .put(Protocol.STATE).putInt(tick).putLong(System.nanoTime()).put((byte) active);
+        for (int s = 0; s < capacity; s++) {
+            if (players[s] == null) continue;
+            SimulacionPartida sim = sims[s];
+            frame.put((byte) s).put((byte) (sim.isAlive() ? 1 : 0))
+                .putInt(sim.getScore()).putFloat(sim.getBirdY()).putFloat(sim.getBirdVy());
+            for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+                frame.putFloat(sim.getObstacleX(i)).putFloat(sim.getObstacleY(i));
+            }
+        }
+
+        int length = frame.position();
+        long sent = 0, dropped = 0;
+        for (int s = 0; s < capacity; s++) {
+            if (players[s] == null) continue;
+            if (players[s].send(frame.array(), length)) sent++; else dropped++;
+        }
+        framesSent += sent;
+        framesDropped += dropped;
+    }
+}
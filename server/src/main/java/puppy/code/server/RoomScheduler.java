@@ -0,0 +1,102 @@
+package puppy.code.server;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Clase RoomScheduler
+ * Reparte las salas entre un worker por núcleo. Cada worker simula todas sus
+ * salas una vez por tick (60 Hz) y duerme hasta el próximo; una sala nunca
+ * cambia de worker, así su estado no necesita sincronización.
+ *
+ * Cada worker mide el tiempo ocupado simulando: su utilización, sumada entre
+ * workers, da cuántas salas caben por núcleo (rooms / núcleos ocupados).
+ */
+final class RoomScheduler {
+
+    static final long TICK_NANOS = 1_000_000_000L / 60;
+    private static final int MAX_LAG_TICKS = 5; // más atrasado que esto: se pierde el tick en vez de acumular
+
+    /** Worker de simulación; las salas nuevas llegan por una cola sin locks. */
+    static final class Worker implements Runnable {
+        private final ConcurrentLinkedQueue<Room> incoming = new ConcurrentLinkedQueue<>();
+        private final ArrayList<Room> rooms = new ArrayList<>();
+        private volatile boolean running = true;
+
+        // --- Estadísticas (escritas solo por el worker) ---
+        volatile int roomCount;
+        volatile long busyNanos;
+        volatile long ticks;
+        volatile long skippedTicks;
+
+        @Override
+        public void run() {
+            long next = System.nanoTime();
+            while (running) {
+                Room added;
+                while ((added = incoming.poll()) != null) rooms.add(added);
+
+                long start = System.nanoTime();
+                for (int i = rooms.size() - 1; i >= 0; i--) {
+                    Room room = rooms.get(i);
+                    room.tick();
+                    if (room.isFinished()) rooms.remove(i);
+                }
+                long end = System.nanoTime();
+                busyNanos += end - start;
+                ticks++;
+                roomCount = rooms.size();
+
+                next += TICK_NANOS;
+                if (end - next > MAX_LAG_TICKS * TICK_NANOS) {
+                    skippedTicks += (end - next) / TICK_NANOS;
+                    next = end;
+                }
+                long wait = next - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    private final Worker[] workers;
+    private final Thread[] threads;
+
+    RoomScheduler(int threadCount) {
+        workers = new Worker[threadCount];
+        threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            workers[i] = new Worker();
+            threads[i] = new Thread(workers[i], "room-worker-" + i);
+            threads[i].setDaemon(true);
+        }
+    }
+
+    void start() {
+        for (Thread thread : threads) thread.start();
+    }
+
+    /** Asigna la sala al worker con menos salas. */
+    void add(Room room) {
+        Worker target = workers[0];
+        for (Worker worker : workers) {
+            if (worker.roomCount + worker.incoming.size() < target.roomCount + target.incoming.size()) target = worker;
+        }
+        target.incoming.add(room);
+    }
+
+    void stop() {
+        for (Worker worker : workers) worker.running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    Worker[] getWorkers() {
+        return workers;
+    }
+}
@@ -0,0 +1,142 @@
+package puppy.code.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import puppy.code.DynamicDifficulty;
+import puppy.code.Simulacion.RegistroAleteos;
+import puppy.code.Simulacion.ReglasPartida;
+import puppy.code.Simulacion.ReplaySubmission;
+import puppy.code.Simulacion.SimulacionDeterminista;
+import puppy.code.Simulacion.SimulacionFija;
+import puppy.code.Simulacion.SimulacionPartida;
+
+/**
+ * Clase VerificationBenchmark
+ * Mide verificaciones por segundo de ReplayVerifier con partidas realistas:
+ * un piloto con errores juega partidas sobre SimulacionPartida y registra sus
+ * aleteos con RegistroAleteos, como HiloSimulacion en el juego (en promedio
+ * unos pocos puntos y ~10 s de juego, como una partida típica; las mejores
+ * llegan a varios miles de ticks).
+ * Una de cada diez partidas declara un puntaje adulterado.
+ *
+ * Repite la verificación de todo el lote con 1, 2, 4... hasta N workers y
+ * comprueba que cada veredicto sea el esperado (falla con código 1 si no).
+ *
+ * Argumentos: --runs N (partidas, 2000 por defecto), --threads N (máximo de workers),
+ * --fixed (jugar y verificar con SimulacionFija).
+ */
+public class VerificationBenchmark {
+
+    private static final float TARGET_BELOW_GAP = 20f;
+
+    public static void main(String[] args) throws Exception {
+        int runs = 2000;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        boolean fixed = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs": runs = Integer.parseInt(args[++i]); break;
+                case "--threads": maxThreads = Integer.parseInt(args[++i]); break;
+                case "--fixed": fixed = true; break;
+                default: throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+
+        List<ReplaySubmission> submissions = new ArrayList<>(runs);
+        boolean[] tampered = new boolean[runs];
+        int[] maxTicks = new int[1];
+        long totalTicks = generar(runs, fixed, submissions, tampered, maxTicks);
+        System.out.printf("%s, %d partidas, %.0f ticks promedio (%.1f s de juego), máximo %d ticks%n",
+            fixed ? "punto fijo" : "float", runs, totalTicks / (double) runs, totalTicks / (double) runs / 60.0, maxTicks[0]);
+
+        medir(maxThreads, submissions, tampered, false); // calentamiento del JIT
+        int failures = 0;
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            failures += medir(threads, submissions, tampered, true);
+            if (threads == maxThreads) break;
+        }
+        if (failures > 0) {
+            System.err.println(failures + " veredicto(s) incorrecto(s)");
+            System.exit(1);
+        }
+    }
+
+    /** Juega las partidas con el piloto y arma los envíos; devuelve los ticks totales. */
+    private static long generar(int runs, boolean fixed, List<ReplaySubmission> out, boolean[] tampered,
+            int[] maxTicks) {
+        Random random = new Random(42);
+        SimulacionDeterminista sim = fixed
+            ? new SimulacionFija(new DynamicDifficulty()) : new SimulacionPartida(new DynamicDifficulty());
+        RegistroAleteos registro = new RegistroAleteos(1024);
+        long totalTicks = 0;
+        for (int r = 0; r < runs; r++) {
+            long seed = random.nextLong();
+            float missChance = 0.0005f + random.nextFloat() * 0.004f; // habilidad del piloto en esta partida
+            sim.reset(seed);
+            registro.reiniciar();
+            while (sim.isAlive() && sim.getTick() < ReplayVerifier.MAX_TICKS) {
+                boolean flap = quiereAletear(sim) && random.nextFloat() >= missChance;
+                if (flap) registro.registrar(sim.getTick() + 1);
+                sim.step(flap);
+            }
+            totalTicks += sim.getTick();
+            maxTicks[0] = Math.max(maxTicks[0], sim.getTick());
+
+            int score = sim.getScore();
+            tampered[r] = r % 10 == 9;
+            if (tampered[r]) score += 1 + random.nextInt(20);
+            out.add(registro.envio(r, seed, score, fixed));
+        }
+        return totalTicks;
+    }
+
+    /** Mismo criterio que el piloto del arnés headless: aletear si cae bajo el hueco del próximo tubo. */
+    private static boolean quiereAletear(SimulacionDeterminista sim) {
+        float target = ReglasPartida.WORLD_HEIGHT / 2f;
+        float bestX = Float.MAX_VALUE;
+        for (int i = 0; i < SimulacionPartida.OBSTACULOS; i++) {
+            if (i == SimulacionPartida.ENEMIGO) continue;
+            float x = sim.getObstacleX(i);
+            if (x + ReglasPartida.PIPE_WIDTH > ReglasPartida.BIRD_X && x < bestX) {
+                bestX = x;
+                target = sim.getObstacleY(i) - TARGET_BELOW_GAP;
+            }
+        }
+        return sim.getBirdVy() <= 0 && sim.getBirdY() < target;
+    }
+
+    /** Verifica el lote completo con la cantidad de workers indicada; devuelve los veredictos incorrectos. */
+    private static int medir(int threads, List<ReplaySubmission> submissions, boolean[] tampered,
+            boolean print) throws Exception {
+        ReplayVerifier verifier = new ReplayVerifier(threads, submissions.size());
+        List<CompletableFuture<ReplayVerifier.Veredicto>> results = new ArrayList<>(submissions.size());
+
+        long start = System.nanoTime();
+        int maxDepth = 0;
+        for (ReplaySubmission submission : submissions) {
+            results.add(verifier.submit(submission));
+            maxDepth = Math.max(maxDepth, verifier.getQueueDepth());
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
+        long elapsed = System.nanoTime() - start;
+        verifier.shutdown();
+
+        int wrong = 0;
+        for (int i = 0; i < results.size(); i++) {
+            ReplayVerifier.Veredicto expected = tampered[i]
+                ? ReplayVerifier.Veredicto.PUNTAJE_DISTINTO : ReplayVerifier.Veredicto.ACEPTADA;
+            if (results.get(i).get() != expected) wrong++;
+        }
+
+        double seconds = elapsed / 1e9;
+        if (!print) return wrong;
+        System.out.printf("%2d workers: %8.0f verificaciones/s  %6.1f M ticks/s  cola máx %d  aceptadas %d"
+                + "  rechazadas %d  incorrectas %d%n",
+            threads, submissions.size() / seconds, verifier.getSimulatedTicks() / seconds / 1e6, maxDepth,
+            verifier.getAccepted(), verifier.getRejected(), wrong);
+        return wrong;
+    }
+}